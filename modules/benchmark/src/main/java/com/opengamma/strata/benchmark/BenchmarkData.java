@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Market data shared by the benchmarks.
+ * <p>
+ * This is the USD curve group of the examples, discounting on Fed Funds and forwarding on Libor 3M,
+ * calibrated to the quotes of 2015-07-21.
+ */
+final class BenchmarkData {
+
+  /**
+   * The reference data.
+   */
+  static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The valuation date.
+   */
+  static final LocalDate VAL_DATE = LocalDate.of(2015, 7, 21);
+  /**
+   * The curve group name.
+   */
+  static final CurveGroupName CURVE_GROUP_NAME = CurveGroupName.of("USD-DSCON-LIBOR3M");
+
+  /**
+   * The location of the data files.
+   */
+  private static final String PATH_CONFIG = "example-calibration/";
+
+  // restricted constructor
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the curve group definition.
+   *
+   * @return the curve group definition
+   */
+  static RatesCurveGroupDefinition curveGroupDefinition() {
+    return RatesCalibrationCsvLoader.load(
+        ResourceLocator.ofClasspath(PATH_CONFIG + "groups.csv"),
+        ResourceLocator.ofClasspath(PATH_CONFIG + "settings.csv"),
+        ResourceLocator.ofClasspath(PATH_CONFIG + "calibrations.csv"))
+        .get(CURVE_GROUP_NAME)
+        .filtered(VAL_DATE, REF_DATA);
+  }
+
+  /**
+   * Loads the market quotes.
+   *
+   * @return the market data
+   */
+  static MarketData marketData() {
+    return ImmutableMarketData.of(VAL_DATE, QuotesCsvLoader.load(VAL_DATE, ResourceLocator.ofClasspath(PATH_CONFIG + "quotes.csv")));
+  }
+
+  /**
+   * Calibrates the rates provider.
+   *
+   * @return the rates provider
+   */
+  static ImmutableRatesProvider ratesProvider() {
+    return RatesCurveCalibrator.standard().calibrate(curveGroupDefinition(), marketData(), REF_DATA);
+  }
+
+}
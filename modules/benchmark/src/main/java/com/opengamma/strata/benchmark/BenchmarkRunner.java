@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Strata benchmarks.
+ * <p>
+ * The standard JMH command line options are accepted, such as a regular expression
+ * selecting the benchmarks to run, or {@code -rf json} to write the results to a file.
+ * The GC profiler is always enabled, so the allocation rate in bytes per operation
+ * is reported alongside the time of each benchmark.
+ * <p>
+ * For example, to run the swap benchmarks:
+ * <pre>
+ *  java -jar modules/benchmark/target/benchmarks.jar SwapPricingBenchmark
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args  the JMH command line options
+   * @throws CommandLineOptionException if the options are invalid
+   * @throws RunnerException if a benchmark fails
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+
+  // restricted constructor
+  private BenchmarkRunner() {
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+import static com.opengamma.strata.benchmark.BenchmarkData.VAL_DATE;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swaption.HullWhiteTrinomialTreeBermudanSwaptionProductPricer;
+import com.opengamma.strata.pricer.swaption.HullWhiteTrinomialTreeData;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swaption.PhysicalSwaptionSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+import com.opengamma.strata.product.swaption.Swaption;
+
+/**
+ * Benchmarks {@link HullWhiteTrinomialTreeBermudanSwaptionProductPricer}.
+ * <p>
+ * A book of 20 Bermudan swaptions on 10 year swaps with different strikes and semi-annual exercise is priced,
+ * either on a single tree shared by all the swaptions or on a tree built for each swaption.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BermudanSwaptionBenchmark {
+
+  private static final HullWhiteTrinomialTreeBermudanSwaptionProductPricer PRICER =
+      HullWhiteTrinomialTreeBermudanSwaptionProductPricer.DEFAULT;
+  private static final int STEPS_PER_YEAR = 50;
+  private static final double NOTIONAL = 1_000_000d;
+
+  private ImmutableRatesProvider ratesProvider;
+  private HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider;
+  private List<LocalDate> exerciseDates;
+  private HullWhiteTrinomialTreeData treeData;
+  private final List<ResolvedSwaption> swaptions = new ArrayList<>();
+
+  /**
+   * Creates the swaptions and the shared tree.
+   */
+  @Setup
+  public void setup() {
+    ratesProvider = BenchmarkData.ratesProvider();
+    hwProvider = HullWhiteOneFactorPiecewiseConstantParametersProvider.of(
+        HullWhiteOneFactorPiecewiseConstantParameters.of(
+            0.03d, DoubleArray.of(0.008d, 0.009d, 0.010d), DoubleArray.of(2d, 5d)),
+        DayCounts.ACT_365F,
+        VAL_DATE,
+        LocalTime.NOON,
+        ZoneOffset.UTC);
+    LocalDate start = VAL_DATE.plusYears(1);
+    for (int i = 0; i < 20; i++) {
+      double strike = 0.01d + 0.001d * i;
+      swaptions.add(Swaption.builder()
+          .expiryDate(AdjustableDate.of(start))
+          .expiryTime(LocalTime.NOON)
+          .expiryZone(ZoneOffset.UTC)
+          .swaptionSettlement(PhysicalSwaptionSettlement.DEFAULT)
+          .longShort(LongShort.LONG)
+          .underlying(FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+              .createTrade(start, Tenor.TENOR_10Y, BuySell.BUY, NOTIONAL, strike, REF_DATA)
+              .getProduct())
+          .build()
+          .resolve(REF_DATA));
+    }
+    exerciseDates = swaptions.get(0).getUnderlying().getLegs().get(0).getPaymentPeriods().stream()
+        .map(period -> USD_LIBOR_3M.calculateFixingFromEffective(period.getStartDate(), REF_DATA))
+        .filter(date -> !date.isBefore(start))
+        .collect(toImmutableList());
+    treeData = HullWhiteTrinomialTreeData.of(hwProvider, exerciseDates, STEPS_PER_YEAR);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Prices the swaptions on the shared tree.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void presentValueSharedTree(Blackhole bh) {
+    for (ResolvedSwaption swaption : swaptions) {
+      bh.consume(PRICER.presentValue(swaption, ratesProvider, treeData));
+    }
+  }
+
+  /**
+   * Prices the swaptions, building a tree for each of them.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void presentValueTreePerSwaption(Blackhole bh) {
+    for (ResolvedSwaption swaption : swaptions) {
+      HullWhiteTrinomialTreeData tree = HullWhiteTrinomialTreeData.of(hwProvider, exerciseDates, STEPS_PER_YEAR);
+      bh.consume(PRICER.presentValue(swaption, ratesProvider, tree));
+    }
+  }
+
+  /**
+   * Calculates the curve sensitivities of the swaptions on the shared tree.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void presentValueSensitivityRates(Blackhole bh) {
+    for (ResolvedSwaption swaption : swaptions) {
+      bh.consume(ratesProvider.parameterSensitivity(
+          PRICER.presentValueSensitivityRates(swaption, ratesProvider, treeData).build()));
+    }
+  }
+
+}
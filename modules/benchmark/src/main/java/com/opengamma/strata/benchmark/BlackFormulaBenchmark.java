@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+/**
+ * Benchmarks {@link BlackFormulaRepository}.
+ * <p>
+ * Each benchmark evaluates a strip of strikes, as when pricing the caplets of a cap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlackFormulaBenchmark {
+
+  private static final int SIZE = 100;
+  private static final double FORWARD = 0.025d;
+  private static final double TIME_TO_EXPIRY = 2.5d;
+  private static final double VOLATILITY = 0.35d;
+
+  private final double[] strikes = new double[SIZE];
+  private final double[] prices = new double[SIZE];
+
+  /**
+   * Creates the strikes and the matching option prices.
+   */
+  @Setup
+  public void setup() {
+    for (int i = 0; i < SIZE; i++) {
+      strikes[i] = 0.005d + 0.0005d * i;
+      prices[i] = BlackFormulaRepository.price(FORWARD, strikes[i], TIME_TO_EXPIRY, VOLATILITY, true);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the forward price of each option.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void price(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(BlackFormulaRepository.price(FORWARD, strikes[i], TIME_TO_EXPIRY, VOLATILITY, true));
+    }
+  }
+
+  /**
+   * Calculates the forward price and its derivatives for each option.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void priceAdjoint(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(BlackFormulaRepository.priceAdjoint(FORWARD, strikes[i], TIME_TO_EXPIRY, VOLATILITY, true));
+    }
+  }
+
+  /**
+   * Calculates the implied volatility of each option price.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void impliedVolatility(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(BlackFormulaRepository.impliedVolatility(prices[i], FORWARD, strikes[i], TIME_TO_EXPIRY, true));
+    }
+  }
+
+}
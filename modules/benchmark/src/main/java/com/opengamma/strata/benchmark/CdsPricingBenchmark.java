@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.pricer.credit.ConstantRecoveryRates;
+import com.opengamma.strata.pricer.credit.CreditRatesProvider;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.IsdaCdsProductPricer;
+import com.opengamma.strata.pricer.credit.IsdaCreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Benchmarks {@link IsdaCdsProductPricer}.
+ * <p>
+ * A 10 year single name CDS is priced using ISDA compliant yield and credit curves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CdsPricingBenchmark {
+
+  private static final IsdaCdsProductPricer PRICER = IsdaCdsProductPricer.DEFAULT;
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 1, 3);
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+  private static final DoubleArray TIME_YC = DoubleArray.of(
+      0.0904, 0.1671, 0.2548, 0.5041, 0.7534, 1.0055, 2.0055, 3.0082, 4.0137, 5.0110,
+      6.0082, 7.0110, 8.0110, 9.0110, 10.0164, 12.0137, 15.0219, 20.0192, 30.0247);
+  private static final DoubleArray RATE_YC = DoubleArray.of(
+      0.0012, 0.0014, 0.0016, 0.0021, 0.0025, 0.0031, 0.0042, 0.0061, 0.0079, 0.0093,
+      0.0108, 0.0122, 0.0136, 0.0150, 0.0162, 0.0182, 0.0204, 0.0222, 0.0235);
+  private static final DoubleArray TIME_CC = DoubleArray.of(
+      1.2055, 1.7096, 2.7123, 3.7123, 4.7123, 5.7123, 7.7151, 10.7178);
+  private static final DoubleArray RATE_CC = DoubleArray.of(
+      0.0100, 0.0120, 0.0142, 0.0168, 0.0197, 0.0231, 0.0270, 0.0296);
+
+  private CreditRatesProvider provider;
+  private ResolvedCds cds;
+  private LocalDate settlementDate;
+
+  /**
+   * Creates the curves and the CDS.
+   */
+  @Setup
+  public void setup() {
+    InterpolatedNodalCurve yieldCurve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("yield", ACT_365F), TIME_YC, RATE_YC,
+        CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+    InterpolatedNodalCurve creditCurve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("credit", ACT_365F), TIME_CC, RATE_CC,
+        CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+    provider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .creditCurves(ImmutableMap.of(
+            Pair.of(LEGAL_ENTITY, USD),
+            LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY, IsdaCreditDiscountFactors.of(USD, VAL_DATE, creditCurve))))
+        .discountCurves(ImmutableMap.of(USD, IsdaCreditDiscountFactors.of(USD, VAL_DATE, yieldCurve)))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, VAL_DATE, 0.4)))
+        .build();
+    cds = Cds.of(BuySell.BUY, LEGAL_ENTITY, USD, 1.0e7, LocalDate.of(2013, 12, 20), LocalDate.of(2023, 12, 20),
+        Frequency.P3M, HolidayCalendarIds.SAT_SUN, 0.01)
+        .resolve(REF_DATA);
+    settlementDate = cds.calculateSettlementDateFromValuation(VAL_DATE, REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the CDS.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public CurrencyAmount presentValue() {
+    return PRICER.presentValue(cds, provider, settlementDate, PriceType.DIRTY, REF_DATA);
+  }
+
+  /**
+   * Calculates the present value point sensitivity of the CDS.
+   *
+   * @return the point sensitivity
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(cds, provider, settlementDate, REF_DATA).build();
+  }
+
+  /**
+   * Calculates the par spread of the CDS.
+   *
+   * @return the par spread
+   */
+  @Benchmark
+  public double parSpread() {
+    return PRICER.parSpread(cds, provider, settlementDate, REF_DATA);
+  }
+
+}
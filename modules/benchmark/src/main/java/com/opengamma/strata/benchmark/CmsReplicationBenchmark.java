@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+import static com.opengamma.strata.benchmark.BenchmarkData.VAL_DATE;
+import static com.opengamma.strata.product.swap.SwapIndices.USD_LIBOR_1100_10Y;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.surface.ConstantSurface;
+import com.opengamma.strata.market.surface.Surfaces;
+import com.opengamma.strata.pricer.cms.SabrExtrapolationReplicationCmsPeriodPricer;
+import com.opengamma.strata.pricer.model.SabrInterestRateParameters;
+import com.opengamma.strata.pricer.model.SabrVolatilityFormula;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swaption.SabrParametersSwaptionVolatilities;
+import com.opengamma.strata.pricer.swaption.SwaptionVolatilitiesName;
+import com.opengamma.strata.product.cms.CmsPeriod;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
+
+/**
+ * Benchmarks {@link SabrExtrapolationReplicationCmsPeriodPricer}.
+ * <p>
+ * A 10Y CMS caplet fixing in two years is priced using the calibrated USD curves and a shifted SABR model.
+ * A node count of zero uses the default adaptive integration, other values use
+ * {@link SabrExtrapolationReplicationCmsPeriodPricer#withFixedNodeIntegration(int)}.
+ * The setup prints the difference between the fixed-node and adaptive present values,
+ * allowing the accuracy to be compared with the speed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CmsReplicationBenchmark {
+
+  private static final SabrExtrapolationReplicationCmsPeriodPricer ADAPTIVE =
+      SabrExtrapolationReplicationCmsPeriodPricer.of(0.10d, 2.5d);
+  private static final double NOTIONAL = 1_000_000d;
+  private static final double STRIKE = 0.03d;
+
+  /**
+   * The number of nodes per interval, zero for adaptive integration.
+   */
+  @Param({"0", "8", "16", "32"})
+  private int nodes;
+
+  private SabrExtrapolationReplicationCmsPeriodPricer pricer;
+  private ImmutableRatesProvider provider;
+  private SabrParametersSwaptionVolatilities volatilities;
+  private CmsPeriod caplet;
+
+  /**
+   * Calibrates the curves and creates the caplet.
+   */
+  @Setup
+  public void setup() {
+    pricer = nodes == 0 ? ADAPTIVE : ADAPTIVE.withFixedNodeIntegration(nodes);
+    provider = BenchmarkData.ratesProvider();
+    volatilities = volatilities();
+    caplet = caplet(VAL_DATE.plusYears(2));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the caplet.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public CurrencyAmount presentValue() {
+    return pricer.presentValue(caplet, provider, volatilities);
+  }
+
+  /**
+   * Calculates the present value sensitivity of the caplet to the rates.
+   *
+   * @return the point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivityRates() {
+    return pricer.presentValueSensitivityRates(caplet, provider, volatilities).build();
+  }
+
+  /**
+   * Calculates the present value sensitivity of the caplet to the SABR model parameters.
+   *
+   * @return the point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivityModelParamsSabr() {
+    return pricer.presentValueSensitivityModelParamsSabr(caplet, provider, volatilities).build();
+  }
+
+  //-------------------------------------------------------------------------
+  // creates constant shifted SABR volatilities
+  private static SabrParametersSwaptionVolatilities volatilities() {
+    SabrInterestRateParameters parameters = SabrInterestRateParameters.of(
+        ConstantSurface.of(Surfaces.sabrParameterByExpiryTenor("Alpha", ACT_365F, ValueType.SABR_ALPHA), 0.03d),
+        ConstantSurface.of(Surfaces.sabrParameterByExpiryTenor("Beta", ACT_365F, ValueType.SABR_BETA), 0.5d),
+        ConstantSurface.of(Surfaces.sabrParameterByExpiryTenor("Rho", ACT_365F, ValueType.SABR_RHO), -0.25d),
+        ConstantSurface.of(Surfaces.sabrParameterByExpiryTenor("Nu", ACT_365F, ValueType.SABR_NU), 0.4d),
+        ConstantSurface.of("Shift", 0.01d),
+        SabrVolatilityFormula.hagan());
+    return SabrParametersSwaptionVolatilities.of(
+        SwaptionVolatilitiesName.of("USD-SABR"),
+        USD_LIBOR_1100_10Y.getTemplate().getConvention(),
+        VAL_DATE.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC),
+        parameters);
+  }
+
+  // creates a caplet on the 10Y swap rate
+  private static CmsPeriod caplet(LocalDate fixingDate) {
+    FixedIborSwapConvention convention = USD_LIBOR_1100_10Y.getTemplate().getConvention();
+    LocalDate startDate = convention.calculateSpotDateFromTradeDate(fixingDate, REF_DATA);
+    LocalDate endDate = startDate.plusYears(1);
+    ResolvedSwap swap = convention
+        .toTrade(fixingDate, startDate, startDate.plus(USD_LIBOR_1100_10Y.getTemplate().getTenor()), BuySell.BUY, 1d, 1d)
+        .getProduct()
+        .resolve(REF_DATA);
+    return CmsPeriod.builder()
+        .dayCount(ACT_360)
+        .currency(USD)
+        .index(USD_LIBOR_1100_10Y)
+        .startDate(startDate)
+        .endDate(endDate)
+        .fixingDate(fixingDate)
+        .notional(NOTIONAL)
+        .paymentDate(endDate)
+        .yearFraction(ACT_360.relativeYearFraction(startDate, endDate))
+        .caplet(STRIKE)
+        .underlyingSwap(swap)
+        .build();
+  }
+
+}
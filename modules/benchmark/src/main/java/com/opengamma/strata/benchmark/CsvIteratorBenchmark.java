@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.io.CsvIterator;
+import com.opengamma.strata.collect.io.CsvRow;
+
+/**
+ * Benchmarks parsing using {@link CsvIterator}.
+ * <p>
+ * The file has the layout of a trade file, with a mix of plain and quoted fields.
+ * Each row is parsed and a field is looked up by header, as a loader would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvIteratorBenchmark {
+
+  /**
+   * The number of rows in the file.
+   */
+  @Param({"100", "10000"})
+  private int rows;
+
+  private CharSource source;
+
+  /**
+   * Creates the file content.
+   */
+  @Setup
+  public void setup() {
+    StringBuilder buf = new StringBuilder(rows * 120);
+    buf.append("Strata Trade Type,Id Scheme,Id,Trade Date,Buy Sell,Notional,Fixed Rate,Convention,Description\n");
+    for (int i = 0; i < rows; i++) {
+      buf.append("Swap,OG,").append(i).append(",2017-06-01,Buy,")
+          .append(1_000_000 + i).append(",0.0").append(i % 100).append(",USD-FIXED-6M-LIBOR-3M,")
+          .append("\"Swap, number ").append(i).append("\"\n");
+    }
+    source = CharSource.wrap(buf.toString());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the file, summing the notional column.
+   *
+   * @return the total notional
+   */
+  @Benchmark
+  public double parse() {
+    double total = 0;
+    try (CsvIterator csv = CsvIterator.of(source, true)) {
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
+        total += Double.parseDouble(row.getValue("Notional"));
+      }
+    }
+    return total;
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_1M;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_6M;
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+import static com.opengamma.strata.benchmark.BenchmarkData.VAL_DATE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swap.type.IborIborSwapConventions;
+
+/**
+ * Benchmarks {@link CurveGammaCalculator}.
+ * <p>
+ * The cross gamma of a portfolio of USD swaps is calculated on four curves of 50 nodes each,
+ * a total of 200 curve parameters. A thread count of zero uses the serial calculator,
+ * other values use {@link CurveGammaCalculator#withExecutor(ExecutorService)} with a pool of that size.
+ * The trades are resolved once in the setup and shared by all the shifted sensitivity calculations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurveGammaBenchmark {
+
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+  private static final int NODE_COUNT = 50;
+  private static final double NOTIONAL = 1_000_000d;
+
+  /**
+   * The number of threads, zero for the serial calculation.
+   */
+  @Param({"0", "1", "2", "4", "8"})
+  private int threads;
+
+  private ExecutorService executor;
+  private CurveGammaCalculator calculator;
+  private ImmutableRatesProvider provider;
+  private final List<ResolvedSwap> swaps = new ArrayList<>();
+
+  /**
+   * Creates the curves, the calculator and the resolved swaps.
+   */
+  @Setup
+  public void setup() {
+    if (threads == 0) {
+      calculator = CurveGammaCalculator.DEFAULT;
+    } else {
+      executor = Executors.newFixedThreadPool(threads);
+      calculator = CurveGammaCalculator.DEFAULT.withExecutor(executor);
+    }
+    provider = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(USD, curve("USD-Disc", 0.010d))
+        .indexCurve(USD_LIBOR_1M, curve("USD-LIBOR-1M", 0.012d))
+        .indexCurve(USD_LIBOR_3M, curve("USD-LIBOR-3M", 0.013d))
+        .indexCurve(USD_LIBOR_6M, curve("USD-LIBOR-6M", 0.014d))
+        .build();
+    for (int years : new int[] {2, 5, 10, 20, 30}) {
+      swaps.add(FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+          .createTrade(VAL_DATE, Tenor.ofYears(years), BuySell.BUY, NOTIONAL, 0.02d, REF_DATA)
+          .getProduct()
+          .resolve(REF_DATA));
+    }
+    for (int years : new int[] {5, 10, 30}) {
+      swaps.add(IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M
+          .createTrade(VAL_DATE, Tenor.ofYears(years), BuySell.BUY, NOTIONAL, 0.001d, REF_DATA)
+          .getProduct()
+          .resolve(REF_DATA));
+      swaps.add(IborIborSwapConventions.USD_LIBOR_1M_LIBOR_3M
+          .createTrade(VAL_DATE, Tenor.ofYears(years), BuySell.BUY, NOTIONAL, 0.001d, REF_DATA)
+          .getProduct()
+          .resolve(REF_DATA));
+    }
+  }
+
+  /**
+   * Shuts down the executor.
+   */
+  @TearDown
+  public void tearDown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the intra-curve cross gamma.
+   *
+   * @return the cross gamma
+   */
+  @Benchmark
+  public CrossGammaParameterSensitivities crossGammaIntraCurve() {
+    return calculator.calculateCrossGammaIntraCurve(provider, this::sensitivities);
+  }
+
+  /**
+   * Calculates the cross-curve cross gamma.
+   *
+   * @return the cross gamma
+   */
+  @Benchmark
+  public CrossGammaParameterSensitivities crossGammaCrossCurve() {
+    return calculator.calculateCrossGammaCrossCurve(provider, this::sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates the parameter sensitivities of the portfolio
+  private CurrencyParameterSensitivities sensitivities(ImmutableRatesProvider ratesProvider) {
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (ResolvedSwap swap : swaps) {
+      builder = builder.combinedWith(PRICER.presentValueSensitivity(swap, ratesProvider));
+    }
+    return ratesProvider.parameterSensitivity(builder.build());
+  }
+
+  // creates an upward sloping zero rate curve
+  private static Curve curve(String name, double shortRate) {
+    DoubleArray times = DoubleArray.of(NODE_COUNT, i -> 0.1d + 0.6d * i);
+    DoubleArray rates = times.map(t -> shortRate + 0.0005d * t);
+    return InterpolatedNodalCurve.of(Curves.zeroRates(name, ACT_365F), times, rates, CurveInterpolators.LINEAR);
+  }
+
+}
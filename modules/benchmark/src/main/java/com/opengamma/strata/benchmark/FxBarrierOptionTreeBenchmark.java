@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.benchmark.BenchmarkData.VAL_DATE;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionFlatVolatilities;
+import com.opengamma.strata.pricer.fxopt.ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer;
+import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeDataCache;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fxopt.ResolvedFxSingleBarrierOption;
+import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
+import com.opengamma.strata.product.option.BarrierType;
+import com.opengamma.strata.product.option.KnockType;
+import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
+
+/**
+ * Benchmarks {@link ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer}.
+ * <p>
+ * A book of 20 EUR/USD barrier options with the same expiry and different strikes and barriers is priced,
+ * calibrating a tree for each option, reusing the tree through a {@link RecombiningTrinomialTreeDataCache},
+ * or pricing all the options in a single backward pass over one tree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FxBarrierOptionTreeBenchmark {
+
+  private static final int STEPS = 51;
+  private static final double NOTIONAL = 1_000_000d;
+  private static final CurrencyPair EUR_USD = CurrencyPair.of(EUR, USD);
+  private static final double SPOT = 1.40d;
+
+  private final ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+      new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(STEPS);
+  private final RecombiningTrinomialTreeDataCache cache = RecombiningTrinomialTreeDataCache.of(10);
+  private final ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer cachingPricer =
+      new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(STEPS, cache);
+  private ImmutableRatesProvider ratesProvider;
+  private BlackFxOptionFlatVolatilities volatilities;
+  private final List<ResolvedFxSingleBarrierOption> options = new ArrayList<>();
+
+  /**
+   * Creates the market data and the options.
+   */
+  @Setup
+  public void setup() {
+    ratesProvider = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(EUR, ConstantCurve.of(Curves.zeroRates("EUR-Disc", ACT_365F), 0.005d))
+        .discountCurve(USD, ConstantCurve.of(Curves.zeroRates("USD-Disc", ACT_365F), 0.015d))
+        .fxRateProvider(FxMatrix.of(EUR, USD, SPOT))
+        .build();
+    ZonedDateTime valuationDateTime = VAL_DATE.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC);
+    volatilities = BlackFxOptionFlatVolatilities.of(
+        EUR_USD, valuationDateTime, ConstantCurve.of(Curves.blackVolatilityByExpiry("EUR-USD-Vol", ACT_365F), 0.12d));
+    ZonedDateTime expiry = valuationDateTime.plusYears(1);
+    for (int i = 0; i < 10; i++) {
+      double strike = 1.30d + 0.02d * i;
+      ResolvedFxVanillaOption call = ResolvedFxVanillaOption.builder()
+          .longShort(LongShort.LONG)
+          .expiry(expiry)
+          .underlying(ResolvedFxSingle.of(
+              CurrencyAmount.of(EUR, NOTIONAL), CurrencyAmount.of(USD, -NOTIONAL * strike), expiry.toLocalDate()))
+          .build();
+      options.add(ResolvedFxSingleBarrierOption.of(
+          call, SimpleConstantContinuousBarrier.of(BarrierType.DOWN, KnockType.KNOCK_OUT, 1.20d + 0.01d * i)));
+      options.add(ResolvedFxSingleBarrierOption.of(
+          call, SimpleConstantContinuousBarrier.of(BarrierType.UP, KnockType.KNOCK_IN, 1.55d + 0.01d * i)));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Prices the options, calibrating a tree for each of them.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void presentValueTreePerOption(Blackhole bh) {
+    for (ResolvedFxSingleBarrierOption option : options) {
+      bh.consume(pricer.presentValue(option, ratesProvider, volatilities));
+    }
+  }
+
+  /**
+   * Prices the options one by one, obtaining the tree from the cache.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void presentValueCachedTree(Blackhole bh) {
+    for (ResolvedFxSingleBarrierOption option : options) {
+      bh.consume(cachingPricer.presentValue(option, ratesProvider, volatilities));
+    }
+  }
+
+  /**
+   * Prices all the options in a single backward pass over one tree.
+   *
+   * @return the present values
+   */
+  @Benchmark
+  public List<CurrencyAmount> presentValueBatch() {
+    return cachingPricer.presentValue(options, ratesProvider, volatilities);
+  }
+
+}
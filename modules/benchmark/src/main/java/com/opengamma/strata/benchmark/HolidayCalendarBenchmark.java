@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
+
+/**
+ * Benchmarks {@link ImmutableHolidayCalendar#shift(LocalDate, int)}.
+ * <p>
+ * Each benchmark shifts every day of a year by a number of business days.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HolidayCalendarBenchmark {
+
+  private static final int SIZE = 365;
+
+  private final LocalDate[] dates = new LocalDate[SIZE];
+  private HolidayCalendar calendar;
+
+  /**
+   * Resolves the calendar and creates the dates.
+   */
+  @Setup
+  public void setup() {
+    calendar = REF_DATA.getValue(HolidayCalendarIds.GBLO);
+    for (int i = 0; i < SIZE; i++) {
+      dates[i] = LocalDate.of(2020, 1, 1).plusDays(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Shifts each date forward by 2 business days, as for a spot date.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void shiftShort(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(calendar.shift(dates[i], 2));
+    }
+  }
+
+  /**
+   * Shifts each date forward by 250 business days.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void shiftLong(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(calendar.shift(dates[i], 250));
+    }
+  }
+
+  /**
+   * Shifts each date backward by 2 business days, as for a fixing date.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void shiftBackward(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(calendar.shift(dates[i], -2));
+    }
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.ImpliedVolatilityFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.NormalFormulaRepository;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Benchmarks {@link ImpliedVolatilityFormulaRepository} against the root-finding implied volatility
+ * of {@link BlackFormulaRepository} and {@link NormalFormulaRepository}.
+ * <p>
+ * Each benchmark converts the prices of the out-of-the-money options on a grid of strikes and expiries,
+ * as when converting a quoted volatility cube or calibrating caplets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImpliedVolatilityBenchmark {
+
+  private static final double FORWARD = 0.025d;
+  private static final double[] EXPIRIES = new double[] {0.25d, 0.5d, 1d, 2d, 3d, 5d, 7d, 10d, 15d, 20d, 30d};
+  private static final int STRIKE_COUNT = 21;
+  private static final int SIZE = EXPIRIES.length * STRIKE_COUNT;
+  private static final double BLACK_VOLATILITY = 0.35d;
+  private static final double NORMAL_VOLATILITY = 0.008d;
+  private static final double NORMAL_GUESS = 0.01d;
+
+  private final double[] forwards = new double[SIZE];
+  private final double[] strikes = new double[SIZE];
+  private final double[] expiries = new double[SIZE];
+  private final boolean[] isCalls = new boolean[SIZE];
+  private final PutCall[] putCalls = new PutCall[SIZE];
+  private final double[] blackPrices = new double[SIZE];
+  private final double[] normalPrices = new double[SIZE];
+  private final double[] volatilities = new double[SIZE];
+
+  /**
+   * Creates the grid of options and their prices.
+   */
+  @Setup
+  public void setup() {
+    int k = 0;
+    for (double expiry : EXPIRIES) {
+      for (int i = 0; i < STRIKE_COUNT; i++) {
+        double strike = 0.005d + 0.0025d * i;
+        forwards[k] = FORWARD;
+        strikes[k] = strike;
+        expiries[k] = expiry;
+        isCalls[k] = strike >= FORWARD;
+        putCalls[k] = PutCall.ofPut(strike < FORWARD);
+        blackPrices[k] = BlackFormulaRepository.price(FORWARD, strike, expiry, BLACK_VOLATILITY, isCalls[k]);
+        normalPrices[k] = NormalFormulaRepository.price(FORWARD, strike, expiry, NORMAL_VOLATILITY, putCalls[k]);
+        k++;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the Black implied volatility of each option using root-finding.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void blackRootFinding(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(BlackFormulaRepository.impliedVolatility(blackPrices[i], FORWARD, strikes[i], expiries[i], isCalls[i]));
+    }
+  }
+
+  /**
+   * Calculates the Black implied volatility of each option using the explicit guess and Householder steps.
+   *
+   * @return the implied volatilities
+   */
+  @Benchmark
+  public double[] blackHouseholder() {
+    ImpliedVolatilityFormulaRepository.blackImpliedVolatility(blackPrices, forwards, strikes, expiries, isCalls, volatilities);
+    return volatilities;
+  }
+
+  /**
+   * Calculates the normal implied volatility of each option using root-finding.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void normalRootFinding(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(NormalFormulaRepository.impliedVolatility(
+          normalPrices[i], FORWARD, strikes[i], expiries[i], NORMAL_GUESS, 1d, putCalls[i]));
+    }
+  }
+
+  /**
+   * Calculates the normal implied volatility of each option using the explicit guess and Householder steps.
+   *
+   * @return the implied volatilities
+   */
+  @Benchmark
+  public double[] normalHouseholder() {
+    ImpliedVolatilityFormulaRepository.normalImpliedVolatility(normalPrices, forwards, strikes, expiries, putCalls, volatilities);
+    return volatilities;
+  }
+
+}
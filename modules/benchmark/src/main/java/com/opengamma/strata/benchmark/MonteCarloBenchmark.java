@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.benchmark.BenchmarkData.VAL_DATE;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionFlatVolatilities;
+import com.opengamma.strata.pricer.impl.montecarlo.LognormalFxMonteCarloModel;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloEngine;
+import com.opengamma.strata.pricer.impl.montecarlo.MonteCarloPathPayoff;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks {@link MonteCarloEngine}.
+ * <p>
+ * An arithmetic average EUR/USD call with 52 weekly fixings is priced with 100,000 paths,
+ * with and without the pathwise delta. A thread count of zero uses the serial engine,
+ * other values use {@link MonteCarloEngine#withExecutor(ExecutorService)} with a pool of that size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonteCarloBenchmark {
+
+  private static final int NUMBER_OF_PATHS = 100_000;
+  private static final double STRIKE = 1.40d;
+
+  /**
+   * The number of threads, zero for the serial engine.
+   */
+  @Param({"0", "1", "2", "4"})
+  private int threads;
+
+  private ExecutorService executor;
+  private MonteCarloEngine engine;
+  private LognormalFxMonteCarloModel model;
+  private MonteCarloPathPayoff payoff;
+
+  /**
+   * Creates the engine, the model and the payoff.
+   */
+  @Setup
+  public void setup() {
+    engine = MonteCarloEngine.of(NUMBER_OF_PATHS, 1L);
+    if (threads > 0) {
+      executor = Executors.newFixedThreadPool(threads);
+      engine = engine.withExecutor(executor);
+    }
+    ImmutableRatesProvider ratesProvider = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(EUR, ConstantCurve.of(Curves.zeroRates("EUR-Disc", ACT_365F), 0.005d))
+        .discountCurve(USD, ConstantCurve.of(Curves.zeroRates("USD-Disc", ACT_365F), 0.015d))
+        .fxRateProvider(FxMatrix.of(EUR, USD, 1.40d))
+        .build();
+    ZonedDateTime valuationDateTime = VAL_DATE.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC);
+    CurrencyPair currencyPair = CurrencyPair.of(EUR, USD);
+    BlackFxOptionFlatVolatilities volatilities = BlackFxOptionFlatVolatilities.of(
+        currencyPair, valuationDateTime, ConstantCurve.of(Curves.blackVolatilityByExpiry("EUR-USD-Vol", ACT_365F), 0.12d));
+    List<ZonedDateTime> fixings = new ArrayList<>();
+    for (int i = 1; i <= 52; i++) {
+      fixings.add(valuationDateTime.plusWeeks(i));
+    }
+    model = LognormalFxMonteCarloModel.of(currencyPair, ratesProvider, volatilities, fixings);
+    double discountFactor = model.discountFactor(fixings.size() - 1);
+    payoff = new MonteCarloPathPayoff() {
+      @Override
+      public double value(double[] states) {
+        double sum = 0d;
+        for (double state : states) {
+          sum += state;
+        }
+        return discountFactor * Math.max(sum / states.length - STRIKE, 0d);
+      }
+
+      @Override
+      public double valueAdjoint(double[] states, double[] statesBar) {
+        double value = value(states);
+        double bar = value > 0d ? discountFactor / states.length : 0d;
+        for (int i = 0; i < states.length; i++) {
+          statesBar[i] = bar;
+        }
+        return value;
+      }
+    };
+  }
+
+  /**
+   * Shuts down the executor.
+   */
+  @TearDown
+  public void tearDown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Prices the option.
+   *
+   * @return the price
+   */
+  @Benchmark
+  public double price() {
+    return engine.price(model, payoff);
+  }
+
+  /**
+   * Prices the option with its pathwise delta.
+   *
+   * @return the price and delta
+   */
+  @Benchmark
+  public ValueDerivatives priceAdjoint() {
+    return engine.priceAdjoint(model, payoff);
+  }
+
+}
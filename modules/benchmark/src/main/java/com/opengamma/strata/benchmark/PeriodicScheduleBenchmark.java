@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.RollConventions;
+import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+
+/**
+ * Benchmarks {@link PeriodicSchedule#createSchedule(ReferenceData)}.
+ * <p>
+ * A 30 year schedule is created, adjusting each date using the London and New York holidays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PeriodicScheduleBenchmark {
+
+  /**
+   * The frequency of the schedule.
+   */
+  @Param({"P1M", "P3M", "P12M"})
+  private String frequency;
+
+  private PeriodicSchedule schedule;
+
+  /**
+   * Creates the schedule definition.
+   */
+  @Setup
+  public void setup() {
+    schedule = PeriodicSchedule.builder()
+        .startDate(LocalDate.of(2015, 7, 23))
+        .endDate(LocalDate.of(2045, 7, 23))
+        .frequency(Frequency.parse(frequency))
+        .businessDayAdjustment(BusinessDayAdjustment.of(
+            BusinessDayConventions.MODIFIED_FOLLOWING, HolidayCalendarIds.GBLO.combinedWith(HolidayCalendarIds.USNY)))
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .rollConvention(RollConventions.EOM)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the schedule.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createSchedule() {
+    return schedule.createSchedule(REF_DATA);
+  }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+
+/**
+ * Benchmarks the views obtained from {@link ImmutableRatesProvider}.
+ * <p>
+ * Pricers look up the discount factors and index rates many times for each trade,
+ * so the cost and allocation of each lookup is significant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RatesProviderBenchmark {
+
+  /**
+   * The number of lookups in {@link #periodLookups(Blackhole)}, matching a ten year quarterly swap.
+   */
+  private static final int PERIOD_COUNT = 40;
+
+  private ImmutableRatesProvider provider;
+
+  /**
+   * Calibrates the curves.
+   */
+  @Setup
+  public void setup() {
+    provider = BenchmarkData.ratesProvider();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the USD discount factors.
+   *
+   * @return the discount factors
+   */
+  @Benchmark
+  public DiscountFactors discountFactors() {
+    return provider.discountFactors(USD);
+  }
+
+  /**
+   * Obtains the USD Libor 3M index rates.
+   *
+   * @return the index rates
+   */
+  @Benchmark
+  public IborIndexRates iborIndexRates() {
+    return provider.iborIndexRates(USD_LIBOR_3M);
+  }
+
+  /**
+   * Obtains the USD Fed Funds index rates.
+   *
+   * @return the index rates
+   */
+  @Benchmark
+  public OvernightIndexRates overnightIndexRates() {
+    return provider.overnightIndexRates(USD_FED_FUND);
+  }
+
+  /**
+   * Obtains the USD discount factors and USD Libor 3M index rates once per period,
+   * as the swap pricers do for a ten year quarterly floating leg.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void periodLookups(Blackhole blackhole) {
+    for (int i = 0; i < PERIOD_COUNT; i++) {
+      blackhole.consume(provider.discountFactors(USD));
+      blackhole.consume(provider.iborIndexRates(USD_LIBOR_3M));
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.pricer.model.SabrVolatilityFormula;
+
+/**
+ * Benchmarks {@link SabrVolatilityFormula}.
+ * <p>
+ * Each benchmark evaluates a strip of strikes using the Hagan formula.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SabrVolatilityFormulaBenchmark {
+
+  private static final SabrVolatilityFormula FORMULA = SabrVolatilityFormula.hagan();
+  private static final int SIZE = 100;
+  private static final double FORWARD = 0.025d;
+  private static final double TIME_TO_EXPIRY = 2.5d;
+  private static final double ALPHA = 0.05d;
+  private static final double BETA = 0.5d;
+  private static final double RHO = -0.25d;
+  private static final double NU = 0.4d;
+
+  private final double[] strikes = new double[SIZE];
+
+  /**
+   * Creates the strikes.
+   */
+  @Setup
+  public void setup() {
+    for (int i = 0; i < SIZE; i++) {
+      strikes[i] = 0.005d + 0.0005d * i;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the volatility at each strike.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void volatility(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(FORMULA.volatility(FORWARD, strikes[i], TIME_TO_EXPIRY, ALPHA, BETA, RHO, NU));
+    }
+  }
+
+  /**
+   * Calculates the volatility and its derivatives at each strike.
+   *
+   * @param bh  the black hole consuming the results
+   */
+  @Benchmark
+  public void volatilityAdjoint(Blackhole bh) {
+    for (int i = 0; i < SIZE; i++) {
+      bh.consume(FORMULA.volatilityAdjoint(FORWARD, strikes[i], TIME_TO_EXPIRY, ALPHA, BETA, RHO, NU));
+    }
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAggregator;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+
+/**
+ * Benchmarks the aggregation of the parameter sensitivities of a portfolio.
+ * <p>
+ * Each trade is sensitive to a few of the curves, with 30 parameters per curve.
+ * Combining the immutable sensitivities one by one is compared to using {@link CurrencyParameterSensitivitiesAggregator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SensitivityAggregationBenchmark {
+
+  private static final int CURVE_COUNT = 20;
+  private static final int PARAMETER_COUNT = 30;
+  private static final List<Currency> CURRENCIES =
+      ImmutableList.of(Currency.USD, Currency.EUR, Currency.GBP, Currency.JPY);
+
+  /**
+   * The number of trades.
+   */
+  @Param({"100", "10000"})
+  private int trades;
+
+  private List<CurrencyParameterSensitivities> sensitivities;
+
+  /**
+   * Creates the sensitivities of each trade.
+   */
+  @Setup
+  public void setup() {
+    sensitivities = new ArrayList<>(trades);
+    for (int i = 0; i < trades; i++) {
+      List<CurrencyParameterSensitivity> tradeSens = new ArrayList<>();
+      for (int j = 0; j < 3; j++) {
+        int curve = (i * 7 + j * 5) % CURVE_COUNT;
+        Currency currency = CURRENCIES.get(curve % CURRENCIES.size());
+        double scale = i + j;
+        tradeSens.add(CurrencyParameterSensitivity.of(
+            CurveName.of("Curve" + curve), currency, DoubleArray.of(PARAMETER_COUNT, k -> scale * k)));
+      }
+      sensitivities.add(CurrencyParameterSensitivities.of(tradeSens));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Sums the sensitivities using {@code combinedWith}.
+   *
+   * @return the total sensitivity
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities combinedWith() {
+    CurrencyParameterSensitivities total = CurrencyParameterSensitivities.empty();
+    for (CurrencyParameterSensitivities sens : sensitivities) {
+      total = total.combinedWith(sens);
+    }
+    return total;
+  }
+
+  /**
+   * Sums the sensitivities using an aggregator.
+   *
+   * @return the total sensitivity
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities aggregator() {
+    CurrencyParameterSensitivitiesAggregator aggregator = CurrencyParameterSensitivitiesAggregator.create();
+    for (CurrencyParameterSensitivities sens : sensitivities) {
+      aggregator.add(sens);
+    }
+    return aggregator.build();
+  }
+
+  /**
+   * Sums the sensitivities using a parallel stream and the aggregating collector.
+   *
+   * @return the total sensitivity
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities aggregatorParallel() {
+    return sensitivities.parallelStream()
+        .collect(CurrencyParameterSensitivitiesAggregator.toAggregatedSensitivities());
+  }
+
+}
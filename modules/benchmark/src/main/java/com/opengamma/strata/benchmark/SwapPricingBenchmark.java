@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+import static com.opengamma.strata.benchmark.BenchmarkData.VAL_DATE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Benchmarks {@link DiscountingSwapProductPricer}.
+ * <p>
+ * A fixed versus Libor 3M swap is priced using the calibrated USD curves.
+ * The parameter sensitivity benchmark projects the point sensitivity onto the curves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwapPricingBenchmark {
+
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  /**
+   * The tenor of the swap.
+   */
+  @Param({"2Y", "10Y", "30Y"})
+  private String tenor;
+
+  private ImmutableRatesProvider provider;
+  private ResolvedSwap swap;
+  private PointSensitivities pointSensitivities;
+
+  /**
+   * Calibrates the curves and creates the swap.
+   */
+  @Setup
+  public void setup() {
+    provider = BenchmarkData.ratesProvider();
+    swap = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+        .createTrade(VAL_DATE, Tenor.parse(tenor), BuySell.BUY, 1_000_000d, 0.02d, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA);
+    pointSensitivities = PRICER.presentValueSensitivity(swap, provider).build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(swap, provider);
+  }
+
+  /**
+   * Calculates the present value point sensitivity of the swap.
+   *
+   * @return the point sensitivity
+   */
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(swap, provider).build();
+  }
+
+  /**
+   * Projects the point sensitivity onto the curve parameters.
+   *
+   * @return the parameter sensitivity
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities parameterSensitivity() {
+    return provider.parameterSensitivity(pointSensitivities);
+  }
+
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks of the pricing and calibration hot paths.
+ * <p>
+ * The benchmarks are packaged in {@code target/benchmarks.jar} and run using {@link BenchmarkRunner}.
+ */
+package com.opengamma.strata.benchmark;
@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import static java.util.stream.Collector.Characteristics.IDENTITY_FINISH;
+import static java.util.stream.Collector.Characteristics.UNORDERED;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+
+/**
+ * Mutable accumulator used to total currency amounts in multiple scenarios.
+ * <p>
+ * Totalling a portfolio using {@link MultiCurrencyScenarioArray} creates new maps and arrays for every addition.
+ * By contrast, this accumulator holds one primitive array per currency, each array holding the total
+ * in every scenario, and adds the amounts in place.
+ * The arrays are retained by {@link #reset()}, allowing the accumulator to be reused.
+ * <p>
+ * The number of scenarios is defined on creation, or by the first array added.
+ * All the arrays added must have the same number of scenarios.
+ * <p>
+ * A large number of arrays can be totalled in parallel using a parallel stream and
+ * {@link #toScenarioArrayAccumulator()} or {@link #toScenarioArrayAccumulatorOfSingleCurrency()},
+ * each thread totalling a part of the stream into
+ * its own accumulator before the accumulators are added together.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class ScenarioArrayAccumulator {
+
+  /**
+   * The number of scenarios, zero until known.
+   */
+  private int scenarioCount;
+  /**
+   * The index of each currency in the arrays.
+   */
+  private final Map<Currency, Integer> currencyIndices = new HashMap<>();
+  /**
+   * The currencies, indexed as the totals.
+   */
+  private Currency[] currencies = new Currency[4];
+  /**
+   * The totals, indexed by currency and then by scenario.
+   * Entries beyond the number of currencies are retained for reuse.
+   */
+  private double[][] totals = new double[4][];
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty accumulator, the number of scenarios being defined by the first array added.
+   *
+   * @return the accumulator
+   */
+  public static ScenarioArrayAccumulator create() {
+    return new ScenarioArrayAccumulator(0);
+  }
+
+  /**
+   * Creates an empty accumulator for the specified number of scenarios.
+   *
+   * @param scenarioCount  the number of scenarios, strictly positive
+   * @return the accumulator
+   */
+  public static ScenarioArrayAccumulator of(int scenarioCount) {
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    return new ScenarioArrayAccumulator(scenarioCount);
+  }
+
+  /**
+   * Returns a collector that totals a stream of arrays into an accumulator.
+   * <p>
+   * When used with a parallel stream, the totals are computed in parallel and combined in place.
+   *
+   * @return the collector
+   */
+  public static Collector<MultiCurrencyScenarioArray, ?, ScenarioArrayAccumulator> toScenarioArrayAccumulator() {
+    return collector(ScenarioArrayAccumulator::add);
+  }
+
+  /**
+   * Returns a collector that totals a stream of single currency arrays into an accumulator.
+   * <p>
+   * When used with a parallel stream, the totals are computed in parallel and combined in place.
+   *
+   * @return the collector
+   */
+  public static Collector<CurrencyScenarioArray, ?, ScenarioArrayAccumulator>
+      toScenarioArrayAccumulatorOfSingleCurrency() {
+
+    return collector(ScenarioArrayAccumulator::add);
+  }
+
+  // creates a collector adding each element to the accumulator
+  private static <T> Collector<T, ?, ScenarioArrayAccumulator> collector(
+      BiConsumer<ScenarioArrayAccumulator, T> adder) {
+
+    return Collector.<T, ScenarioArrayAccumulator>of(
+        ScenarioArrayAccumulator::create,
+        adder,
+        (accumulator1, accumulator2) -> accumulator1.add(accumulator2),
+        UNORDERED,
+        IDENTITY_FINISH);
+  }
+
+  // restricted constructor
+  private ScenarioArrayAccumulator(int scenarioCount) {
+    this.scenarioCount = scenarioCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of scenarios.
+   * <p>
+   * This is zero if the accumulator was created without a number of scenarios and nothing has been added.
+   *
+   * @return the number of scenarios
+   */
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  /**
+   * Gets the currencies of the amounts added.
+   *
+   * @return the currencies
+   */
+  public Set<Currency> getCurrencies() {
+    return ImmutableSet.copyOf(Arrays.asList(currencies).subList(0, currencyIndices.size()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the amounts in multiple currencies to the totals.
+   *
+   * @param array  the amounts to add
+   * @return this accumulator, for chaining
+   * @throws IllegalArgumentException if the number of scenarios differs
+   */
+  public ScenarioArrayAccumulator add(MultiCurrencyScenarioArray array) {
+    checkScenarioCount(array.getScenarioCount());
+    for (Map.Entry<Currency, DoubleArray> entry : array.getAmounts().getValues().entrySet()) {
+      addValues(entry.getKey(), entry.getValue().toArrayUnsafe());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the amounts in a single currency to the totals.
+   *
+   * @param array  the amounts to add
+   * @return this accumulator, for chaining
+   * @throws IllegalArgumentException if the number of scenarios differs
+   */
+  public ScenarioArrayAccumulator add(CurrencyScenarioArray array) {
+    checkScenarioCount(array.getScenarioCount());
+    addValues(array.getCurrency(), array.getAmounts().getValues().toArrayUnsafe());
+    return this;
+  }
+
+  /**
+   * Adds the totals of another accumulator to the totals.
+   * <p>
+   * The other accumulator is not changed.
+   *
+   * @param other  the accumulator to add
+   * @return this accumulator, for chaining
+   * @throws IllegalArgumentException if the number of scenarios differs
+   */
+  public ScenarioArrayAccumulator add(ScenarioArrayAccumulator other) {
+    if (other.currencyIndices.isEmpty()) {
+      return this;
+    }
+    checkScenarioCount(other.scenarioCount);
+    for (int i = 0; i < other.currencyIndices.size(); i++) {
+      addValues(other.currencies[i], other.totals[i]);
+    }
+    return this;
+  }
+
+  /**
+   * Removes all the totals, retaining the arrays for reuse.
+   * <p>
+   * The number of scenarios is not changed.
+   */
+  public void reset() {
+    currencyIndices.clear();
+  }
+
+  // checks the number of scenarios, defining it if not yet known
+  private void checkScenarioCount(int count) {
+    if (scenarioCount == 0) {
+      scenarioCount = count;
+    } else if (count != scenarioCount) {
+      throw new IllegalArgumentException(
+          Messages.format("Expected {} scenarios but found {}", scenarioCount, count));
+    }
+  }
+
+  // adds the values to the totals of the currency
+  private void addValues(Currency currency, double[] values) {
+    double[] currencyTotals = totals(currency);
+    for (int i = 0; i < scenarioCount; i++) {
+      currencyTotals[i] += values[i];
+    }
+  }
+
+  // finds the totals of the currency, adding zero totals if the currency is not present
+  private double[] totals(Currency currency) {
+    Integer index = currencyIndices.get(currency);
+    if (index != null) {
+      return totals[index];
+    }
+    int newIndex = currencyIndices.size();
+    if (newIndex == currencies.length) {
+      currencies = Arrays.copyOf(currencies, newIndex * 2);
+      totals = Arrays.copyOf(totals, newIndex * 2);
+    }
+    double[] currencyTotals = totals[newIndex];
+    if (currencyTotals == null || currencyTotals.length != scenarioCount) {
+      currencyTotals = new double[scenarioCount];
+      totals[newIndex] = currencyTotals;
+    } else {
+      Arrays.fill(currencyTotals, 0d);
+    }
+    currencies[newIndex] = currency;
+    currencyIndices.put(currency, newIndex);
+    return currencyTotals;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the totals as a multi currency scenario array.
+   * <p>
+   * The totals are copied, thus the accumulator can continue to be used.
+   * If nothing has been added, the result holds an empty amount in each scenario.
+   *
+   * @return the totals
+   */
+  public MultiCurrencyScenarioArray toMultiCurrencyScenarioArray() {
+    if (currencyIndices.isEmpty()) {
+      return MultiCurrencyScenarioArray.of(scenarioCount, i -> MultiCurrencyAmount.empty());
+    }
+    ImmutableMap.Builder<Currency, DoubleArray> builder = ImmutableMap.builder();
+    for (int i = 0; i < currencyIndices.size(); i++) {
+      builder.put(currencies[i], DoubleArray.copyOf(totals[i]));
+    }
+    return MultiCurrencyScenarioArray.of(builder.build());
+  }
+
+  /**
+   * Returns the totals converted to a single currency.
+   * <p>
+   * The totals of all currencies are converted in a single pass.
+   *
+   * @param reportingCurrency  the currency into which the totals are converted
+   * @param fxRateProvider  the provider of FX rates in each scenario
+   * @return the converted totals
+   * @throws IllegalArgumentException if the number of scenarios of the FX rate provider differs
+   * @throws RuntimeException if no FX rate could be found
+   */
+  public CurrencyScenarioArray convertedTo(Currency reportingCurrency, ScenarioFxRateProvider fxRateProvider) {
+    ArgChecker.notNull(reportingCurrency, "reportingCurrency");
+    ArgChecker.notNull(fxRateProvider, "fxRateProvider");
+    if (currencyIndices.isEmpty()) {
+      return CurrencyScenarioArray.of(reportingCurrency, DoubleArray.filled(scenarioCount));
+    }
+    if (fxRateProvider.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} FX rates but received {}", scenarioCount, fxRateProvider.getScenarioCount()));
+    }
+    double[] converted = new double[scenarioCount];
+    for (int c = 0; c < currencyIndices.size(); c++) {
+      Currency currency = currencies[c];
+      double[] currencyTotals = totals[c];
+      if (currency.equals(reportingCurrency)) {
+        for (int i = 0; i < scenarioCount; i++) {
+          converted[i] += currencyTotals[i];
+        }
+      } else {
+        for (int i = 0; i < scenarioCount; i++) {
+          converted[i] += currencyTotals[i] * fxRateProvider.fxRate(currency, reportingCurrency, i);
+        }
+      }
+    }
+    return CurrencyScenarioArray.of(reportingCurrency, DoubleArray.ofUnsafe(converted));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ScenarioArrayAccumulator[scenarioCount=" + scenarioCount + ", currencies=" + getCurrencies() + "]";
+  }
+
+}
@@ -209,6 +209,18 @@ final class BuiltScenarioMarketDataBuilder {
     return new BuiltScenarioMarketData(builder.build(), valueFailures, timeSeriesFailures);
   }
 
+  /**
+   * Creates a copy of this builder.
+   * <p>
+   * Data added to the copy is not added to this builder.
+   *
+   * @return a copy of this builder
+   */
+  BuiltScenarioMarketDataBuilder copy() {
+    return new BuiltScenarioMarketDataBuilder(
+        valuationDate, scenarioCount, values, timeSeries, valueFailures, timeSeriesFailures);
+  }
+
   //-------------------------------------------------------------------------
   private static void checkBoxType(MarketDataId<?> id, MarketDataBox<?> box) {
     if (!id.getMarketDataType().isAssignableFrom(box.getMarketDataType())) {
@@ -5,18 +5,24 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import static com.opengamma.strata.collect.Guavate.combineFuturesAsMap;
+import static com.opengamma.strata.collect.Guavate.joinUnwrapped;
 import static com.opengamma.strata.collect.Guavate.not;
-import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -30,6 +36,10 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * Market data is built in steps, each step building the data whose dependencies are available.
+ * If an executor is provided, the observable and supplied data is added first, then each item of
+ * non-observable data is built concurrently as soon as the data it depends on has been built.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -42,6 +52,12 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** The cache of built market data, null if built market data is not cached. */
+  private final MarketDataCache cache;
+
+  /** The executor used to build independent market data concurrently, null to build serially. */
+  private final ExecutorService executor;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,10 +68,30 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, null, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series,
+   * caching the market data built by the functions.
+   * <p>
+   * The market data functions are used to build the market data.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param cache  the cache of built market data, null to disable caching
+   * @param functions  the functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
+      MarketDataCache cache,
       List<MarketDataFunction<?, ?>> functions) {
 
     this.observableDataProvider = observableDataProvider;
@@ -67,6 +103,29 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
 
     functions.stream().forEach(builder -> builderMap.put(builder.getMarketDataIdType(), builder));
     this.functions = ImmutableMap.copyOf(builderMap);
+    this.cache = cache;
+    this.executor = null;
+  }
+
+  // creates an instance
+  private DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions,
+      MarketDataCache cache,
+      ExecutorService executor) {
+
+    this.observableDataProvider = observableDataProvider;
+    this.timeSeriesProvider = timeSeriesProvider;
+    this.functions = functions;
+    this.cache = cache;
+    this.executor = executor;
+  }
+
+  @Override
+  public DefaultMarketDataFactory withExecutor(ExecutorService executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions, cache, executor);
   }
 
   //-------------------------------------------------------------------------
@@ -102,13 +161,16 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition) {
 
-    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
-    BuiltScenarioMarketData builtData = dataBuilder.build();
-
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    if (executor != null) {
+      return buildConcurrently(root, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+
+    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
+    BuiltScenarioMarketData builtData = dataBuilder.build();
 
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
@@ -138,72 +200,172 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       // The requirements contained in the leaf nodes
       MarketDataRequirements leafRequirements = pair.getSecond();
 
-      // Time series of observable data ------------------------------------------------------------
-
-      // Build any time series that are required but not available
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> marketData.getTimeSeries(id).isEmpty())
-          .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
-
-      // Copy supplied time series to the scenario data
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
+      // Time series, observable data and supplied data
+      addLeafData(leafRequirements, marketData, suppliedData, refData, scenarioDefinition, dataBuilder);
 
-      // Single values of observable data -----------------------------------------------------------
-
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+      // Filter out IDs for the data that is already available and build the rest
+      leafRequirements.getNonObservables().stream()
           .filter(not(marketData::containsValue))
           .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
+          .forEach(id -> addResult(
+              id,
+              buildNonObservableData(id, marketDataConfig, marketData, refData),
+              refData,
+              scenarioDefinition,
+              dataBuilder));
 
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
+      // Put the data built so far into an object that will be used in the next phase of building data
+      builtData = dataBuilder.build();
 
-      // Copy observable data from the supplied data to the builder, applying any matching perturbations
-      leafRequirements.getObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+      // A copy of the dependency tree not including the leaf nodes
+      root = pair.getFirst();
+    }
+    return builtData;
+  }
 
-      // Non-observable data -----------------------------------------------------------------------
+  // adds the time series, the observable data and the supplied data required by the leaves of the tree
+  private void addLeafData(
+      MarketDataRequirements leafRequirements,
+      BuiltScenarioMarketData marketData,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Time series of observable data ------------------------------------------------------------
+
+    // Build any time series that are required but not available
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> marketData.getTimeSeries(id).isEmpty())
+        .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+
+    // Copy supplied time series to the scenario data
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
+
+    // Single values of observable data -----------------------------------------------------------
+
+    // Filter out IDs for the data that is already available
+    Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+        .filter(not(marketData::containsValue))
+        .filter(not(suppliedData::containsValue))
+        .collect(toImmutableSet());
+
+    // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
+    if (!observableIds.isEmpty()) {
+      Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
+      MapStream.of(observableResults)
+          .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+    }
 
-      // Filter out IDs for the data that is already available and build the rest
-      Set<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
+    // Copy observable data from the supplied data to the builder, applying any matching perturbations
+    leafRequirements.getObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
 
-      Map<MarketDataId<?>, Result<MarketDataBox<?>>> nonObservableResults =
-          buildNonObservableData(nonObservableIds, marketDataConfig, marketData, refData);
+    // Non-observable data -----------------------------------------------------------------------
 
-      MapStream.of(nonObservableResults)
-          .forEach((id, result) -> addResult(id, result, refData, scenarioDefinition, dataBuilder));
+    // Copy supplied data to the scenario data after applying perturbations
+    leafRequirements.getNonObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  }
 
-      // Copy supplied data to the scenario data after applying perturbations
-      leafRequirements.getNonObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  //-------------------------------------------------------------------------
+  // builds the market data using the executor
+  // the data of all the leaves of the tree is added first, this includes all the observable and supplied data
+  // each item of non-observable data is then built as soon as the items it depends on have been built,
+  // rather than waiting for every item at the same depth of the tree
+  private BuiltScenarioMarketData buildConcurrently(
+      MarketDataNode root,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
 
-      // --------------------------------------------------------------------------------------------
+    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
+    addLeafData(root.leafRequirements(), dataBuilder.build(), suppliedData, refData, scenarioDefinition, dataBuilder);
 
-      // Put the data built so far into an object that will be used in the next phase of building data
-      builtData = dataBuilder.build();
+    // the futures are only accessed by this thread, the tasks only use the futures of their own dependencies
+    Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> futures = new LinkedHashMap<>();
+    for (MarketDataNode node : root.getDependencies()) {
+      if (isBuilt(node, suppliedData)) {
+        scheduleBuild(node, futures, dataBuilder, marketDataConfig, suppliedData, refData, scenarioDefinition);
+      }
+    }
+    Map<MarketDataId<?>, Result<MarketDataBox<?>>> results = joinUnwrapped(combineFuturesAsMap(futures));
+    MapStream.of(results).forEach((id, result) -> dataBuilder.addResult(id, result));
+    return dataBuilder.build();
+  }
 
-      // A copy of the dependency tree not including the leaf nodes
-      root = pair.getFirst();
+  // schedules the build of the data of the node once the data it depends on has been built
+  private CompletableFuture<Result<MarketDataBox<?>>> scheduleBuild(
+      MarketDataNode node,
+      Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> futures,
+      BuiltScenarioMarketDataBuilder leafDataBuilder,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    CompletableFuture<Result<MarketDataBox<?>>> existing = futures.get(node.getId());
+    if (existing != null) {
+      return existing;
     }
-    return builtData;
+    Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> dependencies = new LinkedHashMap<>();
+    for (MarketDataNode child : node.getDependencies()) {
+      if (isBuilt(child, suppliedData)) {
+        dependencies.put(
+            child.getId(),
+            scheduleBuild(child, futures, leafDataBuilder, marketDataConfig, suppliedData, refData, scenarioDefinition));
+      }
+    }
+    CompletableFuture<Result<MarketDataBox<?>>> future =
+        CompletableFuture.allOf(dependencies.values().toArray(new CompletableFuture<?>[0]))
+            .thenApplyAsync(
+                ignored -> {
+                  // the data of the leaves, which is no longer modified, plus the data built from the dependencies
+                  BuiltScenarioMarketDataBuilder inputBuilder = leafDataBuilder.copy();
+                  MapStream.of(dependencies).forEach((id, dependency) -> inputBuilder.addResult(id, dependency.join()));
+                  Result<MarketDataBox<?>> result =
+                      buildNonObservableData(node.getId(), marketDataConfig, inputBuilder.build(), refData);
+                  return result.isSuccess() ?
+                      applyScenario(node.getId(), result.getValue(), refData, scenarioDefinition) :
+                      result;
+                },
+                executor);
+    futures.put(node.getId(), future);
+    return future;
+  }
+
+  // checks if the data of the node is built by a market data function
+  private static boolean isBuilt(MarketDataNode node, ScenarioMarketData suppliedData) {
+    return node.getDataType() == MarketDataNode.DataType.SINGLE_VALUE &&
+        !(node.getId() instanceof ObservableId) &&
+        !suppliedData.containsValue(node.getId());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ImmutableSetMultimap<MarketDataId<?>, MarketDataId<?>> dependencies(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig) {
+
+    // nothing is supplied, so every item of data that could be built is expanded to its dependencies
+    MarketDataNode root =
+        MarketDataNode.buildDependencyTree(requirements, ScenarioMarketData.empty(), marketDataConfig, functions);
+    ImmutableSetMultimap.Builder<MarketDataId<?>, MarketDataId<?>> builder = ImmutableSetMultimap.builder();
+    root.addDependencies(builder);
+    return builder.build();
   }
 
   //-------------------------------------------------------------------------
   /**
    * Builds items of non-observable market data using a market data function.
+   * <p>
+   * If a cache is available, the market data is only built if it is not in the cache.
    *
    * @param id  ID of the market data that should be built
    * @param marketDataConfig  configuration specifying how the market data should be built
@@ -231,20 +393,12 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     if (marketDataFunction == null) {
       throw new IllegalStateException("No market data function available for market data ID of type " + idClass.getName());
     }
+    if (cache != null) {
+      return cache.build(id, marketDataFunction, marketDataConfig, suppliedData, refData);
+    }
     return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
   }
 
-  @SuppressWarnings("unchecked")
-  private Map<MarketDataId<?>, Result<MarketDataBox<?>>> buildNonObservableData(
-      Set<? extends MarketDataId<?>> ids,
-      MarketDataConfig marketDataConfig,
-      BuiltScenarioMarketData marketData,
-      ReferenceData refData) {
-
-    return ids.stream()
-        .collect(toImmutableMap(id -> id, id -> buildNonObservableData(id, marketDataConfig, marketData, refData)));
-  }
-
   /**
    * Adds an item of market data to a builder.
    * <p>
@@ -310,7 +464,6 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param scenarioDefinition  definition of a set of scenarios
    * @param builder  the market data is added to this builder
    */
-  @SuppressWarnings("unchecked")
   private void addValue(
       MarketDataId<?> id,
       MarketDataBox<?> value,
@@ -318,6 +471,17 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition,
       BuiltScenarioMarketDataBuilder builder) {
 
+    builder.addResult(id, applyScenario(id, value, refData, scenarioDefinition));
+  }
+
+  // applies the first perturbation of the scenario definition matching the value, if any
+  @SuppressWarnings("unchecked")
+  private static Result<MarketDataBox<?>> applyScenario(
+      MarketDataId<?> id,
+      MarketDataBox<?> value,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
     Optional<PerturbationMapping<?>> optionalMapping = scenarioDefinition.getMappings().stream()
         .filter(m -> m.matches(id, value, refData))
         .findFirst();
@@ -328,11 +492,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
       MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
       // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
-      Result<MarketDataBox<?>> result = Result.of(() -> mapping.applyPerturbation(objectValue, refData));
-      builder.addResult(id, result);
-    } else {
-      builder.addBox(id, value);
+      return Result.of(() -> mapping.applyPerturbation(objectValue, refData));
     }
+    return Result.success(value);
   }
 
 }
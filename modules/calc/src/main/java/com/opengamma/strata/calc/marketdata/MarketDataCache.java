@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Bounded cache of market data built by market data functions.
+ * <p>
+ * Building non-observable market data, such as calibrating a curve group, is typically much more expensive
+ * than obtaining its inputs. When the same market data is built repeatedly from identical inputs,
+ * for example by successive report runs or what-if requests, this cache allows the built value to be reused.
+ * A cache is used by a market data factory created with
+ * {@link MarketDataFactory#of(ObservableDataProvider, TimeSeriesProvider, MarketDataCache, MarketDataFunction...)}.
+ * <p>
+ * The cache is content-addressed. The key of a value is made of its identifier, the function building it,
+ * the market data configuration, the reference data, the valuation date and the values of the inputs declared by
+ * {@link MarketDataFunction#requirements(MarketDataId, MarketDataConfig)}.
+ * The function, the configuration and the inputs are compared using {@code equals}, which is immediate when
+ * the same instances are used, as happens when the inputs were themselves returned by the cache.
+ * The reference data is compared by identity, as it is typically large and shared.
+ * Thus a cache shared between factories never returns a value built by the function of another factory.
+ * Thus a curve group calibrated to perturbed quotes is never mixed with the base curve group.
+ * Only successfully built values are cached.
+ * <p>
+ * When the maximum size is reached, the least recently used value is evicted.
+ * The number of hits, misses and evictions is recorded.
+ * This class is thread-safe. The market data is built outside of the lock,
+ * thus two threads requesting the same missing value may both build it.
+ */
+public final class MarketDataCache {
+
+  /**
+   * The maximum number of values held.
+   */
+  private final int maximumSize;
+  /**
+   * The built values, in access order, guarded by this instance.
+   */
+  private final LinkedHashMap<Key, MarketDataBox<?>> values;
+  /**
+   * The number of requests answered from the cache, guarded by this instance.
+   */
+  private long hitCount;
+  /**
+   * The number of requests that required the value to be built, guarded by this instance.
+   */
+  private long missCount;
+  /**
+   * The number of values evicted, guarded by this instance.
+   */
+  private long evictionCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache holding at most the specified number of values.
+   *
+   * @param maximumSize  the maximum number of values, strictly positive
+   * @return the cache
+   */
+  public static MarketDataCache of(int maximumSize) {
+    return new MarketDataCache(maximumSize);
+  }
+
+  // restricted constructor
+  private MarketDataCache(int maximumSize) {
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    this.maximumSize = maximumSize;
+    this.values = new LinkedHashMap<Key, MarketDataBox<?>>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, MarketDataBox<?>> eldest) {
+        boolean evict = size() > MarketDataCache.this.maximumSize;
+        if (evict) {
+          evictionCount++;
+        }
+        return evict;
+      }
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum number of values held by the cache.
+   *
+   * @return the maximum size
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Gets the number of values currently held by the cache.
+   *
+   * @return the size
+   */
+  public synchronized int size() {
+    return values.size();
+  }
+
+  /**
+   * Gets the number of requests answered from the cache.
+   *
+   * @return the number of hits
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Gets the number of requests that required the value to be built.
+   *
+   * @return the number of misses
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Gets the number of values evicted because the maximum size was reached.
+   *
+   * @return the number of evictions
+   */
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Removes all the values from the cache.
+   * <p>
+   * The hit, miss and eviction counts are not reset.
+   */
+  public synchronized void clear() {
+    values.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an item of market data, building it with the function if it is not in the cache.
+   *
+   * @param id  the identifier of the market data
+   * @param function  the function that builds the market data
+   * @param marketDataConfig  the market data configuration
+   * @param marketData  the market data containing the inputs of the function
+   * @param refData  the reference data
+   * @return a result containing the market data or details of why it wasn't built
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  Result<MarketDataBox<?>> build(
+      MarketDataId id,
+      MarketDataFunction function,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    Result<Key> keyResult = Result.of(() -> key(id, function, marketDataConfig, marketData, refData));
+    if (keyResult.isFailure()) {
+      return Result.failure(keyResult);
+    }
+    Key key = keyResult.getValue();
+    synchronized (this) {
+      MarketDataBox<?> cached = values.get(key);
+      if (cached != null) {
+        hitCount++;
+        return Result.success(cached);
+      }
+      missCount++;
+    }
+    Result<MarketDataBox<?>> result = Result.of(() -> function.build(id, marketDataConfig, marketData, refData));
+    if (result.isFailure()) {
+      return result;
+    }
+    synchronized (this) {
+      MarketDataBox<?> existing = values.putIfAbsent(key, result.getValue());
+      return existing != null ? Result.success(existing) : result;
+    }
+  }
+
+  // creates the key from the inputs declared by the function
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Key key(
+      MarketDataId<?> id,
+      MarketDataFunction function,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    MarketDataRequirements requirements = function.requirements(id, marketDataConfig);
+    ImmutableMap.Builder<MarketDataId<?>, Optional<MarketDataBox<?>>> inputs = ImmutableMap.builder();
+    for (ObservableId inputId : requirements.getObservables()) {
+      inputs.put(inputId, (Optional) marketData.findValue(inputId));
+    }
+    for (MarketDataId<?> inputId : requirements.getNonObservables()) {
+      inputs.put(inputId, (Optional) marketData.findValue(inputId));
+    }
+    ImmutableMap.Builder<ObservableId, LocalDateDoubleTimeSeries> timeSeries = ImmutableMap.builder();
+    for (ObservableId inputId : requirements.getTimeSeries()) {
+      timeSeries.put(inputId, marketData.getTimeSeries(inputId));
+    }
+    return new Key(
+        id,
+        function,
+        marketDataConfig,
+        refData,
+        marketData.getValuationDate(),
+        marketData.getScenarioCount(),
+        inputs.build(),
+        timeSeries.build());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The inputs of the market data function.
+   */
+  private static final class Key {
+    private final MarketDataId<?> id;
+    private final MarketDataFunction<?, ?> function;
+    private final MarketDataConfig marketDataConfig;
+    private final ReferenceData refData;
+    private final MarketDataBox<LocalDate> valuationDate;
+    private final int scenarioCount;
+    private final ImmutableMap<MarketDataId<?>, Optional<MarketDataBox<?>>> inputs;
+    private final ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries;
+    private final int hashCode;
+
+    private Key(
+        MarketDataId<?> id,
+        MarketDataFunction<?, ?> function,
+        MarketDataConfig marketDataConfig,
+        ReferenceData refData,
+        MarketDataBox<LocalDate> valuationDate,
+        int scenarioCount,
+        ImmutableMap<MarketDataId<?>, Optional<MarketDataBox<?>>> inputs,
+        ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
+
+      this.id = id;
+      this.function = function;
+      this.marketDataConfig = marketDataConfig;
+      this.refData = refData;
+      this.valuationDate = valuationDate;
+      this.scenarioCount = scenarioCount;
+      this.inputs = inputs;
+      this.timeSeries = timeSeries;
+      this.hashCode = Objects.hash(
+          id,
+          function,
+          marketDataConfig,
+          System.identityHashCode(refData),
+          valuationDate,
+          scenarioCount,
+          inputs,
+          timeSeries);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return hashCode == other.hashCode &&
+          refData == other.refData &&
+          scenarioCount == other.scenarioCount &&
+          id.equals(other.id) &&
+          function.equals(other.function) &&
+          valuationDate.equals(other.valuationDate) &&
+          marketDataConfig.equals(other.marketDataConfig) &&
+          inputs.equals(other.inputs) &&
+          timeSeries.equals(other.timeSeries);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
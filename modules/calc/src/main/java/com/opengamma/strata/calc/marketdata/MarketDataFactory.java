@@ -6,11 +6,15 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -55,6 +59,32 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, ImmutableList.copyOf(functions));
   }
 
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series,
+   * reusing market data built from identical inputs.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Each item of market data built by a function is added to the cache,
+   * and taken from the cache when it is next required with the same inputs.
+   * The cache may be shared between factories.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param cache  the cache of built market data
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      MarketDataCache cache,
+      MarketDataFunction<?, ?>... functions) {
+
+    ArgChecker.notNull(cache, "cache");
+    return new DefaultMarketDataFactory(
+        observableDataProvider, timeSeriesProvider, cache, ImmutableList.copyOf(functions));
+  }
+
   /**
    * Obtains an instance of the factory based on providers of market data and time-series.
    * <p>
@@ -154,4 +184,51 @@ public interface MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the dependencies between the items of market data required for the calculations.
+   * <p>
+   * The result maps the identifier of each item of market data that the factory can build
+   * to the identifiers of the market data used to build it. For example, a curve maps to its
+   * curve group and the curve group maps to the quotes of its nodes.
+   * Observable data and data that cannot be built has no entry.
+   * <p>
+   * No market data is treated as supplied, thus the result contains every dependency that
+   * building the data could need. This can be used to find the market data, and hence the calculations,
+   * affected by a change in the value of an item of market data.
+   * <p>
+   * The default implementation returns an empty result, such that only the market data directly
+   * required by the calculations is considered to affect them.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @return the identifiers of the market data used to build each item of market data
+   */
+  public default ImmutableSetMultimap<MarketDataId<?>, MarketDataId<?>> dependencies(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig) {
+
+    return ImmutableSetMultimap.of();
+  }
+
+  /**
+   * Returns a factory that builds independent items of market data concurrently.
+   * <p>
+   * Market data whose dependencies are all available, such as the curve groups of different currencies,
+   * is built at the same time using the executor. Market data is only built once all the market data
+   * it depends on has been built. This reduces the time taken to build an environment made of
+   * several independent items of market data that are expensive to calibrate.
+   * <p>
+   * The market data functions must be safe to invoke from multiple threads.
+   * The caller remains responsible for shutting down the executor.
+   * <p>
+   * The default implementation returns this factory, thus the market data continues to be built serially.
+   *
+   * @param executor  the executor used to build the market data
+   * @return a factory building market data concurrently
+   */
+  public default MarketDataFactory withExecutor(ExecutorService executor) {
+    return this;
+  }
+
 }
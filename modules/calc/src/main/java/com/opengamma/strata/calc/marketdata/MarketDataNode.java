@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketDataId;
@@ -142,16 +143,7 @@ final class MarketDataNode {
 
     for (MarketDataNode child : dependencies) {
       if (child.isLeaf()) {
-        switch (child.dataType) {
-          case SINGLE_VALUE:
-            requirementsBuilder.addValues(child.id);
-            break;
-          case TIME_SERIES:
-            requirementsBuilder.addTimeSeries(((ObservableId) child.id));
-            break;
-          default:
-            throw new IllegalStateException("Unexpected enum value");
-        }
+        child.addRequirement(requirementsBuilder);
       } else {
         Pair<MarketDataNode, MarketDataRequirements> childResult = child.withLeavesRemoved();
         childNodesBuilder.add(childResult.getFirst());
@@ -164,6 +156,61 @@ final class MarketDataNode {
     return Pair.of(node, requirements);
   }
 
+  /**
+   * Returns the market data requirements represented by all the leaf nodes of the tree.
+   * <p>
+   * These are the requirements that would be returned by repeatedly removing the leaves
+   * until only the root is left.
+   *
+   * @return the market data requirements represented by the leaf nodes
+   */
+  MarketDataRequirements leafRequirements() {
+    MarketDataRequirementsBuilder requirementsBuilder = MarketDataRequirements.builder();
+    addLeafRequirements(requirementsBuilder);
+    return requirementsBuilder.build();
+  }
+
+  // adds the requirements of the leaf nodes below this node
+  private void addLeafRequirements(MarketDataRequirementsBuilder requirementsBuilder) {
+    for (MarketDataNode child : dependencies) {
+      if (child.isLeaf()) {
+        child.addRequirement(requirementsBuilder);
+      } else {
+        child.addLeafRequirements(requirementsBuilder);
+      }
+    }
+  }
+
+  // adds the requirement represented by this node
+  private void addRequirement(MarketDataRequirementsBuilder requirementsBuilder) {
+    switch (dataType) {
+      case SINGLE_VALUE:
+        requirementsBuilder.addValues(id);
+        break;
+      case TIME_SERIES:
+        requirementsBuilder.addTimeSeries(((ObservableId) id));
+        break;
+      default:
+        throw new IllegalStateException("Unexpected enum value");
+    }
+  }
+
+  /**
+   * Adds the direct dependencies of this node and its descendants to the builder.
+   * <p>
+   * Each identifier is mapped to the identifiers of the market data used to build it.
+   *
+   * @param builder  the builder of the dependencies
+   */
+  void addDependencies(ImmutableSetMultimap.Builder<MarketDataId<?>, MarketDataId<?>> builder) {
+    for (MarketDataNode child : dependencies) {
+      if (id != null) {
+        builder.put(id, child.id);
+      }
+      child.addDependencies(builder);
+    }
+  }
+
   /**
    * Returns true if this node has no children.
    *
@@ -182,6 +229,24 @@ final class MarketDataNode {
     return id;
   }
 
+  /**
+   * Returns the type of the market data represented by this node.
+   *
+   * @return the type of the market data, null for the root node
+   */
+  DataType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * Returns the child nodes identifying the market data required to build the market data in this node.
+   *
+   * @return the child nodes of this node
+   */
+  List<MarketDataNode> getDependencies() {
+    return dependencies;
+  }
+
   /**
    * Prints this node and its tree of dependencies to an ASCII tree.
    *
@@ -203,10 +203,18 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
     // calculate the results
     Map<Measure, Result<?>> results = calculate(marketData, refData);
+    return createResults(results, marketData, refData);
+  }
+
+  // converts the calculated results into the result cells, using the market data for currency conversion
+  // the market data must contain all the scenarios of the results
+  CalculationResults createResults(
+      Map<Measure, Result<?>> results,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
 
     // get a suitable FX provider
     ScenarioFxRateProvider fxProvider = parameters.findParameter(FxRateLookup.class)
@@ -223,8 +231,9 @@ public final class CalculationTask implements ImmutableBean {
     return CalculationResults.of(target, resultBuilder.build());
   }
 
-  // calculates the result
-  private Map<Measure, Result<?>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
+  // calculates the result, capturing any failure
+  // this is used directly by the runner when a task is split into scenario slices
+  Map<Measure, Result<?>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
     try {
       Set<Measure> requestedMeasures = getMeasures();
       Set<Measure> supportedMeasures = function.supportedMeasures();
@@ -7,12 +7,19 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
 
+import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -79,6 +86,65 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation task runner that splits each task into slices of scenarios.
+   * <p>
+   * When calculating multiple scenarios, each task is split into units of work covering at most
+   * the specified number of scenarios. The units of work are executed on a work-stealing pool and
+   * the results of each slice are reassembled into a single result for each cell.
+   * This avoids idle threads when a small number of expensive targets dominate a scenario run.
+   * <p>
+   * The slice results of a measure can be reassembled if they are all generic {@link ScenarioArray} instances
+   * or all instances of {@link DoubleScenarioArray}, {@link CurrencyScenarioArray} or
+   * {@link MultiCurrencyScenarioArray}. Otherwise the slices are discarded, the task is calculated again
+   * without slicing and a warning is logged. Later tasks with the same function and measures are not sliced.
+   * <p>
+   * This factory creates a pool basing the number of threads on the number of available processors.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofScenarioSlicing(50)) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @param scenarioSliceSize  the maximum number of scenarios calculated by a single unit of work, one or more
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofScenarioSlicing(int scenarioSliceSize) {
+    return DefaultCalculationTaskRunner.ofScenarioSlicing(scenarioSliceSize);
+  }
+
+  /**
+   * Creates a calculation task runner that splits each task into slices of scenarios,
+   * specifying the pool and a function to estimate the cost of each target.
+   * <p>
+   * When calculating multiple scenarios, each task is split into units of work covering at most
+   * the specified number of scenarios. The units of work are executed on the work-stealing pool and
+   * the results of each slice are reassembled into a single result for each cell.
+   * <p>
+   * The slice results of a measure can be reassembled if they are all generic {@link ScenarioArray} instances
+   * or all instances of {@link DoubleScenarioArray}, {@link CurrencyScenarioArray} or
+   * {@link MultiCurrencyScenarioArray}. Otherwise the slices are discarded, the task is calculated again
+   * without slicing and a warning is logged. Later tasks with the same function and measures are not sliced.
+   * <p>
+   * The tasks are started in order of descending cost, as estimated by the cost function.
+   * The cost is relative, thus any measure that ranks the targets, such as the number of cash flows, is suitable.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the work-stealing pool to use
+   * @param scenarioSliceSize  the maximum number of scenarios calculated by a single unit of work, one or more
+   * @param costFunction  the function estimating the relative cost of calculating a target
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofScenarioSlicing(
+      ForkJoinPool pool,
+      int scenarioSliceSize,
+      ToDoubleFunction<CalculationTarget> costFunction) {
+
+    return DefaultCalculationTaskRunner.ofScenarioSlicing(pool, scenarioSliceSize, costFunction);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
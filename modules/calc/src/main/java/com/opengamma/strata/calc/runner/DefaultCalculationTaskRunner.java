@@ -7,22 +7,46 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -30,14 +54,34 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * By default, each task is executed as a single unit of work covering all scenarios.
+ * In scenario slicing mode, each task is instead split into slices of scenarios which are executed
+ * on a work-stealing {@link ForkJoinPool}, with the slice results reassembled into a single result per cell.
+ * Tasks may also be ordered by an estimated cost so that the most expensive targets start first.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
+  private static final Logger log = LoggerFactory.getLogger(DefaultCalculationTaskRunner.class);
+
   /**
    * Executes the tasks that perform the individual calculations.
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The maximum number of scenarios calculated by a single unit of work, zero if tasks are not sliced.
+   * When non-zero, the executor is a {@link ForkJoinPool}.
+   */
+  private final int scenarioSliceSize;
+  /**
+   * The function estimating the relative cost of calculating a target, null if tasks are not ordered.
+   */
+  private final ToDoubleFunction<CalculationTarget> costFunction;
+  /**
+   * The functions and measures whose slice results could not be reassembled, which are no longer sliced.
+   */
+  private final Set<Pair<Class<?>, Set<Measure>>> unsliceable = ConcurrentHashMap.newKeySet();
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +98,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), 0, null);
   }
 
   /**
@@ -66,7 +110,47 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, 0, null);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that splits each task into slices of scenarios.
+   * <p>
+   * This factory creates a work-stealing pool basing the number of threads on the number of available processors.
+   * It is recommended to use try-with-resources to manage the runner.
+   * <p>
+   * If the slice results of a task cannot be reassembled, the task is calculated again without slicing,
+   * see {@link CalculationTaskRunner#ofScenarioSlicing(int)}.
+   *
+   * @param scenarioSliceSize  the maximum number of scenarios calculated by a single unit of work, one or more
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofScenarioSlicing(int scenarioSliceSize) {
+    ArgChecker.notNegativeOrZero(scenarioSliceSize, "scenarioSliceSize");
+    ForkJoinPool pool = createForkJoinPool(Runtime.getRuntime().availableProcessors());
+    return new DefaultCalculationTaskRunner(pool, scenarioSliceSize, null);
+  }
+
+  /**
+   * Creates a calculation task runner that splits each task into slices of scenarios,
+   * specifying the pool and the cost function used to order the tasks.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   *
+   * @param pool  the work-stealing pool to use
+   * @param scenarioSliceSize  the maximum number of scenarios calculated by a single unit of work, one or more
+   * @param costFunction  the function estimating the relative cost of calculating a target
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofScenarioSlicing(
+      ForkJoinPool pool,
+      int scenarioSliceSize,
+      ToDoubleFunction<CalculationTarget> costFunction) {
+
+    return new DefaultCalculationTaskRunner(
+        pool,
+        ArgChecker.notNegativeOrZero(scenarioSliceSize, "scenarioSliceSize"),
+        ArgChecker.notNull(costFunction, "costFunction"));
   }
 
   // create an executor with daemon threads
@@ -82,14 +166,33 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a work-stealing pool with daemon threads
+  private static ForkJoinPool createForkJoinPool(int threads) {
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    };
+    return new ForkJoinPool(threads, threadFactory, null, false);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param scenarioSliceSize  the maximum number of scenarios in a unit of work, zero if tasks are not sliced
+   * @param costFunction  the function estimating the cost of a target, null if tasks are not ordered
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(
+      ExecutorService executor,
+      int scenarioSliceSize,
+      ToDoubleFunction<CalculationTarget> costFunction) {
+
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.scenarioSliceSize = scenarioSliceSize;
+    this.costFunction = costFunction;
   }
 
   //-------------------------------------------------------------------------
@@ -124,7 +227,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * <p>
    * If this method is called with a {@code ScenarioArray} containing more than one value it throws an exception.
    */
-  private static Result<?> unwrapScenarioResult(Result<?> result) {
+  static Result<?> unwrapScenarioResult(Result<?> result) {
     if (result.isFailure()) {
       return result;
     }
@@ -180,8 +283,23 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     Consumer<CalculationResults> consumer =
         new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
 
-    // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    // run each task using the executor, most expensive first if a cost function is available
+    orderByCost(taskList).forEach(task -> runTask(task, marketData, refData, consumer));
+  }
+
+  // orders the tasks by descending estimated cost, retaining the original order for equal costs
+  private List<CalculationTask> orderByCost(List<CalculationTask> taskList) {
+    if (costFunction == null) {
+      return taskList;
+    }
+    double[] costs = taskList.stream()
+        .mapToDouble(task -> costFunction.applyAsDouble(task.getTarget()))
+        .toArray();
+    return IntStream.range(0, taskList.size())
+        .boxed()
+        .sorted(Comparator.comparingDouble((Integer i) -> costs[i]).reversed())
+        .map(taskList::get)
+        .collect(toImmutableList());
   }
 
   // submits a task to the executor to be run
@@ -193,10 +311,126 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+    // whether the task is sliced is decided when it starts, to use what was learned from earlier tasks
+    Supplier<CalculationResults> taskExecutor = () -> isSliced(task, marketData) ?
+        executeSliced(task, marketData, refData) :
+        task.execute(marketData, refData);
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // checks if a task should be split into slices of scenarios
+  private boolean isSliced(CalculationTask task, ScenarioMarketData marketData) {
+    return scenarioSliceSize > 0 &&
+        marketData.getScenarioCount() > scenarioSliceSize &&
+        !unsliceable.contains(sliceKey(task));
+  }
+
+  // the key identifying the type of the slice results of a task
+  private static Pair<Class<?>, Set<Measure>> sliceKey(CalculationTask task) {
+    return Pair.of(task.getFunction().getClass(), task.getMeasures());
+  }
+
+  //-------------------------------------------------------------------------
+  // executes a task by splitting it into slices of scenarios
+  // this runs in the fork-join pool, thus the slices are forked and available to be stolen by idle threads
+  private CalculationResults executeSliced(
+      CalculationTask task,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    int scenarioCount = marketData.getScenarioCount();
+    List<ForkJoinTask<Map<Measure, Result<?>>>> slices = new ArrayList<>();
+    for (int start = 0; start < scenarioCount; start += scenarioSliceSize) {
+      ScenarioMarketData slice =
+          ScenarioSliceMarketData.of(marketData, start, Math.min(start + scenarioSliceSize, scenarioCount));
+      slices.add(ForkJoinTask.adapt(() -> task.calculate(slice, refData)));
+    }
+    ForkJoinTask.invokeAll(slices);
+    List<Map<Measure, Result<?>>> sliceResults = slices.stream()
+        .map(ForkJoinTask::join)
+        .collect(toImmutableList());
+
+    // if the slice results cannot be reassembled, the task is calculated again without slicing
+    // later tasks of the same function and measures are then not sliced, avoiding the wasted slices
+    Optional<Map<Measure, Result<?>>> combined = combineSlices(sliceResults);
+    if (combined.isPresent()) {
+      return task.createResults(combined.get(), marketData, refData);
+    }
+    if (unsliceable.add(sliceKey(task))) {
+      log.warn(
+          "Results of {} for measures {} cannot be reassembled from scenario slices, these tasks are no longer sliced",
+          task.getFunction().getClass().getSimpleName(),
+          task.getMeasures());
+    }
+    return task.execute(marketData, refData);
+  }
+
+  // combines the results of each slice, returning empty if a result type is not known to be combinable
+  private static Optional<Map<Measure, Result<?>>> combineSlices(List<Map<Measure, Result<?>>> sliceResults) {
+    Map<Measure, Result<?>> combined = new LinkedHashMap<>();
+    for (Measure measure : sliceResults.get(0).keySet()) {
+      List<Result<?>> results = new ArrayList<>();
+      for (Map<Measure, Result<?>> sliceResult : sliceResults) {
+        Result<?> result = sliceResult.get(measure);
+        if (result == null) {
+          return Optional.empty();
+        }
+        results.add(result);
+      }
+      Optional<Result<?>> failure = results.stream().filter(Result::isFailure).findFirst();
+      if (failure.isPresent()) {
+        combined.put(measure, failure.get());
+      } else {
+        List<Object> values = results.stream().map(Result::getValue).collect(toImmutableList());
+        Optional<ScenarioArray<?>> array = concatScenarioArrays(values);
+        if (!array.isPresent()) {
+          return Optional.empty();
+        }
+        combined.put(measure, Result.success(array.get()));
+      }
+    }
+    return Optional.of(combined);
+  }
+
+  // concatenates the scenario arrays of each slice, retaining the specific array type
+  private static Optional<ScenarioArray<?>> concatScenarioArrays(List<Object> values) {
+    boolean allGeneric = values.stream()
+        .allMatch(value -> value instanceof ScenarioArray && ScenarioArray.isGeneric((ScenarioArray<?>) value));
+    if (allGeneric) {
+      List<Object> all = values.stream()
+          .flatMap(value -> ((ScenarioArray<?>) value).stream())
+          .collect(toImmutableList());
+      return Optional.of(ScenarioArray.of(all));
+    }
+    Class<?> type = values.get(0).getClass();
+    if (!values.stream().allMatch(value -> value.getClass() == type)) {
+      return Optional.empty();
+    }
+    if (type == DoubleScenarioArray.class) {
+      DoubleArray array = values.stream()
+          .map(value -> ((DoubleScenarioArray) value).getValues())
+          .reduce(DoubleArray.EMPTY, DoubleArray::concat);
+      return Optional.of(DoubleScenarioArray.of(array));
+    }
+    if (type == CurrencyScenarioArray.class) {
+      Currency currency = ((CurrencyScenarioArray) values.get(0)).getCurrency();
+      if (!values.stream().allMatch(value -> ((CurrencyScenarioArray) value).getCurrency().equals(currency))) {
+        return Optional.empty();
+      }
+      DoubleArray array = values.stream()
+          .map(value -> ((CurrencyScenarioArray) value).getAmounts().getValues())
+          .reduce(DoubleArray.EMPTY, DoubleArray::concat);
+      return Optional.of(CurrencyScenarioArray.of(currency, array));
+    }
+    if (type == MultiCurrencyScenarioArray.class) {
+      List<MultiCurrencyAmount> amounts = values.stream()
+          .flatMap(value -> ((MultiCurrencyScenarioArray) value).stream())
+          .collect(toImmutableList());
+      return Optional.of(MultiCurrencyScenarioArray.of(amounts));
+    }
+    return Optional.empty();
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.joinUnwrapped;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Iterables;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation session that recalculates only the results affected by a change in market data.
+ * <p>
+ * The session is created from a set of calculation tasks. When created, it finds the market data
+ * each task depends on, both directly and through the market data used to build it, such as the
+ * quotes used to calibrate a curve. This forms an index from the identifier of market data to the tasks.
+ * <p>
+ * The first call to {@link #calculate(MarketData)} or {@link #calculateMultiScenario(ScenarioMarketData)}
+ * performs all the calculations. Subsequent calls to {@link #update(MarketData, Set, CalculationListener)}
+ * or {@link #updateMultiScenario(ScenarioMarketData, Set, CalculationListener)} pass the updated market data
+ * and the identifiers of the market data that changed. Only the tasks depending on the changed market data
+ * are executed, and only the cells whose results changed are passed to the listener.
+ * The results of the other cells are retained from the previous calculation.
+ * <p>
+ * The updated market data must contain everything the calculations need, including any data
+ * built from the changed data, such as recalibrated curves.
+ * A change of valuation date must be handled by calling {@code calculate} again.
+ * <p>
+ * This class is thread-safe. Calculations are performed one at a time, using the executor for the tasks.
+ */
+public final class IncrementalCalculationSession {
+
+  /**
+   * The tasks.
+   */
+  private final CalculationTasks tasks;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The executor used to run the tasks.
+   */
+  private final ExecutorService executor;
+  /**
+   * The indices of the tasks that depend on each item of market data.
+   */
+  private final ImmutableSetMultimap<MarketDataId<?>, Integer> taskIndices;
+  /**
+   * The column headers.
+   */
+  private final ImmutableList<ColumnHeader> headers;
+  /**
+   * The current result of each cell, null if not yet calculated.
+   */
+  private final Result<?>[] cells;
+  /**
+   * Whether the results are for a single scenario, null if not yet calculated.
+   */
+  private Boolean singleScenario;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The market data factory is used to find the market data on which each item of required market data depends.
+   * This includes the dependencies of any data that the factory could build, even if it is supplied.
+   * If the factory does not provide the dependencies, only the market data directly required by each
+   * calculation is considered to affect it.
+   *
+   * @param tasks  the tasks that perform the calculations
+   * @param marketDataFactory  the factory used to find the dependencies of the market data
+   * @param marketDataConfig  the configuration used to build market data
+   * @param refData  the reference data
+   * @param executor  the executor used to run the tasks
+   * @return the session
+   */
+  public static IncrementalCalculationSession of(
+      CalculationTasks tasks,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      ReferenceData refData,
+      ExecutorService executor) {
+
+    ArgChecker.notNull(tasks, "tasks");
+    ArgChecker.notNull(marketDataFactory, "marketDataFactory");
+    ArgChecker.notNull(marketDataConfig, "marketDataConfig");
+    ArgChecker.notNull(refData, "refData");
+    ArgChecker.notNull(executor, "executor");
+    return new IncrementalCalculationSession(tasks, marketDataFactory, marketDataConfig, refData, executor);
+  }
+
+  // creates an instance, building the index from market data to tasks
+  private IncrementalCalculationSession(
+      CalculationTasks tasks,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      ReferenceData refData,
+      ExecutorService executor) {
+
+    this.tasks = tasks;
+    this.refData = refData;
+    this.executor = executor;
+    this.headers = tasks.getColumns().stream()
+        .map(Column::toHeader)
+        .collect(toImmutableList());
+    this.cells = new Result<?>[tasks.getTargets().size() * tasks.getColumns().size()];
+
+    // find the direct requirements of each task, and the dependencies between all the market data
+    List<CalculationTask> taskList = tasks.getTasks();
+    List<MarketDataRequirements> taskRequirements = taskList.stream()
+        .map(task -> task.requirements(refData))
+        .collect(toImmutableList());
+    MarketDataRequirementsBuilder allRequirements = MarketDataRequirements.builder();
+    taskRequirements.forEach(allRequirements::addRequirements);
+    ImmutableSetMultimap<MarketDataId<?>, MarketDataId<?>> dependencies =
+        marketDataFactory.dependencies(allRequirements.build(), marketDataConfig);
+
+    // map every item of market data that a task depends on, directly or indirectly, to the task
+    Map<MarketDataId<?>, Set<MarketDataId<?>>> closures = new HashMap<>();
+    ImmutableSetMultimap.Builder<MarketDataId<?>, Integer> indexBuilder = ImmutableSetMultimap.builder();
+    for (int i = 0; i < taskList.size(); i++) {
+      MarketDataRequirements requirements = taskRequirements.get(i);
+      Set<MarketDataId<?>> ids = new HashSet<>();
+      for (MarketDataId<?> id : Iterables.concat(
+          requirements.getObservables(), requirements.getNonObservables(), requirements.getTimeSeries())) {
+        ids.addAll(closure(id, dependencies, closures));
+      }
+      for (MarketDataId<?> id : ids) {
+        indexBuilder.put(id, i);
+      }
+    }
+    this.taskIndices = indexBuilder.build();
+  }
+
+  // finds the market data identifier and all the identifiers it depends on
+  private static Set<MarketDataId<?>> closure(
+      MarketDataId<?> id,
+      ImmutableSetMultimap<MarketDataId<?>, MarketDataId<?>> dependencies,
+      Map<MarketDataId<?>, Set<MarketDataId<?>>> closures) {
+
+    Set<MarketDataId<?>> closure = closures.get(id);
+    if (closure == null) {
+      ImmutableSet.Builder<MarketDataId<?>> builder = ImmutableSet.builder();
+      builder.add(id);
+      for (MarketDataId<?> dependency : dependencies.get(id)) {
+        builder.addAll(closure(dependency, dependencies, closures));
+      }
+      closure = builder.build();
+      closures.put(id, closure);
+    }
+    return closure;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the tasks of the session.
+   *
+   * @return the tasks
+   */
+  public CalculationTasks getTasks() {
+    return tasks;
+  }
+
+  /**
+   * Finds the tasks affected by a change in the specified market data.
+   * <p>
+   * A task is affected if it uses the market data, or uses market data built from it.
+   *
+   * @param changedIds  the identifiers of the changed market data
+   * @return the affected tasks, in the order of the tasks of the session
+   */
+  public List<CalculationTask> affectedTasks(Set<? extends MarketDataId<?>> changedIds) {
+    BitSet affected = new BitSet(tasks.getTasks().size());
+    for (MarketDataId<?> id : changedIds) {
+      for (Integer taskIndex : taskIndices.get(id)) {
+        affected.set(taskIndex);
+      }
+    }
+    return affected.stream()
+        .mapToObj(tasks.getTasks()::get)
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs all the calculations for a single set of market data.
+   * <p>
+   * This replaces any previous results of the session.
+   *
+   * @param marketData  the market data used in the calculations
+   * @return the results
+   */
+  public synchronized Results calculate(MarketData marketData) {
+    singleScenario = true;
+    return execute(tasks.getTasks(), ScenarioMarketData.of(1, marketData), null);
+  }
+
+  /**
+   * Performs all the calculations for multiple scenarios.
+   * <p>
+   * This replaces any previous results of the session.
+   *
+   * @param marketData  the market data used in the calculations
+   * @return the results
+   */
+  public synchronized Results calculateMultiScenario(ScenarioMarketData marketData) {
+    singleScenario = false;
+    return execute(tasks.getTasks(), marketData, null);
+  }
+
+  /**
+   * Recalculates the results affected by a change in market data, for a single set of market data.
+   * <p>
+   * Only the tasks depending on the changed market data are executed.
+   * The listener receives the cells whose results differ from the previous results.
+   *
+   * @param marketData  the updated market data used in the calculations
+   * @param changedIds  the identifiers of the market data that changed since the previous calculation
+   * @param listener  the listener that receives the changed cells
+   * @return the results of all cells, including those that were not recalculated
+   * @throws IllegalStateException if the previous calculation was not for a single set of market data
+   */
+  public synchronized Results update(
+      MarketData marketData,
+      Set<? extends MarketDataId<?>> changedIds,
+      CalculationListener listener) {
+
+    checkMode(true);
+    return execute(affectedTasks(changedIds), ScenarioMarketData.of(1, marketData), listener);
+  }
+
+  /**
+   * Recalculates the results affected by a change in market data, for multiple scenarios.
+   * <p>
+   * Only the tasks depending on the changed market data are executed.
+   * The listener receives the cells whose results differ from the previous results.
+   *
+   * @param marketData  the updated market data used in the calculations
+   * @param changedIds  the identifiers of the market data that changed since the previous calculation
+   * @param listener  the listener that receives the changed cells
+   * @return the results of all cells, including those that were not recalculated
+   * @throws IllegalStateException if the previous calculation was not for multiple scenarios
+   */
+  public synchronized Results updateMultiScenario(
+      ScenarioMarketData marketData,
+      Set<? extends MarketDataId<?>> changedIds,
+      CalculationListener listener) {
+
+    checkMode(false);
+    return execute(affectedTasks(changedIds), marketData, listener);
+  }
+
+  // checks that the previous calculation used the same kind of market data
+  private void checkMode(boolean single) {
+    if (singleScenario == null) {
+      throw new IllegalStateException("Results must be calculated before they can be updated");
+    }
+    if (singleScenario != single) {
+      throw new IllegalStateException(single ?
+          "Unable to update multi-scenario results using a single set of market data" :
+          "Unable to update single scenario results using multi-scenario market data");
+    }
+  }
+
+  // executes the tasks, updating the cells and notifying the listener of changes
+  private Results execute(List<CalculationTask> taskList, ScenarioMarketData marketData, CalculationListener listener) {
+    CalculationListener cellListener = new CellListener(listener);
+    Consumer<CalculationResults> consumer =
+        new ListenerWrapper(cellListener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+    CompletableFuture<?>[] futures = taskList.stream()
+        .map(task -> CompletableFuture.supplyAsync(() -> task.execute(marketData, refData), executor).thenAccept(consumer))
+        .toArray(CompletableFuture[]::new);
+    joinUnwrapped(CompletableFuture.allOf(futures));
+    return Results.of(headers, Arrays.asList(cells));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Listener that stores the results in the cells, passing changed cells to the delegate listener.
+   * <p>
+   * The calls are made by a {@link ListenerWrapper}, which ensures they are made by one thread at a time.
+   */
+  private final class CellListener implements CalculationListener {
+
+    private final CalculationListener delegate;
+
+    private CellListener(CalculationListener delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+      if (delegate != null) {
+        delegate.calculationsStarted(targets, columns);
+      }
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult calculationResult) {
+      Result<?> result = singleScenario ?
+          DefaultCalculationTaskRunner.unwrapScenarioResult(calculationResult.getResult()) :
+          calculationResult.getResult();
+      int index = calculationResult.getRowIndex() * headers.size() + calculationResult.getColumnIndex();
+      if (!result.equals(cells[index])) {
+        cells[index] = result;
+        if (delegate != null) {
+          delegate.resultReceived(target, calculationResult.withResult(result));
+        }
+      }
+    }
+
+    @Override
+    public void calculationsComplete() {
+      if (delegate != null) {
+        delegate.calculationsComplete();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A view of a contiguous range of scenarios in an underlying set of scenario market data.
+ * <p>
+ * This is used by the scenario slicing mode of {@link DefaultCalculationTaskRunner} to allow a single
+ * task to be split into independent pieces of work, each covering a subset of the scenarios.
+ * <p>
+ * Single value boxes are returned unchanged, scenario boxes are copied to contain only the scenarios in the slice.
+ */
+final class ScenarioSliceMarketData implements ScenarioMarketData {
+
+  /**
+   * The underlying market data.
+   */
+  private final ScenarioMarketData underlying;
+  /**
+   * The index of the first scenario in the slice, inclusive.
+   */
+  private final int startIndex;
+  /**
+   * The number of scenarios in the slice.
+   */
+  private final int scenarioCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a view of the scenarios from the start index, inclusive, to the end index, exclusive.
+   *
+   * @param underlying  the underlying market data
+   * @param startIndex  the index of the first scenario, inclusive
+   * @param endIndex  the index of the last scenario, exclusive
+   * @return the market data view
+   */
+  static ScenarioSliceMarketData of(ScenarioMarketData underlying, int startIndex, int endIndex) {
+    ArgChecker.notNull(underlying, "underlying");
+    ArgChecker.inRange(startIndex, 0, underlying.getScenarioCount(), "startIndex");
+    ArgChecker.inRangeInclusive(endIndex, startIndex + 1, underlying.getScenarioCount(), "endIndex");
+    return new ScenarioSliceMarketData(underlying, startIndex, endIndex - startIndex);
+  }
+
+  // restricted constructor
+  private ScenarioSliceMarketData(ScenarioMarketData underlying, int startIndex, int scenarioCount) {
+    this.underlying = underlying;
+    this.startIndex = startIndex;
+    this.scenarioCount = scenarioCount;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return slice(underlying.getValuationDate());
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  @Override
+  public MarketData scenario(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, scenarioCount, "scenarioIndex");
+    return underlying.scenario(startIndex + scenarioIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return underlying.containsValue(id);
+  }
+
+  @Override
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    return underlying.findValue(id).map(this::slice);
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return underlying.getIds();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    return underlying.findIds(name);
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return underlying.getTimeSeries(id);
+  }
+
+  //-------------------------------------------------------------------------
+  // restricts a box to the scenarios in the slice
+  private <T> MarketDataBox<T> slice(MarketDataBox<T> box) {
+    if (box.isSingleValue()) {
+      return box;
+    }
+    List<T> values = new ArrayList<>(scenarioCount);
+    for (int i = 0; i < scenarioCount; i++) {
+      values.add(box.getValue(startIndex + i));
+    }
+    return MarketDataBox.ofScenarioValues(values);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ScenarioSliceMarketData[" + startIndex + ".." + (startIndex + scenarioCount) + ")";
+  }
+
+}
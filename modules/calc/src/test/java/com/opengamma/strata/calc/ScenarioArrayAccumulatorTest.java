@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+
+/**
+ * Test {@link ScenarioArrayAccumulator}.
+ */
+public class ScenarioArrayAccumulatorTest {
+
+  private static final MultiCurrencyScenarioArray ARRAY1 = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+      GBP, DoubleArray.of(1, 2, 3),
+      USD, DoubleArray.of(10, 20, 30)));
+  private static final MultiCurrencyScenarioArray ARRAY2 = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+      USD, DoubleArray.of(100, 200, 300),
+      EUR, DoubleArray.of(1000, 2000, 3000)));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_create() {
+    ScenarioArrayAccumulator test = ScenarioArrayAccumulator.create();
+    assertThat(test.getScenarioCount()).isEqualTo(0);
+    assertThat(test.getCurrencies()).isEmpty();
+    assertThat(test.toMultiCurrencyScenarioArray().getScenarioCount()).isEqualTo(0);
+    test.add(ARRAY1);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.toString()).contains("scenarioCount=3");
+  }
+
+  @Test
+  public void test_of() {
+    ScenarioArrayAccumulator test = ScenarioArrayAccumulator.of(3);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.toMultiCurrencyScenarioArray())
+        .isEqualTo(MultiCurrencyScenarioArray.of(3, i -> MultiCurrencyAmount.empty()));
+    assertThat(test.convertedTo(USD, new TestScenarioFxRateProvider(1, 1, 1)))
+        .isEqualTo(CurrencyScenarioArray.of(USD, DoubleArray.filled(3)));
+    assertThatIllegalArgumentException().isThrownBy(() -> ScenarioArrayAccumulator.of(0));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.add(CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2))));
+  }
+
+  @Test
+  public void test_add() {
+    ScenarioArrayAccumulator test = ScenarioArrayAccumulator.create()
+        .add(ARRAY1)
+        .add(ARRAY2)
+        .add(CurrencyScenarioArray.of(GBP, DoubleArray.of(0.5, 0.5, 0.5)));
+    assertThat(test.getCurrencies()).containsOnly(GBP, USD, EUR);
+    assertThat(test.toMultiCurrencyScenarioArray()).isEqualTo(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(1.5, 2.5, 3.5),
+        USD, DoubleArray.of(110, 220, 330),
+        EUR, DoubleArray.of(1000, 2000, 3000))));
+    // the result is a copy
+    MultiCurrencyScenarioArray total = test.toMultiCurrencyScenarioArray();
+    test.add(ARRAY1);
+    assertThat(total.getValues(GBP)).isEqualTo(DoubleArray.of(1.5, 2.5, 3.5));
+    assertThat(test.toMultiCurrencyScenarioArray().getValues(GBP)).isEqualTo(DoubleArray.of(2.5, 4.5, 6.5));
+  }
+
+  @Test
+  public void test_add_accumulator() {
+    ScenarioArrayAccumulator test = ScenarioArrayAccumulator.create().add(ARRAY1);
+    ScenarioArrayAccumulator other = ScenarioArrayAccumulator.create().add(ARRAY2);
+    test.add(other).add(ScenarioArrayAccumulator.create());
+    assertThat(test.toMultiCurrencyScenarioArray())
+        .isEqualTo(MultiCurrencyScenarioArray.of(ARRAY1.getAmounts().plus(ARRAY2.getAmounts())));
+    assertThat(other.toMultiCurrencyScenarioArray()).isEqualTo(ARRAY2);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(ScenarioArrayAccumulator.create()
+        .add(CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2)))));
+  }
+
+  @Test
+  public void test_reset() {
+    ScenarioArrayAccumulator test = ScenarioArrayAccumulator.create().add(ARRAY1);
+    test.reset();
+    assertThat(test.getCurrencies()).isEmpty();
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.toMultiCurrencyScenarioArray().getScenarioCount()).isEqualTo(3);
+    test.add(ARRAY2);
+    assertThat(test.toMultiCurrencyScenarioArray()).isEqualTo(ARRAY2);
+  }
+
+  @Test
+  public void test_convertedTo() {
+    ScenarioArrayAccumulator test = ScenarioArrayAccumulator.create().add(ARRAY1).add(ARRAY2);
+    ScenarioFxRateProvider fxRateProvider = new TestScenarioFxRateProvider(2, 3, 4);
+    MultiCurrencyScenarioArray total = MultiCurrencyScenarioArray.of(ARRAY1.getAmounts().plus(ARRAY2.getAmounts()));
+    assertThat(test.convertedTo(USD, fxRateProvider)).isEqualTo(total.convertedTo(USD, fxRateProvider));
+    assertThat(test.convertedTo(USD, fxRateProvider).getAmounts().getValues())
+        .isEqualTo(DoubleArray.of(2 + 110 + 2000, 6 + 220 + 6000, 12 + 330 + 12000));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.convertedTo(USD, new TestScenarioFxRateProvider(2, 3)));
+  }
+
+  @Test
+  public void test_toScenarioArrayAccumulator() {
+    List<MultiCurrencyScenarioArray> arrays = IntStream.range(0, 1000)
+        .mapToObj(i -> i % 2 == 0 ? ARRAY1 : ARRAY2)
+        .collect(toImmutableList());
+    ScenarioArrayAccumulator serial = arrays.stream().collect(ScenarioArrayAccumulator.toScenarioArrayAccumulator());
+    ScenarioArrayAccumulator parallel =
+        arrays.parallelStream().collect(ScenarioArrayAccumulator.toScenarioArrayAccumulator());
+    MultiCurrencyScenarioArray expected = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(500, 1000, 1500),
+        USD, DoubleArray.of(55000, 110000, 165000),
+        EUR, DoubleArray.of(500000, 1000000, 1500000)));
+    assertThat(serial.toMultiCurrencyScenarioArray()).isEqualTo(expected);
+    assertThat(parallel.toMultiCurrencyScenarioArray()).isEqualTo(expected);
+  }
+
+  @Test
+  public void test_toScenarioArrayAccumulatorOfSingleCurrency() {
+    List<CurrencyScenarioArray> arrays = IntStream.range(0, 1000)
+        .mapToObj(i -> CurrencyScenarioArray.of(i % 2 == 0 ? GBP : USD, DoubleArray.of(1, 2, 3)))
+        .collect(toImmutableList());
+    ScenarioArrayAccumulator parallel =
+        arrays.parallelStream().collect(ScenarioArrayAccumulator.toScenarioArrayAccumulatorOfSingleCurrency());
+    assertThat(parallel.toMultiCurrencyScenarioArray()).isEqualTo(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(500, 1000, 1500),
+        USD, DoubleArray.of(500, 1000, 1500))));
+  }
+
+  //-------------------------------------------------------------------------
+  // provider of a rate to USD in each scenario, the same for all currencies
+  private static final class TestScenarioFxRateProvider implements ScenarioFxRateProvider {
+
+    private final double[] rates;
+
+    private TestScenarioFxRateProvider(double... rates) {
+      this.rates = rates;
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return rates.length;
+    }
+
+    @Override
+    public FxRateProvider fxRateProvider(int scenarioIndex) {
+      return (Currency base, Currency counter) -> base.equals(counter) ? 1d : rates[scenarioIndex];
+    }
+  }
+
+}
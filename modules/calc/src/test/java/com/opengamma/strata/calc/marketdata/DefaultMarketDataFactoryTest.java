@@ -13,6 +13,10 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -849,6 +853,151 @@ public class DefaultMarketDataFactoryTest {
     assertThat(values).isEqualTo(expectedValues);
   }
 
+  /**
+   * Tests building market data that depends on other market data using an executor.
+   */
+  @Test
+  public void buildDataFromOtherDataWithExecutor() {
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.builder().put(date(2011, 3, 8), 1).build();
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.builder().put(date(2011, 3, 8), 10).build();
+    TimeSeriesProvider timeSeriesProvider = new TestTimeSeriesProvider(
+        ImmutableMap.of(new TestIdA("1"), timeSeries1, new TestIdA("2"), timeSeries2));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          timeSeriesProvider,
+          new TestMarketDataFunctionB(),
+          new TestMarketDataFunctionC())
+          .withExecutor(executor);
+      MarketDataRequirements requirements = MarketDataRequirements.builder()
+          .addValues(new TestIdB("1"), new TestIdB("2"))
+          .build();
+      BuiltMarketData marketData =
+          factory.create(requirements, MARKET_DATA_CONFIG, MarketData.empty(date(2011, 3, 8)), REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getValue(new TestIdB("1")))
+          .isEqualTo(new TestMarketDataB(1, new TestMarketDataC(timeSeries1)));
+      assertThat(marketData.getValue(new TestIdB("2")))
+          .isEqualTo(new TestMarketDataB(2, new TestMarketDataC(timeSeries2)));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests independent market data is built concurrently using an executor.
+   * <p>
+   * Each build waits until all the builds have started, which can only happen if they run concurrently.
+   */
+  @Test
+  public void buildIndependentDataConcurrently() {
+    int count = 3;
+    CountDownLatch latch = new CountDownLatch(count);
+    ExecutorService executor = Executors.newFixedThreadPool(count);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(ImmutableMap.of()),
+          new LatchedMarketDataFunction(latch))
+          .withExecutor(executor);
+      MarketDataRequirements requirements = MarketDataRequirements.builder()
+          .addValues(new NonObservableId("a"), new NonObservableId("b"), new NonObservableId("c"))
+          .build();
+      BuiltMarketData marketData =
+          factory.create(requirements, MARKET_DATA_CONFIG, MarketData.empty(date(2011, 3, 8)), REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getIds()).hasSize(3);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests market data is built using an executor as soon as the data it depends on has been built.
+   * <p>
+   * The build of NonObservableId waits until TestIdB has been built. TestIdB depends on TestIdC, so it is one
+   * step further from the leaves, and it can only be built if it does not wait for NonObservableId.
+   */
+  @Test
+  public void buildDataWhenDependenciesAreBuiltWithExecutor() {
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.builder().put(date(2011, 3, 8), 1).build();
+    CountDownLatch latch = new CountDownLatch(2);
+    TestMarketDataFunctionB functionB = new TestMarketDataFunctionB();
+    MarketDataFunction<TestMarketDataB, TestIdB> countingFunctionB = new MarketDataFunction<TestMarketDataB, TestIdB>() {
+
+      @Override
+      public MarketDataRequirements requirements(TestIdB id, MarketDataConfig marketDataConfig) {
+        return functionB.requirements(id, marketDataConfig);
+      }
+
+      @Override
+      public MarketDataBox<TestMarketDataB> build(
+          TestIdB id,
+          MarketDataConfig marketDataConfig,
+          ScenarioMarketData marketData,
+          ReferenceData refData) {
+
+        MarketDataBox<TestMarketDataB> built = functionB.build(id, marketDataConfig, marketData, refData);
+        latch.countDown();
+        return built;
+      }
+
+      @Override
+      public Class<TestIdB> getMarketDataIdType() {
+        return TestIdB.class;
+      }
+    };
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(ImmutableMap.of(new TestIdA("1"), timeSeries)),
+          countingFunctionB,
+          new TestMarketDataFunctionC(),
+          new LatchedMarketDataFunction(latch))
+          .withExecutor(executor);
+      MarketDataRequirements requirements = MarketDataRequirements.builder()
+          .addValues(new NonObservableId("a"), new TestIdB("1"))
+          .build();
+      BuiltMarketData marketData =
+          factory.create(requirements, MARKET_DATA_CONFIG, MarketData.empty(date(2011, 3, 8)), REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getIds()).hasSize(4);
+      assertThat(marketData.getValue(new TestIdB("1")))
+          .isEqualTo(new TestMarketDataB(1, new TestMarketDataC(timeSeries)));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests the exception thrown when there is no builder for an ID type is not wrapped when using an executor.
+   */
+  @Test
+  public void noMarketDataBuilderAvailableWithExecutor() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(ImmutableMap.of()),
+          new TestMarketDataFunctionB())
+          .withExecutor(executor);
+      MarketDataRequirements requirements = MarketDataRequirements.builder()
+          .addValues(new TestIdB("1"), new TestIdB("2"))
+          .build();
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      assertThatIllegalStateException()
+          .isThrownBy(() -> factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA))
+          .withMessageStartingWith("No market data function available for market data ID of type");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   /**
    * Tests ObservableDataProvider.none(), which is never normally be invoked.
    */
@@ -1305,6 +1454,47 @@ public class DefaultMarketDataFactoryTest {
     }
   }
 
+  /**
+   * Market data function that builds a string, waiting until the latch is released.
+   */
+  private static final class LatchedMarketDataFunction implements MarketDataFunction<String, NonObservableId> {
+
+    private final CountDownLatch latch;
+
+    private LatchedMarketDataFunction(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public MarketDataRequirements requirements(NonObservableId id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.empty();
+    }
+
+    @Override
+    public MarketDataBox<String> build(
+        NonObservableId id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      latch.countDown();
+      try {
+        if (!latch.await(10, TimeUnit.SECONDS)) {
+          throw new IllegalStateException("Market data not built concurrently");
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(ex);
+      }
+      return MarketDataBox.ofSingleValue(id.str);
+    }
+
+    @Override
+    public Class<NonObservableId> getMarketDataIdType() {
+      return NonObservableId.class;
+    }
+  }
+
   /**
    * A perturbation which perturbs a string by appending another string to it.
    */
@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.data.scenario.ScenarioPerturbation;
+
+/**
+ * Test {@link MarketDataCache}.
+ */
+public class MarketDataCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final MarketDataConfig MARKET_DATA_CONFIG = MarketDataConfig.empty();
+  private static final LocalDate VAL_DATE = date(2020, 6, 30);
+  private static final TestObservableId QUOTE1 = TestObservableId.of("1");
+  private static final TestObservableId QUOTE2 = TestObservableId.of("2");
+  private static final DoubledId ID1 = new DoubledId(QUOTE1);
+  private static final DoubledId ID2 = new DoubledId(QUOTE2);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    MarketDataCache test = MarketDataCache.of(10);
+    assertThat(test.getMaximumSize()).isEqualTo(10);
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.getHitCount()).isEqualTo(0);
+    assertThat(test.getMissCount()).isEqualTo(0);
+    assertThat(test.getEvictionCount()).isEqualTo(0);
+    assertThatIllegalArgumentException().isThrownBy(() -> MarketDataCache.of(0));
+  }
+
+  @Test
+  public void test_create_reusesBuiltValues() {
+    MarketDataCache cache = MarketDataCache.of(10);
+    MultipliedFunction function = new MultipliedFunction(2);
+    MarketDataFactory factory =
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), cache, function);
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(ID1, ID2).build();
+
+    BuiltMarketData marketData1 = factory.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA);
+    assertThat(marketData1.getValue(ID1)).isEqualTo(2d);
+    assertThat(marketData1.getValue(ID2)).isEqualTo(4d);
+    assertThat(function.builds.get()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(2);
+
+    // identical inputs, nothing is built
+    BuiltMarketData marketData2 = factory.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA);
+    assertThat(marketData2.getValue(ID1)).isEqualTo(2d);
+    assertThat(marketData2.getValue(ID2)).isEqualTo(4d);
+    assertThat(function.builds.get()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+
+    // one input changed, only the value depending on it is built
+    BuiltMarketData marketData3 = factory.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 3d), REF_DATA);
+    assertThat(marketData3.getValue(ID1)).isEqualTo(2d);
+    assertThat(marketData3.getValue(ID2)).isEqualTo(6d);
+    assertThat(function.builds.get()).isEqualTo(3);
+    assertThat(cache.getHitCount()).isEqualTo(3);
+    assertThat(cache.getMissCount()).isEqualTo(3);
+    assertThat(cache.size()).isEqualTo(3);
+
+    // a different valuation date is a different key
+    MarketData otherDate = MarketData.of(VAL_DATE.plusDays(1), ImmutableMap.of(QUOTE1, 1d, QUOTE2, 2d));
+    factory.create(requirements, MARKET_DATA_CONFIG, otherDate, REF_DATA);
+    assertThat(function.builds.get()).isEqualTo(5);
+
+    cache.clear();
+    assertThat(cache.size()).isEqualTo(0);
+    factory.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA);
+    assertThat(function.builds.get()).isEqualTo(7);
+  }
+
+  @Test
+  public void test_create_eviction() {
+    MarketDataCache cache = MarketDataCache.of(1);
+    MultipliedFunction function = new MultipliedFunction(2);
+    MarketDataFactory factory =
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), cache, function);
+    MarketDataRequirements requirements1 = MarketDataRequirements.builder().addValues(ID1).build();
+    MarketDataRequirements requirements2 = MarketDataRequirements.builder().addValues(ID2).build();
+
+    factory.create(requirements1, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA);
+    factory.create(requirements2, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA);
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+    factory.create(requirements2, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA);
+    assertThat(function.builds.get()).isEqualTo(2);
+    factory.create(requirements1, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA);
+    assertThat(function.builds.get()).isEqualTo(3);
+    assertThat(cache.getEvictionCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void test_create_failureNotCached() {
+    MarketDataCache cache = MarketDataCache.of(10);
+    MultipliedFunction function = new MultipliedFunction(2);
+    MarketDataFactory factory =
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), cache, function);
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(ID1).build();
+
+    BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, quotes(-1d, 2d), REF_DATA);
+    assertThat(marketData.getValueFailures().get(ID1).getReason()).isNotNull();
+    assertThat(cache.size()).isEqualTo(0);
+    factory.create(requirements, MARKET_DATA_CONFIG, quotes(-1d, 2d), REF_DATA);
+    assertThat(function.builds.get()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void test_create_sharedBetweenFactories() {
+    MarketDataCache cache = MarketDataCache.of(10);
+    MultipliedFunction function1 = new MultipliedFunction(2);
+    MultipliedFunction function2 = new MultipliedFunction(3);
+    MarketDataFactory factory1 =
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), cache, function1);
+    MarketDataFactory factory2 =
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), cache, function2);
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(ID1).build();
+
+    // the same identifier and inputs built by different functions are different keys
+    assertThat(factory1.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA).getValue(ID1)).isEqualTo(2d);
+    assertThat(factory2.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA).getValue(ID1)).isEqualTo(3d);
+    assertThat(cache.getHitCount()).isEqualTo(0);
+    assertThat(cache.size()).isEqualTo(2);
+
+    // each factory reuses the values built by its own function
+    assertThat(factory1.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA).getValue(ID1)).isEqualTo(2d);
+    assertThat(factory2.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA).getValue(ID1)).isEqualTo(3d);
+    assertThat(function1.builds.get()).isEqualTo(1);
+    assertThat(function2.builds.get()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+
+    // factories sharing the function share the values
+    MarketDataFactory factory3 =
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), cache, function1);
+    assertThat(factory3.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA).getValue(ID1)).isEqualTo(2d);
+    assertThat(function1.builds.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void test_create_scenarios() {
+    MarketDataCache cache = MarketDataCache.of(10);
+    MultipliedFunction function = new MultipliedFunction(2);
+    MarketDataFactory factory =
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), cache, function);
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(ID1).build();
+    PerturbationMapping<Double> mapping = PerturbationMapping.of(new ExactIdFilter(QUOTE1), new IndexShift());
+    ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(mapping);
+
+    factory.create(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA);
+    BuiltScenarioMarketData marketData = factory.createMultiScenario(
+        requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA, scenarioDefinition);
+    assertThat(marketData.getValue(ID1).getValue(1)).isEqualTo(4d);
+    assertThat(function.builds.get()).isEqualTo(2);
+    factory.createMultiScenario(requirements, MARKET_DATA_CONFIG, quotes(1d, 2d), REF_DATA, scenarioDefinition);
+    assertThat(function.builds.get()).isEqualTo(2);
+  }
+
+  //-------------------------------------------------------------------------
+  private static MarketData quotes(double quote1, double quote2) {
+    return MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE1, quote1, QUOTE2, quote2));
+  }
+
+  // identifier of a quote multiplied by a factor, typically two
+  private static final class DoubledId implements MarketDataId<Double> {
+
+    private final TestObservableId quoteId;
+
+    private DoubledId(TestObservableId quoteId) {
+      this.quoteId = quoteId;
+    }
+
+    @Override
+    public Class<Double> getMarketDataType() {
+      return Double.class;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof DoubledId && quoteId.equals(((DoubledId) obj).quoteId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(quoteId);
+    }
+  }
+
+  // function multiplying a positive quote, counting the values built
+  private static final class MultipliedFunction implements MarketDataFunction<Double, DoubledId> {
+
+    private final double multiplier;
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private MultipliedFunction(double multiplier) {
+      this.multiplier = multiplier;
+    }
+
+    @Override
+    public MarketDataRequirements requirements(DoubledId id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.builder().addValues(id.quoteId).build();
+    }
+
+    @Override
+    public MarketDataBox<Double> build(
+        DoubledId id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      builds.incrementAndGet();
+      return marketData.getValue(id.quoteId).map(value -> {
+        if (value < 0) {
+          throw new IllegalArgumentException("Negative quote");
+        }
+        return value * multiplier;
+      });
+    }
+
+    @Override
+    public Class<DoubledId> getMarketDataIdType() {
+      return DoubledId.class;
+    }
+  }
+
+  // filter matching a single identifier
+  private static final class ExactIdFilter implements MarketDataFilter<Double, TestObservableId> {
+
+    private final TestObservableId id;
+
+    private ExactIdFilter(TestObservableId id) {
+      this.id = id;
+    }
+
+    @Override
+    public Class<?> getMarketDataIdType() {
+      return TestObservableId.class;
+    }
+
+    @Override
+    public boolean matches(TestObservableId marketDataId, MarketDataBox<Double> marketData, ReferenceData refData) {
+      return id.equals(marketDataId);
+    }
+  }
+
+  // perturbation adding the scenario index to the value, for two scenarios
+  private static final class IndexShift implements ScenarioPerturbation<Double> {
+
+    @Override
+    public MarketDataBox<Double> applyTo(MarketDataBox<Double> marketData, ReferenceData refData) {
+      return marketData.mapWithIndex(getScenarioCount(), (value, scenarioIndex) -> value + scenarioIndex);
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return 2;
+    }
+
+    @Override
+    public Class<Double> getMarketDataType() {
+      return Double.class;
+    }
+  }
+
+}
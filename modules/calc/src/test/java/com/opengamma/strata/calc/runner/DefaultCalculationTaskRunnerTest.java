@@ -7,18 +7,23 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.calc.ReportingCurrency.NONE;
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -36,10 +41,15 @@ import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -157,6 +167,118 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void scenarioSlicing() {
+    SlicedFunction fn = new SlicedFunction(false);
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 0, TestingMeasures.PAR_RATE, NONE);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(0, 1, TestingMeasures.CASH_FLOWS, NONE);
+    CalculationTask task = CalculationTask.of(TARGET, fn, CalculationParameters.empty(), ImmutableList.of(cell1, cell2));
+    CalculationTasks tasks = CalculationTasks.of(
+        ImmutableList.of(task),
+        ImmutableList.of(Column.of(TestingMeasures.PAR_RATE), Column.of(TestingMeasures.CASH_FLOWS)));
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(TestId.of("1"), MarketDataBox.ofScenarioValues("0", "1", "2", "3", "4", "5", "6"))
+        .build();
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      CalculationTaskRunner test = CalculationTaskRunner.ofScenarioSlicing(pool, 3, target -> 0d);
+      Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+      assertThat(results.get(0, 0)).hasValue(DoubleScenarioArray.of(DoubleArray.of(0, 1, 2, 3, 4, 5, 6)));
+      assertThat(results.get(0, 1)).hasValue(ScenarioArray.of("0", "1", "2", "3", "4", "5", "6"));
+      assertThat(fn.scenarioCounts).containsExactlyInAnyOrder(3, 3, 1);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void scenarioSlicing_singleSlice() {
+    SlicedFunction fn = new SlicedFunction(false);
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PAR_RATE, NONE);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), ImmutableList.of(Column.of(TestingMeasures.PAR_RATE)));
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(TestId.of("1"), MarketDataBox.ofScenarioValues("0", "1"))
+        .build();
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofScenarioSlicing(3)) {
+      Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+      assertThat(results.get(0, 0)).hasValue(DoubleScenarioArray.of(DoubleArray.of(0, 1)));
+      assertThat(fn.scenarioCounts).containsExactly(2);
+    }
+  }
+
+  @Test
+  public void scenarioSlicing_notCombinable() {
+    SlicedFunction fn = new SlicedFunction(true);
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PAR_RATE, NONE);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), ImmutableList.of(Column.of(TestingMeasures.PAR_RATE)));
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(TestId.of("1"), MarketDataBox.ofScenarioValues("0", "1", "2", "3"))
+        .build();
+
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      CalculationTaskRunner test = CalculationTaskRunner.ofScenarioSlicing(pool, 2, target -> 0d);
+      Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+      assertThat(results.get(0, 0)).hasValue(4);
+      assertThat(fn.scenarioCounts).containsExactlyInAnyOrder(2, 2, 4);
+      // the function and measures are remembered, thus the task is no longer sliced
+      Results results2 = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+      assertThat(results2.get(0, 0)).hasValue(4);
+      assertThat(fn.scenarioCounts).containsExactlyInAnyOrder(2, 2, 4, 4);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void scenarioSlicing_costOrdering() {
+    List<CalculationTarget> started = Collections.synchronizedList(new ArrayList<>());
+    CostedTarget cheap = new CostedTarget(1);
+    CostedTarget expensive = new CostedTarget(10);
+    CostedTarget medium = new CostedTarget(5);
+    ImmutableList<CostedTarget> targets = ImmutableList.of(cheap, expensive, medium);
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < targets.size(); i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PAR_RATE, NONE);
+      taskList.add(CalculationTask.of(targets.get(i), new RecordingFunction(started), cell));
+    }
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(Column.of(TestingMeasures.PAR_RATE)));
+    ScenarioMarketData marketData = ScenarioMarketData.of(2, MarketData.empty(VAL_DATE));
+
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      CalculationTaskRunner test =
+          CalculationTaskRunner.ofScenarioSlicing(pool, 2, target -> ((CostedTarget) target).cost);
+      // block the single thread in the pool until all tasks have been submitted
+      CountDownLatch latch = new CountDownLatch(1);
+      pool.execute(() -> {
+        try {
+          latch.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      ResultsListener listener = new ResultsListener();
+      test.calculateMultiScenarioAsync(tasks, marketData, REF_DATA, listener);
+      latch.countDown();
+      Results results = listener.result();
+      assertThat(results.getRowCount()).isEqualTo(3);
+      assertThat(started).containsExactly(expensive, medium, cheap);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void scenarioSlicing_invalid() {
+    assertThatIllegalArgumentException().isThrownBy(() -> CalculationTaskRunner.ofScenarioSlicing(0));
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
@@ -205,6 +327,118 @@ public class DefaultCalculationTaskRunnerTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  private static final class SlicedFunction implements CalculationFunction<TestTarget> {
+
+    private final boolean singleValue;
+    private final List<Integer> scenarioCounts = Collections.synchronizedList(new ArrayList<>());
+
+    private SlicedFunction(boolean singleValue) {
+      this.singleValue = singleValue;
+    }
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PAR_RATE, TestingMeasures.CASH_FLOWS);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      scenarioCounts.add(marketData.getScenarioCount());
+      MarketDataBox<String> box = marketData.getValue(TestId.of("1"));
+      if (singleValue) {
+        return ImmutableMap.of(TestingMeasures.PAR_RATE, Result.success(marketData.getScenarioCount()));
+      }
+      DoubleScenarioArray parRates = DoubleScenarioArray.of(box.getScenarioCount(), i -> Double.parseDouble(box.getValue(i)));
+      ScenarioArray<String> cashFlows = ScenarioArray.of(box.getScenarioCount(), box::getValue);
+      return ImmutableMap.of(
+          TestingMeasures.PAR_RATE, Result.success(parRates),
+          TestingMeasures.CASH_FLOWS, Result.success(cashFlows));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class CostedTarget implements CalculationTarget {
+
+    private final double cost;
+
+    private CostedTarget(double cost) {
+      this.cost = cost;
+    }
+  }
+
+  private static final class RecordingFunction implements CalculationFunction<CostedTarget> {
+
+    private final List<CalculationTarget> started;
+
+    private RecordingFunction(List<CalculationTarget> started) {
+      this.started = started;
+    }
+
+    @Override
+    public Class<CostedTarget> targetType() {
+      return CostedTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PAR_RATE);
+    }
+
+    @Override
+    public Currency naturalCurrency(CostedTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        CostedTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        CostedTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      started.add(target);
+      return ImmutableMap.of(TestingMeasures.PAR_RATE, Result.success(DoubleScenarioArray.of(DoubleArray.of(1d, 2d))));
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class Listener implements CalculationListener {
 
@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NONE;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.BuiltMarketData;
+import com.opengamma.strata.calc.marketdata.BuiltScenarioMarketData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataFunction;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.ScenarioDefinition;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link IncrementalCalculationSession}.
+ */
+public class IncrementalCalculationSessionTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2020, 6, 30);
+  private static final TestObservableId QUOTE1 = TestObservableId.of("1");
+  private static final TestObservableId QUOTE2 = TestObservableId.of("2");
+  private static final TestObservableId QUOTE3 = TestObservableId.of("3");
+  private static final SumId SUM = new SumId(QUOTE1, QUOTE2);
+  private static final ValueTarget TARGET0 = new ValueTarget(SUM);
+  private static final ValueTarget TARGET1 = new ValueTarget(QUOTE3);
+  private static final ValueTarget TARGET2 = new ValueTarget(QUOTE1);
+  private static final MarketDataFactory FACTORY =
+      MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), new SumFunction());
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_affectedTasks() {
+    IncrementalCalculationSession test = session(new ValueFunction());
+    List<CalculationTask> tasks = test.getTasks().getTasks();
+    assertThat(test.affectedTasks(ImmutableSet.of(QUOTE1))).containsExactly(tasks.get(0), tasks.get(2));
+    assertThat(test.affectedTasks(ImmutableSet.of(QUOTE2))).containsExactly(tasks.get(0));
+    assertThat(test.affectedTasks(ImmutableSet.of(SUM))).containsExactly(tasks.get(0));
+    assertThat(test.affectedTasks(ImmutableSet.of(QUOTE3, QUOTE2))).containsExactly(tasks.get(0), tasks.get(1));
+    assertThat(test.affectedTasks(ImmutableSet.of(TestObservableId.of("4")))).isEmpty();
+  }
+
+  @Test
+  public void test_affectedTasks_factoryWithoutDependencies() {
+    IncrementalCalculationSession test = session(new ValueFunction(), new DelegatingFactory());
+    List<CalculationTask> tasks = test.getTasks().getTasks();
+    // only the direct requirements of the tasks are known
+    assertThat(test.affectedTasks(ImmutableSet.of(QUOTE1))).containsExactly(tasks.get(2));
+    assertThat(test.affectedTasks(ImmutableSet.of(QUOTE2))).isEmpty();
+    assertThat(test.affectedTasks(ImmutableSet.of(SUM))).containsExactly(tasks.get(0));
+  }
+
+  @Test
+  public void test_update() {
+    ValueFunction function = new ValueFunction();
+    IncrementalCalculationSession test = session(function);
+    Results results = test.calculate(marketData(1d, 2d, 3d));
+    assertThat(results.getCells()).containsExactly(Result.success(3d), Result.success(3d), Result.success(1d));
+    assertThat(function.calculated).containsExactly(TARGET0, TARGET1, TARGET2);
+
+    // only the target using the changed quote is calculated
+    function.calculated.clear();
+    Listener listener = new Listener();
+    Results updated = test.update(marketData(1d, 2d, 5d), ImmutableSet.of(QUOTE3), listener);
+    assertThat(function.calculated).containsExactly(TARGET1);
+    assertThat(updated.getCells()).containsExactly(Result.success(3d), Result.success(5d), Result.success(1d));
+    assertThat(listener.started).isTrue();
+    assertThat(listener.complete).isTrue();
+    assertThat(listener.results).containsExactly(CalculationResult.of(1, 0, Result.success(5d)));
+
+    // the quote used to build the sum affects both the sum and the target using the quote
+    function.calculated.clear();
+    listener = new Listener();
+    updated = test.update(marketData(4d, -1d, 5d), ImmutableSet.of(QUOTE1, QUOTE2), listener);
+    assertThat(function.calculated).containsExactlyInAnyOrder(TARGET0, TARGET2);
+    assertThat(updated.getCells()).containsExactly(Result.success(3d), Result.success(5d), Result.success(4d));
+    // the sum is unchanged, so only one cell is passed to the listener
+    assertThat(listener.results).containsExactly(CalculationResult.of(2, 0, Result.success(4d)));
+  }
+
+  @Test
+  public void test_updateMultiScenario() {
+    ValueFunction function = new ValueFunction();
+    IncrementalCalculationSession test = session(function);
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(QUOTE1, MarketDataBox.ofScenarioValues(1d, 2d))
+        .addBox(QUOTE2, MarketDataBox.ofScenarioValues(2d, 2d))
+        .addBox(SUM, MarketDataBox.ofScenarioValues(3d, 4d))
+        .addBox(QUOTE3, MarketDataBox.ofScenarioValues(3d, 3d))
+        .build();
+    Results results = test.calculateMultiScenario(marketData);
+    assertThat(results.get(0, 0)).isEqualTo(Result.success(DoubleScenarioArray.of(DoubleArray.of(3d, 4d))));
+
+    function.calculated.clear();
+    ScenarioMarketData updatedData = marketData.withValue(QUOTE3, MarketDataBox.ofScenarioValues(6d, 7d));
+    Listener listener = new Listener();
+    Results updated = test.updateMultiScenario(updatedData, ImmutableSet.of(QUOTE3), listener);
+    assertThat(function.calculated).containsExactly(TARGET1);
+    assertThat(updated.get(1, 0)).isEqualTo(Result.success(DoubleScenarioArray.of(DoubleArray.of(6d, 7d))));
+    assertThat(updated.get(0, 0)).isEqualTo(results.get(0, 0));
+    assertThat(listener.results).hasSize(1);
+  }
+
+  @Test
+  public void test_update_invalidState() {
+    IncrementalCalculationSession test = session(new ValueFunction());
+    assertThatIllegalStateException()
+        .isThrownBy(() -> test.update(marketData(1d, 2d, 3d), ImmutableSet.of(QUOTE1), new Listener()));
+    test.calculate(marketData(1d, 2d, 3d));
+    assertThatIllegalStateException()
+        .isThrownBy(() -> test.updateMultiScenario(
+            ScenarioMarketData.of(1, marketData(1d, 2d, 3d)), ImmutableSet.of(QUOTE1), new Listener()));
+  }
+
+  //-------------------------------------------------------------------------
+  private static IncrementalCalculationSession session(ValueFunction function) {
+    return session(function, FACTORY);
+  }
+
+  private static IncrementalCalculationSession session(ValueFunction function, MarketDataFactory factory) {
+    List<ValueTarget> targets = ImmutableList.of(TARGET0, TARGET1, TARGET2);
+    List<CalculationTask> tasks = new ArrayList<>();
+    for (int i = 0; i < targets.size(); i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NONE);
+      tasks.add(CalculationTask.of(targets.get(i), function, cell));
+    }
+    CalculationTasks calculationTasks =
+        CalculationTasks.of(tasks, ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE)));
+    return IncrementalCalculationSession.of(
+        calculationTasks, factory, MarketDataConfig.empty(), REF_DATA, MoreExecutors.newDirectExecutorService());
+  }
+
+  private static MarketData marketData(double quote1, double quote2, double quote3) {
+    return MarketData.of(
+        VAL_DATE,
+        ImmutableMap.of(QUOTE1, quote1, QUOTE2, quote2, SUM, quote1 + quote2, QUOTE3, quote3));
+  }
+
+  //-------------------------------------------------------------------------
+  // target requiring a single value
+  private static final class ValueTarget implements CalculationTarget {
+
+    private final MarketDataId<Double> id;
+
+    private ValueTarget(MarketDataId<Double> id) {
+      this.id = id;
+    }
+
+    @Override
+    public String toString() {
+      return "ValueTarget[" + id + "]";
+    }
+  }
+
+  // function returning the value required by the target, recording the targets calculated
+  private static final class ValueFunction implements CalculationFunction<ValueTarget> {
+
+    private final List<ValueTarget> calculated = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public Class<ValueTarget> targetType() {
+      return ValueTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+    }
+
+    @Override
+    public Currency naturalCurrency(ValueTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        ValueTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder().valueRequirements(ImmutableSet.of(target.id)).build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        ValueTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      calculated.add(target);
+      MarketDataBox<Double> box = marketData.getValue(target.id);
+      DoubleScenarioArray values = DoubleScenarioArray.of(marketData.getScenarioCount(), i -> box.getValue(i));
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(values));
+    }
+  }
+
+  // identifier of the sum of two quotes
+  private static final class SumId implements MarketDataId<Double> {
+
+    private final TestObservableId id1;
+    private final TestObservableId id2;
+
+    private SumId(TestObservableId id1, TestObservableId id2) {
+      this.id1 = id1;
+      this.id2 = id2;
+    }
+
+    @Override
+    public Class<Double> getMarketDataType() {
+      return Double.class;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      SumId other = (SumId) obj;
+      return id1.equals(other.id1) && id2.equals(other.id2);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(id1, id2);
+    }
+
+    @Override
+    public String toString() {
+      return "SumId[" + id1 + ", " + id2 + "]";
+    }
+  }
+
+  // function building the sum of two quotes
+  private static final class SumFunction implements MarketDataFunction<Double, SumId> {
+
+    @Override
+    public MarketDataRequirements requirements(SumId id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.builder().addValues(id.id1, id.id2).build();
+    }
+
+    @Override
+    public MarketDataBox<Double> build(
+        SumId id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      return marketData.getValue(id.id1).combineWith(marketData.getValue(id.id2), (v1, v2) -> v1 + v2);
+    }
+
+    @Override
+    public Class<SumId> getMarketDataIdType() {
+      return SumId.class;
+    }
+  }
+
+  // listener recording the results received
+  private static final class Listener implements CalculationListener {
+
+    private final List<CalculationResult> results = new ArrayList<>();
+    private boolean started;
+    private boolean complete;
+
+    @Override
+    public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+      started = true;
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      results.add(result);
+    }
+
+    @Override
+    public void calculationsComplete() {
+      complete = true;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // factory that uses the default methods of the interface
+  private static final class DelegatingFactory implements MarketDataFactory {
+
+    @Override
+    public BuiltMarketData create(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        MarketData suppliedData,
+        ReferenceData refData) {
+
+      return FACTORY.create(requirements, marketDataConfig, suppliedData, refData);
+    }
+
+    @Override
+    public BuiltScenarioMarketData createMultiScenario(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        MarketData suppliedData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition) {
+
+      return FACTORY.createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+
+    @Override
+    public BuiltScenarioMarketData createMultiScenario(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData suppliedData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition) {
+
+      return FACTORY.createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.calc.marketdata.TestId;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link ScenarioSliceMarketData}.
+ */
+public class ScenarioSliceMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final TestId ID1 = TestId.of("1");
+  private static final TestId ID2 = TestId.of("2");
+  private static final TestObservableId TS_ID = TestObservableId.of("3");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.of(VAL_DATE, 1d);
+  private static final ScenarioMarketData MARKET_DATA = ImmutableScenarioMarketData.builder(VAL_DATE)
+      .addBox(ID1, MarketDataBox.ofScenarioValues("a", "b", "c", "d"))
+      .addValue(ID2, "single")
+      .addTimeSeries(TS_ID, TIME_SERIES)
+      .build();
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    ScenarioSliceMarketData test = ScenarioSliceMarketData.of(MARKET_DATA, 1, 3);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getValuationDate()).isEqualTo(MarketDataBox.ofSingleValue(VAL_DATE));
+    assertThat(test.getValue(ID1)).isEqualTo(MarketDataBox.ofScenarioValues("b", "c"));
+    assertThat(test.getValue(ID2)).isEqualTo(MarketDataBox.ofSingleValue("single"));
+    assertThat(test.findValue(TestId.of("unknown"))).isEmpty();
+    assertThat(test.containsValue(ID1)).isTrue();
+    assertThat(test.getIds()).containsExactlyInAnyOrder(ID1, ID2);
+    assertThat(test.getTimeSeriesIds()).containsExactly(TS_ID);
+    assertThat(test.getTimeSeries(TS_ID)).isEqualTo(TIME_SERIES);
+  }
+
+  @Test
+  public void test_scenario() {
+    ScenarioSliceMarketData test = ScenarioSliceMarketData.of(MARKET_DATA, 2, 4);
+    assertThat(test.scenario(0).getValue(ID1)).isEqualTo("c");
+    assertThat(test.scenario(1).getValue(ID1)).isEqualTo("d");
+    assertThat(test.scenarios().map(md -> md.getValue(ID1))).containsExactly("c", "d");
+    assertThatIllegalArgumentException().isThrownBy(() -> test.scenario(2));
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException().isThrownBy(() -> ScenarioSliceMarketData.of(MARKET_DATA, 2, 2));
+    assertThatIllegalArgumentException().isThrownBy(() -> ScenarioSliceMarketData.of(MARKET_DATA, -1, 2));
+    assertThatIllegalArgumentException().isThrownBy(() -> ScenarioSliceMarketData.of(MARKET_DATA, 0, 5));
+  }
+
+}
@@ -21,6 +21,8 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -35,6 +37,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
@@ -1157,6 +1160,58 @@ public final class Guavate {
     return collectingAndThen(entriesToImmutableMap(), Guavate::combineFuturesAsMap);
   }
 
+  /**
+   * Waits for the future to complete, returning the result and rethrowing an unchecked failure as-is.
+   * <p>
+   * This is similar to {@link CompletableFuture#join()}, however if the future completes
+   * exceptionally with a {@code RuntimeException} or {@code Error}, that exception is thrown
+   * rather than a {@link CompletionException} wrapping it.
+   * This allows work that has been split into tasks run by an executor to fail with the same
+   * exception as if the tasks had been run in the calling thread.
+   * For example, combined with {@link #combineFuturesAsList(List)}:
+   * <pre>
+   *  List&lt;T&gt; results = joinUnwrapped(tasks.stream()
+   *      .map(task -&gt; CompletableFuture.supplyAsync(task, executor))
+   *      .collect(toCombinedFuture()));
+   * </pre>
+   *
+   * @param <T> the type of the result
+   * @param future  the future to wait for
+   * @return the result of the future
+   * @throws CompletionException if the future completed exceptionally with a checked exception
+   */
+  public static <T> T joinUnwrapped(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw ex;
+    }
+  }
+
+  /**
+   * Evaluates the tasks using the executor, returning the results in the order of the tasks.
+   * <p>
+   * One task is submitted to the executor for each supplier, and this method waits for all the tasks to complete.
+   * If the executor is null, the tasks are evaluated in turn in the calling thread.
+   * The results are the same in both cases, thus the tasks must be independent of one another.
+   * A {@code RuntimeException} or {@code Error} thrown by a task is rethrown as-is, see {@link #joinUnwrapped}.
+   * The executor is not shut down by this method.
+   *
+   * @param <T> the type of the results
+   * @param tasks  the tasks to evaluate
+   * @param executor  the executor used to evaluate the tasks, null to evaluate them in the calling thread
+   * @return the results of the tasks
+   */
+  public static <T> List<T> evaluate(List<? extends Supplier<? extends T>> tasks, Executor executor) {
+    if (executor == null) {
+      return tasks.stream().map(Supplier::get).collect(toImmutableList());
+    }
+    return joinUnwrapped(tasks.stream()
+        .map(task -> CompletableFuture.<T>supplyAsync(task::get, executor))
+        .collect(toCombinedFuture()));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Polls on a regular frequency until a result is found.
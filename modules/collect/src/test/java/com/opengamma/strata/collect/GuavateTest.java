@@ -13,6 +13,7 @@ import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -26,6 +27,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -776,6 +778,57 @@ public class GuavateTest {
     assertThat(combined.get("b")).isEqualTo("B");
   }
 
+  @Test
+  public void test_joinUnwrapped() {
+    CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> "A");
+    assertThat(Guavate.joinUnwrapped(future)).isEqualTo("A");
+  }
+
+  @Test
+  public void test_joinUnwrapped_exception() {
+    CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+      throw new IllegalStateException("Oops");
+    });
+    assertThatIllegalStateException().isThrownBy(() -> Guavate.joinUnwrapped(future)).withMessage("Oops");
+  }
+
+  @Test
+  public void test_joinUnwrapped_combined() {
+    CompletableFuture<String> future1 = CompletableFuture.completedFuture("A");
+    CompletableFuture<String> future2 = CompletableFuture.supplyAsync(() -> {
+      throw new IllegalArgumentException("Oops");
+    });
+    CompletableFuture<List<String>> test = Guavate.combineFuturesAsList(ImmutableList.of(future1, future2));
+    assertThatIllegalArgumentException().isThrownBy(() -> Guavate.joinUnwrapped(test)).withMessage("Oops");
+  }
+
+  @Test
+  public void test_evaluate() {
+    List<Supplier<String>> tasks = ImmutableList.of(() -> "A", () -> "B", () -> "C");
+    assertThat(Guavate.evaluate(tasks, null)).containsExactly("A", "B", "C");
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertThat(Guavate.evaluate(tasks, executor)).containsExactly("A", "B", "C");
+      assertThat(Guavate.evaluate(ImmutableList.<Supplier<String>>of(), executor)).isEmpty();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void test_evaluate_exception() {
+    List<Supplier<String>> tasks = ImmutableList.of(() -> "A", () -> {
+      throw new IllegalStateException("Oops");
+    });
+    assertThatIllegalStateException().isThrownBy(() -> Guavate.evaluate(tasks, null)).withMessage("Oops");
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertThatIllegalStateException().isThrownBy(() -> Guavate.evaluate(tasks, executor)).withMessage("Oops");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_poll() {
@@ -92,6 +92,21 @@ public interface ScenarioArray<T> {
     return SingleScenarioArray.of(scenarioCount, value);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the array is one of the generic arrays created by the factory methods on this interface.
+   * <p>
+   * A generic array holds arbitrary values, one per scenario, and has no special handling for the type of value.
+   * Such arrays can be combined element by element, for example by concatenating the values using {@link #of(List)}.
+   * Specialized implementations, such as {@link DoubleScenarioArray}, are not generic.
+   *
+   * @param array  the array to check
+   * @return true if the array was created by one of the factory methods on this interface
+   */
+  public static boolean isGeneric(ScenarioArray<?> array) {
+    return array instanceof DefaultScenarioArray || array instanceof SingleScenarioArray;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the number of scenarios.
@@ -13,6 +13,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
 
 /**
  * Test {@link ScenarioArray}.
@@ -47,6 +48,14 @@ public class ScenarioArrayTest {
     assertThat(test).isEqualTo(expected);
   }
 
+  @Test
+  public void test_isGeneric() {
+    assertThat(ScenarioArray.isGeneric(ScenarioArray.of("1", "2"))).isTrue();
+    assertThat(ScenarioArray.isGeneric(ScenarioArray.of(ImmutableList.of()))).isTrue();
+    assertThat(ScenarioArray.isGeneric(ScenarioArray.ofSingleValue(3, "aaa"))).isTrue();
+    assertThat(ScenarioArray.isGeneric(DoubleScenarioArray.of(DoubleArray.of(1d, 2d)))).isFalse();
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_stream() {
@@ -12,9 +12,16 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.CharSource;
@@ -203,6 +210,9 @@ import com.opengamma.strata.product.swaption.SwaptionTrade;
  */
 public final class TradeCsvLoader {
 
+  // the batch size used when passing trades to consumers
+  private static final int CONSUMER_BATCH_SIZE = 1000;
+
   // default schemes
   private static final String DEFAULT_TRADE_SCHEME = "OG-Trade";
   private static final String DEFAULT_CPTY_SCHEME = "OG-Counterparty";
@@ -432,6 +442,108 @@ public final class TradeCsvLoader {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Loads one or more CSV format trade files in batches.
+   * <p>
+   * This loads the trades incrementally, such that memory usage is bounded by the batch size
+   * rather than the size of the files. See {@link #parseInBatches(Collection, Class, int)} for details.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * This method uses {@link UnicodeBom} to interpret it.
+   * 
+   * @param resources  the CSV resources
+   * @param batchSize  the maximum number of trades and failures in each batch
+   * @return the stream of batches of loaded trades, which must be closed
+   */
+  public Stream<ValueWithFailures<List<Trade>>> loadInBatches(Collection<ResourceLocator> resources, int batchSize) {
+    Collection<CharSource> charSources = resources.stream()
+        .map(r -> r.getByteSource().asCharSourceUtf8UsingBom())
+        .collect(toList());
+    return parseInBatches(charSources, Trade.class, batchSize);
+  }
+
+  /**
+   * Parses one or more CSV format trade files in batches with a quiet type filter.
+   * <p>
+   * This parses the trades incrementally, such that memory usage is bounded by the batch size
+   * rather than the size of the files. The files are only read as the stream is consumed.
+   * Each batch contains up to the specified number of items, counting both the trades and the failures
+   * that occurred while parsing them. Only the last batch may contain fewer items.
+   * <p>
+   * A type is specified to filter the trades.
+   * Trades that do not match the type are silently dropped.
+   * <p>
+   * The trades and failures are the same as those returned by {@link #parse(Collection, Class)},
+   * except when a file cannot be parsed part way through. In that case, the trades of the file
+   * that were parsed before the error occurred are still returned.
+   * <p>
+   * The stream must be closed to close the underlying file, typically using try-with-resources.
+   * For example, to calculate the trades of a large file in batches:
+   * <pre>
+   *  try (Stream&lt;ValueWithFailures&lt;List&lt;Trade&gt;&gt;&gt; batches = loader.parseInBatches(sources, Trade.class, 10_000)) {
+   *    batches.forEach(batch -&gt; {
+   *      Results results = runner.calculate(rules, batch.getValue(), columns, marketData, refData);
+   *      ...
+   *    });
+   *  }
+   * </pre>
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @param batchSize  the maximum number of trades and failures in each batch
+   * @return the stream of batches of loaded trades, which must be closed
+   */
+  public <T extends Trade> Stream<ValueWithFailures<List<T>>> parseInBatches(
+      Collection<CharSource> charSources,
+      Class<T> tradeType,
+      int batchSize) {
+
+    ArgChecker.notNull(charSources, "charSources");
+    ArgChecker.notNull(tradeType, "tradeType");
+    ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    BatchIterator<T> iterator = new BatchIterator<>(charSources.iterator(), tradeType, batchSize);
+    Spliterator<ValueWithFailures<List<T>>> spliterator =
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+  }
+
+  /**
+   * Parses one or more CSV format trade files incrementally with a quiet type filter.
+   * <p>
+   * This parses the trades incrementally, passing each trade and failure to the consumers
+   * as the files are read. As such, memory usage does not depend on the size of the files.
+   * See {@link #parseInBatches(Collection, Class, int)} for details.
+   * <p>
+   * Any exception thrown by a consumer is propagated, closing the file being read.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @param tradeConsumer  the consumer of the loaded trades
+   * @param failureConsumer  the consumer of the failures
+   */
+  public <T extends Trade> void parse(
+      Collection<CharSource> charSources,
+      Class<T> tradeType,
+      Consumer<? super T> tradeConsumer,
+      Consumer<? super FailureItem> failureConsumer) {
+
+    try (Stream<ValueWithFailures<List<T>>> batches = parseInBatches(charSources, tradeType, CONSUMER_BATCH_SIZE)) {
+      batches.forEach(batch -> {
+        batch.getFailures().forEach(failureConsumer);
+        batch.getValue().forEach(tradeConsumer);
+      });
+    }
+  }
+
   // loads a single CSV file, filtering by trade type
   private <T extends Trade> ValueWithFailures<List<T>> parseFile(CharSource charSource, Class<T> tradeType) {
     try (CsvIterator csv = CsvIterator.of(charSource, true)) {
@@ -455,127 +567,138 @@ public final class TradeCsvLoader {
     List<T> trades = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
     for (CsvRow row : csv.asIterable()) {
-      try {
-        String typeRaw = row.getField(TYPE_FIELD);
-        TradeInfo info = parseTradeInfo(row);
-        String typeUpper = typeRaw.toUpperCase(Locale.ENGLISH);
-        // allow type matching to be overridden
-        Optional<Trade> overrideOpt = resolver.overrideParseTrade(typeUpper, row, info);
-        if (overrideOpt.isPresent()) {
-          if (tradeType.isInstance(overrideOpt.get())) {
-            trades.add(tradeType.cast(overrideOpt.get()));
-          }
-          continue;
+      parseRow(csv, row, tradeType, trades, failures);
+    }
+    return ValueWithFailures.of(trades, failures);
+  }
+
+  // parses a single trade, which may consume additional rows from the iterator
+  private <T extends Trade> void parseRow(
+      CsvIterator csv,
+      CsvRow row,
+      Class<T> tradeType,
+      List<T> trades,
+      List<FailureItem> failures) {
+
+    try {
+      String typeRaw = row.getField(TYPE_FIELD);
+      TradeInfo info = parseTradeInfo(row);
+      String typeUpper = typeRaw.toUpperCase(Locale.ENGLISH);
+      // allow type matching to be overridden
+      Optional<Trade> overrideOpt = resolver.overrideParseTrade(typeUpper, row, info);
+      if (overrideOpt.isPresent()) {
+        if (tradeType.isInstance(overrideOpt.get())) {
+          trades.add(tradeType.cast(overrideOpt.get()));
         }
-        // standard type matching
-        switch (typeUpper) {
-          case "FRA":
-            if (tradeType == FraTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(resolver.parseFraTrade(row, info)));
-            }
-            break;
-          case "SECURITY":
-            if (tradeType == SecurityTrade.class || tradeType == GenericSecurityTrade.class ||
-                tradeType == ResolvableSecurityTrade.class || tradeType == Trade.class) {
-              SecurityQuantityTrade parsed = resolver.parseSecurityTrade(row, info);
-              if (tradeType.isInstance(parsed)) {
-                trades.add(tradeType.cast(parsed));
-              }
-            }
-            break;
-          case "SWAP":
-            if (tradeType == SwapTrade.class || tradeType == Trade.class) {
-              List<CsvRow> variableRows = new ArrayList<>();
-              while (csv.hasNext() && csv.peek().getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
-                variableRows.add(csv.next());
-              }
-              trades.add(tradeType.cast(resolver.parseSwapTrade(row, variableRows, info)));
+        return;
+      }
+      // standard type matching
+      switch (typeUpper) {
+        case "FRA":
+          if (tradeType == FraTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(resolver.parseFraTrade(row, info)));
+          }
+          break;
+        case "SECURITY":
+          if (tradeType == SecurityTrade.class || tradeType == GenericSecurityTrade.class ||
+              tradeType == ResolvableSecurityTrade.class || tradeType == Trade.class) {
+            SecurityQuantityTrade parsed = resolver.parseSecurityTrade(row, info);
+            if (tradeType.isInstance(parsed)) {
+              trades.add(tradeType.cast(parsed));
             }
-            break;
-          case "SWAPTION":
-            if (tradeType == SwaptionTrade.class || tradeType == Trade.class) {
-              List<CsvRow> variableRows = new ArrayList<>();
-              while (csv.hasNext() && csv.peek().getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
-                variableRows.add(csv.next());
-              }
-              trades.add(tradeType.cast(resolver.parseSwaptionTrade(row, variableRows, info)));
+          }
+          break;
+        case "SWAP":
+          if (tradeType == SwapTrade.class || tradeType == Trade.class) {
+            List<CsvRow> variableRows = new ArrayList<>();
+            while (csv.hasNext() && csv.peek().getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
+              variableRows.add(csv.next());
             }
-            break;
-          case "BULLET":
-          case "BULLETPAYMENT":
-          case "BULLET PAYMENT":
-            if (tradeType == BulletPaymentTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(resolver.parseBulletPaymentTrade(row, info)));
+            trades.add(tradeType.cast(resolver.parseSwapTrade(row, variableRows, info)));
+          }
+          break;
+        case "SWAPTION":
+          if (tradeType == SwaptionTrade.class || tradeType == Trade.class) {
+            List<CsvRow> variableRows = new ArrayList<>();
+            while (csv.hasNext() && csv.peek().getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
+              variableRows.add(csv.next());
             }
-            break;
-          case "TERMDEPOSIT":
-          case "TERM DEPOSIT":
-            if (tradeType == TermDepositTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(resolver.parseTermDepositTrade(row, info)));
+            trades.add(tradeType.cast(resolver.parseSwaptionTrade(row, variableRows, info)));
+          }
+          break;
+        case "BULLET":
+        case "BULLETPAYMENT":
+        case "BULLET PAYMENT":
+          if (tradeType == BulletPaymentTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(resolver.parseBulletPaymentTrade(row, info)));
+          }
+          break;
+        case "TERMDEPOSIT":
+        case "TERM DEPOSIT":
+          if (tradeType == TermDepositTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(resolver.parseTermDepositTrade(row, info)));
+          }
+          break;
+        case "VARIABLE":
+          failures.add(FailureItem.of(
+              FailureReason.PARSING,
+              "CSV file contained a 'Variable' type at line {lineNumber} that was not preceeded by a 'Swap' or 'Swaption'",
+              row.lineNumber()));
+          break;
+        case "FX":
+        case "FXSINGLE":
+        case "FX SINGLE":
+          if (tradeType == FxSingleTrade.class || tradeType == FxTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(resolver.parseFxSingleTrade(row, info)));
+          }
+          break;
+        case "FXSWAP":
+        case "FX SWAP":
+          if (tradeType == FxSwapTrade.class || tradeType == FxTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(resolver.parseFxSwapTrade(row, info)));
+          }
+          break;
+        case "FXVANILLAOPTION":
+        case "FX VANILLA OPTION":
+          if (tradeType == FxVanillaOptionTrade.class || tradeType == FxTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(resolver.parseFxVanillaOptionTrade(row, info)));
+          }
+          break;
+        case "CDS":
+          if (tradeType == CdsTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(resolver.parseCdsTrade(row, info)));
+          }
+          break;
+        case "CDSINDEX":
+        case "CDS INDEX":
+          if (tradeType == CdsIndexTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(resolver.parseCdsIndexTrade(row, info)));
+          }
+          break;
+        default:
+          // type is not a standard one
+          Optional<Trade> parsedOpt = resolver.parseOtherTrade(typeUpper, row, info);
+          if (parsedOpt.isPresent()) {
+            if (tradeType.isInstance(parsedOpt.get())) {
+              trades.add(tradeType.cast(parsedOpt.get()));
             }
-            break;
-          case "VARIABLE":
+          } else {
             failures.add(FailureItem.of(
                 FailureReason.PARSING,
-                "CSV file contained a 'Variable' type at line {lineNumber} that was not preceeded by a 'Swap' or 'Swaption'",
+                "CSV file trade type '{tradeType}' is not known at line {lineNumber}",
+                typeRaw,
                 row.lineNumber()));
-            break;
-          case "FX":
-          case "FXSINGLE":
-          case "FX SINGLE":
-            if (tradeType == FxSingleTrade.class || tradeType == FxTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(resolver.parseFxSingleTrade(row, info)));
-            }
-            break;
-          case "FXSWAP":
-          case "FX SWAP":
-            if (tradeType == FxSwapTrade.class || tradeType == FxTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(resolver.parseFxSwapTrade(row, info)));
-            }
-            break;
-          case "FXVANILLAOPTION":
-          case "FX VANILLA OPTION":
-            if (tradeType == FxVanillaOptionTrade.class || tradeType == FxTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(resolver.parseFxVanillaOptionTrade(row, info)));
-            }
-            break;
-          case "CDS":
-            if (tradeType == CdsTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(resolver.parseCdsTrade(row, info)));
-            }
-            break;
-          case "CDSINDEX":
-          case "CDS INDEX":
-            if (tradeType == CdsIndexTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(resolver.parseCdsIndexTrade(row, info)));
-            }
-            break;
-          default:
-            // type is not a standard one
-            Optional<Trade> parsedOpt = resolver.parseOtherTrade(typeUpper, row, info);
-            if (parsedOpt.isPresent()) {
-              if (tradeType.isInstance(parsedOpt.get())) {
-                trades.add(tradeType.cast(parsedOpt.get()));
-              }
-            } else {
-              failures.add(FailureItem.of(
-                  FailureReason.PARSING,
-                  "CSV file trade type '{tradeType}' is not known at line {lineNumber}",
-                  typeRaw,
-                  row.lineNumber()));
-            }
-            break;
-        }
-      } catch (RuntimeException ex) {
-        failures.add(FailureItem.of(
-            FailureReason.PARSING,
-            ex,
-            "CSV file trade could not be parsed at line {lineNumber}: {exceptionMessage}",
-            row.lineNumber(),
-            ex.getMessage()));
+          }
+          break;
       }
+    } catch (RuntimeException ex) {
+      failures.add(FailureItem.of(
+          FailureReason.PARSING,
+          ex,
+          "CSV file trade could not be parsed at line {lineNumber}: {exceptionMessage}",
+          row.lineNumber(),
+          ex.getMessage()));
     }
-    return ValueWithFailures.of(trades, failures);
   }
 
   // parse the trade info
@@ -594,4 +717,90 @@ public final class TradeCsvLoader {
     return infoBuilder.build();
   }
 
+  //-------------------------------------------------------------------------
+  // iterator over batches of trades, reading the files as required
+  private final class BatchIterator<T extends Trade> implements Iterator<ValueWithFailures<List<T>>> {
+
+    private final Iterator<CharSource> charSources;
+    private final Class<T> tradeType;
+    private final int batchSize;
+    private List<T> trades = new ArrayList<>();
+    private List<FailureItem> failures = new ArrayList<>();
+    private CharSource charSource;
+    private CsvIterator csv;
+
+    private BatchIterator(Iterator<CharSource> charSources, Class<T> tradeType, int batchSize) {
+      this.charSources = charSources;
+      this.tradeType = tradeType;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+      fill();
+      return !trades.isEmpty() || !failures.isEmpty();
+    }
+
+    @Override
+    public ValueWithFailures<List<T>> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more trades");
+      }
+      ValueWithFailures<List<T>> batch = ValueWithFailures.of(ImmutableList.copyOf(trades), failures);
+      trades = new ArrayList<>();
+      failures = new ArrayList<>();
+      return batch;
+    }
+
+    // parses rows until the batch is full or all the files have been read
+    // failures count towards the batch size, so that a file of bad rows does not fill memory
+    private void fill() {
+      while (trades.size() + failures.size() < batchSize) {
+        if (csv == null) {
+          if (!charSources.hasNext()) {
+            return;
+          }
+          open(charSources.next());
+        } else {
+          try {
+            if (csv.hasNext()) {
+              parseRow(csv, csv.next(), tradeType, trades, failures);
+            } else {
+              close();
+            }
+          } catch (RuntimeException ex) {
+            failures.add(FailureItem.of(
+                FailureReason.PARSING, ex, "CSV file could not be parsed: {exceptionMessage}: {}", ex.getMessage(), charSource));
+            close();
+          }
+        }
+      }
+    }
+
+    // opens the next file, recording a failure if it is not a trade file
+    private void open(CharSource source) {
+      charSource = source;
+      try {
+        csv = CsvIterator.of(source, true);
+        if (!csv.headers().contains(TYPE_FIELD)) {
+          failures.add(FailureItem.of(
+              FailureReason.PARSING, "CSV file does not contain '{header}' header: {}", TYPE_FIELD, source));
+          close();
+        }
+      } catch (RuntimeException ex) {
+        failures.add(FailureItem.of(
+            FailureReason.PARSING, ex, "CSV file could not be parsed: {exceptionMessage}: {}", ex.getMessage(), source));
+        close();
+      }
+    }
+
+    // closes the current file
+    private void close() {
+      if (csv != null) {
+        csv.close();
+        csv = null;
+      }
+    }
+  }
+
 }
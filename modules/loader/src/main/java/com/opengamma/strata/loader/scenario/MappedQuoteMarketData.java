@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.scenario;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * The market data of a single scenario of {@link MappedQuoteScenarioMarketData}.
+ * <p>
+ * Each quote is read directly from the mapped file when queried.
+ */
+final class MappedQuoteMarketData
+    implements MarketData {
+
+  /**
+   * The underlying scenario market data.
+   */
+  private final MappedQuoteScenarioMarketData underlying;
+  /**
+   * The index of the scenario.
+   */
+  private final int scenarioIndex;
+
+  /**
+   * Creates an instance.
+   *
+   * @param underlying  the underlying scenario market data
+   * @param scenarioIndex  the index of the scenario
+   */
+  MappedQuoteMarketData(MappedQuoteScenarioMarketData underlying, int scenarioIndex) {
+    this.underlying = underlying;
+    this.scenarioIndex = scenarioIndex;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate().getValue(scenarioIndex);
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return underlying.containsValue(id);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<T> findValue(MarketDataId<T> id) {
+    int quoteIndex = underlying.quoteIndex(id);
+    if (quoteIndex < 0) {
+      return Optional.empty();
+    }
+    Double value = underlying.quote(quoteIndex, scenarioIndex);
+    return Optional.of((T) value);
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return underlying.getIds();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return LocalDateDoubleTimeSeries.empty();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MappedQuoteMarketData[scenarioIndex=" + scenarioIndex + ", underlying=" + underlying + "]";
+  }
+
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.scenario;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.market.observable.QuoteScenarioArray;
+
+/**
+ * Scenario market data for quotes, backed by a memory-mapped file.
+ * <p>
+ * This is intended for large scenario sets, such as those used for historical VaR,
+ * where holding every scenario value of every quote on the heap is not viable.
+ * The file is written by {@link MappedQuoteScenarioWriter} and stores the values as primitive
+ * doubles, with the values of all scenarios of one quote held contiguously.
+ * Opening the file reads the quote identifiers and maps the values, no values are parsed.
+ * <p>
+ * Querying a {@link QuoteId} returns a box containing a {@link QuoteScenarioArray},
+ * thus {@link #getScenarioValue} for a {@code QuoteScenarioArrayId} needs no conversion.
+ * The array is copied from the mapped file with a single bulk read when queried and is not retained.
+ * The market data of a single scenario, as returned by {@link #scenario(int)},
+ * reads each quote directly from the mapped file.
+ * <p>
+ * The file holds no time-series. Other market data, such as curves or time-series,
+ * can be added using {@link #combinedWith(ScenarioMarketData)}.
+ * <p>
+ * This class is thread-safe. The mapping is released when the instance is garbage collected.
+ */
+public final class MappedQuoteScenarioMarketData
+    implements ScenarioMarketData {
+
+  /**
+   * The marker at the start of the file.
+   */
+  static final int MAGIC = 0x53514D44;
+  /**
+   * The version of the file format.
+   */
+  static final int VERSION = 1;
+  /**
+   * The maximum size of one mapped segment, which is limited by the size of a {@code ByteBuffer}.
+   */
+  static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE & ~7L;
+
+  /**
+   * The valuation date.
+   */
+  private final MarketDataBox<LocalDate> valuationDate;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The index of each quote in the file.
+   */
+  private final ImmutableMap<QuoteId, Integer> quoteIndices;
+  /**
+   * The number of quotes in each mapped segment.
+   */
+  private final int quotesPerSegment;
+  /**
+   * The mapped segments of the file.
+   */
+  private final DoubleBuffer[] segments;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a file written by {@link MappedQuoteScenarioWriter}.
+   * <p>
+   * The file must not be modified while the returned instance is in use.
+   *
+   * @param file  the file
+   * @return the market data
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is not in the expected format
+   */
+  public static MappedQuoteScenarioMarketData of(Path file) {
+    try {
+      return read(file, MAX_SEGMENT_BYTES);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // reads the header and maps the values, using segments of at most the specified size
+  // the segment size is only reduced from the maximum in tests
+  static MappedQuoteScenarioMarketData read(Path file, long maxSegmentBytes) throws IOException {
+    LocalDate valuationDate;
+    int scenarioCount;
+    ImmutableMap<QuoteId, Integer> quoteIndices;
+    long dataOffset;
+    try (InputStream in = Files.newInputStream(file)) {
+      DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+      ArgChecker.isTrue(data.readInt() == MAGIC, "File is not a quote scenario file: {}", file);
+      int version = data.readInt();
+      ArgChecker.isTrue(version == VERSION, "Unsupported quote scenario file version: {}", version);
+      valuationDate = LocalDate.ofEpochDay(data.readLong());
+      scenarioCount = data.readInt();
+      int quoteCount = data.readInt();
+      ImmutableMap.Builder<QuoteId, Integer> builder = ImmutableMap.builder();
+      for (int i = 0; i < quoteCount; i++) {
+        StandardId standardId = StandardId.parse(data.readUTF());
+        FieldName fieldName = FieldName.of(data.readUTF());
+        ObservableSource source = ObservableSource.of(data.readUTF());
+        builder.put(QuoteId.of(standardId, fieldName, source), i);
+      }
+      quoteIndices = builder.build();
+      dataOffset = data.readLong();
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long quoteBytes = Double.BYTES * (long) scenarioCount;
+      long expectedSize = dataOffset + quoteBytes * quoteIndices.size();
+      if (channel.size() != expectedSize) {
+        throw new IllegalArgumentException(Messages.format(
+            "Quote scenario file has size {} but {} was expected: {}", channel.size(), expectedSize, file));
+      }
+      int quotesPerSegment = (int) Math.min(Math.max(maxSegmentBytes / Math.max(quoteBytes, 1), 1), Integer.MAX_VALUE);
+      int segmentCount = quoteIndices.isEmpty() ? 0 : (quoteIndices.size() - 1) / quotesPerSegment + 1;
+      DoubleBuffer[] segments = new DoubleBuffer[segmentCount];
+      for (int s = 0; s < segmentCount; s++) {
+        long start = dataOffset + (long) s * quotesPerSegment * quoteBytes;
+        long size = Math.min(quotesPerSegment, quoteIndices.size() - (long) s * quotesPerSegment) * quoteBytes;
+        segments[s] = channel.map(MapMode.READ_ONLY, start, size).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+      }
+      return new MappedQuoteScenarioMarketData(valuationDate, scenarioCount, quoteIndices, quotesPerSegment, segments);
+    }
+  }
+
+  // creates an instance
+  private MappedQuoteScenarioMarketData(
+      LocalDate valuationDate,
+      int scenarioCount,
+      ImmutableMap<QuoteId, Integer> quoteIndices,
+      int quotesPerSegment,
+      DoubleBuffer[] segments) {
+
+    this.valuationDate = MarketDataBox.ofSingleValue(valuationDate);
+    this.scenarioCount = scenarioCount;
+    this.quoteIndices = quoteIndices;
+    this.quotesPerSegment = quotesPerSegment;
+    this.segments = segments;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return valuationDate;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  @Override
+  public Stream<MarketData> scenarios() {
+    return IntStream.range(0, scenarioCount).mapToObj(this::scenario);
+  }
+
+  @Override
+  public MarketData scenario(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, scenarioCount, "scenarioIndex");
+    return new MappedQuoteMarketData(this, scenarioIndex);
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return quoteIndices.containsKey(id);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    Integer index = quoteIndices.get(id);
+    if (index == null) {
+      return Optional.empty();
+    }
+    MarketDataBox<Double> box = MarketDataBox.ofScenarioValue(QuoteScenarioArray.of(quotes(index)));
+    return Optional.of((MarketDataBox<T>) box);
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return ImmutableSet.copyOf(quoteIndices.keySet());
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return LocalDateDoubleTimeSeries.empty();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the identifiers of the quotes, in the order they are stored in the file.
+   *
+   * @return the quote identifiers
+   */
+  public Set<QuoteId> getQuoteIds() {
+    return quoteIndices.keySet();
+  }
+
+  // finds the index of the quote, -1 if not found
+  int quoteIndex(MarketDataId<?> id) {
+    Integer index = quoteIndices.get(id);
+    return index == null ? -1 : index;
+  }
+
+  // reads the values of all scenarios of a quote with a single bulk copy
+  DoubleArray quotes(int quoteIndex) {
+    DoubleBuffer view = segments[quoteIndex / quotesPerSegment].duplicate();
+    view.position((quoteIndex % quotesPerSegment) * scenarioCount);
+    double[] values = new double[scenarioCount];
+    view.get(values);
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  // reads the value of a quote in one scenario
+  double quote(int quoteIndex, int scenarioIndex) {
+    return segments[quoteIndex / quotesPerSegment].get((quoteIndex % quotesPerSegment) * scenarioCount + scenarioIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "MappedQuoteScenarioMarketData[valuationDate={}, scenarioCount={}, quoteCount={}]",
+        valuationDate.getSingleValue(),
+        scenarioCount,
+        quoteIndices.size());
+  }
+
+}
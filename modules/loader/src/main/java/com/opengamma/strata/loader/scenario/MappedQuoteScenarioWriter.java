@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.scenario;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Writes scenario quotes to a file that can be opened by {@link MappedQuoteScenarioMarketData}.
+ * <p>
+ * The quotes are written one at a time, in the order of the identifiers passed on creation.
+ * Each write contains the values of the quote in all scenarios.
+ * Only the values of one quote are held in memory, thus files larger than the heap can be written.
+ * <p>
+ * The file starts with a header holding the valuation date, the number of scenarios and the quote identifiers.
+ * The values follow as little-endian doubles, starting at an offset aligned to 8 bytes.
+ * The values of all scenarios of one quote are contiguous.
+ * <p>
+ * Instances must be closed after use.
+ */
+public final class MappedQuoteScenarioWriter
+    implements AutoCloseable {
+
+  /**
+   * The file channel.
+   */
+  private final FileChannel channel;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The number of quotes.
+   */
+  private final int quoteCount;
+  /**
+   * The buffer used to write the values of one quote.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The number of quotes written.
+   */
+  private int written;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a set of scenario quotes to a file.
+   * <p>
+   * The values of every quote must have the same size, which is the number of scenarios.
+   *
+   * @param file  the file to write, replaced if it exists
+   * @param valuationDate  the valuation date
+   * @param quotes  the values of each quote, one entry per scenario
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the quotes have different numbers of scenarios
+   */
+  public static void write(Path file, LocalDate valuationDate, Map<QuoteId, DoubleArray> quotes) {
+    ArgChecker.notEmpty(quotes, "quotes");
+    int scenarioCount = quotes.values().iterator().next().size();
+    try (MappedQuoteScenarioWriter writer = of(file, valuationDate, scenarioCount, ImmutableList.copyOf(quotes.keySet()))) {
+      for (DoubleArray values : quotes.values()) {
+        writer.writeQuotes(values);
+      }
+    }
+  }
+
+  /**
+   * Creates a writer, writing the header of the file.
+   * <p>
+   * The values of each quote must then be written using {@link #writeQuotes(DoubleArray)}
+   * in the order of the quote identifiers.
+   *
+   * @param file  the file to write, replaced if it exists
+   * @param valuationDate  the valuation date
+   * @param scenarioCount  the number of scenarios
+   * @param quoteIds  the identifiers of the quotes
+   * @return the writer
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static MappedQuoteScenarioWriter of(
+      Path file,
+      LocalDate valuationDate,
+      int scenarioCount,
+      List<QuoteId> quoteIds) {
+
+    ArgChecker.notNull(file, "file");
+    ArgChecker.notNull(valuationDate, "valuationDate");
+    ArgChecker.inRangeInclusive(
+        scenarioCount, 1, (int) (MappedQuoteScenarioMarketData.MAX_SEGMENT_BYTES / Double.BYTES), "scenarioCount");
+    ArgChecker.noNulls(quoteIds, "quoteIds");
+    ArgChecker.isTrue(quoteIds.stream().distinct().count() == quoteIds.size(), "Quote identifiers must be unique");
+    try {
+      FileChannel channel = FileChannel.open(
+          file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+      try {
+        writeFully(channel, ByteBuffer.wrap(header(valuationDate, scenarioCount, quoteIds)));
+      } catch (IOException | RuntimeException ex) {
+        channel.close();
+        throw ex;
+      }
+      return new MappedQuoteScenarioWriter(channel, scenarioCount, quoteIds.size());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // creates the header, padded so that the values are aligned
+  private static byte[] header(LocalDate valuationDate, int scenarioCount, List<QuoteId> quoteIds) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MappedQuoteScenarioMarketData.MAGIC);
+    out.writeInt(MappedQuoteScenarioMarketData.VERSION);
+    out.writeLong(valuationDate.toEpochDay());
+    out.writeInt(scenarioCount);
+    out.writeInt(quoteIds.size());
+    for (QuoteId quoteId : quoteIds) {
+      out.writeUTF(quoteId.getStandardId().toString());
+      out.writeUTF(quoteId.getFieldName().getName());
+      out.writeUTF(quoteId.getObservableSource().getName());
+    }
+    long dataOffset = (out.size() + Long.BYTES + 7) & ~7L;
+    out.writeLong(dataOffset);
+    while (out.size() < dataOffset) {
+      out.writeByte(0);
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  // creates an instance
+  private MappedQuoteScenarioWriter(FileChannel channel, int scenarioCount, int quoteCount) {
+    this.channel = channel;
+    this.scenarioCount = scenarioCount;
+    this.quoteCount = quoteCount;
+    this.buffer = ByteBuffer.allocate(scenarioCount * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the values of the next quote.
+   *
+   * @param quotes  the values of the quote, one entry per scenario
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the number of values does not match the number of scenarios
+   * @throws IllegalStateException if the values of all quotes have already been written
+   */
+  public void writeQuotes(DoubleArray quotes) {
+    ArgChecker.isTrue(quotes.size() == scenarioCount,
+        "Expected {} scenario values but found {}", scenarioCount, quotes.size());
+    if (written == quoteCount) {
+      throw new IllegalStateException(Messages.format("All {} quotes have already been written", quoteCount));
+    }
+    buffer.clear();
+    buffer.asDoubleBuffer().put(quotes.toArrayUnsafe());
+    try {
+      writeFully(channel, buffer);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    written++;
+  }
+
+  // writes all the remaining bytes of the buffer
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Closes the file.
+   *
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalStateException if the values of some quotes have not been written
+   */
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    if (written != quoteCount) {
+      throw new IllegalStateException(
+          Messages.format("Only {} of {} quotes were written, the file is incomplete", written, quoteCount));
+    }
+  }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Storage of large sets of scenario market data in memory-mapped files.
+ */
+package com.opengamma.strata.loader.scenario;
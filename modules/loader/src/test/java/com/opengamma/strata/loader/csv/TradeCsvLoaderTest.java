@@ -26,17 +26,21 @@ import static com.opengamma.strata.product.common.BuySell.BUY;
 import static com.opengamma.strata.product.common.BuySell.SELL;
 import static com.opengamma.strata.product.common.PayReceive.PAY;
 import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.joda.beans.test.BeanAssert.assertBeanEquals;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
 import org.junit.jupiter.api.Test;
@@ -2108,6 +2112,98 @@ public class TradeCsvLoaderTest {
     assertThat(failure.getMessage()).isEqualTo("CSV file trade could not be parsed at line 2: Header not found: 'Notional'");
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_loadInBatches() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<Trade> expected = test.load(FILE).getValue();
+    List<Trade> trades = new ArrayList<>();
+    try (Stream<ValueWithFailures<List<Trade>>> batches = test.loadInBatches(ImmutableList.of(FILE, FILE), 3)) {
+      batches.forEach(batch -> {
+        assertThat(batch.getValue().size()).isBetween(1, 3);
+        assertThat(batch.getFailures()).isEmpty();
+        trades.addAll(batch.getValue());
+      });
+    }
+    assertThat(trades.subList(0, expected.size())).isEqualTo(expected);
+    assertThat(trades.subList(expected.size(), trades.size())).isEqualTo(expected);
+  }
+
+  @Test
+  public void test_parseInBatches_filtered() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> sources = ImmutableList.of(FILE.getCharSource());
+    ValueWithFailures<List<SwapTrade>> expected = test.parse(sources, SwapTrade.class);
+    int itemCount = expected.getValue().size() + expected.getFailures().size();
+    try (Stream<ValueWithFailures<List<SwapTrade>>> batches = test.parseInBatches(sources, SwapTrade.class, 5)) {
+      List<ValueWithFailures<List<SwapTrade>>> list = batches.collect(toList());
+      assertThat(list).hasSize((itemCount + 4) / 5);
+      assertThat(list.stream().flatMap(batch -> batch.getValue().stream()).collect(toList()))
+          .isEqualTo(expected.getValue());
+    }
+  }
+
+  @Test
+  public void test_parseInBatches_failures() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> sources = ImmutableList.of(
+        CharSource.wrap(""),
+        CharSource.wrap("Id"),
+        CharSource.wrap("Strata Trade Type,Buy Sell\nFoo,Buy\nFra,Buy"));
+    ValueWithFailures<List<Trade>> expected = test.parse(sources);
+    try (Stream<ValueWithFailures<List<Trade>>> batches = test.parseInBatches(sources, Trade.class, 10)) {
+      List<ValueWithFailures<List<Trade>>> list = batches.collect(toList());
+      assertThat(list).hasSize(1);
+      assertThat(list.get(0).getValue()).isEmpty();
+      assertThat(list.get(0).getFailures()).hasSize(4);
+      assertThat(messages(list.get(0).getFailures())).isEqualTo(messages(expected.getFailures()));
+    }
+  }
+
+  @Test
+  public void test_parseInBatches_failuresCountTowardsBatchSize() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> sources = ImmutableList.of(
+        CharSource.wrap("Strata Trade Type,Buy Sell\nFoo,Buy\nFra,Buy\nFoo,Sell\nFra,Sell\nFoo,Buy"));
+    ValueWithFailures<List<Trade>> expected = test.parse(sources);
+    try (Stream<ValueWithFailures<List<Trade>>> batches = test.parseInBatches(sources, Trade.class, 2)) {
+      List<ValueWithFailures<List<Trade>>> list = batches.collect(toList());
+      assertThat(list).hasSize(3);
+      assertThat(list.get(0).getFailures()).hasSize(2);
+      assertThat(list.get(1).getFailures()).hasSize(2);
+      assertThat(list.get(2).getFailures()).hasSize(1);
+      List<FailureItem> failures = list.stream().flatMap(batch -> batch.getFailures().stream()).collect(toList());
+      assertThat(messages(failures)).isEqualTo(messages(expected.getFailures()));
+    }
+  }
+
+  @Test
+  public void test_parseInBatches_empty() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    try (Stream<ValueWithFailures<List<Trade>>> batches = test.parseInBatches(ImmutableList.of(), Trade.class, 10)) {
+      assertThat(batches.count()).isEqualTo(0);
+    }
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.parseInBatches(ImmutableList.of(), Trade.class, 0));
+  }
+
+  @Test
+  public void test_parse_consumers() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> sources = ImmutableList.of(FILE.getCharSource(), CharSource.wrap("Strata Trade Type\nFoo"));
+    ValueWithFailures<List<Trade>> expected = test.parse(sources);
+    List<Trade> trades = new ArrayList<>();
+    List<FailureItem> failures = new ArrayList<>();
+    test.parse(sources, Trade.class, trades::add, failures::add);
+    assertThat(trades).isEqualTo(expected.getValue());
+    assertThat(messages(failures)).isEqualTo(messages(expected.getFailures()));
+  }
+
+  // the failure messages, as the stack traces differ
+  private static List<String> messages(List<FailureItem> failures) {
+    return failures.stream().map(FailureItem::getMessage).collect(toList());
+  }
+
   //-------------------------------------------------------------------------
   @SafeVarargs
   private final <T extends Trade & Bean> void checkRoundtrip(
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.scenario;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.MoreFiles;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.market.observable.QuoteScenarioArray;
+import com.opengamma.strata.market.observable.QuoteScenarioArrayId;
+
+/**
+ * Test {@link MappedQuoteScenarioMarketData} and {@link MappedQuoteScenarioWriter}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class MappedQuoteScenarioMarketDataTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2020, 3, 31);
+  private static final QuoteId ID1 = QuoteId.of(StandardId.of("OG-Ticker", "EUR-OIS-1Y"));
+  private static final QuoteId ID2 = QuoteId.of(StandardId.of("OG-Ticker", "EUR-OIS-2Y"), FieldName.of("Bid"));
+  private static final QuoteId ID3 =
+      QuoteId.of(StandardId.of("OG-Ticker", "EUR-OIS-5Y"), FieldName.MARKET_VALUE, ObservableSource.of("Vendor"));
+  private static final QuoteId ID4 = QuoteId.of(StandardId.of("OG-Ticker", "USD-OIS-1Y"));
+  private static final DoubleArray VALUES1 = DoubleArray.of(0.010, 0.011, 0.012, 0.013);
+  private static final DoubleArray VALUES2 = DoubleArray.of(0.020, 0.021, 0.022, 0.023);
+  private static final DoubleArray VALUES3 = DoubleArray.of(0.030, 0.031, 0.032, 0.033);
+
+  private Path tmpDir;
+
+  @BeforeAll
+  public void setup() throws IOException {
+    tmpDir = Files.createTempDirectory("mapped-quote-scenario-test");
+  }
+
+  @AfterAll
+  public void tearDown() {
+    try {
+      MoreFiles.deleteRecursively(tmpDir);
+    } catch (IOException ex) {
+      // ignore
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_writeAndRead() {
+    Path file = tmpDir.resolve("quotes.bin");
+    MappedQuoteScenarioWriter.write(file, VAL_DATE, ImmutableMap.of(ID1, VALUES1, ID2, VALUES2, ID3, VALUES3));
+    MappedQuoteScenarioMarketData test = MappedQuoteScenarioMarketData.of(file);
+    assertThat(test.getValuationDate()).isEqualTo(MarketDataBox.ofSingleValue(VAL_DATE));
+    assertThat(test.getScenarioCount()).isEqualTo(4);
+    assertThat(test.getQuoteIds()).containsExactly(ID1, ID2, ID3);
+    assertThat(test.getIds()).containsOnly(ID1, ID2, ID3);
+    assertThat(test.containsValue(ID2)).isTrue();
+    assertThat(test.containsValue(ID4)).isFalse();
+    assertThat(test.findValue(ID4)).isEmpty();
+    assertThat(test.findIds(CurveName.of("Foo"))).isEmpty();
+    assertThat(test.getTimeSeriesIds()).isEmpty();
+    assertThat(test.getTimeSeries(ID1)).isEqualTo(LocalDateDoubleTimeSeries.empty());
+    assertThat(test.getValue(ID3)).isEqualTo(MarketDataBox.ofScenarioValue(QuoteScenarioArray.of(VALUES3)));
+    assertThat(test.getScenarioValue(QuoteScenarioArrayId.of(ID2))).isEqualTo(QuoteScenarioArray.of(VALUES2));
+    assertThat(test.toString()).contains("quoteCount=3");
+  }
+
+  @Test
+  public void test_read_segments() throws IOException {
+    Path file = tmpDir.resolve("segments.bin");
+    DoubleArray values4 = DoubleArray.of(0.040, 0.041, 0.042, 0.043);
+    MappedQuoteScenarioWriter.write(
+        file, VAL_DATE, ImmutableMap.of(ID1, VALUES1, ID2, VALUES2, ID3, VALUES3, ID4, values4));
+    // three quotes of four scenarios per segment, so the last segment only holds the fourth quote
+    MappedQuoteScenarioMarketData test = MappedQuoteScenarioMarketData.read(file, 3 * 4 * Double.BYTES);
+    ImmutableList<DoubleArray> expected = ImmutableList.of(VALUES1, VALUES2, VALUES3, values4);
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(test.quotes(i)).isEqualTo(expected.get(i));
+      for (int j = 0; j < test.getScenarioCount(); j++) {
+        assertThat(test.quote(i, j)).isEqualTo(expected.get(i).get(j));
+      }
+    }
+    assertThat(test.quoteIndex(ID4)).isEqualTo(3);
+    assertThat(test.getScenarioValue(QuoteScenarioArrayId.of(ID4))).isEqualTo(QuoteScenarioArray.of(values4));
+    assertThat(test.scenario(3).getValue(ID4)).isEqualTo(0.043);
+  }
+
+  @Test
+  public void test_read_segmentPerQuote() throws IOException {
+    Path file = tmpDir.resolve("segment-per-quote.bin");
+    MappedQuoteScenarioWriter.write(file, VAL_DATE, ImmutableMap.of(ID1, VALUES1, ID2, VALUES2, ID3, VALUES3));
+    // a segment size below the size of one quote still maps one quote per segment
+    MappedQuoteScenarioMarketData test = MappedQuoteScenarioMarketData.read(file, Double.BYTES);
+    assertThat(test.quotes(2)).isEqualTo(VALUES3);
+    assertThat(test.quote(2, 1)).isEqualTo(VALUES3.get(1));
+    assertThat(test.quote(0, 3)).isEqualTo(VALUES1.get(3));
+  }
+
+  @Test
+  public void test_scenario() {
+    Path file = tmpDir.resolve("scenario.bin");
+    MappedQuoteScenarioWriter.write(file, VAL_DATE, ImmutableMap.of(ID1, VALUES1, ID2, VALUES2));
+    MappedQuoteScenarioMarketData test = MappedQuoteScenarioMarketData.of(file);
+    for (int i = 0; i < test.getScenarioCount(); i++) {
+      MarketData scenario = test.scenario(i);
+      assertThat(scenario.getValuationDate()).isEqualTo(VAL_DATE);
+      assertThat(scenario.getValue(ID1)).isEqualTo(VALUES1.get(i));
+      assertThat(scenario.getValue(ID2)).isEqualTo(VALUES2.get(i));
+      assertThat(scenario.containsValue(ID3)).isFalse();
+      assertThat(scenario.getIds()).containsOnly(ID1, ID2);
+      assertThat(scenario.findIds(CurveName.of("Foo"))).isEmpty();
+      assertThat(scenario.getTimeSeriesIds()).isEmpty();
+      assertThat(scenario.getTimeSeries(ID1)).isEqualTo(LocalDateDoubleTimeSeries.empty());
+    }
+    assertThat(test.scenarios().map(md -> md.getValue(ID2))).containsExactly(0.020, 0.021, 0.022, 0.023);
+    assertThatExceptionOfType(MarketDataNotFoundException.class).isThrownBy(() -> test.scenario(1).getValue(ID3));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.scenario(4));
+  }
+
+  @Test
+  public void test_combinedWith() {
+    Path file = tmpDir.resolve("combined.bin");
+    MappedQuoteScenarioWriter.write(file, VAL_DATE, ImmutableMap.of(ID1, VALUES1));
+    ScenarioMarketData other = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addValue(ID4, 0.5d)
+        .build();
+    ScenarioMarketData test = MappedQuoteScenarioMarketData.of(file).combinedWith(other);
+    assertThat(test.getScenarioCount()).isEqualTo(4);
+    assertThat(test.scenario(2).getValue(ID1)).isEqualTo(0.012);
+    assertThat(test.scenario(2).getValue(ID4)).isEqualTo(0.5d);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_writer_streaming() {
+    Path file = tmpDir.resolve("streaming.bin");
+    try (MappedQuoteScenarioWriter writer = MappedQuoteScenarioWriter.of(file, VAL_DATE, 4, ImmutableList.of(ID3, ID1))) {
+      writer.writeQuotes(VALUES3);
+      writer.writeQuotes(VALUES1);
+      assertThatIllegalStateException().isThrownBy(() -> writer.writeQuotes(VALUES2));
+    }
+    MappedQuoteScenarioMarketData test = MappedQuoteScenarioMarketData.of(file);
+    assertThat(test.getQuoteIds()).containsExactly(ID3, ID1);
+    assertThat(test.getScenarioValue(QuoteScenarioArrayId.of(ID1))).isEqualTo(QuoteScenarioArray.of(VALUES1));
+  }
+
+  @Test
+  public void test_writer_invalid() {
+    Path file = tmpDir.resolve("invalid.bin");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> MappedQuoteScenarioWriter.write(file, VAL_DATE, ImmutableMap.of()));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> MappedQuoteScenarioWriter.write(file, VAL_DATE, ImmutableMap.of(ID1, VALUES1, ID2, DoubleArray.of(1d))));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> MappedQuoteScenarioWriter.of(file, VAL_DATE, 0, ImmutableList.of(ID1)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> MappedQuoteScenarioWriter.of(file, VAL_DATE, 4, ImmutableList.of(ID1, ID1)));
+    assertThatIllegalStateException()
+        .isThrownBy(() -> MappedQuoteScenarioWriter.of(file, VAL_DATE, 4, ImmutableList.of(ID1, ID2)).close());
+    // the incomplete file is rejected on opening
+    assertThatIllegalArgumentException().isThrownBy(() -> MappedQuoteScenarioMarketData.of(file));
+  }
+
+  @Test
+  public void test_of_notQuoteFile() throws IOException {
+    Path file = tmpDir.resolve("other.bin");
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertThatIllegalArgumentException().isThrownBy(() -> MappedQuoteScenarioMarketData.of(file));
+  }
+
+}
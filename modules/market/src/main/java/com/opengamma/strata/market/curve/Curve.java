@@ -91,6 +91,20 @@ public interface Curve extends ParameterizedData {
    */
   public abstract double yValue(double x);
 
+  /**
+   * Computes the y-values for the specified x-values.
+   * <p>
+   * The result is the same as calling {@link #yValue(double)} for each x-value.
+   * Implementations may evaluate the x-values in a single pass, which is most efficient
+   * when the x-values are sorted from low to high.
+   * 
+   * @param x  the x-values to find the y-values for
+   * @return the values at the x-values
+   */
+  public default DoubleArray yValues(DoubleArray x) {
+    return x.map(this::yValue);
+  }
+
   /**
    * Computes the sensitivity of the y-value with respect to the curve parameters.
    * <p>
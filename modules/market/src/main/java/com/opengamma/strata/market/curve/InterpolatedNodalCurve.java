@@ -243,6 +243,13 @@ public final class InterpolatedNodalCurve
     return boundInterpolator.interpolate(x);
   }
 
+  @Override
+  public DoubleArray yValues(DoubleArray x) {
+    double[] result = new double[x.size()];
+    boundInterpolator.interpolate(x.toArrayUnsafe(), result);
+    return DoubleArray.ofUnsafe(result);
+  }
+
   @Override
   public UnitParameterSensitivity yValueParameterSensitivity(double x) {
     return createParameterSensitivity(boundInterpolator.parameterSensitivity(x));
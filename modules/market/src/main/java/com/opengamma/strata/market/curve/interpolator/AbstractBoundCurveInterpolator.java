@@ -39,6 +39,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The y-value of the last node.
    */
   private final double lastYValue;
+  /**
+   * The x-values of the nodes, used to find the interval when interpolating many x-values.
+   */
+  private final double[] nodeXValues;
 
   /**
    * Creates an instance.
@@ -57,6 +61,7 @@ public abstract class AbstractBoundCurveInterpolator
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
+    this.nodeXValues = xValues.toArrayUnsafe();
   }
 
   /**
@@ -76,6 +81,7 @@ public abstract class AbstractBoundCurveInterpolator
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
+    this.nodeXValues = base.nodeXValues;
   }
 
   //-------------------------------------------------------------------------
@@ -101,6 +107,44 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract double doInterpolate(double xValue);
 
+  @Override
+  public void interpolate(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as the x-values");
+    // the interval found for one x-value is the starting point of the search for the next
+    int lowerIndex = 0;
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        result[i] = doInterpolate(xValue, lowerIndex);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the interpolated value when the interval is known.
+   * <p>
+   * This is called when interpolating many x-values, where the interval containing each x-value
+   * has already been found. Callers can assume that {@code lowerIndex} is the result of
+   * {@link #lowerBoundIndex(double, double[])} for the x-values of the nodes.
+   * <p>
+   * The default implementation calls {@link #doInterpolate(double)}, ignoring the index.
+   * Subclasses that search for the interval should override this method to avoid repeating the search.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the node at the start of the interval containing the x-value
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, int lowerIndex) {
+    return doInterpolate(xValue);
+  }
+
   /**
    * Method for {@code InterpolatorCurveExtrapolator} to calculate the interpolated value.
    * <p>
@@ -197,4 +241,31 @@ public abstract class AbstractBoundCurveInterpolator
     return lo - 1;
   }
 
+  /**
+   * Returns the index of the last value in the input array which is lower than the specified value,
+   * starting the search from a known index.
+   * <p>
+   * The result is the same as {@link #lowerBoundIndex(double, double[])}.
+   * When the x-values are sorted, the interval of one x-value is usually the same as,
+   * or next to, the interval of the previous x-value. Those two intervals are checked
+   * before falling back to a binary search.
+   *
+   * @param xValue  a value which is less than the last element in {@code xValues}
+   * @param xValues  an array of values sorted in ascending order
+   * @param startIndex  the index to start the search from, typically the result for the previous x-value
+   * @return the index of the last value in {@code xValues} which is lower than {@code xValue}
+   */
+  protected static int lowerBoundIndex(double xValue, double[] xValues, int startIndex) {
+    int nextIndex = startIndex + 1;
+    if (nextIndex < xValues.length && xValues[startIndex] <= xValue) {
+      if (xValue < xValues[nextIndex]) {
+        return startIndex;
+      }
+      if (nextIndex + 1 < xValues.length && xValue < xValues[nextIndex + 1]) {
+        return nextIndex;
+      }
+    }
+    return lowerBoundIndex(xValue, xValues);
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.market.curve.interpolator;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 
 /**
@@ -29,6 +30,25 @@ public interface BoundCurveInterpolator {
    */
   public abstract double interpolate(double x);
 
+  /**
+   * Computes the y-values for the specified x-values by interpolation.
+   * <p>
+   * The y-value for each x-value is stored in the matching element of the result array.
+   * The result is the same as calling {@link #interpolate(double)} for each x-value.
+   * Implementations may evaluate the x-values in a single pass, which is most efficient
+   * when the x-values are sorted from low to high, such as the payment times of a schedule.
+   *
+   * @param xValues  the x-values to find the y-values for
+   * @param result  the array to store the y-values in, at least as long as the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default void interpolate(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as the x-values");
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = interpolate(xValues[i]);
+    }
+  }
+
   /**
    * Computes the first derivative of the y-value for the specified x-value.
    * <p>
@@ -226,7 +226,11 @@ final class NaturalCubicSplineCurveInterpolator implements CurveInterpolator, Se
     @Override
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int low = lowerBoundIndex(xValue, xValues);
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int low) {
       int high = low + 1;
       int n = dataSize - 1;
       if (low == n) {
@@ -89,9 +89,13 @@ final class TimeSquareCurveInterpolator implements CurveInterpolator, Serializab
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
-      ArgChecker.isTrue(xValue > 0, "Value should be stricly positive");
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
+      ArgChecker.isTrue(xValue > 0, "Value should be stricly positive");
       double x1 = xValues[lowerIndex];
       double y1 = yValues[lowerIndex];
       if (lowerIndex == dataSize - 1) {
@@ -197,9 +197,32 @@ public final class CurrencyParameterSensitivities
    * @return the matching sensitivity
    */
   public Optional<CurrencyParameterSensitivity> findSensitivity(MarketDataName<?> name, Currency currency) {
-    return sensitivities.stream()
-        .filter(sens -> sens.getMarketDataName().equals(name) && sens.getCurrency().equals(currency))
-        .findFirst();
+    // the sensitivities are sorted by name and currency, see CurrencyParameterSensitivity.compareKey()
+    int lo = 0;
+    int hi = sensitivities.size() - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      CurrencyParameterSensitivity sens = sensitivities.get(mid);
+      int cmp = compareKey(sens, name, currency);
+      if (cmp < 0) {
+        lo = mid + 1;
+      } else if (cmp > 0) {
+        hi = mid - 1;
+      } else {
+        // return the first match if there are duplicate keys
+        while (mid > 0 && compareKey(sensitivities.get(mid - 1), name, currency) == 0) {
+          mid--;
+        }
+        return Optional.of(sensitivities.get(mid));
+      }
+    }
+    return Optional.empty();
+  }
+
+  // compares the key of the sensitivity to the specified name and currency
+  private static int compareKey(CurrencyParameterSensitivity sens, MarketDataName<?> name, Currency currency) {
+    int cmp = sens.getMarketDataName().compareTo(name);
+    return cmp != 0 ? cmp : sens.getCurrency().compareTo(currency);
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collector;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+
+/**
+ * Mutable aggregator of currency parameter sensitivities.
+ * <p>
+ * This is used to sum a large number of {@link CurrencyParameterSensitivities}, such as the
+ * bucketed sensitivities of all the trades in a portfolio.
+ * The sensitivities are indexed by market data name and currency using a hash map,
+ * and the values of each entry are summed in place into a primitive array.
+ * As such, adding a sensitivity does not depend on the number of entries already aggregated,
+ * and no intermediate immutable instances are created.
+ * <p>
+ * The result of {@link #build()} is the same as combining the sensitivities using
+ * {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivities)}.
+ * The parameter metadata of each entry is taken from the first sensitivity added for that entry.
+ * The metadata of later sensitivities is not checked, but the parameter count must match.
+ * <p>
+ * Aggregators can be {@linkplain #merge(CurrencyParameterSensitivitiesAggregator) merged},
+ * allowing the sensitivities to be aggregated in parallel, see {@link #toAggregatedSensitivities()}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class CurrencyParameterSensitivitiesAggregator {
+
+  /**
+   * The aggregated sensitivities, keyed by market data name and currency.
+   */
+  private final Map<Pair<MarketDataName<?>, Currency>, Entry> entries = new HashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty aggregator.
+   *
+   * @return the aggregator
+   */
+  public static CurrencyParameterSensitivitiesAggregator create() {
+    return new CurrencyParameterSensitivitiesAggregator();
+  }
+
+  /**
+   * Returns a collector that sums sensitivities using an aggregator.
+   * <p>
+   * This is suitable for use with a parallel stream, where each thread aggregates
+   * into its own instance and the instances are then merged.
+   * <p>
+   * For example:
+   * <pre>
+   *   CurrencyParameterSensitivities total = tradeSensitivities.parallelStream()
+   *       .collect(CurrencyParameterSensitivitiesAggregator.toAggregatedSensitivities());
+   * </pre>
+   *
+   * @return the collector
+   */
+  public static Collector<CurrencyParameterSensitivities, ?, CurrencyParameterSensitivities> toAggregatedSensitivities() {
+    return Collector.of(
+        CurrencyParameterSensitivitiesAggregator::create,
+        CurrencyParameterSensitivitiesAggregator::add,
+        CurrencyParameterSensitivitiesAggregator::merge,
+        CurrencyParameterSensitivitiesAggregator::build,
+        Collector.Characteristics.UNORDERED);
+  }
+
+  // restricted constructor
+  private CurrencyParameterSensitivitiesAggregator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of entries that have been aggregated.
+   * <p>
+   * This is the number of distinct market data name and currency pairs.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Finds the aggregated sensitivity by name and currency.
+   * <p>
+   * If the sensitivity is not found, optional empty is returned.
+   *
+   * @param name  the curve name to find
+   * @param currency  the currency to find
+   * @return the aggregated sensitivity
+   */
+  public Optional<CurrencyParameterSensitivity> findSensitivity(MarketDataName<?> name, Currency currency) {
+    return Optional.ofNullable(entries.get(Pair.of(name, currency))).map(Entry::build);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the specified sensitivities.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return this aggregator, for chaining
+   * @throws IllegalArgumentException if the parameter count differs from that already aggregated
+   */
+  public CurrencyParameterSensitivitiesAggregator add(CurrencyParameterSensitivities sensitivities) {
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the specified sensitivity.
+   * <p>
+   * The values are added to those already aggregated for the same market data name and currency.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return this aggregator, for chaining
+   * @throws IllegalArgumentException if the parameter count differs from that already aggregated
+   */
+  public CurrencyParameterSensitivitiesAggregator add(CurrencyParameterSensitivity sensitivity) {
+    Pair<MarketDataName<?>, Currency> key = Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency());
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entries.put(key, new Entry(sensitivity, sensitivity.getSensitivity().toArray()));
+    } else {
+      entry.add(sensitivity.getSensitivity().toArrayUnsafe());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the specified unit sensitivity multiplied by a factor.
+   * <p>
+   * The unit values multiplied by the factor are added to those already aggregated for
+   * the same market data name and currency. This is equivalent to adding
+   * {@code unitSensitivity.multipliedBy(currency, factor)}, but no sensitivity is created unless
+   * the market data name and currency have not been aggregated before.
+   * This is used to project point sensitivities onto curve parameters without intermediate instances.
+   *
+   * @param unitSensitivity  the unit sensitivity to add
+   * @param currency  the currency of the sensitivity
+   * @param factor  the factor by which the unit sensitivity is multiplied
+   * @return this aggregator, for chaining
+   * @throws IllegalArgumentException if the parameter count differs from that already aggregated
+   */
+  public CurrencyParameterSensitivitiesAggregator add(
+      UnitParameterSensitivity unitSensitivity,
+      Currency currency,
+      double factor) {
+
+    Pair<MarketDataName<?>, Currency> key = Pair.of(unitSensitivity.getMarketDataName(), currency);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      CurrencyParameterSensitivity sensitivity = unitSensitivity.multipliedBy(currency, factor);
+      entries.put(key, new Entry(sensitivity, sensitivity.getSensitivity().toArray()));
+    } else {
+      entry.add(unitSensitivity.getSensitivity().toArrayUnsafe(), factor);
+    }
+    return this;
+  }
+
+  /**
+   * Merges the specified aggregator into this one.
+   * <p>
+   * The values of the other aggregator are added to this aggregator.
+   * The other aggregator is unaffected.
+   *
+   * @param other  the aggregator to merge
+   * @return this aggregator, for chaining
+   * @throws IllegalArgumentException if the parameter count differs from that already aggregated
+   */
+  public CurrencyParameterSensitivitiesAggregator merge(CurrencyParameterSensitivitiesAggregator other) {
+    ArgChecker.isFalse(other == this, "Aggregator cannot be merged with itself");
+    other.entries.forEach((key, otherEntry) -> {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        entries.put(key, new Entry(otherEntry.first, otherEntry.values.clone()));
+      } else {
+        entry.add(otherEntry.values);
+      }
+    });
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the aggregated sensitivities.
+   * <p>
+   * The aggregator is unaffected and may continue to be used.
+   *
+   * @return the sensitivities
+   */
+  public CurrencyParameterSensitivities build() {
+    List<CurrencyParameterSensitivity> sensitivities = new ArrayList<>(entries.size());
+    for (Entry entry : entries.values()) {
+      sensitivities.add(entry.build());
+    }
+    return CurrencyParameterSensitivities.of(sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("CurrencyParameterSensitivitiesAggregator[{}]", entries.size());
+  }
+
+  //-------------------------------------------------------------------------
+  // the sensitivity to a single market data name and currency
+  private static final class Entry {
+
+    private final CurrencyParameterSensitivity first;
+    private final double[] values;
+
+    private Entry(CurrencyParameterSensitivity first, double[] values) {
+      this.first = first;
+      this.values = values;
+    }
+
+    // sums the values in place
+    private void add(double[] addition) {
+      ArgChecker.isTrue(addition.length == values.length, "Arrays have different sizes");
+      for (int i = 0; i < values.length; i++) {
+        values[i] += addition[i];
+      }
+    }
+
+    // sums the values multiplied by the factor in place
+    private void add(double[] addition, double factor) {
+      ArgChecker.isTrue(addition.length == values.length, "Arrays have different sizes");
+      for (int i = 0; i < values.length; i++) {
+        values[i] += addition[i] * factor;
+      }
+    }
+
+    private CurrencyParameterSensitivity build() {
+      return first.withSensitivity(DoubleArray.copyOf(values));
+    }
+  }
+
+}
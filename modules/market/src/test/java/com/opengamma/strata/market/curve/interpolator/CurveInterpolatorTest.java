@@ -104,6 +104,9 @@ public class CurveInterpolatorTest {
     assertThat(bound.interpolate(2.5)).isCloseTo(4.5d, offset(0d));
     assertThat(bound.interpolate(3)).isCloseTo(5d, offset(0d));
     assertThat(bound.interpolate(3.5)).isCloseTo(5d, offset(0d));
+    double[] result = new double[3];
+    bound.interpolate(new double[] {0.5, 1.5, 3.5}, result);
+    assertThat(result).containsExactly(2d, 3d, 5d);
     // coverage
     assertThat(bound.parameterSensitivity(0.5).size()).isEqualTo(3);
     assertThat(bound.parameterSensitivity(2).size()).isEqualTo(3);
@@ -114,6 +117,26 @@ public class CurveInterpolatorTest {
     assertThat(bound.toString()).isNotNull();
   }
 
+  @ParameterizedTest
+  @MethodSource("data_name")
+  public void test_interpolate_bulk(CurveInterpolator interpolator, String name) {
+    DoubleArray xValues = DoubleArray.of(0.25, 0.5, 1, 2, 3, 5);
+    DoubleArray yValues = DoubleArray.of(0.99, 0.98, 0.96, 0.93, 0.9, 0.85);
+    BoundCurveInterpolator bound = interpolator.bind(xValues, yValues, CurveExtrapolators.FLAT, CurveExtrapolators.FLAT);
+    double[] sorted = {0.1, 0.25, 0.5, 0.75, 1.5, 2, 2.5, 4, 5, 6};
+    double[] unsorted = {4, 0.25, 2.5, 0.1, 6, 1.5, 0.5, 3};
+    for (double[] test : new double[][] {sorted, unsorted}) {
+      double[] result = new double[test.length + 1];
+      bound.interpolate(test, result);
+      for (int i = 0; i < test.length; i++) {
+        assertThat(result[i]).isEqualTo(bound.interpolate(test[i]));
+      }
+      assertThat(result[test.length]).isEqualTo(0d);
+    }
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> bound.interpolate(sorted, new double[sorted.length - 1]));
+  }
+
   @Test
   public void test_lowerBound() {
     // bad input, but still produces good output
@@ -140,6 +163,18 @@ public class CurveInterpolatorTest {
     assertThat(AbstractBoundCurveInterpolator.lowerBoundIndex(1.5d, new double[] {-1, 0, 1})).isEqualTo(2);
   }
 
+  @Test
+  public void test_lowerBound_startIndex() {
+    double[] xValues = {-1, 0, 1, 2, 3};
+    double[] tests = {-1, -0.5, -0.0d, 0, 0.5, 1, 1.5, 2, 2.5, 3, 3.5};
+    for (double test : tests) {
+      int expected = AbstractBoundCurveInterpolator.lowerBoundIndex(test, xValues);
+      for (int startIndex = 0; startIndex < xValues.length; startIndex++) {
+        assertThat(AbstractBoundCurveInterpolator.lowerBoundIndex(test, xValues, startIndex)).isEqualTo(expected);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void coverage() {
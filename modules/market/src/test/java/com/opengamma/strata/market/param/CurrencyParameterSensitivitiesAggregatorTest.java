@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Test {@link CurrencyParameterSensitivitiesAggregator}.
+ */
+public class CurrencyParameterSensitivitiesAggregatorTest {
+
+  private static final CurveName NAME1 = CurveName.of("NAME-1");
+  private static final CurveName NAME2 = CurveName.of("NAME-2");
+  private static final CurrencyParameterSensitivity ENTRY_USD1 =
+      CurrencyParameterSensitivity.of(NAME1, USD, DoubleArray.of(1, 2, 3));
+  private static final CurrencyParameterSensitivity ENTRY_USD2 =
+      CurrencyParameterSensitivity.of(NAME1, USD, DoubleArray.of(10, 20, 30));
+  private static final CurrencyParameterSensitivity ENTRY_EUR =
+      CurrencyParameterSensitivity.of(NAME1, EUR, DoubleArray.of(5, 6, 7));
+  private static final CurrencyParameterSensitivity ENTRY_NAME2 =
+      CurrencyParameterSensitivity.of(NAME2, USD, DoubleArray.of(4, 5));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_empty() {
+    CurrencyParameterSensitivitiesAggregator test = CurrencyParameterSensitivitiesAggregator.create();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.build()).isEqualTo(CurrencyParameterSensitivities.empty());
+    assertThat(test.findSensitivity(NAME1, USD)).isEqualTo(Optional.empty());
+    assertThat(test.toString()).isEqualTo("CurrencyParameterSensitivitiesAggregator[0]");
+  }
+
+  @Test
+  public void test_add() {
+    CurrencyParameterSensitivitiesAggregator test = CurrencyParameterSensitivitiesAggregator.create()
+        .add(ENTRY_USD1)
+        .add(CurrencyParameterSensitivities.of(ENTRY_NAME2, ENTRY_USD2, ENTRY_EUR));
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.of(ENTRY_USD1)
+        .combinedWith(CurrencyParameterSensitivities.of(ENTRY_NAME2, ENTRY_USD2, ENTRY_EUR));
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.build()).isEqualTo(expected);
+    assertThat(test.findSensitivity(NAME1, USD))
+        .isEqualTo(Optional.of(CurrencyParameterSensitivity.of(NAME1, USD, DoubleArray.of(11, 22, 33))));
+    assertThat(test.findSensitivity(NAME2, EUR)).isEqualTo(Optional.empty());
+    assertThat(test.toString()).isEqualTo("CurrencyParameterSensitivitiesAggregator[3]");
+    // added sensitivities are not altered
+    assertThat(ENTRY_USD1.getSensitivity()).isEqualTo(DoubleArray.of(1, 2, 3));
+  }
+
+  @Test
+  public void test_add_unitSensitivity() {
+    UnitParameterSensitivity unit = UnitParameterSensitivity.of(NAME1, DoubleArray.of(1, 2, 3));
+    CurrencyParameterSensitivitiesAggregator test = CurrencyParameterSensitivitiesAggregator.create()
+        .add(unit, USD, 10d)
+        .add(ENTRY_USD1)
+        .add(unit, USD, -2d)
+        .add(unit, EUR, 3d);
+    assertThat(test.build()).isEqualTo(CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(NAME1, USD, DoubleArray.of(9, 18, 27)),
+        CurrencyParameterSensitivity.of(NAME1, EUR, DoubleArray.of(3, 6, 9))));
+    assertThat(unit.getSensitivity()).isEqualTo(DoubleArray.of(1, 2, 3));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.add(UnitParameterSensitivity.of(NAME1, DoubleArray.of(1, 2)), USD, 1d));
+  }
+
+  @Test
+  public void test_add_sizeMismatch() {
+    CurrencyParameterSensitivitiesAggregator test = CurrencyParameterSensitivitiesAggregator.create().add(ENTRY_USD1);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.add(CurrencyParameterSensitivity.of(NAME1, USD, DoubleArray.of(1, 2))));
+  }
+
+  @Test
+  public void test_build_unaffected() {
+    CurrencyParameterSensitivitiesAggregator test = CurrencyParameterSensitivitiesAggregator.create().add(ENTRY_USD1);
+    CurrencyParameterSensitivities first = test.build();
+    test.add(ENTRY_USD2);
+    assertThat(first).isEqualTo(CurrencyParameterSensitivities.of(ENTRY_USD1));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_merge() {
+    CurrencyParameterSensitivitiesAggregator other = CurrencyParameterSensitivitiesAggregator.create()
+        .add(ENTRY_USD2)
+        .add(ENTRY_NAME2);
+    CurrencyParameterSensitivitiesAggregator test = CurrencyParameterSensitivitiesAggregator.create()
+        .add(ENTRY_USD1)
+        .add(ENTRY_EUR)
+        .merge(other);
+    assertThat(test.build()).isEqualTo(CurrencyParameterSensitivities.of(ENTRY_USD1, ENTRY_USD2, ENTRY_EUR, ENTRY_NAME2));
+    // the other aggregator is unaffected
+    test.add(ENTRY_NAME2);
+    assertThat(other.build()).isEqualTo(CurrencyParameterSensitivities.of(ENTRY_USD2, ENTRY_NAME2));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.merge(test));
+  }
+
+  @Test
+  public void test_toAggregatedSensitivities() {
+    List<CurrencyParameterSensitivities> trades = IntStream.range(0, 1000)
+        .mapToObj(i -> CurrencyParameterSensitivities.of(
+            ENTRY_USD1.multipliedBy(i),
+            i % 2 == 0 ? ENTRY_EUR : ENTRY_NAME2))
+        .collect(toList());
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (CurrencyParameterSensitivities trade : trades) {
+      expected = expected.combinedWith(trade);
+    }
+    CurrencyParameterSensitivities test = trades.parallelStream()
+        .collect(CurrencyParameterSensitivitiesAggregator.toAggregatedSensitivities());
+    assertThat(test.equalWithTolerance(expected, 1e-10)).isTrue();
+    assertThat(test.getSensitivities()).hasSize(3);
+  }
+
+}
@@ -217,6 +217,19 @@ public class CurrencyParameterSensitivitiesTest {
     assertThat(test.findSensitivity(NAME0, EUR)).isEqualTo(Optional.empty());
   }
 
+  @Test
+  public void test_findSensitivity_many() {
+    CurrencyParameterSensitivities test =
+        CurrencyParameterSensitivities.of(ENTRY_ZERO3, ENTRY_EUR, ENTRY_USD2_IN_EUR, ENTRY_USD, ENTRY_ZERO0);
+    assertThat(test.findSensitivity(NAME0, USD)).isEqualTo(Optional.of(ENTRY_ZERO0));
+    assertThat(test.findSensitivity(NAME1, EUR)).isEqualTo(Optional.of(ENTRY_USD2_IN_EUR));
+    assertThat(test.findSensitivity(NAME1, USD)).isEqualTo(Optional.of(ENTRY_USD));
+    assertThat(test.findSensitivity(NAME2, EUR)).isEqualTo(Optional.of(ENTRY_EUR));
+    assertThat(test.findSensitivity(NAME3, USD)).isEqualTo(Optional.of(ENTRY_ZERO3));
+    assertThat(test.findSensitivity(NAME2, USD)).isEqualTo(Optional.empty());
+    assertThat(test.findSensitivity(CurveName.of("NAME-4"), USD)).isEqualTo(Optional.empty());
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_combinedWith_one_notNormalized() {
@@ -6,10 +6,7 @@
 package com.opengamma.strata.math.impl.integration;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.tuple.Pair;
-import com.opengamma.strata.math.impl.function.DoubleFunction1D;
-import com.opengamma.strata.math.impl.function.special.LegendrePolynomialFunction;
-import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
+import com.opengamma.strata.math.MathException;
 
 /**
  * Class that generates weights and abscissas for Gauss-Legendre quadrature.
@@ -21,16 +18,21 @@ import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
  * $$
  * where $x_i$ is the $i^{th}$ root of the orthogonal polynomial and $L_i'$ is
  * the first derivative of the $i^{th}$ polynomial. The orthogonal polynomial
- * is generated by
- * {@link LegendrePolynomialFunction}.
+ * is evaluated by the same recurrence as
+ * {@link com.opengamma.strata.math.impl.function.special.LegendrePolynomialFunction}.
  */
 public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightAndAbscissaFunction {
 
-  private static final LegendrePolynomialFunction LEGENDRE = new LegendrePolynomialFunction();
-  private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(1e-15);
+  /** The tolerance on the roots. */
+  private static final double ROOT_TOLERANCE = 1e-15;
+  /** The maximum number of Newton-Raphson iterations for each root. */
+  private static final int MAX_ITERATIONS = 100;
 
   /**
    * {@inheritDoc}
+   * <p>
+   * The roots are found by Newton-Raphson iterations, with the Legendre polynomial and its
+   * derivative evaluated by the three-term recurrence. This is stable for large numbers of points.
    */
   @Override
   public GaussianQuadratureData generate(int n) {
@@ -38,21 +40,42 @@ public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightA
     int mid = (n + 1) / 2;
     double[] x = new double[n];
     double[] w = new double[n];
-    Pair<DoubleFunction1D, DoubleFunction1D>[] polynomials = LEGENDRE.getPolynomialsAndFirstDerivative(n);
-    Pair<DoubleFunction1D, DoubleFunction1D> pair = polynomials[n];
-    DoubleFunction1D function = pair.getFirst();
-    DoubleFunction1D derivative = pair.getSecond();
     for (int i = 0; i < mid; i++) {
-      double root = ROOT_FINDER.getRoot(function, derivative, getInitialRootGuess(i, n));
+      double root = getInitialRootGuess(i, n);
+      double dp = 0;
+      boolean converged = false;
+      for (int iteration = 0; iteration < MAX_ITERATIONS && !converged; iteration++) {
+        double[] pdp = legendreAndDerivative(n, root);
+        dp = pdp[1];
+        double step = pdp[0] / dp;
+        root -= step;
+        converged = Math.abs(step) <= ROOT_TOLERANCE;
+      }
+      if (!converged) {
+        throw new MathException("Could not find root of Legendre polynomial of degree " + n);
+      }
+      dp = legendreAndDerivative(n, root)[1];
       x[i] = -root;
       x[n - i - 1] = root;
-      double dp = derivative.applyAsDouble(root);
       w[i] = 2 / ((1 - root * root) * dp * dp);
       w[n - i - 1] = w[i];
     }
     return new GaussianQuadratureData(x, w);
   }
 
+  // the Legendre polynomial of degree n and its first derivative, using the three-term recurrence
+  private double[] legendreAndDerivative(int n, double x) {
+    double p0 = 1;
+    double p1 = x;
+    for (int j = 2; j <= n; j++) {
+      double p2 = ((2 * j - 1) * x * p1 - (j - 1) * p0) / j;
+      p0 = p1;
+      p1 = p2;
+    }
+    double dp = n == 1 ? 1 : n * (x * p1 - p0) / (x * x - 1);
+    return new double[] {p1, dp};
+  }
+
   private double getInitialRootGuess(int i, int n) {
     return Math.cos(Math.PI * (i + 0.75) / (n + 0.5));
   }
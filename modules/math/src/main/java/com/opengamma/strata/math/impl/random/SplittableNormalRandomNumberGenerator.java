@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Standard normal random number generator that can be split into independent streams.
+ * <p>
+ * The uniform numbers are generated by {@link SplittableRandom} and transformed to normal numbers
+ * by the Marsaglia polar method. The sequence of numbers only depends on the seed.
+ * <p>
+ * {@link #split()} creates a new generator whose stream is statistically independent of this one.
+ * Splitting a root generator in a fixed order, for example once per block of Monte Carlo paths,
+ * produces streams that do not depend on the thread used to consume them.
+ * Thus parallel simulations are reproducible.
+ * <p>
+ * An instance is not thread-safe, each thread must use its own split generator.
+ */
+public final class SplittableNormalRandomNumberGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The uniform random number generator.
+   */
+  private final SplittableRandom random;
+  /**
+   * Whether the second number generated by the polar method is available.
+   */
+  private boolean hasSpare;
+  /**
+   * The second number generated by the polar method.
+   */
+  private double spare;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a generator from a seed.
+   *
+   * @param seed  the seed
+   * @return the generator
+   */
+  public static SplittableNormalRandomNumberGenerator of(long seed) {
+    return new SplittableNormalRandomNumberGenerator(new SplittableRandom(seed));
+  }
+
+  // restricted constructor
+  private SplittableNormalRandomNumberGenerator(SplittableRandom random) {
+    this.random = random;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Splits the generator.
+   * <p>
+   * The returned generator is independent of this generator, which continues its own stream.
+   *
+   * @return the new generator
+   */
+  public SplittableNormalRandomNumberGenerator split() {
+    return new SplittableNormalRandomNumberGenerator(random.split());
+  }
+
+  /**
+   * Generates the next standard normal number.
+   *
+   * @return the normal number
+   */
+  public double nextNormal() {
+    if (hasSpare) {
+      hasSpare = false;
+      return spare;
+    }
+    double u;
+    double v;
+    double s;
+    do {
+      u = 2d * random.nextDouble() - 1d;
+      v = 2d * random.nextDouble() - 1d;
+      s = u * u + v * v;
+    } while (s >= 1d || s == 0d);
+    double factor = Math.sqrt(-2d * Math.log(s) / s);
+    spare = v * factor;
+    hasSpare = true;
+    return u * factor;
+  }
+
+  /**
+   * Fills a range of an array with standard normal numbers.
+   *
+   * @param array  the array to fill
+   * @param fromIndex  the first index to fill, inclusive
+   * @param toIndex  the last index to fill, exclusive
+   */
+  public void fill(double[] array, int fromIndex, int toIndex) {
+    ArgChecker.isTrue(fromIndex <= toIndex, "fromIndex must not be greater than toIndex");
+    for (int i = fromIndex; i < toIndex; i++) {
+      array[i] = nextNormal();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double[] getVector(int size) {
+    ArgChecker.notNegative(size, "size");
+    double[] result = new double[size];
+    fill(result, 0, size);
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.notNegative(arraySize, "arraySize");
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+}
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -47,6 +50,23 @@ public class GaussLegendreWeightAndAbscissaFunctionTest extends WeightAndAbsciss
     assertResults(F.generate(5), X5, W5);
   }
 
+  @Test
+  public void test_largeNumberOfPoints() {
+    for (int n = 10; n <= 64; n++) {
+      GaussianQuadratureData data = F.generate(n);
+      double[] x = data.getAbscissas();
+      double[] w = data.getWeights();
+      double sumWeights = 0;
+      double sumPolynomial = 0;
+      for (int i = 0; i < n; i++) {
+        sumWeights += w[i];
+        sumPolynomial += w[i] * Math.pow(x[i], 2 * n - 2);
+      }
+      assertThat(sumWeights).isCloseTo(2d, offset(1e-13));
+      assertThat(sumPolynomial).isCloseTo(2d / (2 * n - 1), offset(1e-13));
+    }
+  }
+
   @Override
   protected QuadratureWeightAndAbscissaFunction getFunction() {
     return F;
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link SplittableNormalRandomNumberGenerator}.
+ */
+public class SplittableNormalRandomNumberGeneratorTest {
+
+  private static final long SEED = 1234L;
+
+  @Test
+  public void test_array() {
+    double[] result = SplittableNormalRandomNumberGenerator.of(SEED).getVector(10);
+    assertThat(result.length).isEqualTo(10);
+  }
+
+  @Test
+  public void test_list() {
+    List<double[]> result = SplittableNormalRandomNumberGenerator.of(SEED).getVectors(10, 50);
+    assertThat(result).hasSize(50);
+    for (double[] d : result) {
+      assertThat(d.length).isEqualTo(10);
+    }
+  }
+
+  @Test
+  public void test_reproducible() {
+    double[] first = SplittableNormalRandomNumberGenerator.of(SEED).getVector(101);
+    double[] second = SplittableNormalRandomNumberGenerator.of(SEED).getVector(101);
+    assertThat(second).containsExactly(first);
+    double[] other = SplittableNormalRandomNumberGenerator.of(SEED + 1).getVector(101);
+    assertThat(other).isNotEqualTo(first);
+  }
+
+  @Test
+  public void test_split() {
+    SplittableNormalRandomNumberGenerator root1 = SplittableNormalRandomNumberGenerator.of(SEED);
+    SplittableNormalRandomNumberGenerator root2 = SplittableNormalRandomNumberGenerator.of(SEED);
+    SplittableNormalRandomNumberGenerator split1 = root1.split();
+    SplittableNormalRandomNumberGenerator split2 = root2.split();
+    // the split streams only depend on the seed and on the order of the splits
+    assertThat(split2.getVector(20)).containsExactly(split1.getVector(20));
+    assertThat(root1.split().getVector(20)).containsExactly(root2.split().getVector(20));
+    assertThat(root1.getVector(20)).isNotEqualTo(root1.split().getVector(20));
+  }
+
+  @Test
+  public void test_moments() {
+    int nbSamples = 200_000;
+    double[] sample = SplittableNormalRandomNumberGenerator.of(SEED).getVector(nbSamples);
+    double sum = 0d;
+    double sumSq = 0d;
+    for (double x : sample) {
+      sum += x;
+      sumSq += x * x;
+    }
+    double mean = sum / nbSamples;
+    assertThat(mean).isCloseTo(0d, offset(0.01d));
+    assertThat(sumSq / nbSamples - mean * mean).isCloseTo(1d, offset(0.01d));
+  }
+
+  @Test
+  public void test_invalid() {
+    SplittableNormalRandomNumberGenerator generator = SplittableNormalRandomNumberGenerator.of(SEED);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> generator.getVector(-1));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> generator.getVectors(-1, 4));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> generator.getVectors(1, -5));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> generator.fill(new double[2], 2, 1));
+  }
+
+}
@@ -103,6 +103,17 @@ public class LeastSquareResultsTest {
     }
   }
 
+  @Test
+  public void testIterations() {
+    LeastSquareResults res = new LeastSquareResults(1.0, PARAMS, COVAR, INV_JAC, 7);
+    assertThat(res.getIterations()).isEqualTo(7);
+    assertThat(new LeastSquareResults(res).getIterations()).isEqualTo(7);
+    assertThat(new LeastSquareResults(1.0, PARAMS, COVAR, INV_JAC).getIterations()).isEqualTo(0);
+    assertThat(res).isEqualTo(new LeastSquareResults(1.0, PARAMS, COVAR, INV_JAC));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new LeastSquareResults(1.0, PARAMS, COVAR, INV_JAC, -1));
+  }
+
   @Test
   public void testHashCode() {
     LeastSquareResults ls1 = new LeastSquareResults(1.0, PARAMS, COVAR);
@@ -126,6 +126,7 @@ public class NonLinearLeastSquareTest {
     final DoubleArray start = DoubleArray.of(1.2, 0.8, -0.2, -0.3);
     LeastSquareResults result = LS.solve(X, Y, SIGMA, PARAM_FUNCTION, PARAM_GRAD, start);
     assertThat(0.0).isCloseTo(result.getChiSq(), offset(1e-8));
+    assertThat(result.getIterations()).isPositive();
     assertThat(1.0).isCloseTo(result.getFitParameters().get(0), offset(1e-8));
     assertThat(1.0).isCloseTo(result.getFitParameters().get(1), offset(1e-8));
     assertThat(0.0).isCloseTo(result.getFitParameters().get(2), offset(1e-8));
@@ -26,6 +26,16 @@ public final class AdvancedMeasures {
    */
   public static final Measure PV01_SINGLE_NODE_GAMMA_BUCKETED =
       Measure.of(StandardMeasures.PV01_SINGLE_NODE_GAMMA_BUCKETED.getName());
+  /**
+   * Measure representing the simulated exposure profile of the calculation target.
+   * <p>
+   * The target is the netting set and the profile contains the expected positive exposure,
+   * the expected negative exposure and the potential future exposure on the simulation dates.
+   * This is computed by Monte Carlo simulation and requires
+   * {@link com.opengamma.strata.measure.exposure.ExposureSimulationParameters ExposureSimulationParameters}.
+   */
+  public static final Measure EXPOSURE_PROFILE =
+      Measure.of(StandardMeasures.EXPOSURE_PROFILE.getName());
 
   //-------------------------------------------------------------------------
   private AdvancedMeasures() {
@@ -56,6 +56,8 @@ final class StandardMeasures {
   public static final Measure PV01_SEMI_PARALLEL_GAMMA_BUCKETED = ImmutableMeasure.of("PV01SemiParallelGammaBucketed");
   // single-node gamma bucketed PV01
   public static final Measure PV01_SINGLE_NODE_GAMMA_BUCKETED = ImmutableMeasure.of("PV01SingleNodeGammaBucketed");
+  // exposure profile
+  public static final Measure EXPOSURE_PROFILE = ImmutableMeasure.of("ExposureProfile", false);
 
   //-------------------------------------------------------------------------
   // restricted constructor
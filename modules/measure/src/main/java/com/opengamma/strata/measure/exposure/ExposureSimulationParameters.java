@@ -0,0 +1,805 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.exposure;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableDefaults;
+import org.joda.beans.gen.ImmutableValidator;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.calc.runner.CalculationParameter;
+import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.pricer.exposure.ExposureProfile;
+import com.opengamma.strata.pricer.exposure.ExposureSimulator;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionVolatilities;
+import com.opengamma.strata.pricer.fxopt.FxOptionVolatilities;
+import com.opengamma.strata.pricer.fxopt.FxOptionVolatilitiesId;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.model.HullWhiteParametersId;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.ResolvedTrade;
+
+/**
+ * The parameters of the simulation of exposure profiles.
+ * <p>
+ * This contains the simulation dates, the reporting currency, the Monte Carlo settings and the identifiers
+ * of the model data of the simulated risk factors, see {@link ExposureSimulator}.
+ * The curves are obtained from the rates provider of each scenario. The Hull-White parameters and the
+ * FX volatilities are requested as market data, so they can vary by scenario and must be for the
+ * valuation date of the scenario.
+ * <p>
+ * The parameters implement {@link CalculationParameter} and are used by passing them
+ * as an argument to {@link com.opengamma.strata.calc.CalculationRules CalculationRules}.
+ * They are required by the {@link com.opengamma.strata.measure.AdvancedMeasures#EXPOSURE_PROFILE exposure profile}
+ * measure. As the measure is calculated for each trade, the netting set is the trade itself.
+ * <p>
+ * The paths of each trade and scenario are simulated serially. The calculation runner already
+ * distributes trades across threads, so parallel paths are only available by calling
+ * {@link ExposureSimulator#withExecutor(java.util.concurrent.ExecutorService)} directly.
+ */
+@BeanDefinition
+public final class ExposureSimulationParameters
+    implements CalculationParameter, ImmutableBean, Serializable {
+
+  /**
+   * The default number of paths.
+   */
+  public static final int DEFAULT_NUMBER_OF_PATHS = 1000;
+  /**
+   * The default quantile level of the potential future exposure.
+   */
+  public static final double DEFAULT_QUANTILE = 0.95;
+
+  /**
+   * The simulation dates, sorted in increasing order and after the valuation date.
+   */
+  @PropertyDefinition(validate = "notEmpty")
+  private final ImmutableList<LocalDate> dates;
+  /**
+   * The reporting currency of the exposures.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency reportingCurrency;
+  /**
+   * The number of paths.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int numberOfPaths;
+  /**
+   * The seed of the random number generator.
+   */
+  @PropertyDefinition
+  private final long seed;
+  /**
+   * The quantile level of the potential future exposure, such as 0.95.
+   */
+  @PropertyDefinition
+  private final double quantile;
+  /**
+   * The identifiers of the Hull-White parameters, keyed by the currencies whose discount curves are simulated.
+   * <p>
+   * The curves of the other currencies are deterministic.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<Currency, HullWhiteParametersId> hullWhiteParameterIds;
+  /**
+   * The identifiers of the FX volatilities, keyed by the currency pairs against the reporting currency
+   * that are simulated.
+   * <p>
+   * The volatilities must be {@link BlackFxOptionVolatilities}. The other FX rates are deterministic.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<CurrencyPair, FxOptionVolatilitiesId> fxVolatilityIds;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the default Monte Carlo settings and deterministic risk factors.
+   * <p>
+   * Use {@link #toBuilder()} to add model data.
+   *
+   * @param dates  the simulation dates
+   * @param reportingCurrency  the reporting currency
+   * @return the parameters
+   */
+  public static ExposureSimulationParameters of(List<LocalDate> dates, Currency reportingCurrency) {
+    return builder().dates(dates).reportingCurrency(reportingCurrency).build();
+  }
+
+  @ImmutableDefaults
+  private static void applyDefaults(Builder builder) {
+    builder.numberOfPaths(DEFAULT_NUMBER_OF_PATHS);
+    builder.quantile(DEFAULT_QUANTILE);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    ArgChecker.inRangeExclusive(quantile, 0d, 1d, "quantile");
+    for (int i = 1; i < dates.size(); i++) {
+      ArgChecker.isTrue(dates.get(i).isAfter(dates.get(i - 1)), "Simulation dates must be sorted in increasing order");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the market data requirements of the model data.
+   * <p>
+   * The requirements of the curves are provided by the rates lookup.
+   *
+   * @return the requirements
+   */
+  public FunctionRequirements requirements() {
+    return FunctionRequirements.builder()
+        .valueRequirements(ImmutableSet.<MarketDataId<?>>builder()
+            .addAll(hullWhiteParameterIds.values())
+            .addAll(fxVolatilityIds.values())
+            .build())
+        .build();
+  }
+
+  /**
+   * Creates the simulator.
+   * <p>
+   * The simulator is serial, see the class documentation.
+   *
+   * @return the simulator
+   */
+  public ExposureSimulator simulator() {
+    return ExposureSimulator.of(numberOfPaths, seed, quantile);
+  }
+
+  /**
+   * Computes the exposure profile of a netting set.
+   * <p>
+   * The model data is obtained from the market data and must be for the valuation date of the rates provider.
+   *
+   * @param nettingSet  the trades of the netting set
+   * @param ratesProvider  the rates provider
+   * @param marketData  the market data containing the model data
+   * @param refData  the reference data
+   * @return the exposure profile
+   * @throws MarketDataNotFoundException if the model data is not found
+   * @throws IllegalArgumentException if the model data is invalid
+   */
+  public ExposureProfile exposureProfile(
+      List<? extends ResolvedTrade> nettingSet,
+      RatesProvider ratesProvider,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    ImmutableMap<Currency, HullWhiteOneFactorPiecewiseConstantParametersProvider> hwProviders =
+        hullWhiteParameterIds.entrySet().stream()
+            .collect(toImmutableMap(Map.Entry::getKey, e -> marketData.getValue(e.getValue())));
+    ImmutableMap<CurrencyPair, BlackFxOptionVolatilities> fxVolatilities =
+        fxVolatilityIds.entrySet().stream()
+            .collect(toImmutableMap(Map.Entry::getKey, e -> blackVolatilities(marketData.getValue(e.getValue()))));
+    return simulator().exposureProfile(
+        nettingSet, dates, reportingCurrency, ratesProvider, hwProviders, fxVolatilities, refData);
+  }
+
+  // checks the FX volatilities are Black volatilities
+  private static BlackFxOptionVolatilities blackVolatilities(FxOptionVolatilities volatilities) {
+    if (volatilities instanceof BlackFxOptionVolatilities) {
+      return (BlackFxOptionVolatilities) volatilities;
+    }
+    throw new IllegalArgumentException(
+        "Exposure simulation requires BlackFxOptionVolatilities but found: " + volatilities.getClass().getSimpleName());
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ExposureSimulationParameters}.
+   * @return the meta-bean, not null
+   */
+  public static ExposureSimulationParameters.Meta meta() {
+    return ExposureSimulationParameters.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(ExposureSimulationParameters.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Returns a builder used to create an instance of the bean.
+   * @return the builder, not null
+   */
+  public static ExposureSimulationParameters.Builder builder() {
+    return new ExposureSimulationParameters.Builder();
+  }
+
+  private ExposureSimulationParameters(
+      List<LocalDate> dates,
+      Currency reportingCurrency,
+      int numberOfPaths,
+      long seed,
+      double quantile,
+      Map<Currency, HullWhiteParametersId> hullWhiteParameterIds,
+      Map<CurrencyPair, FxOptionVolatilitiesId> fxVolatilityIds) {
+    JodaBeanUtils.notEmpty(dates, "dates");
+    JodaBeanUtils.notNull(reportingCurrency, "reportingCurrency");
+    ArgChecker.notNegativeOrZero(numberOfPaths, "numberOfPaths");
+    JodaBeanUtils.notNull(hullWhiteParameterIds, "hullWhiteParameterIds");
+    JodaBeanUtils.notNull(fxVolatilityIds, "fxVolatilityIds");
+    this.dates = ImmutableList.copyOf(dates);
+    this.reportingCurrency = reportingCurrency;
+    this.numberOfPaths = numberOfPaths;
+    this.seed = seed;
+    this.quantile = quantile;
+    this.hullWhiteParameterIds = ImmutableMap.copyOf(hullWhiteParameterIds);
+    this.fxVolatilityIds = ImmutableMap.copyOf(fxVolatilityIds);
+    validate();
+  }
+
+  @Override
+  public ExposureSimulationParameters.Meta metaBean() {
+    return ExposureSimulationParameters.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the simulation dates, sorted in increasing order and after the valuation date.
+   * @return the value of the property, not empty
+   */
+  public ImmutableList<LocalDate> getDates() {
+    return dates;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the reporting currency of the exposures.
+   * @return the value of the property, not null
+   */
+  public Currency getReportingCurrency() {
+    return reportingCurrency;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   * @return the value of the property
+   */
+  public int getNumberOfPaths() {
+    return numberOfPaths;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the seed of the random number generator.
+   * @return the value of the property
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the quantile level of the potential future exposure, such as 0.95.
+   * @return the value of the property
+   */
+  public double getQuantile() {
+    return quantile;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the identifiers of the Hull-White parameters, keyed by the currencies whose discount curves are simulated.
+   * <p>
+   * The curves of the other currencies are deterministic.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<Currency, HullWhiteParametersId> getHullWhiteParameterIds() {
+    return hullWhiteParameterIds;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the identifiers of the FX volatilities, keyed by the currency pairs against the reporting currency
+   * that are simulated.
+   * <p>
+   * The volatilities must be {@link BlackFxOptionVolatilities}. The other FX rates are deterministic.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<CurrencyPair, FxOptionVolatilitiesId> getFxVolatilityIds() {
+    return fxVolatilityIds;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Returns a builder that allows this bean to be mutated.
+   * @return the mutable builder, not null
+   */
+  public Builder toBuilder() {
+    return new Builder(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ExposureSimulationParameters other = (ExposureSimulationParameters) obj;
+      return JodaBeanUtils.equal(dates, other.dates) &&
+          JodaBeanUtils.equal(reportingCurrency, other.reportingCurrency) &&
+          (numberOfPaths == other.numberOfPaths) &&
+          (seed == other.seed) &&
+          JodaBeanUtils.equal(quantile, other.quantile) &&
+          JodaBeanUtils.equal(hullWhiteParameterIds, other.hullWhiteParameterIds) &&
+          JodaBeanUtils.equal(fxVolatilityIds, other.fxVolatilityIds);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(dates);
+    hash = hash * 31 + JodaBeanUtils.hashCode(reportingCurrency);
+    hash = hash * 31 + JodaBeanUtils.hashCode(numberOfPaths);
+    hash = hash * 31 + JodaBeanUtils.hashCode(seed);
+    hash = hash * 31 + JodaBeanUtils.hashCode(quantile);
+    hash = hash * 31 + JodaBeanUtils.hashCode(hullWhiteParameterIds);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fxVolatilityIds);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(256);
+    buf.append("ExposureSimulationParameters{");
+    buf.append("dates").append('=').append(JodaBeanUtils.toString(dates)).append(',').append(' ');
+    buf.append("reportingCurrency").append('=').append(JodaBeanUtils.toString(reportingCurrency)).append(',').append(' ');
+    buf.append("numberOfPaths").append('=').append(JodaBeanUtils.toString(numberOfPaths)).append(',').append(' ');
+    buf.append("seed").append('=').append(JodaBeanUtils.toString(seed)).append(',').append(' ');
+    buf.append("quantile").append('=').append(JodaBeanUtils.toString(quantile)).append(',').append(' ');
+    buf.append("hullWhiteParameterIds").append('=').append(JodaBeanUtils.toString(hullWhiteParameterIds)).append(',').append(' ');
+    buf.append("fxVolatilityIds").append('=').append(JodaBeanUtils.toString(fxVolatilityIds));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code ExposureSimulationParameters}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code dates} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<LocalDate>> dates = DirectMetaProperty.ofImmutable(
+        this, "dates", ExposureSimulationParameters.class, (Class) ImmutableList.class);
+    /**
+     * The meta-property for the {@code reportingCurrency} property.
+     */
+    private final MetaProperty<Currency> reportingCurrency = DirectMetaProperty.ofImmutable(
+        this, "reportingCurrency", ExposureSimulationParameters.class, Currency.class);
+    /**
+     * The meta-property for the {@code numberOfPaths} property.
+     */
+    private final MetaProperty<Integer> numberOfPaths = DirectMetaProperty.ofImmutable(
+        this, "numberOfPaths", ExposureSimulationParameters.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code seed} property.
+     */
+    private final MetaProperty<Long> seed = DirectMetaProperty.ofImmutable(
+        this, "seed", ExposureSimulationParameters.class, Long.TYPE);
+    /**
+     * The meta-property for the {@code quantile} property.
+     */
+    private final MetaProperty<Double> quantile = DirectMetaProperty.ofImmutable(
+        this, "quantile", ExposureSimulationParameters.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code hullWhiteParameterIds} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableMap<Currency, HullWhiteParametersId>> hullWhiteParameterIds = DirectMetaProperty.ofImmutable(
+        this, "hullWhiteParameterIds", ExposureSimulationParameters.class, (Class) ImmutableMap.class);
+    /**
+     * The meta-property for the {@code fxVolatilityIds} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableMap<CurrencyPair, FxOptionVolatilitiesId>> fxVolatilityIds = DirectMetaProperty.ofImmutable(
+        this, "fxVolatilityIds", ExposureSimulationParameters.class, (Class) ImmutableMap.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "dates",
+        "reportingCurrency",
+        "numberOfPaths",
+        "seed",
+        "quantile",
+        "hullWhiteParameterIds",
+        "fxVolatilityIds");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return dates;
+        case -1287844769:  // reportingCurrency
+          return reportingCurrency;
+        case -1326425650:  // numberOfPaths
+          return numberOfPaths;
+        case 3526257:  // seed
+          return seed;
+        case -1285004417:  // quantile
+          return quantile;
+        case -1259527861:  // hullWhiteParameterIds
+          return hullWhiteParameterIds;
+        case 1493390497:  // fxVolatilityIds
+          return fxVolatilityIds;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public ExposureSimulationParameters.Builder builder() {
+      return new ExposureSimulationParameters.Builder();
+    }
+
+    @Override
+    public Class<? extends ExposureSimulationParameters> beanType() {
+      return ExposureSimulationParameters.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code dates} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<LocalDate>> dates() {
+      return dates;
+    }
+
+    /**
+     * The meta-property for the {@code reportingCurrency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> reportingCurrency() {
+      return reportingCurrency;
+    }
+
+    /**
+     * The meta-property for the {@code numberOfPaths} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> numberOfPaths() {
+      return numberOfPaths;
+    }
+
+    /**
+     * The meta-property for the {@code seed} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Long> seed() {
+      return seed;
+    }
+
+    /**
+     * The meta-property for the {@code quantile} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> quantile() {
+      return quantile;
+    }
+
+    /**
+     * The meta-property for the {@code hullWhiteParameterIds} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableMap<Currency, HullWhiteParametersId>> hullWhiteParameterIds() {
+      return hullWhiteParameterIds;
+    }
+
+    /**
+     * The meta-property for the {@code fxVolatilityIds} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableMap<CurrencyPair, FxOptionVolatilitiesId>> fxVolatilityIds() {
+      return fxVolatilityIds;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return ((ExposureSimulationParameters) bean).getDates();
+        case -1287844769:  // reportingCurrency
+          return ((ExposureSimulationParameters) bean).getReportingCurrency();
+        case -1326425650:  // numberOfPaths
+          return ((ExposureSimulationParameters) bean).getNumberOfPaths();
+        case 3526257:  // seed
+          return ((ExposureSimulationParameters) bean).getSeed();
+        case -1285004417:  // quantile
+          return ((ExposureSimulationParameters) bean).getQuantile();
+        case -1259527861:  // hullWhiteParameterIds
+          return ((ExposureSimulationParameters) bean).getHullWhiteParameterIds();
+        case 1493390497:  // fxVolatilityIds
+          return ((ExposureSimulationParameters) bean).getFxVolatilityIds();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code ExposureSimulationParameters}.
+   */
+  public static final class Builder extends DirectFieldsBeanBuilder<ExposureSimulationParameters> {
+
+    private List<LocalDate> dates = ImmutableList.of();
+    private Currency reportingCurrency;
+    private int numberOfPaths;
+    private long seed;
+    private double quantile;
+    private Map<Currency, HullWhiteParametersId> hullWhiteParameterIds = ImmutableMap.of();
+    private Map<CurrencyPair, FxOptionVolatilitiesId> fxVolatilityIds = ImmutableMap.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      applyDefaults(this);
+    }
+
+    /**
+     * Restricted copy constructor.
+     * @param beanToCopy  the bean to copy from, not null
+     */
+    private Builder(ExposureSimulationParameters beanToCopy) {
+      this.dates = beanToCopy.getDates();
+      this.reportingCurrency = beanToCopy.getReportingCurrency();
+      this.numberOfPaths = beanToCopy.getNumberOfPaths();
+      this.seed = beanToCopy.getSeed();
+      this.quantile = beanToCopy.getQuantile();
+      this.hullWhiteParameterIds = beanToCopy.getHullWhiteParameterIds();
+      this.fxVolatilityIds = beanToCopy.getFxVolatilityIds();
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return dates;
+        case -1287844769:  // reportingCurrency
+          return reportingCurrency;
+        case -1326425650:  // numberOfPaths
+          return numberOfPaths;
+        case 3526257:  // seed
+          return seed;
+        case -1285004417:  // quantile
+          return quantile;
+        case -1259527861:  // hullWhiteParameterIds
+          return hullWhiteParameterIds;
+        case 1493390497:  // fxVolatilityIds
+          return fxVolatilityIds;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          this.dates = (List<LocalDate>) newValue;
+          break;
+        case -1287844769:  // reportingCurrency
+          this.reportingCurrency = (Currency) newValue;
+          break;
+        case -1326425650:  // numberOfPaths
+          this.numberOfPaths = (Integer) newValue;
+          break;
+        case 3526257:  // seed
+          this.seed = (Long) newValue;
+          break;
+        case -1285004417:  // quantile
+          this.quantile = (Double) newValue;
+          break;
+        case -1259527861:  // hullWhiteParameterIds
+          this.hullWhiteParameterIds = (Map<Currency, HullWhiteParametersId>) newValue;
+          break;
+        case 1493390497:  // fxVolatilityIds
+          this.fxVolatilityIds = (Map<CurrencyPair, FxOptionVolatilitiesId>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public ExposureSimulationParameters build() {
+      return new ExposureSimulationParameters(
+          dates,
+          reportingCurrency,
+          numberOfPaths,
+          seed,
+          quantile,
+          hullWhiteParameterIds,
+          fxVolatilityIds);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Sets the simulation dates, sorted in increasing order and after the valuation date.
+     * @param dates  the new value, not empty
+     * @return this, for chaining, not null
+     */
+    public Builder dates(List<LocalDate> dates) {
+      JodaBeanUtils.notEmpty(dates, "dates");
+      this.dates = dates;
+      return this;
+    }
+
+    /**
+     * Sets the {@code dates} property in the builder
+     * from an array of objects.
+     * @param dates  the new value, not empty
+     * @return this, for chaining, not null
+     */
+    public Builder dates(LocalDate... dates) {
+      return dates(ImmutableList.copyOf(dates));
+    }
+
+    /**
+     * Sets the reporting currency of the exposures.
+     * @param reportingCurrency  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder reportingCurrency(Currency reportingCurrency) {
+      JodaBeanUtils.notNull(reportingCurrency, "reportingCurrency");
+      this.reportingCurrency = reportingCurrency;
+      return this;
+    }
+
+    /**
+     * Sets the number of paths.
+     * @param numberOfPaths  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder numberOfPaths(int numberOfPaths) {
+      ArgChecker.notNegativeOrZero(numberOfPaths, "numberOfPaths");
+      this.numberOfPaths = numberOfPaths;
+      return this;
+    }
+
+    /**
+     * Sets the seed of the random number generator.
+     * @param seed  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder seed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Sets the quantile level of the potential future exposure, such as 0.95.
+     * @param quantile  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder quantile(double quantile) {
+      this.quantile = quantile;
+      return this;
+    }
+
+    /**
+     * Sets the identifiers of the Hull-White parameters, keyed by the currencies whose discount curves are simulated.
+     * <p>
+     * The curves of the other currencies are deterministic.
+     * @param hullWhiteParameterIds  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder hullWhiteParameterIds(Map<Currency, HullWhiteParametersId> hullWhiteParameterIds) {
+      JodaBeanUtils.notNull(hullWhiteParameterIds, "hullWhiteParameterIds");
+      this.hullWhiteParameterIds = hullWhiteParameterIds;
+      return this;
+    }
+
+    /**
+     * Sets the identifiers of the FX volatilities, keyed by the currency pairs against the reporting currency
+     * that are simulated.
+     * <p>
+     * The volatilities must be {@link BlackFxOptionVolatilities}. The other FX rates are deterministic.
+     * @param fxVolatilityIds  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder fxVolatilityIds(Map<CurrencyPair, FxOptionVolatilitiesId> fxVolatilityIds) {
+      JodaBeanUtils.notNull(fxVolatilityIds, "fxVolatilityIds");
+      this.fxVolatilityIds = fxVolatilityIds;
+      return this;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(256);
+      buf.append("ExposureSimulationParameters.Builder{");
+      buf.append("dates").append('=').append(JodaBeanUtils.toString(dates)).append(',').append(' ');
+      buf.append("reportingCurrency").append('=').append(JodaBeanUtils.toString(reportingCurrency)).append(',').append(' ');
+      buf.append("numberOfPaths").append('=').append(JodaBeanUtils.toString(numberOfPaths)).append(',').append(' ');
+      buf.append("seed").append('=').append(JodaBeanUtils.toString(seed)).append(',').append(' ');
+      buf.append("quantile").append('=').append(JodaBeanUtils.toString(quantile)).append(',').append(' ');
+      buf.append("hullWhiteParameterIds").append('=').append(JodaBeanUtils.toString(hullWhiteParameterIds)).append(',').append(' ');
+      buf.append("fxVolatilityIds").append('=').append(JodaBeanUtils.toString(fxVolatilityIds));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
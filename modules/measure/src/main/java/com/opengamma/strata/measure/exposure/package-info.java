@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Calculation parameters for the simulation of exposure profiles.
+ */
+package com.opengamma.strata.measure.exposure;
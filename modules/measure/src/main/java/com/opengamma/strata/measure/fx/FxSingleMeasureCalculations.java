@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.measure.fx;
 
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -13,7 +15,10 @@ import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.measure.exposure.ExposureSimulationParameters;
+import com.opengamma.strata.measure.rate.RatesMarketData;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.exposure.ExposureProfile;
 import com.opengamma.strata.pricer.fx.DiscountingFxSingleTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
@@ -232,4 +237,28 @@ final class FxSingleMeasureCalculations {
     return tradePricer.forwardFxRate(trade, ratesProvider);
   }
 
+  //-------------------------------------------------------------------------
+  // calculates exposure profile for all scenarios
+  ScenarioArray<ExposureProfile> exposureProfile(
+      ResolvedFxSingleTrade trade,
+      RatesScenarioMarketData marketData,
+      ExposureSimulationParameters parameters,
+      ReferenceData refData) {
+
+    return ScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> exposureProfile(trade, marketData.scenario(i), parameters, refData));
+  }
+
+  // exposure profile for one scenario
+  ExposureProfile exposureProfile(
+      ResolvedFxSingleTrade trade,
+      RatesMarketData marketData,
+      ExposureSimulationParameters parameters,
+      ReferenceData refData) {
+
+    return parameters.exposureProfile(
+        ImmutableList.of(trade), marketData.ratesProvider(), marketData.getMarketData(), refData);
+  }
+
 }
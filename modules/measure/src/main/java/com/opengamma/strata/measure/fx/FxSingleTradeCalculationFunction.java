@@ -22,7 +22,9 @@ import com.opengamma.strata.calc.runner.FunctionRequirements;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.measure.AdvancedMeasures;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.exposure.ExposureSimulationParameters;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.product.fx.FxSingleTrade;
@@ -45,8 +47,12 @@ import com.opengamma.strata.product.fx.ResolvedFxSingleTrade;
  *   <li>{@linkplain Measures#CURRENT_CASH Current cash}
  *   <li>{@linkplain Measures#RESOLVED_TARGET Resolved trade}
  *   <li>{@linkplain Measures#FORWARD_FX_RATE Forward FX rate}
+ *   <li>{@linkplain AdvancedMeasures#EXPOSURE_PROFILE Exposure profile}
  * </ul>
  * <p>
+ * The exposure profile additionally requires an instance of {@link ExposureSimulationParameters}.
+ * The trade is treated as a netting set of its own.
+ * <p>
  * The "natural" currency is the base currency of the market convention pair of the two trade currencies.
  */
 public class FxSingleTradeCalculationFunction
@@ -69,7 +75,10 @@ public class FxSingleTradeCalculationFunction
           .put(Measures.RESOLVED_TARGET, (rt, smd) -> rt)
           .build();
 
-  private static final ImmutableSet<Measure> MEASURES = CALCULATORS.keySet();
+  private static final ImmutableSet<Measure> MEASURES = ImmutableSet.<Measure>builder()
+      .addAll(CALCULATORS.keySet())
+      .add(AdvancedMeasures.EXPOSURE_PROFILE)
+      .build();
 
   /**
    * Creates an instance.
@@ -112,7 +121,14 @@ public class FxSingleTradeCalculationFunction
 
     // use lookup to build requirements
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
-    return ratesLookup.requirements(currencies);
+    FunctionRequirements ratesRequirements = ratesLookup.requirements(currencies);
+    if (measures.contains(AdvancedMeasures.EXPOSURE_PROFILE)) {
+      // the exposure profile also requires the model data of the simulation
+      return parameters.findParameter(ExposureSimulationParameters.class)
+          .map(exposureParams -> ratesRequirements.combinedWith(exposureParams.requirements()))
+          .orElse(ratesRequirements);
+    }
+    return ratesRequirements;
   }
 
   //-------------------------------------------------------------------------
@@ -134,7 +150,7 @@ public class FxSingleTradeCalculationFunction
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, resolved, marketData));
+      results.put(measure, calculate(measure, resolved, marketData, parameters, refData));
     }
     return results;
   }
@@ -143,8 +159,14 @@ public class FxSingleTradeCalculationFunction
   private Result<?> calculate(
       Measure measure,
       ResolvedFxSingleTrade trade,
-      RatesScenarioMarketData marketData) {
+      RatesScenarioMarketData marketData,
+      CalculationParameters parameters,
+      ReferenceData refData) {
 
+    if (measure.equals(AdvancedMeasures.EXPOSURE_PROFILE)) {
+      return Result.of(() -> FxSingleMeasureCalculations.DEFAULT.exposureProfile(
+          trade, marketData, parameters.getParameter(ExposureSimulationParameters.class), refData));
+    }
     SingleMeasureCalculation calculator = CALCULATORS.get(measure);
     if (calculator == null) {
       return Result.failure(FailureReason.UNSUPPORTED, "Unsupported measure for FxSingleTrade: {}", measure);
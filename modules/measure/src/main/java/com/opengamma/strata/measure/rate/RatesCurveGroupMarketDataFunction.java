@@ -5,20 +5,28 @@
  */
 package com.opengamma.strata.measure.rate;
 
+import static com.opengamma.strata.collect.Guavate.joinUnwrapped;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.marketdata.MarketDataConfig;
 import com.opengamma.strata.calc.marketdata.MarketDataFunction;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.MarketData;
@@ -29,6 +37,7 @@ import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.curve.CurveDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.RatesCurveGroup;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.curve.RatesCurveGroupId;
@@ -36,6 +45,7 @@ import com.opengamma.strata.market.curve.RatesCurveInputs;
 import com.opengamma.strata.market.curve.RatesCurveInputsId;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.measure.curve.RootFinderConfig;
+import com.opengamma.strata.measure.curve.ScenarioCalibrationConfig;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -44,6 +54,10 @@ import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
  * Market data function that builds a curve group.
  * <p>
  * This function calibrates curves, turning a {@link RatesCurveGroupDefinition} into a {@link RatesCurveGroup}.
+ * <p>
+ * When the inputs differ between scenarios, a curve group is calibrated for each scenario.
+ * The {@link MarketDataConfig} may contain a {@link ScenarioCalibrationConfig} to calibrate
+ * the scenarios concurrently and to start each calibration from the base scenario.
  */
 public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<RatesCurveGroup, RatesCurveGroupId> {
 
@@ -51,6 +65,10 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
    * The default analytics object that performs the curve calibration.
    */
   private final CalibrationMeasures calibrationMeasures;
+  /**
+   * The executor used to calibrate scenarios concurrently.
+   */
+  private final Executor executor;
 
   //-------------------------------------------------------------------------
   /**
@@ -73,7 +91,23 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
    * @param calibrationMeasures  the calibration measures to be used in the calibrator
    */
   public RatesCurveGroupMarketDataFunction(CalibrationMeasures calibrationMeasures) {
+    this(calibrationMeasures, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a new function for building curve groups, specifying the executor for parallel calibration.
+   * <p>
+   * The default calibrator is specified. The {@link MarketDataConfig} may contain a
+   * {@link RootFinderConfig} that alters the tolerances used in calibration.
+   * The executor is only used if the {@code MarketDataConfig} contains a {@link ScenarioCalibrationConfig}
+   * enabling parallel calibration. It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param calibrationMeasures  the calibration measures to be used in the calibrator
+   * @param executor  the executor used to calibrate scenarios concurrently
+   */
+  public RatesCurveGroupMarketDataFunction(CalibrationMeasures calibrationMeasures, Executor executor) {
     this.calibrationMeasures = ArgChecker.notNull(calibrationMeasures, "calibrationMeasures");
+    this.executor = ArgChecker.notNull(executor, "executor");
   }
 
   //-------------------------------------------------------------------------
@@ -110,11 +144,13 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     RootFinderConfig rfc = marketDataConfig.find(RootFinderConfig.class).orElse(RootFinderConfig.standard());
     RatesCurveCalibrator calibrator = RatesCurveCalibrator.of(
         rfc.getAbsoluteTolerance(), rfc.getRelativeTolerance(), rfc.getMaximumSteps(), calibrationMeasures);
+    ScenarioCalibrationConfig scc =
+        marketDataConfig.find(ScenarioCalibrationConfig.class).orElse(ScenarioCalibrationConfig.standard());
 
     // calibrate
     CurveGroupName groupName = id.getCurveGroupName();
     RatesCurveGroupDefinition configuredDefn = marketDataConfig.get(RatesCurveGroupDefinition.class, groupName);
-    return buildCurveGroup(configuredDefn, calibrator, marketData, refData, id.getObservableSource());
+    return buildCurveGroup(configuredDefn, calibrator, scc, marketData, refData, id.getObservableSource());
   }
 
   @Override
@@ -140,6 +176,29 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       ReferenceData refData,
       ObservableSource obsSource) {
 
+    return buildCurveGroup(
+        configuredGroup, calibrator, ScenarioCalibrationConfig.standard(), marketData, refData, obsSource);
+  }
+
+  /**
+   * Builds a curve group given the configuration for the group and a set of market data.
+   *
+   * @param configuredGroup  the definition of the curve group
+   * @param calibrator  the calibrator
+   * @param scenarioConfig  the configuration controlling the calibration of multiple scenarios
+   * @param marketData  the market data containing any values required to build the curve group
+   * @param refData  the reference data, used for resolving trades
+   * @param obsSource  the source of observable market data
+   * @return a result containing the curve group or details of why it couldn't be built
+   */
+  MarketDataBox<RatesCurveGroup> buildCurveGroup(
+      RatesCurveGroupDefinition configuredGroup,
+      RatesCurveCalibrator calibrator,
+      ScenarioCalibrationConfig scenarioConfig,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ObservableSource obsSource) {
+
     // find and combine all the input data
     CurveGroupName groupName = configuredGroup.getName();
 
@@ -154,7 +213,8 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     Map<ObservableId, LocalDateDoubleTimeSeries> fixings = extractFixings(marketData);
 
     return multipleValues || multipleValuationDates ?
-        buildMultipleCurveGroups(configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData) :
+        buildMultipleCurveGroups(
+            configuredGroup, calibrator, scenarioConfig, valuationDates, inputBoxes, fixings, refData) :
         buildSingleCurveGroup(configuredGroup, calibrator, valuationDates.getSingleValue(), inputBoxes, fixings, refData);
   }
 
@@ -171,23 +231,72 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
   private MarketDataBox<RatesCurveGroup> buildMultipleCurveGroups(
       RatesCurveGroupDefinition configuredGroup,
       RatesCurveCalibrator calibrator,
+      ScenarioCalibrationConfig scenarioConfig,
       MarketDataBox<LocalDate> valuationDateBox,
       List<MarketDataBox<RatesCurveInputs>> inputBoxes,
       Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
       ReferenceData refData) {
 
     int scenarioCount = scenarioCount(valuationDateBox, inputBoxes);
-    ImmutableList.Builder<RatesCurveGroup> builder = ImmutableList.builder();
-
-    for (int i = 0; i < scenarioCount; i++) {
-      LocalDate valuationDate = valuationDateBox.getValue(i);
-      RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
-      List<RatesCurveInputs> curveInputsList = inputsForScenario(inputBoxes, i);
-      MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
-      builder.add(buildGroup(filteredGroup, calibrator, inputs, refData));
+    RatesCurveGroup[] curveGroups = new RatesCurveGroup[scenarioCount];
+
+    // when warm starting, the first scenario is the base whose calibrated parameters are the initial guesses
+    int firstScenario = 0;
+    Map<CurveName, DoubleArray> initialGuesses = ImmutableMap.of();
+    if (scenarioConfig.isWarmStart()) {
+      curveGroups[0] = buildScenarioGroup(
+          configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, 0, initialGuesses);
+      initialGuesses = curveParameters(configuredGroup, curveGroups[0]);
+      firstScenario = 1;
+    }
+    Map<CurveName, DoubleArray> guesses = initialGuesses;
+    IntFunction<RatesCurveGroup> scenarioCalibration = i -> buildScenarioGroup(
+        configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, i, guesses);
+
+    if (scenarioConfig.isParallel()) {
+      List<CompletableFuture<RatesCurveGroup>> futures = IntStream.range(firstScenario, scenarioCount)
+          .mapToObj(i -> CompletableFuture.supplyAsync(() -> scenarioCalibration.apply(i), executor))
+          .collect(toImmutableList());
+      for (int i = firstScenario; i < scenarioCount; i++) {
+        curveGroups[i] = joinUnwrapped(futures.get(i - firstScenario));
+      }
+    } else {
+      for (int i = firstScenario; i < scenarioCount; i++) {
+        curveGroups[i] = scenarioCalibration.apply(i);
+      }
+    }
+    return MarketDataBox.ofScenarioValues(ImmutableList.copyOf(curveGroups));
+  }
+
+  // calibrates the curve group for a single scenario
+  private RatesCurveGroup buildScenarioGroup(
+      RatesCurveGroupDefinition configuredGroup,
+      RatesCurveCalibrator calibrator,
+      MarketDataBox<LocalDate> valuationDateBox,
+      List<MarketDataBox<RatesCurveInputs>> inputBoxes,
+      Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
+      ReferenceData refData,
+      int scenarioIndex,
+      Map<CurveName, DoubleArray> initialGuesses) {
+
+    LocalDate valuationDate = valuationDateBox.getValue(scenarioIndex);
+    RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
+    List<RatesCurveInputs> curveInputsList = inputsForScenario(inputBoxes, scenarioIndex);
+    MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
+    return buildGroup(filteredGroup, calibrator, inputs, refData, initialGuesses);
+  }
+
+  // extracts the calibrated parameters of each curve in the group
+  private static Map<CurveName, DoubleArray> curveParameters(
+      RatesCurveGroupDefinition groupDefn,
+      RatesCurveGroup curveGroup) {
+
+    ImmutableMap.Builder<CurveName, DoubleArray> builder = ImmutableMap.builder();
+    for (CurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      curveGroup.findCurve(curveDefn.getName())
+          .ifPresent(curve -> builder.put(curveDefn.getName(), DoubleArray.of(curve.getParameterCount(), curve::getParameter)));
     }
-    ImmutableList<RatesCurveGroup> curveGroups = builder.build();
-    return MarketDataBox.ofScenarioValues(curveGroups);
+    return builder.build();
   }
 
   private static List<RatesCurveInputs> inputsForScenario(List<MarketDataBox<RatesCurveInputs>> boxes, int scenarioIndex) {
@@ -208,7 +317,7 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
     List<RatesCurveInputs> inputs = inputBoxes.stream().map(MarketDataBox::getSingleValue).collect(toImmutableList());
     MarketData inputValues = inputsByKey(valuationDate, inputs, fixings);
-    RatesCurveGroup curveGroup = buildGroup(filteredGroup, calibrator, inputValues, refData);
+    RatesCurveGroup curveGroup = buildGroup(filteredGroup, calibrator, inputValues, refData, ImmutableMap.of());
     return MarketDataBox.ofSingleValue(curveGroup);
   }
 
@@ -253,13 +362,15 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       RatesCurveGroupDefinition groupDefn,
       RatesCurveCalibrator calibrator,
       MarketData marketData,
-      ReferenceData refData) {
+      ReferenceData refData,
+      Map<CurveName, DoubleArray> initialGuesses) {
 
     // perform the calibration
     ImmutableRatesProvider calibratedProvider = calibrator.calibrate(
         groupDefn,
         marketData,
-        refData);
+        refData,
+        initialGuesses);
 
     return RatesCurveGroup.of(
         groupDefn.getName(),
@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
@@ -40,8 +41,10 @@ import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.measure.exposure.ExposureSimulationParameters;
 import com.opengamma.strata.measure.rate.RatesMarketData;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.exposure.ExposureProfile;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
@@ -482,4 +485,28 @@ final class SwapMeasureCalculations {
     return tradePricer.currentCash(trade, ratesProvider);
   }
 
+  //-------------------------------------------------------------------------
+  // calculates exposure profile for all scenarios
+  ScenarioArray<ExposureProfile> exposureProfile(
+      ResolvedSwapTrade trade,
+      RatesScenarioMarketData marketData,
+      ExposureSimulationParameters parameters,
+      ReferenceData refData) {
+
+    return ScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> exposureProfile(trade, marketData.scenario(i), parameters, refData));
+  }
+
+  // exposure profile for one scenario
+  ExposureProfile exposureProfile(
+      ResolvedSwapTrade trade,
+      RatesMarketData marketData,
+      ExposureSimulationParameters parameters,
+      ReferenceData refData) {
+
+    return parameters.exposureProfile(
+        ImmutableList.of(trade), marketData.ratesProvider(), marketData.getMarketData(), refData);
+  }
+
 }
@@ -23,6 +23,7 @@ import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.measure.AdvancedMeasures;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.exposure.ExposureSimulationParameters;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.product.swap.ResolvedSwapTrade;
@@ -53,8 +54,12 @@ import com.opengamma.strata.product.swap.SwapTrade;
  *   <li>{@linkplain Measures#RESOLVED_TARGET Resolved trade}
  *   <li>{@linkplain AdvancedMeasures#PV01_SEMI_PARALLEL_GAMMA_BUCKETED PV01 semi-parallel gamma bucketed}
  *   <li>{@linkplain AdvancedMeasures#PV01_SINGLE_NODE_GAMMA_BUCKETED PV01 single node gamma bucketed}
+ *   <li>{@linkplain AdvancedMeasures#EXPOSURE_PROFILE Exposure profile}
  * </ul>
  * <p>
+ * The exposure profile additionally requires an instance of {@link ExposureSimulationParameters}.
+ * The trade is treated as a netting set of its own.
+ * <p>
  * The "natural" currency is the currency of the swaption, which is limited to be single-currency.
  */
 public class SwapTradeCalculationFunction
@@ -84,7 +89,10 @@ public class SwapTradeCalculationFunction
           .put(AdvancedMeasures.PV01_SINGLE_NODE_GAMMA_BUCKETED, SwapMeasureCalculations.DEFAULT::pv01SingleNodeGammaBucketed)
           .build();
 
-  private static final ImmutableSet<Measure> MEASURES = CALCULATORS.keySet();
+  private static final ImmutableSet<Measure> MEASURES = ImmutableSet.<Measure>builder()
+      .addAll(CALCULATORS.keySet())
+      .add(AdvancedMeasures.EXPOSURE_PROFILE)
+      .build();
 
   /**
    * Creates an instance.
@@ -127,7 +135,14 @@ public class SwapTradeCalculationFunction
 
     // use lookup to build requirements
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
-    return ratesLookup.requirements(currencies, product.allIndices());
+    FunctionRequirements ratesRequirements = ratesLookup.requirements(currencies, product.allIndices());
+    if (measures.contains(AdvancedMeasures.EXPOSURE_PROFILE)) {
+      // the exposure profile also requires the model data of the simulation
+      return parameters.findParameter(ExposureSimulationParameters.class)
+          .map(exposureParams -> ratesRequirements.combinedWith(exposureParams.requirements()))
+          .orElse(ratesRequirements);
+    }
+    return ratesRequirements;
   }
 
   //-------------------------------------------------------------------------
@@ -149,7 +164,7 @@ public class SwapTradeCalculationFunction
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, resolved, marketData));
+      results.put(measure, calculate(measure, resolved, marketData, parameters, refData));
     }
     return results;
   }
@@ -158,8 +173,14 @@ public class SwapTradeCalculationFunction
   private Result<?> calculate(
       Measure measure,
       ResolvedSwapTrade trade,
-      RatesScenarioMarketData marketData) {
+      RatesScenarioMarketData marketData,
+      CalculationParameters parameters,
+      ReferenceData refData) {
 
+    if (measure.equals(AdvancedMeasures.EXPOSURE_PROFILE)) {
+      return Result.of(() -> SwapMeasureCalculations.DEFAULT.exposureProfile(
+          trade, marketData, parameters.getParameter(ExposureSimulationParameters.class), refData));
+    }
     SingleMeasureCalculation calculator = CALCULATORS.get(measure);
     if (calculator == null) {
       return Result.failure(FailureReason.UNSUPPORTED, "Unsupported measure for SwapTrade: {}", measure);
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.curve;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ScenarioCalibrationConfig}.
+ */
+public class ScenarioCalibrationConfigTest {
+
+  @Test
+  public void test_standard() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.standard();
+    assertThat(test.isParallel()).isFalse();
+    assertThat(test.isWarmStart()).isFalse();
+  }
+
+  @Test
+  public void test_parallelWarmStart() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.parallelWarmStart();
+    assertThat(test.isParallel()).isTrue();
+    assertThat(test.isWarmStart()).isTrue();
+  }
+
+  @Test
+  public void test_builder() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.builder().warmStart(true).build();
+    assertThat(test.isParallel()).isFalse();
+    assertThat(test.isWarmStart()).isTrue();
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.standard();
+    coverImmutableBean(test);
+    ScenarioCalibrationConfig test2 = ScenarioCalibrationConfig.parallelWarmStart();
+    coverBeanEquals(test, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(ScenarioCalibrationConfig.parallelWarmStart());
+  }
+
+}
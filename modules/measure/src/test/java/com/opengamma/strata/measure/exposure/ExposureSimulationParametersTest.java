@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.exposure;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_3M;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.pricer.exposure.ExposureProfile;
+import com.opengamma.strata.pricer.exposure.ExposureSimulator;
+import com.opengamma.strata.pricer.fxopt.FxOptionVolatilitiesId;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.model.HullWhiteParametersId;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+/**
+ * Test {@link ExposureSimulationParameters}.
+ */
+public class ExposureSimulationParametersTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final ImmutableList<LocalDate> DATES = ImmutableList.of(LocalDate.of(2012, 7, 9), LocalDate.of(2013, 7, 8));
+  private static final CurrencyPair EUR_USD = CurrencyPair.of(EUR, USD);
+  private static final HullWhiteParametersId HW_ID = HullWhiteParametersId.of("EUR-HW");
+  private static final FxOptionVolatilitiesId FX_VOL_ID = FxOptionVolatilitiesId.of("EUR-USD-Vol");
+
+  @Test
+  public void test_of() {
+    ExposureSimulationParameters test = ExposureSimulationParameters.of(DATES, EUR);
+    assertThat(test.getDates()).isEqualTo(DATES);
+    assertThat(test.getReportingCurrency()).isEqualTo(EUR);
+    assertThat(test.getNumberOfPaths()).isEqualTo(ExposureSimulationParameters.DEFAULT_NUMBER_OF_PATHS);
+    assertThat(test.getSeed()).isEqualTo(0L);
+    assertThat(test.getQuantile()).isEqualTo(ExposureSimulationParameters.DEFAULT_QUANTILE);
+    assertThat(test.getHullWhiteParameterIds()).isEmpty();
+    assertThat(test.getFxVolatilityIds()).isEmpty();
+    assertThat(test.requirements()).isEqualTo(FunctionRequirements.empty());
+    assertThat(test.queryType()).isEqualTo(ExposureSimulationParameters.class);
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ExposureSimulationParameters.of(ImmutableList.of(), EUR));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ExposureSimulationParameters.of(DATES.reverse(), EUR));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ExposureSimulationParameters.of(DATES, EUR).toBuilder().quantile(1d).build());
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ExposureSimulationParameters.of(DATES, EUR).toBuilder().numberOfPaths(0).build());
+  }
+
+  @Test
+  public void test_simulator() {
+    ExposureSimulationParameters test = ExposureSimulationParameters.of(DATES, EUR).toBuilder()
+        .numberOfPaths(200)
+        .seed(7L)
+        .quantile(0.99d)
+        .build();
+    ExposureSimulator simulator = test.simulator();
+    assertThat(simulator.getNumberOfPaths()).isEqualTo(200);
+    assertThat(simulator.getSeed()).isEqualTo(7L);
+    assertThat(simulator.getQuantile()).isEqualTo(0.99d);
+  }
+
+  @Test
+  public void test_requirements() {
+    ExposureSimulationParameters test = ExposureSimulationParameters.of(DATES, USD).toBuilder()
+        .hullWhiteParameterIds(ImmutableMap.of(EUR, HW_ID))
+        .fxVolatilityIds(ImmutableMap.of(EUR_USD, FX_VOL_ID))
+        .build();
+    assertThat(test.requirements().getValueRequirements()).isEqualTo(ImmutableSet.of(HW_ID, FX_VOL_ID));
+  }
+
+  @Test
+  public void test_exposureProfile() {
+    ImmutableRatesProvider provider = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+    ResolvedSwapTrade trade = EUR_FIXED_1Y_EURIBOR_3M
+        .createTrade(VALUATION, Tenor.TENOR_2Y, BUY, 1_000_000d, 0.02d, REF_DATA)
+        .resolve(REF_DATA);
+    HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider =
+        HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+    MarketData marketData = ImmutableMarketData.builder(VALUATION).addValue(HW_ID, hwProvider).build();
+    ExposureSimulationParameters test = ExposureSimulationParameters.builder()
+        .dates(DATES)
+        .reportingCurrency(EUR)
+        .numberOfPaths(20)
+        .hullWhiteParameterIds(ImmutableMap.of(EUR, HW_ID))
+        .build();
+    ExposureProfile profile = test.exposureProfile(ImmutableList.of(trade), provider, marketData, REF_DATA);
+    assertThat(profile).isEqualTo(test.simulator().exposureProfile(
+        ImmutableList.of(trade), DATES, EUR, provider, ImmutableMap.of(EUR, hwProvider), ImmutableMap.of(), REF_DATA));
+    assertThat(profile.getDates()).isEqualTo(DATES);
+    assertThat(profile.getCurrency()).isEqualTo(EUR);
+  }
+
+  @Test
+  public void test_exposureProfile_invalidMarketData() {
+    ImmutableRatesProvider provider = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+    ResolvedSwapTrade trade = EUR_FIXED_1Y_EURIBOR_3M
+        .createTrade(VALUATION, Tenor.TENOR_2Y, BUY, 1_000_000d, 0.02d, REF_DATA)
+        .resolve(REF_DATA);
+    ExposureSimulationParameters test = ExposureSimulationParameters.of(DATES, EUR).toBuilder()
+        .hullWhiteParameterIds(ImmutableMap.of(EUR, HW_ID))
+        .build();
+    MarketData missing = MarketData.empty(VALUATION);
+    assertThatExceptionOfType(MarketDataNotFoundException.class)
+        .isThrownBy(() -> test.exposureProfile(ImmutableList.of(trade), provider, missing, REF_DATA));
+    MarketData stale = ImmutableMarketData.builder(VALUATION)
+        .addValue(HW_ID, HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION.minusDays(1)))
+        .build();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.exposureProfile(ImmutableList.of(trade), provider, stale, REF_DATA));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    ExposureSimulationParameters test1 = ExposureSimulationParameters.of(DATES, EUR);
+    coverImmutableBean(test1);
+    ExposureSimulationParameters test2 = ExposureSimulationParameters.builder()
+        .dates(DATES.subList(0, 1))
+        .reportingCurrency(USD)
+        .numberOfPaths(10)
+        .seed(1L)
+        .quantile(0.99d)
+        .hullWhiteParameterIds(ImmutableMap.of(EUR, HW_ID))
+        .fxVolatilityIds(ImmutableMap.of(EUR_USD, FX_VOL_ID))
+        .build();
+    coverBeanEquals(test1, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(ExposureSimulationParameters.of(DATES, EUR));
+  }
+
+}
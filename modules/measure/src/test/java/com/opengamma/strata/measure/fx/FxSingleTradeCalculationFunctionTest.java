@@ -38,9 +38,12 @@ import com.opengamma.strata.market.curve.CurveId;
 import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.measure.AdvancedMeasures;
 import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
+import com.opengamma.strata.measure.exposure.ExposureSimulationParameters;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.pricer.exposure.ExposureProfile;
 import com.opengamma.strata.pricer.fx.DiscountingFxSingleTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.fx.FxSingle;
@@ -134,6 +137,29 @@ public class FxSingleTradeCalculationFunctionTest {
             Measures.PV01_CALIBRATED_BUCKETED, Result.success(ScenarioArray.of(ImmutableList.of(expectedBucketedPv01))));
   }
 
+  @Test
+  public void test_exposureProfile() {
+    FxSingleTradeCalculationFunction function = new FxSingleTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    RatesProvider provider = RATES_LOOKUP.ratesProvider(md.scenario(0));
+    ExposureSimulationParameters exposureParams = ExposureSimulationParameters.builder()
+        .dates(ImmutableList.of(VAL_DATE.plusDays(2), VAL_DATE.plusDays(5)))
+        .reportingCurrency(USD)
+        .numberOfPaths(50)
+        .build();
+    ExposureProfile expected =
+        exposureParams.exposureProfile(ImmutableList.of(RTRADE), provider, md.scenario(0), REF_DATA);
+
+    Set<Measure> measures = ImmutableSet.of(AdvancedMeasures.EXPOSURE_PROFILE);
+    CalculationParameters params = PARAMS.combinedWith(CalculationParameters.of(exposureParams));
+    assertThat(function.supportedMeasures()).contains(AdvancedMeasures.EXPOSURE_PROFILE);
+    assertThat(function.calculate(TRADE, measures, params, md, REF_DATA))
+        .containsEntry(
+            AdvancedMeasures.EXPOSURE_PROFILE, Result.success(ScenarioArray.of(ImmutableList.of(expected))));
+    assertThat(function.calculate(TRADE, measures, PARAMS, md, REF_DATA).get(AdvancedMeasures.EXPOSURE_PROFILE).isFailure())
+        .isTrue();
+  }
+
   //-------------------------------------------------------------------------
   static ScenarioMarketData marketData() {
     Curve curve1 = ConstantCurve.of(Curves.discountFactors("Test", ACT_360), 0.992);
@@ -15,6 +15,7 @@ import static org.assertj.core.api.Assertions.offset;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -62,6 +63,7 @@ import com.opengamma.strata.market.curve.node.FxSwapCurveNode;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.measure.curve.ScenarioCalibrationConfig;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
@@ -187,6 +189,54 @@ public class RatesCurveGroupMarketDataFunctionTest {
     checkSwapPvIsZero((FixedIborSwapCurveNode) nodes.get(4), ratesProvider, marketData);
   }
 
+  /**
+   * Tests that calibrating scenarios in parallel from the base scenario matches sequential calibration.
+   */
+  @Test
+  public void multipleScenariosParallelWarmStart() {
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraCurveDefinition();
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    CurveName curveName = curveDefn.getName();
+    List<MarketDataId<?>> keys = curveDefn.getNodes().stream()
+        .map(CurveTestUtils::key)
+        .collect(toImmutableList());
+    double[] rates = {0.003, 0.0033, 0.0037, 0.0054, 0.007, 0.0091, 0.0134};
+    List<RatesCurveInputs> scenarioInputs = new ArrayList<>();
+    for (int scenario = 0; scenario < 4; scenario++) {
+      ImmutableMap.Builder<MarketDataId<?>, Double> inputData = ImmutableMap.builder();
+      for (int i = 0; i < keys.size(); i++) {
+        inputData.put(keys.get(i), rates[i] + scenario * 0.0001);
+      }
+      scenarioInputs.add(RatesCurveInputs.of(inputData.build(), DefaultCurveMetadata.of(curveName)));
+    }
+    RatesCurveGroupDefinition groupDefn = RatesCurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addBox(RatesCurveInputsId.of(groupName, curveName, ObservableSource.NONE), MarketDataBox.ofScenarioValues(scenarioInputs))
+        .build();
+
+    RatesCurveGroupMarketDataFunction function = new RatesCurveGroupMarketDataFunction();
+    MarketDataBox<RatesCurveGroup> expected =
+        function.buildCurveGroup(groupDefn, CALIBRATOR, marketData, REF_DATA, ObservableSource.NONE);
+    MarketDataConfig marketDataConfig = MarketDataConfig.builder()
+        .add(groupName, groupDefn)
+        .addDefault(ScenarioCalibrationConfig.parallelWarmStart())
+        .build();
+    MarketDataBox<RatesCurveGroup> test =
+        function.build(RatesCurveGroupId.of(groupName), marketDataConfig, marketData, REF_DATA);
+
+    assertThat(test.getScenarioCount()).isEqualTo(4);
+    for (int scenario = 0; scenario < 4; scenario++) {
+      Curve expectedCurve = expected.getValue(scenario).findCurve(curveName).get();
+      Curve testCurve = test.getValue(scenario).findCurve(curveName).get();
+      for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+        assertThat(testCurve.getParameter(i)).isCloseTo(expectedCurve.getParameter(i), offset(1e-10));
+      }
+    }
+  }
+
   /**
    * Tests that par rates and ibor index are required for curves.
    */
@@ -39,9 +39,14 @@ import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.measure.AdvancedMeasures;
 import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
+import com.opengamma.strata.measure.exposure.ExposureSimulationParameters;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.pricer.exposure.ExposureProfile;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteParametersId;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
 import com.opengamma.strata.product.common.BuySell;
@@ -68,6 +73,7 @@ public class SwapTradeCalculationFunctionTest {
       ImmutableMap.of(INDEX, FORWARD_CURVE_ID));
   private static final CalculationParameters PARAMS = CalculationParameters.of(RATES_LOOKUP);
   private static final LocalDate VAL_DATE = TRADE.getProduct().getStartDate().getUnadjusted().minusDays(7);
+  private static final HullWhiteParametersId HW_ID = HullWhiteParametersId.of("HW");
 
   //-------------------------------------------------------------------------
   @Test
@@ -145,12 +151,41 @@ public class SwapTradeCalculationFunctionTest {
             Measures.PV01_CALIBRATED_BUCKETED, Result.success(ScenarioArray.of(ImmutableList.of(expectedBucketedPv01))));
   }
 
+  @Test
+  public void test_exposureProfile() {
+    SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    RatesProvider provider = RATES_LOOKUP.ratesProvider(md.scenario(0));
+    ExposureSimulationParameters exposureParams = ExposureSimulationParameters.builder()
+        .dates(ImmutableList.of(VAL_DATE.plusDays(2), VAL_DATE.plusDays(5)))
+        .reportingCurrency(CURRENCY)
+        .numberOfPaths(50)
+        .hullWhiteParameterIds(ImmutableMap.of(CURRENCY, HW_ID))
+        .build();
+    ExposureProfile expected =
+        exposureParams.exposureProfile(ImmutableList.of(RTRADE), provider, md.scenario(0), REF_DATA);
+
+    Set<Measure> measures = ImmutableSet.of(AdvancedMeasures.EXPOSURE_PROFILE);
+    CalculationParameters params = PARAMS.combinedWith(CalculationParameters.of(exposureParams));
+    assertThat(function.requirements(TRADE, measures, params, REF_DATA).getValueRequirements())
+        .isEqualTo(ImmutableSet.of(DISCOUNT_CURVE_ID, FORWARD_CURVE_ID, HW_ID));
+    assertThat(function.supportedMeasures()).contains(AdvancedMeasures.EXPOSURE_PROFILE);
+    assertThat(function.calculate(TRADE, measures, params, md, REF_DATA))
+        .containsEntry(
+            AdvancedMeasures.EXPOSURE_PROFILE, Result.success(ScenarioArray.of(ImmutableList.of(expected))));
+    assertThat(function.calculate(TRADE, measures, PARAMS, md, REF_DATA).get(AdvancedMeasures.EXPOSURE_PROFILE).isFailure())
+        .isTrue();
+  }
+
   //-------------------------------------------------------------------------
   static ScenarioMarketData marketData() {
     Curve curve = ConstantCurve.of(Curves.discountFactors("Test", ACT_360), 0.99);
     TestMarketDataMap md = new TestMarketDataMap(
         VAL_DATE,
-        ImmutableMap.of(DISCOUNT_CURVE_ID, curve, FORWARD_CURVE_ID, curve),
+        ImmutableMap.of(
+            DISCOUNT_CURVE_ID, curve,
+            FORWARD_CURVE_ID, curve,
+            HW_ID, HullWhiteIborFutureDataSet.createHullWhiteProvider(VAL_DATE)),
         ImmutableMap.of());
     return md;
   }
@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer;
 import static com.opengamma.strata.pricer.SimpleDiscountFactors.EFFECTIVE_ZERO;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -121,6 +122,37 @@ public interface DiscountFactors
    */
   public abstract double discountFactor(double yearFraction);
 
+  /**
+   * Gets the discount factors for the specified dates.
+   * <p>
+   * The result is the same as calling {@link #discountFactor(LocalDate)} for each date.
+   * This allows the payment dates of a schedule to be discounted in a single call.
+   * 
+   * @param dates  the dates to discount to, typically sorted from earliest to latest
+   * @return the discount factors, one for each date
+   * @throws RuntimeException if a value cannot be obtained
+   */
+  public default DoubleArray discountFactors(List<LocalDate> dates) {
+    DoubleArray yearFractions = DoubleArray.of(dates.size(), i -> relativeYearFraction(dates.get(i)));
+    return discountFactors(yearFractions);
+  }
+
+  /**
+   * Gets the discount factors for the specified year fractions.
+   * <p>
+   * The year fractions must be based on {@code #relativeYearFraction(LocalDate)}.
+   * The result is the same as calling {@link #discountFactor(double)} for each year fraction.
+   * Implementations may evaluate the underlying curve in a single pass, which is
+   * most efficient when the year fractions are sorted from low to high.
+   * 
+   * @param yearFractions  the year fractions
+   * @return the discount factors, one for each year fraction
+   * @throws RuntimeException if a value cannot be obtained
+   */
+  public default DoubleArray discountFactors(DoubleArray yearFractions) {
+    return yearFractions.map(this::discountFactor);
+  }
+
   /**
    * Returns the discount factor derivative with respect to the year fraction or time.
    * <p>
@@ -165,6 +165,13 @@ public final class ZeroRateDiscountFactors
     return Math.exp(-yearFraction * curve.yValue(yearFraction));
   }
 
+  @Override
+  public DoubleArray discountFactors(DoubleArray yearFractions) {
+    // convert zero rates to discount factors
+    DoubleArray zeroRates = curve.yValues(yearFractions);
+    return zeroRates.mapWithIndex((i, zeroRate) -> Math.exp(-yearFractions.get(i) * zeroRate));
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     double zr = curve.yValue(yearFraction);
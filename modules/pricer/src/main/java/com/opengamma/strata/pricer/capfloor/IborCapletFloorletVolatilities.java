@@ -148,6 +148,34 @@ public interface IborCapletFloorletVolatilities
       double forward,
       double volatility);
 
+  /**
+   * Calculates the prices of a set of options.
+   * <p>
+   * The price of the option at index {@code i} is stored at index {@code i} of the price array.
+   * The result is the same as calling {@link #price(double, PutCall, double, double, double)} for each option.
+   * Implementations may override this to price the options without allocating objects per option.
+   *
+   * @param expiry  the time to expiry of each option as a year fraction
+   * @param putCall  whether each option is put or call
+   * @param strike  the strike rate of each option
+   * @param forward  the forward rate of each option
+   * @param volatility  the volatility of each option
+   * @param price  the array to store the prices in, at least as long as the expiry array
+   * @throws RuntimeException if the value cannot be obtained
+   */
+  public default void price(
+      double[] expiry,
+      PutCall[] putCall,
+      double[] strike,
+      double[] forward,
+      double[] volatility,
+      double[] price) {
+
+    for (int i = 0; i < expiry.length; i++) {
+      price[i] = price(expiry[i], putCall[i], strike[i], forward[i], volatility[i]);
+    }
+  }
+
   /**
    * Calculates the price delta.
    * <p>
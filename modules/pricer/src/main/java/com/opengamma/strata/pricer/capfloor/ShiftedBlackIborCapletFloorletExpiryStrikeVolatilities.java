@@ -244,6 +244,27 @@ public final class ShiftedBlackIborCapletFloorletExpiryStrikeVolatilities
     return BlackFormulaRepository.price(forward + shift, strike + shift, expiry, volatility, putCall.isCall());
   }
 
+  @Override
+  public void price(
+      double[] expiry,
+      PutCall[] putCall,
+      double[] strike,
+      double[] forward,
+      double[] volatility,
+      double[] price) {
+
+    double[] shiftedStrike = new double[strike.length];
+    double[] shiftedForward = new double[forward.length];
+    boolean[] isCall = new boolean[putCall.length];
+    for (int i = 0; i < expiry.length; i++) {
+      double shift = shiftCurve.yValue(expiry[i]);
+      shiftedStrike[i] = strike[i] + shift;
+      shiftedForward[i] = forward[i] + shift;
+      isCall[i] = putCall[i].isCall();
+    }
+    BlackFormulaRepository.price(shiftedForward, shiftedStrike, expiry, volatility, isCall, price);
+  }
+
   @Override
   public double priceDelta(double expiry, PutCall putCall, double strike, double forward, double volatility) {
     double shift = shiftCurve.yValue(expiry);
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.capfloor;
 
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -60,6 +62,8 @@ public class VolatilityIborCapFloorLegPricer {
    * <p>
    * The present value of the leg is the value on the valuation date.
    * The result is returned using the payment currency of the leg.
+   * The caplets/floorlets are priced together by the period pricer, see
+   * {@link VolatilityIborCapletFloorletPeriodPricer#presentValue(List, RatesProvider, IborCapletFloorletVolatilities)}.
    * 
    * @param capFloorLeg  the Ibor cap/floor leg
    * @param ratesProvider  the rates provider 
@@ -72,11 +76,7 @@ public class VolatilityIborCapFloorLegPricer {
       IborCapletFloorletVolatilities volatilities) {
 
     validate(ratesProvider, volatilities);
-    return capFloorLeg.getCapletFloorletPeriods()
-        .stream()
-        .map(period -> periodPricer.presentValue(period, ratesProvider, volatilities))
-        .reduce((c1, c2) -> c1.plus(c2))
-        .get();
+    return periodPricer.presentValue(capFloorLeg.getCapletFloorletPeriods(), ratesProvider, volatilities);
   }
 
   //-------------------------------------------------------------------------
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.pricer.capfloor;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -67,6 +70,86 @@ public class VolatilityIborCapletFloorletPeriodPricer {
     return CurrencyAmount.of(currency, price * period.getNotional());
   }
 
+  /**
+   * Calculates the present value of several Ibor caplet/floorlet periods, pricing them together.
+   * <p>
+   * The result is the sum of the present values of the periods, expressed using the currency of the periods.
+   * The periods that have not expired are priced together using
+   * {@link IborCapletFloorletVolatilities#price(double[], PutCall[], double[], double[], double[], double[])},
+   * avoiding the allocation of objects for each period where the volatilities support it.
+   * The other periods are priced by {@link #presentValue(IborCapletFloorletPeriod, RatesProvider, IborCapletFloorletVolatilities)}.
+   * <p>
+   * Subclasses that change the present value of a live period must override this method consistently.
+   * 
+   * @param periods  the Ibor caplet/floorlet periods, not empty and all in the same currency
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the volatilities
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      List<IborCapletFloorletPeriod> periods,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    validate(volatilities);
+    ArgChecker.notEmpty(periods, "periods");
+    Currency currency = periods.get(0).getCurrency();
+    int nbPeriods = periods.size();
+    double[] presentValues = new double[nbPeriods];
+    int[] indices = new int[nbPeriods];
+    double[] factors = new double[nbPeriods];
+    double[] expiries = new double[nbPeriods];
+    PutCall[] putCalls = new PutCall[nbPeriods];
+    double[] strikes = new double[nbPeriods];
+    double[] forwards = new double[nbPeriods];
+    double[] vols = new double[nbPeriods];
+    int nbLive = 0;
+    for (int i = 0; i < nbPeriods; i++) {
+      IborCapletFloorletPeriod period = periods.get(i);
+      ArgChecker.isTrue(period.getCurrency().equals(currency), "Periods must all have the same currency");
+      double expiry = volatilities.relativeTime(period.getFixingDateTime());
+      if (expiry < 0d || ratesProvider.getValuationDate().isAfter(period.getPaymentDate())) {
+        presentValues[i] = presentValue(period, ratesProvider, volatilities).getAmount();
+        continue;
+      }
+      double df = ratesProvider.discountFactor(currency, period.getPaymentDate());
+      double strike = period.getStrike();
+      double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+      indices[nbLive] = i;
+      factors[nbLive] = df * period.getYearFraction();
+      expiries[nbLive] = expiry;
+      putCalls[nbLive] = period.getPutCall();
+      strikes[nbLive] = strike;
+      forwards[nbLive] = indexRate;
+      vols[nbLive] = volatilities.volatility(expiry, strike, indexRate);
+      nbLive++;
+    }
+    if (nbLive > 0) {
+      double[] prices = new double[nbLive];
+      volatilities.price(
+          trim(expiries, nbLive),
+          nbLive == nbPeriods ? putCalls : Arrays.copyOf(putCalls, nbLive),
+          trim(strikes, nbLive),
+          trim(forwards, nbLive),
+          trim(vols, nbLive),
+          prices);
+      for (int j = 0; j < nbLive; j++) {
+        int i = indices[j];
+        presentValues[i] = factors[j] * prices[j] * periods.get(i).getNotional();
+      }
+    }
+    double total = 0d;
+    for (int i = 0; i < nbPeriods; i++) {
+      total += presentValues[i];
+    }
+    return CurrencyAmount.of(currency, total);
+  }
+
+  // trims the array to the number of live periods
+  private static double[] trim(double[] array, int size) {
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the implied volatility of the Ibor caplet/floorlet.
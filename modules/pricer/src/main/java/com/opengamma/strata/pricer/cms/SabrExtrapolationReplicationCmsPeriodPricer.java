@@ -12,7 +12,9 @@ import static com.opengamma.strata.market.model.SabrParameterType.RHO;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.OptionalDouble;
+import java.util.function.DoubleFunction;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
@@ -20,13 +22,17 @@ import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Triple;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.integration.GaussLegendreWeightAndAbscissaFunction;
+import com.opengamma.strata.math.impl.integration.GaussianQuadratureData;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 import com.opengamma.strata.pricer.impl.option.SabrExtrapolationRightFunction;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
@@ -51,6 +57,7 @@ import com.opengamma.strata.product.swap.SwapLegType;
  *  more details on the extrapolation method.
  *  <p>
  *  The replication requires numerical integration. This is completed by {@link RungeKuttaIntegrator1D}.
+ *  Alternatively, a fixed-node Gauss-Legendre integration can be used, see {@link #withFixedNodeIntegration(int)}.
  *  <p>
  *  The consistency between {@code RatesProvider} and {@code SabrParametersSwaptionVolatilities} is not checked in this 
  *  class, but validated only once in {@link SabrExtrapolationReplicationCmsLegPricer}.
@@ -99,6 +106,20 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * For expiry below that value, the forward rate is used for present value.
    */
   private static final double MIN_TIME = 1e-4;
+  /**
+   * The points at which the range of the fixed-node integration is split.
+   * These are expressed in number of standard deviations from the forward.
+   */
+  private static final double[] BREAK_POINTS = {-4d, -2d, -1d, -0.5d, 0d, 0.5d, 1d, 2d, 4d, 8d, 16d};
+  /**
+   * The maximum ratio between the end and the start of an interval of the fixed-node integration.
+   * Above the forward, the smile decays as a power of the strike and is integrated on geometric intervals.
+   */
+  private static final double MAX_INTERVAL_RATIO = 2d;
+  /**
+   * The generator of the Gauss-Legendre weights and abscissas.
+   */
+  private static final GaussLegendreWeightAndAbscissaFunction GAUSS_LEGENDRE = new GaussLegendreWeightAndAbscissaFunction();
 
   /**
    * Pricer for the underlying swap.
@@ -116,6 +137,12 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * This must be greater than 0 in order to ensure that the call price converges to 0 for infinite strike.
    */
   private final double mu;
+  /**
+   * The Gauss-Legendre weights and abscissas used in each interval of the fixed-node integration.
+   * <p>
+   * This is null if the adaptive integration is used.
+   */
+  private final GaussianQuadratureData quadrature;
 
   //-------------------------------------------------------------------------
   /**
@@ -150,9 +177,42 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double cutOffStrike,
       double mu) {
 
+    this(swapPricer, cutOffStrike, mu, null);
+  }
+
+  private SabrExtrapolationReplicationCmsPeriodPricer(
+      DiscountingSwapProductPricer swapPricer,
+      double cutOffStrike,
+      double mu,
+      GaussianQuadratureData quadrature) {
+
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.cutOffStrike = cutOffStrike;
     this.mu = ArgChecker.notNegativeOrZero(mu, "mu");
+    this.quadrature = quadrature;
+  }
+
+  /**
+   * Returns a copy of this pricer that uses a fixed-node integration.
+   * <p>
+   * By default, the replication integrals are computed by an adaptive Runge-Kutta integration,
+   * run separately for the present value and for each sensitivity.
+   * With fixed-node integration, the integration range is split into intervals around the forward,
+   * based on the standard deviation of the swap rate, and a Gauss-Legendre quadrature is used in each interval.
+   * The weights and abscissas are computed once, when this method is called.
+   * <p>
+   * The number of integrand evaluations is much lower than with the adaptive integration, and the integrands
+   * of the sensitivities are evaluated together at the same nodes. For example, the sensitivities to the
+   * four SABR parameters are obtained from a single SABR price adjoint computation at each node.
+   * The accuracy depends on the number of nodes; with 8 nodes, the present value typically matches the
+   * adaptive integration to within 1e-9 of the notional.
+   *
+   * @param nbNodes  the number of Gauss-Legendre nodes in each interval, at least 2
+   * @return the pricer
+   */
+  public SabrExtrapolationReplicationCmsPeriodPricer withFixedNodeIntegration(int nbNodes) {
+    ArgChecker.isTrue(nbNodes > 1, "Number of nodes must be at least 2, but was {}", nbNodes);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, GAUSS_LEGENDRE.generate(nbNodes));
   }
 
   //-------------------------------------------------------------------------
@@ -204,18 +264,24 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment / intProv.h(forward) * intProv.g(forward);
     double strikePart = factor * intProv.k(strikeCpn) * intProv.bs(strikeCpn);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
     double integralPart = 0d;
     Function<Double, Double> integrant = intProv.integrant();
-    try {
-      if (intProv.getPutCall().isCall()) {
-        integralPart = dfPayment *
-            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-      } else {
-        integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+    if (quadrature != null) {
+      double[] integrals = integrateFixedNodes(
+          x -> new double[] {integrant.apply(x)}, intProv, swaptionVolatilities, forward, expiryTime, tenor);
+      integralPart = dfPayment * integrals[0];
+    } else {
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
+      try {
+        if (intProv.getPutCall().isCall()) {
+          integralPart = dfPayment *
+              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        } else {
+          integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        }
+      } catch (Exception e) {
+        throw new MathException(e);
       }
-    } catch (Exception e) {
-      throw new MathException(e);
     }
     double priceCMS = (strikePart + integralPart);
     if (cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
@@ -324,26 +390,34 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         .relativeYearFraction(cmsPeriod.getPaymentDate(), swap.getStartDate());
     CmsDeltaIntegrantProvider intProv = new CmsDeltaIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
     double[] bs = intProv.bsbsp(strikeCpn);
     double[] n = intProv.getNnp();
     double strikePartPrice = intProv.k(strikeCpn) * n[0] * bs[0];
     double integralPartPrice = 0d;
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
-    Function<Double, Double> integrantDelta = intProv.integrantDelta();
-    try {
-      if (intProv.getPutCall().isCall()) {
-        integralPartPrice =
-            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-        integralPart = dfPayment *
-            integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-      } else {
-        integralPartPrice = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
-        integralPart = -dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+    if (quadrature != null) {
+      // the price and delta integrants share the evaluation of the smile at each node
+      double[] integrals = integrateFixedNodes(
+          intProv::integrantPriceAndDelta, intProv, swaptionVolatilities, forward, expiryTime, tenor);
+      integralPartPrice = integrals[0];
+      integralPart = dfPayment * integrals[1];
+    } else {
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
+      Function<Double, Double> integrant = intProv.integrant();
+      Function<Double, Double> integrantDelta = intProv.integrantDelta();
+      try {
+        if (intProv.getPutCall().isCall()) {
+          integralPartPrice =
+              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+          integralPart = dfPayment *
+              integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        } else {
+          integralPartPrice = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+          integralPart = -dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+        }
+      } catch (Exception e) {
+        throw new MathException(e);
       }
-    } catch (Exception e) {
-      throw new MathException(e);
     }
     double deltaPD = strikePartPrice + integralPartPrice;
     if (cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
@@ -404,23 +478,33 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double[] strikePartPrice = intProv.getSabrExtrapolation()
         .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
         .getDerivatives().multipliedBy(factor2).toArray();
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
     double[] totalSensi = new double[4];
-    for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
-      double integralPart = 0d;
-      Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
-      try {
-        if (intProv.getPutCall().isCall()) {
-          integralPart = dfPayment *
-              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-        } else {
-          integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+    if (quadrature != null) {
+      // the four integrants share the evaluation of the smile adjoint at each node
+      double[] integrals = integrateFixedNodes(
+          intProv::integrantVegas, intProv, swaptionVolatilities, forward, expiryTime, tenor);
+      for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+        totalSensi[loopparameter] = (strikePartPrice[loopparameter] + dfPayment * integrals[loopparameter]) *
+            cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
+      }
+    } else {
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
+      for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+        double integralPart = 0d;
+        Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
+        try {
+          if (intProv.getPutCall().isCall()) {
+            integralPart = dfPayment *
+                integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+          } else {
+            integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+          }
+        } catch (Exception e) {
+          throw new RuntimeException(e);
         }
-      } catch (Exception e) {
-        throw new RuntimeException(e);
+        totalSensi[loopparameter] =
+            (strikePartPrice[loopparameter] + integralPart) * cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
       }
-      totalSensi[loopparameter] =
-          (strikePartPrice[loopparameter] + integralPart) * cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
     }
     SwaptionVolatilitiesName name = swaptionVolatilities.getName();
     return PointSensitivityBuilder.of(
@@ -430,6 +514,87 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         SwaptionSabrSensitivity.of(name, expiryTime, tenor, NU, ccy, totalSensi[3]));
   }
 
+  /**
+   * Computes the present value and its sensitivities to the curves and to the SABR parameters.
+   * <p>
+   * The result is the same as that of {@link #presentValue(CmsPeriod, RatesProvider, SabrSwaptionVolatilities)},
+   * {@link #presentValueSensitivityRates(CmsPeriod, RatesProvider, SabrSwaptionVolatilities)} and
+   * {@link #presentValueSensitivityModelParamsSabr(CmsPeriod, RatesProvider, SabrSwaptionVolatilities)}.
+   * With fixed-node integration, the integrants of the present value and of both sensitivities
+   * are evaluated together, thus the smile is evaluated once at each node for the three results.
+   * Otherwise, or if the period is already fixed, the three methods are called in turn.
+   * 
+   * @param cmsPeriod  the CMS 
+   * @param provider  the rates provider
+   * @param swaptionVolatilities  the swaption volatilities
+   * @return the present value, the curve sensitivity and the SABR parameter sensitivity
+   */
+  public Triple<CurrencyAmount, PointSensitivityBuilder, PointSensitivityBuilder> presentValueWithSensitivities(
+      CmsPeriod cmsPeriod,
+      RatesProvider provider,
+      SabrSwaptionVolatilities swaptionVolatilities) {
+
+    SwapIndex index = cmsPeriod.getIndex();
+    LocalDate fixingDate = cmsPeriod.getFixingDate();
+    double expiryTime = swaptionVolatilities.relativeTime(
+        fixingDate.atTime(index.getFixingTime()).atZone(index.getFixingZone()));
+    if (quadrature == null ||
+        !fixingDate.isAfter(swaptionVolatilities.getValuationDateTime().toLocalDate()) ||
+        expiryTime < MIN_TIME) {
+      return Triple.of(
+          presentValue(cmsPeriod, provider, swaptionVolatilities),
+          presentValueSensitivityRates(cmsPeriod, provider, swaptionVolatilities),
+          presentValueSensitivityModelParamsSabr(cmsPeriod, provider, swaptionVolatilities));
+    }
+    Currency ccy = cmsPeriod.getCurrency();
+    ResolvedSwap swap = cmsPeriod.getUnderlyingSwap();
+    double dfPayment = provider.discountFactor(ccy, cmsPeriod.getPaymentDate());
+    double tenor = swaptionVolatilities.tenor(swap.getStartDate(), swap.getEndDate());
+    double shift = swaptionVolatilities.shift(expiryTime, tenor);
+    double strikeCpn = cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON) ? -shift : cmsPeriod.getStrike();
+    double forward = swapPricer.parRate(swap, provider);
+    double eta = index.getTemplate().getConvention().getFixedLeg().getDayCount()
+        .relativeYearFraction(cmsPeriod.getPaymentDate(), swap.getStartDate());
+    CmsDeltaIntegrantProvider intProv = new CmsDeltaIntegrantProvider(
+        cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
+    // the price, delta and vega integrants share the evaluation of the smile at each node
+    double[] integrals = integrateFixedNodes(
+        intProv::integrantPriceDeltaAndVegas, intProv, swaptionVolatilities, forward, expiryTime, tenor);
+    double notionalAccrual = cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
+    // present value and sensitivity to the payment discount factor
+    double[] n = intProv.getNnp();
+    double[] bs = intProv.bsbsp(strikeCpn);
+    double deltaPD = intProv.k(strikeCpn) * n[0] * bs[0] + integrals[0];
+    if (cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
+      deltaPD -= shift;
+    }
+    deltaPD *= notionalAccrual;
+    CurrencyAmount pv = CurrencyAmount.of(ccy, dfPayment * deltaPD);
+    // sensitivity to the forward
+    double strikePart = dfPayment * intProv.k(strikeCpn) * (n[1] * bs[0] + n[0] * bs[1]);
+    double deltaFwd = (strikePart + dfPayment * integrals[1]) * notionalAccrual;
+    PointSensitivityBuilder sensiRates = swapPricer.parRateSensitivity(swap, provider).multipliedBy(deltaFwd)
+        .combinedWith(provider.discountFactors(ccy).zeroRatePointSensitivity(cmsPeriod.getPaymentDate())
+            .multipliedBy(deltaPD));
+    // sensitivity to the SABR parameters
+    double factor2 = dfPayment / intProv.h(forward) * intProv.g(forward) * intProv.k(strikeCpn);
+    DoubleArray strikePartSabr = intProv.getSabrExtrapolation()
+        .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
+        .getDerivatives();
+    double[] totalSensi = new double[4];
+    for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+      totalSensi[loopparameter] =
+          (strikePartSabr.get(loopparameter) * factor2 + dfPayment * integrals[2 + loopparameter]) * notionalAccrual;
+    }
+    SwaptionVolatilitiesName name = swaptionVolatilities.getName();
+    PointSensitivityBuilder sensiSabr = PointSensitivityBuilder.of(
+        SwaptionSabrSensitivity.of(name, expiryTime, tenor, ALPHA, ccy, totalSensi[0]),
+        SwaptionSabrSensitivity.of(name, expiryTime, tenor, BETA, ccy, totalSensi[1]),
+        SwaptionSabrSensitivity.of(name, expiryTime, tenor, RHO, ccy, totalSensi[2]),
+        SwaptionSabrSensitivity.of(name, expiryTime, tenor, NU, ccy, totalSensi[3]));
+    return Triple.of(pv, sensiRates, sensiSabr);
+  }
+
   /**
    * Computes the present value sensitivity to strike by replication in SABR framework with extrapolation on the right.
    * 
@@ -486,17 +651,20 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     CmsIntegrantProvider intProv = new CmsIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strike, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment * intProv.g(forward) / intProv.h(forward);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_STRIKE, NUM_ITER);
     double[] kpkpp = intProv.kpkpp(strike);
-    double firstPart;
+    double firstPart = -kpkpp[0] * intProv.bs(strike);
     double thirdPart;
     Function<Double, Double> integrant = intProv.integrantDualDelta();
-    if (intProv.getPutCall().isCall()) {
-      firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
+    if (quadrature != null) {
+      thirdPart = integrateFixedNodes(
+          x -> new double[] {integrant.apply(x)}, intProv, swaptionVolatilities, forward, expiryTime, tenor)[0];
     } else {
-      firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_STRIKE, NUM_ITER);
+      if (intProv.getPutCall().isCall()) {
+        thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
+      } else {
+        thirdPart = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      }
     }
     double secondPart =
         intProv.k(strike) * intProv.getSabrExtrapolation().priceDerivativeStrike(strike + shift, intProv.getPutCall());
@@ -554,6 +722,112 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     return res;
   }
 
+  // Integrates the integrants with the fixed-node quadrature, returning one integral for each integrant.
+  // The range is the same as for the adaptive integration: from the strike up for a call,
+  // with the sign reversed from the shifted zero to the strike for a put.
+  // The upper end of a call is extended in the same way until the first integrant is negligible.
+  // All the integrants share the nodes, thus the lower end of a put is the shifted zero plus ZERO_SHIFT,
+  // including for the delta integrant whose adaptive integration starts at the shifted zero.
+  // The put price and its derivatives vanish at zero strike, so the omitted interval is negligible.
+  private double[] integrateFixedNodes(
+      DoubleFunction<double[]> integrants,
+      CmsIntegrantProvider intProv,
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double expiryTime,
+      double tenor) {
+
+    double strike = intProv.getStrike();
+    double shift = intProv.getShift();
+    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
+    double stdDev = (forward + shift) * vol * Math.sqrt(expiryTime);
+    if (intProv.getPutCall().isPut()) {
+      double[] res = integrateIntervals(integrants, intervals(-shift + ZERO_SHIFT, strike, forward, stdDev, shift));
+      for (int i = 0; i < res.length; i++) {
+        res[i] = -res[i];
+      }
+      return res;
+    }
+    double upper0 = Math.max(
+        forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
+        Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
+    double upper = Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
+    double[] res = integrateIntervals(integrants, intervals(strike, upper, forward, stdDev, shift));
+    double reminder = integrants.apply(upper)[0] * upper;
+    int count = 0;
+    while (Math.abs(reminder / res[0]) > REL_TOL && count < MAX_COUNT) {
+      double[] tail = integrateIntervals(integrants, new double[] {upper, 2d * upper});
+      for (int i = 0; i < res.length; i++) {
+        res[i] += tail[i];
+      }
+      upper *= 2d;
+      reminder = integrants.apply(upper)[0] * upper;
+      ++count;
+    }
+    return res;
+  }
+
+  // The bounds of the intervals of the fixed-node integration.
+  // The range is split at a number of standard deviations from the forward and at the cut-off strike.
+  // Above the forward, the intervals are further split so that their shifted bounds are in a limited ratio.
+  private double[] intervals(double lower, double upper, double forward, double stdDev, double shift) {
+    if (upper <= lower) {
+      return new double[] {lower, upper};
+    }
+    double[] points = new double[BREAK_POINTS.length + 3];
+    int nbPoints = 0;
+    points[nbPoints++] = lower;
+    points[nbPoints++] = upper;
+    for (double breakPoint : BREAK_POINTS) {
+      double point = forward + breakPoint * stdDev;
+      if (point > lower && point < upper) {
+        points[nbPoints++] = point;
+      }
+    }
+    if (cutOffStrike > lower && cutOffStrike < upper) {
+      points[nbPoints++] = cutOffStrike;
+    }
+    double[] sorted = Arrays.copyOf(points, nbPoints);
+    Arrays.sort(sorted);
+    DoubleArray bounds = DoubleArray.of(sorted[0]);
+    for (int i = 1; i < sorted.length; i++) {
+      double start = bounds.get(bounds.size() - 1);
+      double end = sorted[i];
+      if (end <= start) {
+        continue;
+      }
+      if (start > forward) {
+        while ((end + shift) / (start + shift) > MAX_INTERVAL_RATIO) {
+          start = (start + shift) * MAX_INTERVAL_RATIO - shift;
+          bounds = bounds.concat(start);
+        }
+      }
+      bounds = bounds.concat(end);
+    }
+    return bounds.toArrayUnsafe();
+  }
+
+  // Integrates the integrants with the Gauss-Legendre quadrature in each interval
+  private double[] integrateIntervals(DoubleFunction<double[]> integrants, double[] bounds) {
+    double[] abscissas = quadrature.getAbscissas();
+    double[] weights = quadrature.getWeights();
+    double[] res = null;
+    for (int i = 1; i < bounds.length; i++) {
+      double halfWidth = 0.5 * (bounds[i] - bounds[i - 1]);
+      double mid = 0.5 * (bounds[i] + bounds[i - 1]);
+      for (int j = 0; j < abscissas.length; j++) {
+        double[] values = integrants.apply(mid + halfWidth * abscissas[j]);
+        if (res == null) {
+          res = new double[values.length];
+        }
+        for (int k = 0; k < values.length; k++) {
+          res[k] += halfWidth * weights[j] * values[k];
+        }
+      }
+    }
+    return res;
+  }
+
   /**
    * Explains the present value of the CMS period.
    * <p>
@@ -650,6 +924,15 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       return shift;
     }
 
+    /**
+     * Gets the factor field.
+     * 
+     * @return the factor
+     */
+    protected double getFactor() {
+      return factor;
+    }
+
     /**
      * Gets the sabrExtrapolation field.
      * 
@@ -729,6 +1012,27 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       };
     }
 
+    /**
+     * Computes the integrant sensitivities to the four SABR parameters.
+     * <p>
+     * The price adjoint is computed once for the four parameters.
+     * 
+     * @param x  the swap rate
+     * @return the vega integrants
+     */
+    double[] integrantVegas(double x) {
+      double[] kD = kpkpp(x);
+      // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+      double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
+      DoubleArray priceDerivativeSabr = getSabrExtrapolation().priceAdjointSabr(xShifted, putCall).getDerivatives();
+      double kernel = factor * (kD[1] * (x - strike) + 2d * kD[0]);
+      return new double[] {
+          priceDerivativeSabr.get(0) * kernel,
+          priceDerivativeSabr.get(1) * kernel,
+          priceDerivativeSabr.get(2) * kernel,
+          priceDerivativeSabr.get(3) * kernel};
+    }
+
     /**
      * Obtains the integrant sensitivity to strike.
      * 
@@ -888,6 +1192,49 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       };
     }
 
+    /**
+     * Computes the integrant used in price replication and its sensitivity to forward.
+     * <p>
+     * The price and its derivative are computed together.
+     * 
+     * @param x  the swap rate
+     * @return the price and delta integrants
+     */
+    double[] integrantPriceAndDelta(double x) {
+      double[] kD = kpkpp(x);
+      // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+      double[] bs = bsbsp(x);
+      double kernel = kD[1] * (x - getStrike()) + 2d * kD[0];
+      return new double[] {getFactor() * kernel * bs[0], kernel * (nnp[1] * bs[0] + nnp[0] * bs[1])};
+    }
+
+    /**
+     * Computes the integrants of the price, of its sensitivity to forward and of its sensitivities
+     * to the four SABR parameters.
+     * <p>
+     * The price and its SABR derivatives are obtained from a single price adjoint computation.
+     * 
+     * @param x  the swap rate
+     * @return the price, delta and four vega integrants
+     */
+    double[] integrantPriceDeltaAndVegas(double x) {
+      double[] kD = kpkpp(x);
+      // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+      double xShifted = Math.max(x + getShift(), 0d); // handle tiny but negative number
+      ValueDerivatives priceAdjoint = getSabrExtrapolation().priceAdjointSabr(xShifted, getPutCall());
+      double price = priceAdjoint.getValue();
+      double priceDerivativeForward = getSabrExtrapolation().priceDerivativeForward(xShifted, getPutCall());
+      double kernel = kD[1] * (x - getStrike()) + 2d * kD[0];
+      double priceKernel = getFactor() * kernel;
+      return new double[] {
+          priceKernel * price,
+          kernel * (nnp[1] * price + nnp[0] * priceDerivativeForward),
+          priceAdjoint.getDerivative(0) * priceKernel,
+          priceAdjoint.getDerivative(1) * priceKernel,
+          priceAdjoint.getDerivative(2) * priceKernel,
+          priceAdjoint.getDerivative(3) * priceKernel};
+    }
+
     /**
      * The Black price and its derivative with respect to the forward.
      * 
@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
@@ -41,6 +42,10 @@ class CalibrationDerivative
    * The expected number of parameters for each curve is also provided.
    */
   private final List<CurveParameterSize> curveOrder;
+  /**
+   * Whether the rows of the derivative are computed in parallel.
+   */
+  private final boolean parallel;
 
   /**
    * Creates an instance.
@@ -56,10 +61,33 @@ class CalibrationDerivative
       RatesProviderGenerator providerGenerator,
       List<CurveParameterSize> curveOrder) {
 
+    this(trades, measures, providerGenerator, curveOrder, false);
+  }
+
+  /**
+   * Creates an instance, specifying whether the rows are computed in parallel.
+   * <p>
+   * Each row is the derivative of a single trade, and is independent of the other rows.
+   * The result is the same whether or not the rows are computed in parallel.
+   * 
+   * @param trades  the trades
+   * @param measures  the calibration measures
+   * @param providerGenerator  the provider generator, used to create child providers
+   * @param curveOrder  the curve order
+   * @param parallel  whether the rows are computed in parallel
+   */
+  public CalibrationDerivative(
+      List<ResolvedTrade> trades,
+      CalibrationMeasures measures,
+      RatesProviderGenerator providerGenerator,
+      List<CurveParameterSize> curveOrder,
+      boolean parallel) {
+
     this.measures = measures;
     this.trades = trades;
     this.providerGenerator = providerGenerator;
     this.curveOrder = curveOrder;
+    this.parallel = parallel;
   }
 
   //-------------------------------------------------------------------------
@@ -68,8 +96,27 @@ class CalibrationDerivative
     // create child provider from matrix
     ImmutableRatesProvider provider = providerGenerator.generate(x);
     // calculate derivative for each trade using the child provider
+    return derivatives(trades, measures, provider, curveOrder, trades.size(), parallel);
+  }
+
+  // calculates the derivative of each trade, one row per trade
+  static DoubleMatrix derivatives(
+      List<ResolvedTrade> trades,
+      CalibrationMeasures measures,
+      ImmutableRatesProvider provider,
+      List<CurveParameterSize> curveOrder,
+      int columns,
+      boolean parallel) {
+
     int size = trades.size();
-    return DoubleMatrix.ofArrayObjects(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    if (!parallel) {
+      return DoubleMatrix.ofArrayObjects(size, columns, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    }
+    // each row is written by one task, so the result does not depend on the order of execution
+    DoubleArray[] rows = new DoubleArray[size];
+    IntStream.range(0, size).parallel()
+        .forEach(i -> rows[i] = measures.derivative(trades.get(i), provider, curveOrder));
+    return DoubleMatrix.ofArrayObjects(size, columns, i -> rows[i]);
   }
 
 }
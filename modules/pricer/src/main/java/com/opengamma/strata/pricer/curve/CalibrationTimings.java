@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.curve.CurveGroupName;
+
+/**
+ * Timing counters for curve calibration, recorded per curve group.
+ * <p>
+ * An instance is attached to a calibrator using {@link RatesCurveCalibrator#withTimings(CalibrationTimings)}.
+ * Each time a group is calibrated, the number of executions and the elapsed time of each
+ * {@linkplain Step step} are added to the counters of the group.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class CalibrationTimings {
+
+  /**
+   * The steps of the calibration of a group that are timed.
+   */
+  public enum Step {
+    /**
+     * Finding the root, which includes the evaluation of the derivatives.
+     */
+    ROOT_FINDING,
+    /**
+     * Evaluating the derivative of the calibration measures during root finding.
+     */
+    DERIVATIVE,
+    /**
+     * Computing the Jacobian matrices from the calibrated curves.
+     */
+    JACOBIAN,
+    /**
+     * Computing the present value sensitivity to market quotes.
+     */
+    MARKET_QUOTE_SENSITIVITY,
+  }
+
+  /**
+   * The number of steps.
+   */
+  private static final int STEP_COUNT = Step.values().length;
+
+  /**
+   * The counters, keyed by group name.
+   * Each array holds the count of each step, followed by the total nanoseconds of each step.
+   */
+  private final ConcurrentMap<CurveGroupName, AtomicLongArray> counters = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty set of timings.
+   *
+   * @return the timings
+   */
+  public static CalibrationTimings create() {
+    return new CalibrationTimings();
+  }
+
+  // restricted constructor
+  private CalibrationTimings() {
+  }
+
+  //-------------------------------------------------------------------------
+  // records a single execution of a step
+  void record(CurveGroupName groupName, Step step, long nanos) {
+    AtomicLongArray groupCounters = counters.computeIfAbsent(groupName, name -> new AtomicLongArray(STEP_COUNT * 2));
+    groupCounters.incrementAndGet(step.ordinal());
+    groupCounters.addAndGet(STEP_COUNT + step.ordinal(), nanos);
+  }
+
+  /**
+   * Gets the names of the groups that have been timed.
+   *
+   * @return the group names
+   */
+  public ImmutableSet<CurveGroupName> getGroupNames() {
+    return ImmutableSet.copyOf(counters.keySet());
+  }
+
+  /**
+   * Gets the number of times that a step has been executed for a group.
+   *
+   * @param groupName  the group name
+   * @param step  the step
+   * @return the number of executions, zero if the group has not been timed
+   */
+  public long getCount(CurveGroupName groupName, Step step) {
+    ArgChecker.notNull(groupName, "groupName");
+    ArgChecker.notNull(step, "step");
+    AtomicLongArray groupCounters = counters.get(groupName);
+    return groupCounters == null ? 0 : groupCounters.get(step.ordinal());
+  }
+
+  /**
+   * Gets the total time spent executing a step for a group.
+   *
+   * @param groupName  the group name
+   * @param step  the step
+   * @return the total time, zero if the group has not been timed
+   */
+  public Duration getTotalTime(CurveGroupName groupName, Step step) {
+    ArgChecker.notNull(groupName, "groupName");
+    ArgChecker.notNull(step, "step");
+    AtomicLongArray groupCounters = counters.get(groupName);
+    return Duration.ofNanos(groupCounters == null ? 0 : groupCounters.get(STEP_COUNT + step.ordinal()));
+  }
+
+  /**
+   * Clears all the counters.
+   */
+  public void reset() {
+    counters.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder("CalibrationTimings[");
+    Set<String> names = new TreeSet<>();
+    counters.keySet().forEach(name -> names.add(name.getName()));
+    for (String name : names) {
+      CurveGroupName groupName = CurveGroupName.of(name);
+      buf.append(name).append(':');
+      for (Step step : Step.values()) {
+        buf.append(' ').append(step).append('=').append(getCount(groupName, step))
+            .append('/').append(getTotalTime(groupName, step).toMillis()).append("ms");
+      }
+      buf.append(", ");
+    }
+    if (!names.isEmpty()) {
+      buf.setLength(buf.length() - 2);
+    }
+    return buf.append(']').toString();
+  }
+
+}
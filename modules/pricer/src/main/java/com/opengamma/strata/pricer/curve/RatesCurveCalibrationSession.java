@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator.CalibratedGroups;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.ResolvedTrade;
+
+/**
+ * A session that repeatedly calibrates the same curve groups as the market data changes.
+ * <p>
+ * Intraday, the same curve definitions are typically recalibrated each time a few quotes change.
+ * The session retains the result of the previous calibration and uses it to reduce the work of the next:
+ * <ul>
+ * <li>the resolved node trades of a group are reused if the market data inputs of the group are unchanged
+ * <li>a group, including its Jacobian matrices, is reused if its inputs and those of all earlier groups are unchanged
+ * <li>otherwise the root finder starts from the previously calibrated parameters of the group
+ * </ul>
+ * A change to the valuation date or time-series causes all the node trades to be resolved again,
+ * but the previously calibrated parameters are still used as the starting point.
+ * <p>
+ * The result of each calibration is the same as that of {@link RatesCurveCalibrator}, to within
+ * the tolerance of the root finder.
+ * <p>
+ * This class is mutable and not thread-safe. Calibrations must not be performed concurrently.
+ */
+public final class RatesCurveCalibrationSession {
+
+  /**
+   * The calibrator.
+   */
+  private final RatesCurveCalibrator calibrator;
+  /**
+   * The curve group definitions, calibrated in order.
+   */
+  private final ImmutableList<RatesCurveGroupDefinition> groupDefns;
+  /**
+   * The reference data, used to resolve the trades.
+   */
+  private final ReferenceData refData;
+  /**
+   * The valuation date of the previous calibration, null if none.
+   */
+  private LocalDate valuationDate;
+  /**
+   * The time-series of the previous calibration, null if none.
+   */
+  private Map<Index, LocalDateDoubleTimeSeries> timeSeries;
+  /**
+   * The state of each group after the previous calibration, null if the group has not been calibrated.
+   */
+  private GroupState[] groupStates;
+  /**
+   * The number of groups calibrated by the previous calibration, excluding groups that were reused.
+   */
+  private int calibratedGroupCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a session for a single curve group, containing one or more curves.
+   * <p>
+   * A single group is recalibrated as a whole whenever any of its inputs change.
+   * Use {@link #of(RatesCurveCalibrator, List, ReferenceData)} to split the curves into
+   * groups that can be reused independently.
+   *
+   * @param calibrator  the calibrator
+   * @param curveGroupDefn  the curve group definition
+   * @param refData  the reference data, used to resolve the trades
+   * @return the session
+   */
+  public static RatesCurveCalibrationSession of(
+      RatesCurveCalibrator calibrator,
+      RatesCurveGroupDefinition curveGroupDefn,
+      ReferenceData refData) {
+
+    return of(calibrator, ImmutableList.of(curveGroupDefn), refData);
+  }
+
+  /**
+   * Obtains a session for a list of curve groups, each containing one or more curves.
+   * <p>
+   * The groups are calibrated in order, as in
+   * {@link RatesCurveCalibrator#calibrate(List, ImmutableRatesProvider, MarketData, ReferenceData)}.
+   * A curve must only exist in one group.
+   *
+   * @param calibrator  the calibrator
+   * @param allGroupDefns  the curve group definitions
+   * @param refData  the reference data, used to resolve the trades
+   * @return the session
+   */
+  public static RatesCurveCalibrationSession of(
+      RatesCurveCalibrator calibrator,
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ReferenceData refData) {
+
+    return new RatesCurveCalibrationSession(calibrator, allGroupDefns, refData);
+  }
+
+  // restricted constructor
+  private RatesCurveCalibrationSession(
+      RatesCurveCalibrator calibrator,
+      List<RatesCurveGroupDefinition> groupDefns,
+      ReferenceData refData) {
+
+    this.calibrator = ArgChecker.notNull(calibrator, "calibrator");
+    this.groupDefns = ImmutableList.copyOf(ArgChecker.notNull(groupDefns, "groupDefns"));
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.groupStates = new GroupState[groupDefns.size()];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of groups calibrated by the most recent call to {@link #calibrate(MarketData)}.
+   * <p>
+   * Groups that were reused from the previous calibration are not included.
+   *
+   * @return the number of groups calibrated
+   */
+  public int getCalibratedGroupCount() {
+    return calibratedGroupCount;
+  }
+
+  /**
+   * Calibrates the curve groups using the specified market data.
+   * <p>
+   * Observable market data, time-series and FX are needed to complete the calibration.
+   * The valuation date is defined by the market data.
+   * <p>
+   * The result of the previous calibration is used to avoid repeating work where possible.
+   * If calibration fails, the state of the session is unchanged.
+   *
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(MarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    ImmutableRatesProvider knownData = RatesCurveCalibrator.knownData(marketData);
+    boolean knownDataChanged = !knownData.getValuationDate().equals(valuationDate) ||
+        !knownData.getTimeSeries().equals(timeSeries);
+
+    // perform calibration one group at a time, reusing groups until the first change is found
+    GroupState[] updatedStates = Arrays.copyOf(groupStates, groupStates.length);
+    CalibratedGroups calibrated = CalibratedGroups.of(knownData);
+    boolean reused = false;
+    boolean recalibrate = knownDataChanged;
+    int count = 0;
+    for (int i = 0; i < groupDefns.size(); i++) {
+      RatesCurveGroupDefinition groupDefn = groupDefns.get(i);
+      if (groupDefn.getEntries().isEmpty()) {
+        continue;
+      }
+      GroupState previous = groupStates[i];
+      RatesCurveGroupDefinition groupDefnBound = knownDataChanged || previous == null ?
+          groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries()) :
+          previous.groupDefnBound;
+      Map<MarketDataId<?>, Object> inputs = inputs(groupDefnBound, marketData);
+      boolean inputsChanged = knownDataChanged || previous == null || !previous.inputs.equals(inputs);
+      if (!recalibrate && !inputsChanged) {
+        calibrated = previous.calibrated;
+        reused = true;
+        continue;
+      }
+      ImmutableList<ResolvedTrade> trades = inputsChanged ?
+          groupDefnBound.resolvedTrades(marketData, refData) :
+          previous.trades;
+      DoubleArray initialGuess = previous != null &&
+          previous.calibrated.getGroupParameters().size() == groupDefnBound.getTotalParameterCount() ?
+              previous.calibrated.getGroupParameters() :
+              DoubleArray.copyOf(groupDefnBound.initialGuesses(marketData));
+      if (reused) {
+        calibrated = calibrated.withProvider(withFxRates(calibrated.getProvider(), marketData));
+        reused = false;
+      }
+      calibrated = calibrator.calibrateGroup(groupDefnBound, trades, initialGuess, calibrated, refData);
+      updatedStates[i] = new GroupState(groupDefnBound, inputs, trades, calibrated);
+      recalibrate = true;
+      count++;
+    }
+
+    // update the state only once all groups are calibrated
+    groupStates = updatedStates;
+    valuationDate = knownData.getValuationDate();
+    timeSeries = knownData.getTimeSeries();
+    calibratedGroupCount = count;
+    // a reused provider refers to the FX rates of the market data it was calibrated with
+    return reused ? withFxRates(calibrated.getProvider(), marketData) : calibrated.getProvider();
+  }
+
+  // finds the market data values that the trades of the group are built from
+  private static Map<MarketDataId<?>, Object> inputs(
+      RatesCurveGroupDefinition groupDefn,
+      MarketData marketData) {
+
+    Map<MarketDataId<?>, Object> inputs = new HashMap<>();
+    for (CurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      for (CurveNode node : curveDefn.getNodes()) {
+        for (MarketDataId<?> id : node.requirements()) {
+          inputs.put(id, marketData.getValue(id));
+        }
+      }
+    }
+    return inputs;
+  }
+
+  // replaces the FX rates of the provider with those of the market data
+  private static ImmutableRatesProvider withFxRates(ImmutableRatesProvider provider, MarketData marketData) {
+    return provider.toBuilder()
+        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("RatesCurveCalibrationSession[{}]", groupDefns.size());
+  }
+
+  //-------------------------------------------------------------------------
+  // the state of a group after calibration
+  private static final class GroupState {
+
+    private final RatesCurveGroupDefinition groupDefnBound;
+    private final Map<MarketDataId<?>, Object> inputs;
+    private final ImmutableList<ResolvedTrade> trades;
+    private final CalibratedGroups calibrated;
+
+    private GroupState(
+        RatesCurveGroupDefinition groupDefnBound,
+        Map<MarketDataId<?>, Object> inputs,
+        ImmutableList<ResolvedTrade> trades,
+        CalibratedGroups calibrated) {
+
+      this.groupDefnBound = groupDefnBound;
+      this.inputs = inputs;
+      this.trades = trades;
+      this.calibrated = calibrated;
+    }
+  }
+
+}
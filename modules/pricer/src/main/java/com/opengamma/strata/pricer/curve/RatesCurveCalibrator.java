@@ -12,6 +12,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -25,6 +26,8 @@ import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
@@ -34,6 +37,7 @@ import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
+import com.opengamma.strata.pricer.curve.CalibrationTimings.Step;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.product.ResolvedTrade;
 
@@ -52,6 +56,9 @@ import com.opengamma.strata.product.ResolvedTrade;
  * <p>
  * Once calibrated, the curves are then available for use.
  * Each node in the curve definition becomes a parameter in the matching output curve.
+ * <p>
+ * When the same definitions are calibrated repeatedly as market data changes,
+ * {@link RatesCurveCalibrationSession} reuses the results of the previous calibration.
  */
 public final class RatesCurveCalibrator {
 
@@ -79,6 +86,14 @@ public final class RatesCurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * Whether the rows of the derivative matrices are computed in parallel.
+   */
+  private final boolean parallel;
+  /**
+   * The timings that are updated as groups are calibrated, null if not timed.
+   */
+  private final CalibrationTimings timings;
 
   //-------------------------------------------------------------------------
   /**
@@ -154,7 +169,7 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures pvMeasures) {
 
     NewtonVectorRootFinder rootFinder = NewtonVectorRootFinder.broyden(toleranceAbs, toleranceRel, stepMaximum);
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, false, null);
   }
 
   /**
@@ -171,7 +186,7 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, false, null);
   }
 
   //-------------------------------------------------------------------------
@@ -179,11 +194,43 @@ public final class RatesCurveCalibrator {
   private RatesCurveCalibrator(
       NewtonVectorRootFinder rootFinder,
       CalibrationMeasures measures,
-      CalibrationMeasures pvMeasures) {
+      CalibrationMeasures pvMeasures,
+      boolean parallel,
+      CalibrationTimings timings) {
 
     this.rootFinder = ArgChecker.notNull(rootFinder, "rootFinder");
     this.measures = ArgChecker.notNull(measures, "measures");
     this.pvMeasures = ArgChecker.notNull(pvMeasures, "pvMeasures");
+    this.parallel = parallel;
+    this.timings = timings;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this calibrator that computes the derivatives in parallel.
+   * <p>
+   * Calibration uses the sensitivity of each node trade to the curve parameters.
+   * These rows are independent of each other, and for large groups can be computed in parallel
+   * using the common fork-join pool. The calibrated curves are the same whether or not
+   * the rows are computed in parallel.
+   *
+   * @param parallel  whether to compute the derivatives in parallel
+   * @return the calibrator
+   */
+  public RatesCurveCalibrator withParallelDerivatives(boolean parallel) {
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, parallel, timings);
+  }
+
+  /**
+   * Returns a copy of this calibrator that records the time taken to calibrate each group.
+   * <p>
+   * The timings are updated each time a group is calibrated by the returned calibrator.
+   *
+   * @param timings  the timings to update
+   * @return the calibrator
+   */
+  public RatesCurveCalibrator withTimings(CalibrationTimings timings) {
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, parallel, ArgChecker.notNull(timings, "timings"));
   }
 
   //-------------------------------------------------------------------------
@@ -216,14 +263,50 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
+  }
+
+  /**
+   * Calibrates a single curve group, containing one or more curves, starting from the specified initial guesses.
+   * <p>
+   * The calibration is defined using {@link RatesCurveGroupDefinition}.
+   * Observable market data, time-series and FX are also needed to complete the calibration.
+   * The valuation date is defined by the market data.
+   * <p>
+   * The initial guesses are typically the parameters of a previous calibration of the same definition,
+   * such as the base scenario when calibrating a set of perturbed scenarios.
+   * Starting close to the solution reduces the number of root finder iterations.
+   * If a curve is not present in the map, or has a different number of parameters to the definition,
+   * the initial guess of the curve definition is used.
+   * <p>
+   * The Jacobian matrices are computed and stored in curve metadata.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param initialGuesses  the initial guesses for the curve parameters, keyed by curve name
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      RatesCurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      Map<CurveName, DoubleArray> initialGuesses) {
+
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData, initialGuesses);
+  }
+
+  // creates the known data from the time-series and FX rates in the market data
+  static ImmutableRatesProvider knownData(MarketData marketData) {
     Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
         .flatMap(filtering(IndexQuoteId.class))
         .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
         .fxRateProvider(MarketDataFxRateProvider.of(marketData))
         .timeSeries(timeSeries)
         .build();
-    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
   /**
@@ -246,6 +329,35 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    return calibrate(allGroupDefns, knownData, marketData, refData, ImmutableMap.of());
+  }
+
+  /**
+   * Calibrates a list of curve groups, each containing one or more curves, starting from the specified initial guesses.
+   * <p>
+   * The calibration is defined using a list of {@link RatesCurveGroupDefinition}.
+   * Observable market data and existing known data are also needed to complete the calibration.
+   * <p>
+   * A curve must only exist in one group.
+   * <p>
+   * If a curve is not present in the map of initial guesses, or has a different number of parameters
+   * to the definition, the initial guess of the curve definition is used.
+   *
+   * @param allGroupDefns  the curve group definitions
+   * @param knownData  the starting data for the calibration
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param refData  the reference data, used to resolve the trades
+   * @param initialGuesses  the initial guesses for the curve parameters, keyed by curve name
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      Map<CurveName, DoubleArray> initialGuesses) {
+
+    ArgChecker.notNull(initialGuesses, "initialGuesses");
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -253,10 +365,8 @@ public final class RatesCurveCalibrator {
       throw new IllegalArgumentException(Messages.format(
           "Valuation dates do not match: {} and {}", knownData.getValuationDate(), marketData.getValuationDate()));
     }
-    // perform calibration one group at a time, building up the result by mutating these variables
-    ImmutableRatesProvider providerCombined = knownData;
-    ImmutableList<CurveParameterSize> orderPrev = ImmutableList.of();
-    ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians = ImmutableMap.of();
+    // perform calibration one group at a time, building up the result
+    CalibratedGroups calibrated = CalibratedGroups.of(knownData);
     for (RatesCurveGroupDefinition groupDefn : allGroupDefns) {
       if (groupDefn.getEntries().isEmpty()) {
         continue;
@@ -265,35 +375,57 @@ public final class RatesCurveCalibrator {
           groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
       // combine all data in the group into flat lists
       ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
-      ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
-      ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
-          .addAll(orderPrev)
-          .addAll(orderGroup)
-          .build();
-
-      // calibrate
-      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
-      ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
-
-      // use calibration to build Jacobian matrices
-      if (groupDefnBound.isComputeJacobian()) {
-        jacobians = updateJacobiansForGroup(
-            calibratedProvider, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobians);
-      }
-      ImmutableMap<CurveName, DoubleArray> sensitivityToMarketQuote = ImmutableMap.of();
-      if (groupDefnBound.isComputePvSensitivityToMarketQuote()) {
-        ImmutableRatesProvider providerWithJacobian = providerGenerator.generate(calibratedGroupParams, jacobians);
-        sensitivityToMarketQuote = sensitivityToMarketQuoteForGroup(providerWithJacobian, trades, orderGroup);
-      }
-      orderPrev = orderPrevAndGroup;
-
-      // use Jacobians to build output curves
-      providerCombined = providerGenerator.generate(calibratedGroupParams, jacobians, sensitivityToMarketQuote);
+      DoubleArray initialGuess = initialGuess(groupDefnBound, marketData, initialGuesses);
+      calibrated = calibrateGroup(groupDefnBound, trades, initialGuess, calibrated, refData);
     }
     // return the calibrated provider
-    return providerCombined;
+    return calibrated.getProvider();
+  }
+
+  // calibrates a single group, building on the results of the previous groups
+  CalibratedGroups calibrateGroup(
+      RatesCurveGroupDefinition groupDefnBound,
+      ImmutableList<ResolvedTrade> trades,
+      DoubleArray initialGuess,
+      CalibratedGroups previous,
+      ReferenceData refData) {
+
+    ImmutableList<CurveParameterSize> orderPrev = previous.getOrder();
+    ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians = previous.getJacobians();
+    ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
+    ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
+        .addAll(orderPrev)
+        .addAll(orderGroup)
+        .build();
+
+    // calibrate
+    CurveGroupName groupName = groupDefnBound.getName();
+    RatesProviderGenerator providerGenerator =
+        ImmutableRatesProviderGenerator.of(previous.getProvider(), groupDefnBound, refData);
+    long start = System.nanoTime();
+    DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuess, orderGroup, groupName);
+    recordTime(groupName, Step.ROOT_FINDING, start);
+    ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
+
+    // use calibration to build Jacobian matrices
+    if (groupDefnBound.isComputeJacobian()) {
+      start = System.nanoTime();
+      jacobians = updateJacobiansForGroup(
+          calibratedProvider, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobians);
+      recordTime(groupName, Step.JACOBIAN, start);
+    }
+    ImmutableMap<CurveName, DoubleArray> sensitivityToMarketQuote = ImmutableMap.of();
+    if (groupDefnBound.isComputePvSensitivityToMarketQuote()) {
+      start = System.nanoTime();
+      ImmutableRatesProvider providerWithJacobian = providerGenerator.generate(calibratedGroupParams, jacobians);
+      sensitivityToMarketQuote = sensitivityToMarketQuoteForGroup(providerWithJacobian, trades, orderGroup);
+      recordTime(groupName, Step.MARKET_QUOTE_SENSITIVITY, start);
+    }
+
+    // use Jacobians to build output curves
+    ImmutableRatesProvider providerCombined =
+        providerGenerator.generate(calibratedGroupParams, jacobians, sensitivityToMarketQuote);
+    return new CalibratedGroups(providerCombined, orderPrevAndGroup, jacobians, calibratedGroupParams);
   }
 
   //-------------------------------------------------------------------------
@@ -302,24 +434,61 @@ public final class RatesCurveCalibrator {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
   }
 
+  // determines the initial guess for a group, using the supplied guesses in preference to the definition
+  private static DoubleArray initialGuess(
+      RatesCurveGroupDefinition groupDefn,
+      MarketData marketData,
+      Map<CurveName, DoubleArray> initialGuesses) {
+
+    if (initialGuesses.isEmpty()) {
+      return DoubleArray.copyOf(groupDefn.initialGuesses(marketData));
+    }
+    DoubleArray result = DoubleArray.EMPTY;
+    for (CurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      DoubleArray guess = initialGuesses.get(curveDefn.getName());
+      if (guess != null && guess.size() == curveDefn.getParameterCount()) {
+        result = result.concat(guess);
+      } else {
+        result = result.concat(DoubleArray.copyOf(curveDefn.initialGuess(marketData)));
+      }
+    }
+    return result;
+  }
+
   //-------------------------------------------------------------------------
   // calibrates a single group
   private DoubleArray calibrateGroup(
       RatesProviderGenerator providerGenerator,
       ImmutableList<ResolvedTrade> trades,
-      ImmutableList<Double> initialGuesses,
-      ImmutableList<CurveParameterSize> curveOrder) {
+      DoubleArray initialGuess,
+      ImmutableList<CurveParameterSize> curveOrder,
+      CurveGroupName groupName) {
 
     // setup for calibration
     Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
     Function<DoubleArray, DoubleMatrix> derivativeCalculator =
-        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
+        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder, parallel);
+    if (timings != null) {
+      Function<DoubleArray, DoubleMatrix> untimed = derivativeCalculator;
+      derivativeCalculator = x -> {
+        long start = System.nanoTime();
+        DoubleMatrix derivative = untimed.apply(x);
+        recordTime(groupName, Step.DERIVATIVE, start);
+        return derivative;
+      };
+    }
 
     // calibrate
-    DoubleArray initialGuess = DoubleArray.copyOf(initialGuesses);
     return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
   }
 
+  // records the time since the start, if timings are enabled
+  private void recordTime(CurveGroupName groupName, Step step, long start) {
+    if (timings != null) {
+      timings.record(groupName, step, System.nanoTime() - start);
+    }
+  }
+
   //-------------------------------------------------------------------------
   // calculates the Jacobian and builds the result, called once per group
   // this uses, but does not alter, data from previous groups
@@ -376,17 +545,18 @@ public final class RatesCurveCalibrator {
       ImmutableList<ResolvedTrade> trades,
       ImmutableList<CurveParameterSize> orderGroup) {
 
+    // the sensitivity of each node trade to the parameter of its own node
+    int nbNodes = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[] mqsAll = new double[nbNodes];
+    IntStream nodeIndices = parallel ? IntStream.range(0, nbNodes).parallel() : IntStream.range(0, nbNodes);
+    nodeIndices.forEach(i -> mqsAll[i] = pvMeasures.derivative(trades.get(i), provider, orderGroup).get(i));
+
     Builder<CurveName, DoubleArray> mqsGroup = new Builder<>();
     int nodeIndex = 0;
     for (CurveParameterSize cps : orderGroup) {
       int nbParameters = cps.getParameterCount();
-      double[] mqsCurve = new double[nbParameters];
-      for (int looptrade = 0; looptrade < nbParameters; looptrade++) {
-        DoubleArray mqsNode = pvMeasures.derivative(trades.get(nodeIndex), provider, orderGroup);
-        mqsCurve[looptrade] = mqsNode.get(nodeIndex);
-        nodeIndex++;
-      }
-      mqsGroup.put(cps.getName(), DoubleArray.ofUnsafe(mqsCurve));
+      mqsGroup.put(cps.getName(), DoubleArray.copyOf(mqsAll, nodeIndex, nodeIndex + nbParameters));
+      nodeIndex += nbParameters;
     }
     return mqsGroup.build();
   }
@@ -398,10 +568,7 @@ public final class RatesCurveCalibrator {
       ImmutableList<CurveParameterSize> orderAll,
       int totalParamsAll) {
 
-    return DoubleMatrix.ofArrayObjects(
-        trades.size(),
-        totalParamsAll,
-        i -> measures.derivative(trades.get(i), provider, orderAll));
+    return CalibrationDerivative.derivatives(trades, measures, provider, orderAll, totalParamsAll, parallel);
   }
 
   // jacobian direct, for the current group
@@ -474,4 +641,69 @@ public final class RatesCurveCalibrator {
     return Messages.format("CurveCalibrator[{}]", measures);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The state of a calibration after one or more groups have been calibrated.
+   * <p>
+   * This captures everything that the calibration of the next group depends on.
+   */
+  static final class CalibratedGroups {
+
+    /**
+     * The provider containing the known data and the curves calibrated so far.
+     */
+    private final ImmutableRatesProvider provider;
+    /**
+     * The order of the curves calibrated so far.
+     */
+    private final ImmutableList<CurveParameterSize> order;
+    /**
+     * The Jacobian matrices of the curves calibrated so far.
+     */
+    private final ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians;
+    /**
+     * The calibrated parameters of the last group.
+     */
+    private final DoubleArray groupParameters;
+
+    // obtains the state before any group is calibrated
+    static CalibratedGroups of(ImmutableRatesProvider knownData) {
+      return new CalibratedGroups(knownData, ImmutableList.of(), ImmutableMap.of(), DoubleArray.EMPTY);
+    }
+
+    // restricted constructor
+    private CalibratedGroups(
+        ImmutableRatesProvider provider,
+        ImmutableList<CurveParameterSize> order,
+        ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians,
+        DoubleArray groupParameters) {
+
+      this.provider = provider;
+      this.order = order;
+      this.jacobians = jacobians;
+      this.groupParameters = groupParameters;
+    }
+
+    ImmutableRatesProvider getProvider() {
+      return provider;
+    }
+
+    ImmutableList<CurveParameterSize> getOrder() {
+      return order;
+    }
+
+    ImmutableMap<CurveName, JacobianCalibrationMatrix> getJacobians() {
+      return jacobians;
+    }
+
+    DoubleArray getGroupParameters() {
+      return groupParameters;
+    }
+
+    // returns a copy with a different provider
+    CalibratedGroups withProvider(ImmutableRatesProvider provider) {
+      return new CalibratedGroups(provider, order, jacobians, groupParameters);
+    }
+  }
+
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.exposure;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Streaming accumulator of the simulated values of a netting set.
+ * <p>
+ * The values of each path are added one date at a time and are not stored.
+ * For each date, the accumulator holds the sums of the positive and negative parts of the values
+ * and a bounded min-heap of the largest exposures. The capacity of the heap is the number of exposures
+ * above the quantile, {@code (1 - q) * N + 1} for the quantile level {@code q} and {@code N} paths,
+ * so that the quantile is exact. The memory is thus still linear in the number of paths, but only
+ * a fraction {@code 1 - q} of the values is held, rather than every simulated value.
+ * The heaps grow on demand, thus the accumulator of a small block of paths remains small.
+ * <p>
+ * Accumulators of different blocks of paths can be merged. The merged result does not depend on the
+ * order in which the values were added to each block.
+ * <p>
+ * An instance is not thread-safe.
+ */
+final class ExposureAccumulator {
+
+  /**
+   * The initial size of the heap arrays, which grow up to the heap capacity.
+   */
+  private static final int INITIAL_HEAP_SIZE = 16;
+
+  /**
+   * The total number of paths.
+   */
+  private final int numberOfPaths;
+  /**
+   * The maximum number of exposures held in each heap.
+   */
+  private final int heapCapacity;
+  /**
+   * The sum of the positive parts of the values for each date.
+   */
+  private final double[] sumPositive;
+  /**
+   * The sum of the negative parts of the values for each date.
+   */
+  private final double[] sumNegative;
+  /**
+   * The min-heap of the largest exposures for each date.
+   */
+  private final double[][] heaps;
+  /**
+   * The number of exposures in each heap.
+   */
+  private final int[] heapSizes;
+  /**
+   * The number of paths added.
+   */
+  private int count;
+
+  /**
+   * Creates an empty accumulator.
+   *
+   * @param numberOfDates  the number of simulation dates
+   * @param numberOfPaths  the total number of paths, used to size the heaps
+   * @param quantile  the quantile level of the potential future exposure
+   */
+  ExposureAccumulator(int numberOfDates, int numberOfPaths, double quantile) {
+    ArgChecker.notNegativeOrZero(numberOfDates, "numberOfDates");
+    ArgChecker.notNegativeOrZero(numberOfPaths, "numberOfPaths");
+    ArgChecker.inRangeExclusive(quantile, 0d, 1d, "quantile");
+    this.numberOfPaths = numberOfPaths;
+    this.heapCapacity = numberOfPaths - quantileRank(numberOfPaths, quantile) + 1;
+    this.sumPositive = new double[numberOfDates];
+    this.sumNegative = new double[numberOfDates];
+    this.heaps = new double[numberOfDates][Math.min(heapCapacity, INITIAL_HEAP_SIZE)];
+    this.heapSizes = new int[numberOfDates];
+  }
+
+  // the one-based rank of the quantile in the sorted values, the tolerance avoids rounding up exact products
+  static int quantileRank(int numberOfPaths, double quantile) {
+    return Math.max(1, (int) Math.ceil(quantile * numberOfPaths - 1e-10));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the values of one path.
+   *
+   * @param values  the value of the netting set at each date
+   */
+  void add(double[] values) {
+    ArgChecker.isTrue(values.length == sumPositive.length, "Values must match the number of dates");
+    for (int i = 0; i < values.length; i++) {
+      double value = values[i];
+      if (value > 0d) {
+        sumPositive[i] += value;
+      } else {
+        sumNegative[i] += value;
+      }
+      offer(i, Math.max(value, 0d));
+    }
+    count++;
+  }
+
+  /**
+   * Adds the content of another accumulator.
+   *
+   * @param other  the accumulator of another block of paths
+   */
+  void addAll(ExposureAccumulator other) {
+    ArgChecker.isTrue(other.sumPositive.length == sumPositive.length, "Accumulators must have the same dates");
+    ArgChecker.isTrue(other.heapCapacity == heapCapacity, "Accumulators must have the same heap capacity");
+    for (int i = 0; i < sumPositive.length; i++) {
+      sumPositive[i] += other.sumPositive[i];
+      sumNegative[i] += other.sumNegative[i];
+      for (int j = 0; j < other.heapSizes[i]; j++) {
+        offer(i, other.heaps[i][j]);
+      }
+    }
+    count += other.count;
+  }
+
+  /**
+   * Gets the number of paths added.
+   *
+   * @return the number of paths
+   */
+  int getCount() {
+    return count;
+  }
+
+  /**
+   * Creates the exposure profile once all the paths have been added.
+   *
+   * @param currency  the currency of the values
+   * @param dates  the simulation dates
+   * @param quantile  the quantile level of the potential future exposure
+   * @return the profile
+   */
+  ExposureProfile toProfile(Currency currency, List<LocalDate> dates, double quantile) {
+    ArgChecker.isTrue(count == numberOfPaths, "Expected {} paths but {} were added", numberOfPaths, count);
+    int nDates = sumPositive.length;
+    double[] pfe = new double[nDates];
+    for (int i = 0; i < nDates; i++) {
+      pfe[i] = heaps[i][0];
+    }
+    return ExposureProfile.of(
+        currency,
+        dates,
+        DoubleArray.copyOf(sumPositive).dividedBy(count),
+        DoubleArray.copyOf(sumNegative).dividedBy(count),
+        DoubleArray.ofUnsafe(pfe),
+        quantile);
+  }
+
+  //-------------------------------------------------------------------------
+  // adds an exposure to the heap of a date, replacing the smallest one when full
+  private void offer(int dateIndex, double exposure) {
+    double[] heap = heaps[dateIndex];
+    int size = heapSizes[dateIndex];
+    if (size < heapCapacity) {
+      if (size == heap.length) {
+        heap = Arrays.copyOf(heap, Math.min(heapCapacity, 2 * size));
+        heaps[dateIndex] = heap;
+      }
+      int k = size;
+      while (k > 0) {
+        int parent = (k - 1) >>> 1;
+        if (heap[parent] <= exposure) {
+          break;
+        }
+        heap[k] = heap[parent];
+        k = parent;
+      }
+      heap[k] = exposure;
+      heapSizes[dateIndex] = size + 1;
+    } else if (exposure > heap[0]) {
+      int k = 0;
+      int half = size >>> 1;
+      while (k < half) {
+        int child = 2 * k + 1;
+        if (child + 1 < size && heap[child + 1] < heap[child]) {
+          child++;
+        }
+        if (exposure <= heap[child]) {
+          break;
+        }
+        heap[k] = heap[child];
+        k = child;
+      }
+      heap[k] = exposure;
+    }
+  }
+
+}
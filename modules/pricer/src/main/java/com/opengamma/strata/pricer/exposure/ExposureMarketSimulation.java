@@ -0,0 +1,537 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.exposure;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.currency.FxMatrixBuilder;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.IndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionVolatilities;
+import com.opengamma.strata.pricer.impl.montecarlo.HullWhiteMonteCarloModel;
+import com.opengamma.strata.pricer.impl.montecarlo.LognormalFxMonteCarloModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.DiscountIborIndexRates;
+import com.opengamma.strata.pricer.rate.DiscountOvernightIndexRates;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+
+/**
+ * Simulation of the market data on the future dates of an exposure profile.
+ * <p>
+ * The risk factors are the discount curves of the currencies and the FX rates against the reporting currency.
+ * The discount curve of a currency with Hull-White parameters is simulated by {@link HullWhiteMonteCarloModel},
+ * the FX rate of a currency with Black volatilities against the reporting currency by
+ * {@link LognormalFxMonteCarloModel}. Each simulated factor is driven by its own normal numbers,
+ * thus the factors are independent. The other factors are rolled forward deterministically,
+ * that is {@code P(t, u) = P(0, u) / P(0, t)} for the curves and the forward rate for the FX rates.
+ * <p>
+ * On each path and date, a rates provider is created with the simulation date as valuation date.
+ * The discount curves are zero-rate curves interpolated on fixed tenors. The index curves keep the
+ * deterministic spread to the discount curve of their currency observed on the valuation date.
+ * The fixings between two simulation dates are the forward rates of the rates provider of the earlier date,
+ * they are added to the time-series of the later rates providers within a window of {@value #FIXING_WINDOW_DAYS} days.
+ * <p>
+ * An instance is immutable and can be shared between threads.
+ */
+final class ExposureMarketSimulation {
+
+  /**
+   * The tenors of the nodes of the simulated curves.
+   */
+  private static final ImmutableList<Period> CURVE_TENORS = ImmutableList.of(
+      Period.ofMonths(1), Period.ofMonths(3), Period.ofMonths(6), Period.ofMonths(9), Period.ofYears(1),
+      Period.ofMonths(18), Period.ofYears(2), Period.ofYears(3), Period.ofYears(4), Period.ofYears(5),
+      Period.ofYears(6), Period.ofYears(7), Period.ofYears(8), Period.ofYears(9), Period.ofYears(10),
+      Period.ofYears(12), Period.ofYears(15), Period.ofYears(20), Period.ofYears(25), Period.ofYears(30),
+      Period.ofYears(40));
+  /**
+   * The day count of the simulated curves.
+   */
+  private static final DayCount CURVE_DAY_COUNT = DayCounts.ACT_365F;
+  /**
+   * The interpolator of the simulated curves.
+   */
+  private static final CurveInterpolator CURVE_INTERPOLATOR = CurveInterpolators.LINEAR;
+  /**
+   * The number of days of simulated fixings kept in the time-series.
+   */
+  static final int FIXING_WINDOW_DAYS = 400;
+
+  /**
+   * The rates provider on the valuation date.
+   */
+  private final ImmutableRatesProvider ratesProvider;
+  /**
+   * The simulation dates.
+   */
+  private final ImmutableList<LocalDate> dates;
+  /**
+   * The reporting currency.
+   */
+  private final Currency reportingCurrency;
+  /**
+   * The currencies of the discount curves.
+   */
+  private final ImmutableList<Currency> currencies;
+  /**
+   * The rate model of each currency, null if the curve is deterministic.
+   */
+  private final HullWhiteMonteCarloModel[] rateModels;
+  /**
+   * The currencies of the FX rates against the reporting currency.
+   */
+  private final ImmutableList<Currency> fxCurrencies;
+  /**
+   * The FX model of each FX currency, null if the FX rate is deterministic.
+   */
+  private final LognormalFxMonteCarloModel[] fxModels;
+  /**
+   * Whether the pair of the FX model is the inverse of the FX currency against the reporting currency.
+   */
+  private final boolean[] fxInverted;
+  /**
+   * The deterministic FX rate of each FX currency against the reporting currency, for each date.
+   */
+  private final double[][] fxForwards;
+  /**
+   * The node dates of the simulated curves, for each date.
+   */
+  private final ImmutableList<ImmutableList<LocalDate>> nodeDates;
+  /**
+   * The node times of the simulated curves, for each date.
+   */
+  private final DoubleArray[] nodeTimes;
+  /**
+   * The metadata of the simulated discount curve of each currency.
+   */
+  private final CurveMetadata[] discountMetadata;
+  /**
+   * The deterministic discount curves, for each currency and date, null for simulated currencies.
+   */
+  private final Curve[][] deterministicDiscountCurves;
+  /**
+   * The indices.
+   */
+  private final ImmutableList<Index> indices;
+  /**
+   * The position of the currency of each index in the currencies.
+   */
+  private final int[] indexCurrencies;
+  /**
+   * The metadata of the simulated curve of each index.
+   */
+  private final CurveMetadata[] indexMetadata;
+  /**
+   * The zero-rate spread of each index to the discount curve, for each date and node.
+   */
+  private final double[][][] indexZeroSpreads;
+  /**
+   * The fixings to simulate between the previous date and each date, for each index.
+   */
+  private final ImmutableList<ImmutableList<ImmutableList<IndexObservation>>> fixingObservations;
+  /**
+   * The fixing dates of all the simulated fixings, for each index.
+   */
+  private final LocalDate[][] fixingDates;
+  /**
+   * The position of the first simulated fixing within the window, for each index and date.
+   */
+  private final int[][] fixingWindowStarts;
+  /**
+   * The position after the last simulated fixing before each date, for each index.
+   */
+  private final int[][] fixingWindowEnds;
+  /**
+   * The time-series of the valuation date within the window, for each index and date.
+   */
+  private final LocalDateDoubleTimeSeries[][] baseFixings;
+  /**
+   * The number of simulated factors.
+   */
+  private final int numberOfFactors;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param ratesProvider  the rates provider on the valuation date
+   * @param dates  the simulation dates, sorted in increasing order and after the valuation date
+   * @param reportingCurrency  the reporting currency
+   * @param currencies  the currencies of the discount curves to simulate
+   * @param indices  the indices to simulate
+   * @param hwProviders  the Hull-White parameters of the simulated currencies
+   * @param fxVolatilities  the volatilities of the simulated FX rates against the reporting currency
+   * @param refData  the reference data
+   */
+  ExposureMarketSimulation(
+      ImmutableRatesProvider ratesProvider,
+      List<LocalDate> dates,
+      Currency reportingCurrency,
+      Set<Currency> currencies,
+      Set<Index> indices,
+      Map<Currency, HullWhiteOneFactorPiecewiseConstantParametersProvider> hwProviders,
+      Map<CurrencyPair, BlackFxOptionVolatilities> fxVolatilities,
+      ReferenceData refData) {
+
+    this.ratesProvider = ratesProvider;
+    this.dates = ImmutableList.copyOf(dates);
+    this.reportingCurrency = reportingCurrency;
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    int nDates = dates.size();
+
+    // curve nodes
+    ImmutableList.Builder<ImmutableList<LocalDate>> nodeDatesBuilder = ImmutableList.builder();
+    this.nodeTimes = new DoubleArray[nDates];
+    for (int i = 0; i < nDates; i++) {
+      LocalDate date = dates.get(i);
+      ImmutableList<LocalDate> nodes = CURVE_TENORS.stream().map(date::plus).collect(toImmutableList());
+      nodeDatesBuilder.add(nodes);
+      nodeTimes[i] = DoubleArray.of(nodes.size(), k -> CURVE_DAY_COUNT.relativeYearFraction(date, nodes.get(k)));
+    }
+    this.nodeDates = nodeDatesBuilder.build();
+
+    // discount curves
+    this.currencies = ImmutableList.copyOf(currencies);
+    int nCurrencies = this.currencies.size();
+    this.rateModels = new HullWhiteMonteCarloModel[nCurrencies];
+    this.discountMetadata = new CurveMetadata[nCurrencies];
+    this.deterministicDiscountCurves = new Curve[nCurrencies][];
+    int factors = 0;
+    for (int c = 0; c < nCurrencies; c++) {
+      Currency currency = this.currencies.get(c);
+      DiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+      discountMetadata[c] = Curves.zeroRates(ratesProvider.getDiscountCurves().get(currency).getName(), CURVE_DAY_COUNT);
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider = hwProviders.get(currency);
+      if (hwProvider != null) {
+        rateModels[c] = HullWhiteMonteCarloModel.of(hwProvider, discountFactors, dates);
+        factors++;
+      } else {
+        deterministicDiscountCurves[c] = new Curve[nDates];
+        for (int i = 0; i < nDates; i++) {
+          double[] zeros = forwardZeroRates(discountFactors, i);
+          deterministicDiscountCurves[c][i] = curve(discountMetadata[c], i, zeros);
+        }
+      }
+    }
+
+    // FX rates
+    this.fxCurrencies = this.currencies.stream()
+        .filter(currency -> !currency.equals(reportingCurrency))
+        .collect(toImmutableList());
+    int nFx = fxCurrencies.size();
+    this.fxModels = new LognormalFxMonteCarloModel[nFx];
+    this.fxInverted = new boolean[nFx];
+    this.fxForwards = new double[nFx][nDates];
+    DiscountFactors reportingDiscountFactors = ratesProvider.discountFactors(reportingCurrency);
+    for (int f = 0; f < nFx; f++) {
+      Currency currency = fxCurrencies.get(f);
+      DiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+      double spot = ratesProvider.fxRate(currency, reportingCurrency);
+      for (int i = 0; i < nDates; i++) {
+        LocalDate date = dates.get(i);
+        fxForwards[f][i] = spot * discountFactors.discountFactor(date) / reportingDiscountFactors.discountFactor(date);
+      }
+      CurrencyPair pair = CurrencyPair.of(currency, reportingCurrency);
+      BlackFxOptionVolatilities volatilities = fxVolatilities.get(pair);
+      if (volatilities == null) {
+        volatilities = fxVolatilities.get(pair.inverse());
+        pair = pair.inverse();
+        fxInverted[f] = true;
+      }
+      if (volatilities != null) {
+        ZonedDateTime valuationDateTime = volatilities.getValuationDateTime();
+        List<ZonedDateTime> dateTimes = dates.stream()
+            .map(date -> date.atTime(valuationDateTime.toLocalTime()).atZone(valuationDateTime.getZone()))
+            .collect(toImmutableList());
+        fxModels[f] = LognormalFxMonteCarloModel.of(pair, ratesProvider, volatilities, dateTimes);
+        factors++;
+      }
+    }
+    this.numberOfFactors = factors;
+
+    // index curves
+    this.indices = ImmutableList.copyOf(indices);
+    int nIndices = this.indices.size();
+    this.indexCurrencies = new int[nIndices];
+    this.indexMetadata = new CurveMetadata[nIndices];
+    this.indexZeroSpreads = new double[nIndices][nDates][];
+    ImmutableList.Builder<ImmutableList<ImmutableList<IndexObservation>>> observationsBuilder = ImmutableList.builder();
+    this.fixingDates = new LocalDate[nIndices][];
+    this.fixingWindowStarts = new int[nIndices][nDates];
+    this.fixingWindowEnds = new int[nIndices][nDates];
+    this.baseFixings = new LocalDateDoubleTimeSeries[nIndices][nDates];
+    for (int j = 0; j < nIndices; j++) {
+      Index index = this.indices.get(j);
+      Currency currency = indexCurrency(index);
+      indexCurrencies[j] = this.currencies.indexOf(currency);
+      ArgChecker.isTrue(indexCurrencies[j] >= 0, "No discount curve simulated for the currency of index {}", index);
+      DiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+      DiscountFactors indexDiscountFactors = indexDiscountFactors(index);
+      indexMetadata[j] = Curves.zeroRates(ratesProvider.getIndexCurves().get(index).getName(), CURVE_DAY_COUNT);
+      for (int i = 0; i < nDates; i++) {
+        double[] indexZeros = forwardZeroRates(indexDiscountFactors, i);
+        double[] zeros = forwardZeroRates(discountFactors, i);
+        for (int k = 0; k < zeros.length; k++) {
+          indexZeros[k] -= zeros[k];
+        }
+        indexZeroSpreads[j][i] = indexZeros;
+      }
+      // fixing observations
+      HolidayCalendar calendar = fixingCalendar(index, refData);
+      LocalDateDoubleTimeSeries timeSeries = ratesProvider.timeSeries(index);
+      ImmutableList.Builder<ImmutableList<IndexObservation>> indexObservations = ImmutableList.builder();
+      List<LocalDate> indexFixingDates = new ArrayList<>();
+      LocalDate start = valuationDate;
+      for (int i = 0; i < nDates; i++) {
+        LocalDate end = dates.get(i);
+        ImmutableList.Builder<IndexObservation> dateObservations = ImmutableList.builder();
+        for (LocalDate fixingDate = calendar.nextOrSame(start); fixingDate.isBefore(end);
+            fixingDate = calendar.next(fixingDate)) {
+          dateObservations.add(observation(index, fixingDate, refData));
+          indexFixingDates.add(fixingDate);
+        }
+        indexObservations.add(dateObservations.build());
+        fixingWindowEnds[j][i] = indexFixingDates.size();
+        LocalDate windowStart = end.minusDays(FIXING_WINDOW_DAYS);
+        int first = 0;
+        while (first < indexFixingDates.size() && indexFixingDates.get(first).isBefore(windowStart)) {
+          first++;
+        }
+        fixingWindowStarts[j][i] = first;
+        baseFixings[j][i] = timeSeries.subSeries(windowStart, end);
+        start = end;
+      }
+      observationsBuilder.add(indexObservations.build());
+      fixingDates[j] = indexFixingDates.toArray(new LocalDate[0]);
+    }
+    this.fixingObservations = observationsBuilder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of simulated factors.
+   * <p>
+   * Each path is driven by this number of normal numbers per date.
+   *
+   * @return the number of factors
+   */
+  int getNumberOfFactors() {
+    return numberOfFactors;
+  }
+
+  /**
+   * Gets the simulation dates.
+   *
+   * @return the dates
+   */
+  ImmutableList<LocalDate> getDates() {
+    return dates;
+  }
+
+  /**
+   * Simulates the rates providers of one path.
+   * <p>
+   * The normal number of factor {@code f} and date {@code i} is at index {@code f * nDates + i}.
+   *
+   * @param normals  the normal numbers of the path
+   * @return the rates provider for each date
+   */
+  ImmutableRatesProvider[] simulatePath(double[] normals) {
+    int nDates = dates.size();
+    int nCurrencies = currencies.size();
+    int nFx = fxCurrencies.size();
+    int nIndices = indices.size();
+    double[] rateStates = new double[nCurrencies];
+    double[] fxStates = new double[nFx];
+    for (int f = 0; f < nFx; f++) {
+      fxStates[f] = fxModels[f] != null ? fxModels[f].getInitialState() : 0d;
+    }
+    double[][] fixings = new double[nIndices][];
+    for (int j = 0; j < nIndices; j++) {
+      fixings[j] = new double[fixingDates[j].length];
+    }
+    double[] discountFactorsBuffer = new double[CURVE_TENORS.size()];
+    Curve[] discountCurves = new Curve[nCurrencies];
+    ImmutableRatesProvider[] providers = new ImmutableRatesProvider[nDates];
+    ImmutableRatesProvider previous = ratesProvider;
+    for (int i = 0; i < nDates; i++) {
+      // evolve the factors
+      int factor = 0;
+      for (int c = 0; c < nCurrencies; c++) {
+        if (rateModels[c] != null) {
+          rateStates[c] = rateModels[c].nextState(i, rateStates[c], normals[factor * nDates + i]);
+          factor++;
+        }
+      }
+      for (int f = 0; f < nFx; f++) {
+        if (fxModels[f] != null) {
+          fxStates[f] = fxModels[f].nextState(i, fxStates[f], normals[factor * nDates + i]);
+          factor++;
+        }
+      }
+      // fixings since the previous date, projected on the previous rates provider
+      int[] fixingCounts = new int[nIndices];
+      for (int j = 0; j < nIndices; j++) {
+        int position = i > 0 ? fixingWindowEnds[j][i - 1] : 0;
+        for (IndexObservation observation : fixingObservations.get(j).get(i)) {
+          fixings[j][position++] = fixing(previous, observation);
+        }
+        fixingCounts[j] = position;
+      }
+      // discount curves
+      Map<Currency, Curve> discountCurveMap = new HashMap<>();
+      for (int c = 0; c < nCurrencies; c++) {
+        if (rateModels[c] != null) {
+          rateModels[c].discountFactors(i, rateStates[c], nodeDates.get(i), discountFactorsBuffer);
+          double[] zeros = new double[discountFactorsBuffer.length];
+          for (int k = 0; k < zeros.length; k++) {
+            zeros[k] = -Math.log(discountFactorsBuffer[k]) / nodeTimes[i].get(k);
+          }
+          discountCurves[c] = curve(discountMetadata[c], i, zeros);
+        } else {
+          discountCurves[c] = deterministicDiscountCurves[c][i];
+        }
+        discountCurveMap.put(currencies.get(c), discountCurves[c]);
+      }
+      // index curves and time-series
+      Map<Index, Curve> indexCurveMap = new HashMap<>();
+      Map<Index, LocalDateDoubleTimeSeries> timeSeriesMap = new HashMap<>();
+      for (int j = 0; j < nIndices; j++) {
+        Curve discountCurve = discountCurves[indexCurrencies[j]];
+        double[] spreads = indexZeroSpreads[j][i];
+        double[] zeros = new double[spreads.length];
+        for (int k = 0; k < zeros.length; k++) {
+          zeros[k] = discountCurve.yValue(nodeTimes[i].get(k)) + spreads[k];
+        }
+        indexCurveMap.put(indices.get(j), curve(indexMetadata[j], i, zeros));
+        LocalDateDoubleTimeSeriesBuilder builder = baseFixings[j][i].toBuilder();
+        for (int k = fixingWindowStarts[j][i]; k < fixingCounts[j]; k++) {
+          builder.put(fixingDates[j][k], fixings[j][k]);
+        }
+        timeSeriesMap.put(indices.get(j), builder.build());
+      }
+      // FX rates
+      FxMatrixBuilder fxBuilder = FxMatrix.builder();
+      for (int f = 0; f < nFx; f++) {
+        double rate = fxModels[f] == null ? fxForwards[f][i] : fxInverted[f] ? 1d / fxStates[f] : fxStates[f];
+        fxBuilder.addRate(fxCurrencies.get(f), reportingCurrency, rate);
+      }
+      ImmutableRatesProvider provider = ImmutableRatesProvider.builder(dates.get(i))
+          .fxRateProvider(fxBuilder.build())
+          .discountCurves(discountCurveMap)
+          .indexCurves(indexCurveMap)
+          .timeSeries(timeSeriesMap)
+          .build();
+      providers[i] = provider;
+      previous = provider;
+    }
+    return providers;
+  }
+
+  //-------------------------------------------------------------------------
+  // the zero rates at the curve nodes of a date implied by the discount factors of the valuation date
+  private double[] forwardZeroRates(DiscountFactors discountFactors, int dateIndex) {
+    double start = discountFactors.discountFactor(dates.get(dateIndex));
+    ImmutableList<LocalDate> nodes = nodeDates.get(dateIndex);
+    double[] zeros = new double[nodes.size()];
+    for (int k = 0; k < zeros.length; k++) {
+      zeros[k] = -Math.log(discountFactors.discountFactor(nodes.get(k)) / start) / nodeTimes[dateIndex].get(k);
+    }
+    return zeros;
+  }
+
+  // creates a zero-rate curve on the nodes of a date
+  private Curve curve(CurveMetadata metadata, int dateIndex, double[] zeros) {
+    return InterpolatedNodalCurve.of(metadata, nodeTimes[dateIndex], DoubleArray.ofUnsafe(zeros), CURVE_INTERPOLATOR);
+  }
+
+  // the discount factors underlying the forward rates of an index
+  private DiscountFactors indexDiscountFactors(Index index) {
+    if (index instanceof IborIndex) {
+      IborIndexRates rates = ratesProvider.iborIndexRates((IborIndex) index);
+      if (rates instanceof DiscountIborIndexRates) {
+        return ((DiscountIborIndexRates) rates).getDiscountFactors();
+      }
+    } else if (index instanceof OvernightIndex) {
+      OvernightIndexRates rates = ratesProvider.overnightIndexRates((OvernightIndex) index);
+      if (rates instanceof DiscountOvernightIndexRates) {
+        return ((DiscountOvernightIndexRates) rates).getDiscountFactors();
+      }
+    }
+    throw new IllegalArgumentException("Exposure simulation requires an index curve of discount factors: " + index);
+  }
+
+  // the currency of an index
+  private static Currency indexCurrency(Index index) {
+    if (index instanceof IborIndex) {
+      return ((IborIndex) index).getCurrency();
+    } else if (index instanceof OvernightIndex) {
+      return ((OvernightIndex) index).getCurrency();
+    }
+    throw new IllegalArgumentException("Unsupported index for exposure simulation: " + index);
+  }
+
+  // the fixing calendar of an index
+  private static HolidayCalendar fixingCalendar(Index index, ReferenceData refData) {
+    if (index instanceof IborIndex) {
+      return ((IborIndex) index).getFixingCalendar().resolve(refData);
+    }
+    return ((OvernightIndex) index).getFixingCalendar().resolve(refData);
+  }
+
+  // the observation of an index on a fixing date
+  private static IndexObservation observation(Index index, LocalDate fixingDate, ReferenceData refData) {
+    if (index instanceof IborIndex) {
+      return IborIndexObservation.of((IborIndex) index, fixingDate, refData);
+    }
+    return OvernightIndexObservation.of((OvernightIndex) index, fixingDate, refData);
+  }
+
+  // the fixing of an observation, the forward rate if after the valuation date of the provider
+  private static double fixing(ImmutableRatesProvider provider, IndexObservation observation) {
+    if (observation instanceof IborIndexObservation) {
+      IborIndexObservation ibor = (IborIndexObservation) observation;
+      return provider.iborIndexRates(ibor.getIndex()).rate(ibor);
+    }
+    OvernightIndexObservation overnight = (OvernightIndexObservation) observation;
+    return provider.overnightIndexRates(overnight.getIndex()).rate(overnight);
+  }
+
+}
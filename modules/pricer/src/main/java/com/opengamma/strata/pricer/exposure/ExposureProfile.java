@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.exposure;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableValidator;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The exposure profile of a netting set.
+ * <p>
+ * The exposure of a netting set at a future date is the positive part of the sum of the values of its trades
+ * on that date. The profile contains, for each simulation date, the expected positive exposure (EPE),
+ * the expected negative exposure (ENE) and the potential future exposure (PFE).
+ * The expected negative exposure is the expectation of the negative part of the value, thus negative or zero.
+ * The potential future exposure is the quantile of the exposure at the specified level.
+ * <p>
+ * The amounts are expressed in the reporting currency, in the units of each simulation date, that is undiscounted.
+ */
+@BeanDefinition(style = "light")
+public final class ExposureProfile
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The currency of the exposures.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+  /**
+   * The simulation dates.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<LocalDate> dates;
+  /**
+   * The expected positive exposure at each simulation date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray expectedPositiveExposure;
+  /**
+   * The expected negative exposure at each simulation date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray expectedNegativeExposure;
+  /**
+   * The potential future exposure at each simulation date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray potentialFutureExposure;
+  /**
+   * The quantile level of the potential future exposure, such as 0.95.
+   */
+  @PropertyDefinition
+  private final double quantile;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param currency  the currency of the exposures
+   * @param dates  the simulation dates
+   * @param expectedPositiveExposure  the expected positive exposure at each date
+   * @param expectedNegativeExposure  the expected negative exposure at each date
+   * @param potentialFutureExposure  the potential future exposure at each date
+   * @param quantile  the quantile level of the potential future exposure
+   * @return the profile
+   */
+  public static ExposureProfile of(
+      Currency currency,
+      List<LocalDate> dates,
+      DoubleArray expectedPositiveExposure,
+      DoubleArray expectedNegativeExposure,
+      DoubleArray potentialFutureExposure,
+      double quantile) {
+
+    return new ExposureProfile(
+        currency,
+        ImmutableList.copyOf(dates),
+        expectedPositiveExposure,
+        expectedNegativeExposure,
+        potentialFutureExposure,
+        quantile);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    int size = dates.size();
+    ArgChecker.isTrue(expectedPositiveExposure.size() == size, "Expected positive exposure must match dates");
+    ArgChecker.isTrue(expectedNegativeExposure.size() == size, "Expected negative exposure must match dates");
+    ArgChecker.isTrue(potentialFutureExposure.size() == size, "Potential future exposure must match dates");
+    ArgChecker.inRangeExclusive(quantile, 0d, 1d, "quantile");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the expected value of the netting set at each simulation date.
+   * <p>
+   * This is the sum of the expected positive and negative exposures.
+   *
+   * @return the expected value
+   */
+  public DoubleArray getExpectedValue() {
+    return expectedPositiveExposure.plus(expectedNegativeExposure);
+  }
+
+  /**
+   * Gets the peak of the potential future exposure over the simulation dates.
+   *
+   * @return the maximum potential future exposure
+   */
+  public double getMaximumPotentialFutureExposure() {
+    return potentialFutureExposure.max();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ExposureProfile}.
+   */
+  private static final TypedMetaBean<ExposureProfile> META_BEAN =
+      LightMetaBean.of(
+          ExposureProfile.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "currency",
+              "dates",
+              "expectedPositiveExposure",
+              "expectedNegativeExposure",
+              "potentialFutureExposure",
+              "quantile"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code ExposureProfile}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<ExposureProfile> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private ExposureProfile(
+      Currency currency,
+      List<LocalDate> dates,
+      DoubleArray expectedPositiveExposure,
+      DoubleArray expectedNegativeExposure,
+      DoubleArray potentialFutureExposure,
+      double quantile) {
+    JodaBeanUtils.notNull(currency, "currency");
+    JodaBeanUtils.notNull(dates, "dates");
+    JodaBeanUtils.notNull(expectedPositiveExposure, "expectedPositiveExposure");
+    JodaBeanUtils.notNull(expectedNegativeExposure, "expectedNegativeExposure");
+    JodaBeanUtils.notNull(potentialFutureExposure, "potentialFutureExposure");
+    this.currency = currency;
+    this.dates = ImmutableList.copyOf(dates);
+    this.expectedPositiveExposure = expectedPositiveExposure;
+    this.expectedNegativeExposure = expectedNegativeExposure;
+    this.potentialFutureExposure = potentialFutureExposure;
+    this.quantile = quantile;
+    validate();
+  }
+
+  @Override
+  public TypedMetaBean<ExposureProfile> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency of the exposures.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the simulation dates.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<LocalDate> getDates() {
+    return dates;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the expected positive exposure at each simulation date.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getExpectedPositiveExposure() {
+    return expectedPositiveExposure;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the expected negative exposure at each simulation date.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getExpectedNegativeExposure() {
+    return expectedNegativeExposure;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the potential future exposure at each simulation date.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getPotentialFutureExposure() {
+    return potentialFutureExposure;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the quantile level of the potential future exposure, such as 0.95.
+   * @return the value of the property
+   */
+  public double getQuantile() {
+    return quantile;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ExposureProfile other = (ExposureProfile) obj;
+      return JodaBeanUtils.equal(currency, other.currency) &&
+          JodaBeanUtils.equal(dates, other.dates) &&
+          JodaBeanUtils.equal(expectedPositiveExposure, other.expectedPositiveExposure) &&
+          JodaBeanUtils.equal(expectedNegativeExposure, other.expectedNegativeExposure) &&
+          JodaBeanUtils.equal(potentialFutureExposure, other.potentialFutureExposure) &&
+          JodaBeanUtils.equal(quantile, other.quantile);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(currency);
+    hash = hash * 31 + JodaBeanUtils.hashCode(dates);
+    hash = hash * 31 + JodaBeanUtils.hashCode(expectedPositiveExposure);
+    hash = hash * 31 + JodaBeanUtils.hashCode(expectedNegativeExposure);
+    hash = hash * 31 + JodaBeanUtils.hashCode(potentialFutureExposure);
+    hash = hash * 31 + JodaBeanUtils.hashCode(quantile);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(224);
+    buf.append("ExposureProfile{");
+    buf.append("currency").append('=').append(JodaBeanUtils.toString(currency)).append(',').append(' ');
+    buf.append("dates").append('=').append(JodaBeanUtils.toString(dates)).append(',').append(' ');
+    buf.append("expectedPositiveExposure").append('=').append(JodaBeanUtils.toString(expectedPositiveExposure)).append(',').append(' ');
+    buf.append("expectedNegativeExposure").append('=').append(JodaBeanUtils.toString(expectedNegativeExposure)).append(',').append(' ');
+    buf.append("potentialFutureExposure").append('=').append(JodaBeanUtils.toString(potentialFutureExposure)).append(',').append(' ');
+    buf.append("quantile").append('=').append(JodaBeanUtils.toString(quantile));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
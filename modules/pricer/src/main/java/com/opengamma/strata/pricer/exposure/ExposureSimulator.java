@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.exposure;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.math.impl.random.SplittableNormalRandomNumberGenerator;
+import com.opengamma.strata.pricer.fx.DiscountingFxSingleTradePricer;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionVolatilities;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.fx.ResolvedFxSingleTrade;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+/**
+ * Monte Carlo simulator of the exposure profile of netting sets of swap and FX trades.
+ * <p>
+ * The market is simulated on each path and simulation date as described in {@link ExposureMarketSimulation}:
+ * the discount curves of the currencies with Hull-White parameters and the FX rates of the currencies with
+ * Black volatilities against the reporting currency are stochastic, the other risk factors are deterministic.
+ * The trades of each netting set are valued with the discounting pricers on the simulated rates providers,
+ * the values are converted to the reporting currency and summed.
+ * <p>
+ * The values are accumulated per date while the paths are generated, so that the paths and the values
+ * are never stored, see {@link ExposureProfile} for the statistics computed.
+ * The paths are divided into blocks whose random number streams are split from a root
+ * {@link SplittableNormalRandomNumberGenerator} in the order of the blocks. The blocks are simulated
+ * serially or, with {@link #withExecutor(ExecutorService)}, in parallel, and the block results are merged
+ * in the order of the blocks. Thus the results only depend on the seed and the number of paths.
+ * <p>
+ * The supported trades are {@link ResolvedSwapTrade}, with Ibor and Overnight indices, and {@link ResolvedFxSingleTrade}.
+ */
+public final class ExposureSimulator {
+
+  /**
+   * The number of paths in a block.
+   */
+  private static final int BLOCK_SIZE = 64;
+  /**
+   * The swap trade pricer.
+   */
+  private static final DiscountingSwapTradePricer SWAP_PRICER = DiscountingSwapTradePricer.DEFAULT;
+  /**
+   * The FX trade pricer.
+   */
+  private static final DiscountingFxSingleTradePricer FX_PRICER = DiscountingFxSingleTradePricer.DEFAULT;
+
+  /**
+   * The number of paths.
+   */
+  private final int numberOfPaths;
+  /**
+   * The seed of the random number generator.
+   */
+  private final long seed;
+  /**
+   * The quantile level of the potential future exposure.
+   */
+  private final double quantile;
+  /**
+   * The executor used to simulate the blocks of paths, null to simulate them serially.
+   */
+  private final ExecutorService executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a simulator.
+   *
+   * @param numberOfPaths  the number of paths, strictly positive
+   * @param seed  the seed of the random number generator
+   * @param quantile  the quantile level of the potential future exposure, between 0 and 1 exclusive
+   * @return the simulator
+   */
+  public static ExposureSimulator of(int numberOfPaths, long seed, double quantile) {
+    return new ExposureSimulator(numberOfPaths, seed, quantile, null);
+  }
+
+  // creates an instance
+  private ExposureSimulator(int numberOfPaths, long seed, double quantile, ExecutorService executor) {
+    this.numberOfPaths = ArgChecker.notNegativeOrZero(numberOfPaths, "numberOfPaths");
+    this.seed = seed;
+    this.quantile = ArgChecker.inRangeExclusive(quantile, 0d, 1d, "quantile");
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a copy of this simulator that simulates the blocks of paths in parallel.
+   * <p>
+   * Each block of paths is simulated and its exposures accumulated as a separate task,
+   * see {@link Guavate#evaluate(List, java.util.concurrent.Executor)}.
+   * The pricers used to value the trades on each path must therefore be safe to call from multiple threads.
+   *
+   * @param executor  the executor used to simulate the blocks of paths
+   * @return the simulator
+   */
+  public ExposureSimulator withExecutor(ExecutorService executor) {
+    return new ExposureSimulator(numberOfPaths, seed, quantile, ArgChecker.notNull(executor, "executor"));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getNumberOfPaths() {
+    return numberOfPaths;
+  }
+
+  /**
+   * Gets the seed of the random number generator.
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Gets the quantile level of the potential future exposure.
+   *
+   * @return the quantile level
+   */
+  public double getQuantile() {
+    return quantile;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the exposure profile of a netting set.
+   *
+   * @param nettingSet  the trades of the netting set
+   * @param dates  the simulation dates, sorted in increasing order and after the valuation date
+   * @param reportingCurrency  the reporting currency
+   * @param ratesProvider  the rates provider
+   * @param hwProviders  the Hull-White parameters of the currencies whose curves are simulated
+   * @param fxVolatilities  the Black volatilities of the FX rates against the reporting currency that are simulated
+   * @param refData  the reference data
+   * @return the exposure profile
+   */
+  public ExposureProfile exposureProfile(
+      List<? extends ResolvedTrade> nettingSet,
+      List<LocalDate> dates,
+      Currency reportingCurrency,
+      RatesProvider ratesProvider,
+      Map<Currency, HullWhiteOneFactorPiecewiseConstantParametersProvider> hwProviders,
+      Map<CurrencyPair, BlackFxOptionVolatilities> fxVolatilities,
+      ReferenceData refData) {
+
+    return exposureProfiles(
+        ImmutableList.of(nettingSet), dates, reportingCurrency, ratesProvider, hwProviders, fxVolatilities, refData)
+        .get(0);
+  }
+
+  /**
+   * Computes the exposure profiles of several netting sets.
+   * <p>
+   * The netting sets are valued on the same simulated paths, which are generated once.
+   * The Hull-White parameters and FX volatilities must have the valuation date of the rates provider.
+   *
+   * @param nettingSets  the netting sets
+   * @param dates  the simulation dates, sorted in increasing order and after the valuation date
+   * @param reportingCurrency  the reporting currency
+   * @param ratesProvider  the rates provider
+   * @param hwProviders  the Hull-White parameters of the currencies whose curves are simulated
+   * @param fxVolatilities  the Black volatilities of the FX rates against the reporting currency that are simulated
+   * @param refData  the reference data
+   * @return the exposure profile of each netting set
+   */
+  public ImmutableList<ExposureProfile> exposureProfiles(
+      List<? extends List<? extends ResolvedTrade>> nettingSets,
+      List<LocalDate> dates,
+      Currency reportingCurrency,
+      RatesProvider ratesProvider,
+      Map<Currency, HullWhiteOneFactorPiecewiseConstantParametersProvider> hwProviders,
+      Map<CurrencyPair, BlackFxOptionVolatilities> fxVolatilities,
+      ReferenceData refData) {
+
+    ArgChecker.notEmpty(nettingSets, "nettingSets");
+    ArgChecker.notEmpty(dates, "dates");
+    ArgChecker.notNull(reportingCurrency, "reportingCurrency");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(hwProviders, "hwProviders");
+    ArgChecker.notNull(fxVolatilities, "fxVolatilities");
+    ArgChecker.notNull(refData, "refData");
+    LocalDate previousDate = ratesProvider.getValuationDate();
+    for (LocalDate date : dates) {
+      ArgChecker.isTrue(date.isAfter(previousDate),
+          "Simulation dates must be sorted in increasing order and after the valuation date");
+      previousDate = date;
+    }
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    hwProviders.forEach((currency, hwProvider) -> ArgChecker.isTrue(
+        hwProvider.getValuationDateTime().toLocalDate().equals(valuationDate),
+        "Hull-White parameters for {} must be for the valuation date {}", currency, valuationDate));
+    fxVolatilities.forEach((currencyPair, volatilities) -> ArgChecker.isTrue(
+        volatilities.getValuationDate().equals(valuationDate),
+        "FX volatilities for {} must be for the valuation date {}", currencyPair, valuationDate));
+    ImmutableSet.Builder<Currency> currencies = ImmutableSet.<Currency>builder().add(reportingCurrency);
+    ImmutableSet.Builder<Index> indices = ImmutableSet.builder();
+    for (List<? extends ResolvedTrade> nettingSet : nettingSets) {
+      for (ResolvedTrade trade : nettingSet) {
+        addMarketData(trade, currencies, indices);
+      }
+    }
+    ExposureMarketSimulation simulation = new ExposureMarketSimulation(
+        ratesProvider.toImmutableRatesProvider(),
+        dates,
+        reportingCurrency,
+        currencies.build(),
+        indices.build(),
+        hwProviders,
+        fxVolatilities,
+        refData);
+    ExposureAccumulator[] totals = simulate(nettingSets, simulation, reportingCurrency);
+    return Arrays.stream(totals)
+        .map(total -> total.toProfile(reportingCurrency, dates, quantile))
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  // simulates the paths block by block and merges the accumulators in the order of the blocks
+  private ExposureAccumulator[] simulate(
+      List<? extends List<? extends ResolvedTrade>> nettingSets,
+      ExposureMarketSimulation simulation,
+      Currency reportingCurrency) {
+
+    int nSets = nettingSets.size();
+    int nDates = simulation.getDates().size();
+    int nNormals = simulation.getNumberOfFactors() * nDates;
+    SplittableNormalRandomNumberGenerator root = SplittableNormalRandomNumberGenerator.of(seed);
+    List<Supplier<ExposureAccumulator[]>> tasks = new ArrayList<>();
+    for (int firstPath = 0; firstPath < numberOfPaths; firstPath += BLOCK_SIZE) {
+      SplittableNormalRandomNumberGenerator stream = root.split();
+      int nPaths = Math.min(BLOCK_SIZE, numberOfPaths - firstPath);
+      tasks.add(() -> {
+        ExposureAccumulator[] accumulators = accumulators(nSets, nDates);
+        double[] normals = new double[nNormals];
+        double[] values = new double[nDates];
+        for (int p = 0; p < nPaths; p++) {
+          stream.fill(normals, 0, nNormals);
+          ImmutableRatesProvider[] providers = simulation.simulatePath(normals);
+          for (int s = 0; s < nSets; s++) {
+            for (int i = 0; i < nDates; i++) {
+              values[i] = value(nettingSets.get(s), providers[i], reportingCurrency);
+            }
+            accumulators[s].add(values);
+          }
+        }
+        return accumulators;
+      });
+    }
+    ExposureAccumulator[] totals = accumulators(nSets, nDates);
+    for (ExposureAccumulator[] blockAccumulators : Guavate.evaluate(tasks, executor)) {
+      for (int s = 0; s < nSets; s++) {
+        totals[s].addAll(blockAccumulators[s]);
+      }
+    }
+    return totals;
+  }
+
+  // creates empty accumulators
+  private ExposureAccumulator[] accumulators(int nSets, int nDates) {
+    ExposureAccumulator[] accumulators = new ExposureAccumulator[nSets];
+    for (int s = 0; s < nSets; s++) {
+      accumulators[s] = new ExposureAccumulator(nDates, numberOfPaths, quantile);
+    }
+    return accumulators;
+  }
+
+  // the value of a netting set in the reporting currency
+  private static double value(
+      List<? extends ResolvedTrade> nettingSet,
+      RatesProvider ratesProvider,
+      Currency reportingCurrency) {
+
+    MultiCurrencyAmount total = MultiCurrencyAmount.empty();
+    for (ResolvedTrade trade : nettingSet) {
+      if (trade instanceof ResolvedSwapTrade) {
+        total = total.plus(SWAP_PRICER.presentValue((ResolvedSwapTrade) trade, ratesProvider));
+      } else {
+        total = total.plus(FX_PRICER.presentValue((ResolvedFxSingleTrade) trade, ratesProvider));
+      }
+    }
+    return total.convertedTo(reportingCurrency, ratesProvider).getAmount();
+  }
+
+  // adds the currencies and indices required to value a trade
+  private static void addMarketData(
+      ResolvedTrade trade,
+      ImmutableSet.Builder<Currency> currencies,
+      ImmutableSet.Builder<Index> indices) {
+
+    if (trade instanceof ResolvedSwapTrade) {
+      ResolvedSwapTrade swapTrade = (ResolvedSwapTrade) trade;
+      currencies.addAll(swapTrade.getProduct().allPaymentCurrencies());
+      for (Index index : swapTrade.getProduct().allIndices()) {
+        if (index instanceof IborIndex) {
+          currencies.add(((IborIndex) index).getCurrency());
+        } else if (index instanceof OvernightIndex) {
+          currencies.add(((OvernightIndex) index).getCurrency());
+        } else {
+          throw new IllegalArgumentException("Unsupported index for exposure simulation: " + index);
+        }
+        indices.add(index);
+      }
+    } else if (trade instanceof ResolvedFxSingleTrade) {
+      currencies.addAll(((ResolvedFxSingleTrade) trade).getProduct().getCurrencyPair().toSet());
+    } else {
+      throw new IllegalArgumentException("Unsupported trade for exposure simulation: " + trade.getClass().getSimpleName());
+    }
+  }
+
+}
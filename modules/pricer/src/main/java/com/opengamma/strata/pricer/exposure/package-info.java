@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Simulation of the future exposure of netting sets of trades.
+ */
+package com.opengamma.strata.pricer.exposure;
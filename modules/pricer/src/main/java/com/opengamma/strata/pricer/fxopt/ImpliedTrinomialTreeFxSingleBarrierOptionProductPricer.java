@@ -5,11 +5,19 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -19,11 +27,13 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.impl.tree.ConstantContinuousSingleBarrierKnockoutFunction;
 import com.opengamma.strata.pricer.impl.tree.EuropeanVanillaOptionFunction;
+import com.opengamma.strata.pricer.impl.tree.OptionFunction;
 import com.opengamma.strata.pricer.impl.tree.TrinomialTree;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -39,6 +49,10 @@ import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
  * <p>
  * All of the computation is be based on the counter currency of the underlying FX transaction.
  * For example, price, PV and risk measures of the product will be expressed in USD for an option on EUR/USD.
+ * <p>
+ * The calibration of the tree is the most expensive part of the pricing. The calibrated trees can be reused
+ * by creating the pricer with a {@link RecombiningTrinomialTreeDataCache}, and several options can be priced
+ * on the same tree in a single backward pass with the methods taking a list of options.
  */
 public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
 
@@ -65,6 +79,10 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
    * Number of time steps.
    */
   private final ImpliedTrinomialTreeFxOptionCalibrator calibrator;
+  /**
+   * The cache of calibrated trees, null if the trees are calibrated for each option.
+   */
+  private final RecombiningTrinomialTreeDataCache treeDataCache;
 
   /**
    * Pricer with the default number of time steps.
@@ -80,6 +98,22 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
    */
   public ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(int nSteps) {
     this.calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(nSteps);
+    this.treeDataCache = null;
+  }
+
+  /**
+   * Pricer with the specified number of time steps and cache of calibrated trees.
+   * <p>
+   * The methods calibrating the tree obtain it from the cache,
+   * thus options sharing the currency pair, the expiry and the market data share the same tree.
+   * The cache may be shared between several pricers.
+   * 
+   * @param nSteps  number of time steps
+   * @param treeDataCache  the cache of calibrated trees
+   */
+  public ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(int nSteps, RecombiningTrinomialTreeDataCache treeDataCache) {
+    this.calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(nSteps);
+    this.treeDataCache = ArgChecker.notNull(treeDataCache, "treeDataCache");
   }
 
   //-------------------------------------------------------------------------
@@ -92,6 +126,15 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return calibrator;
   }
 
+  /**
+   * Obtains the cache of calibrated trees, if present.
+   * 
+   * @return the cache, empty if the trees are calibrated for each option
+   */
+  public Optional<RecombiningTrinomialTreeDataCache> getTreeDataCache() {
+    return Optional.ofNullable(treeDataCache);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the price of the FX barrier option product.
@@ -114,8 +157,7 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       RatesProvider ratesProvider,
       BlackFxOptionVolatilities volatilities) {
 
-    RecombiningTrinomialTreeData treeData =
-        calibrator.calibrateTrinomialTree(option.getUnderlyingOption(), ratesProvider, volatilities);
+    RecombiningTrinomialTreeData treeData = treeData(option, ratesProvider, volatilities);
     return price(option, ratesProvider, volatilities, treeData);
   }
 
@@ -165,8 +207,7 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       RatesProvider ratesProvider,
       BlackFxOptionVolatilities volatilities) {
 
-    RecombiningTrinomialTreeData treeData =
-        calibrator.calibrateTrinomialTree(option.getUnderlyingOption(), ratesProvider, volatilities);
+    RecombiningTrinomialTreeData treeData = treeData(option, ratesProvider, volatilities);
     return presentValue(option, ratesProvider, volatilities, treeData);
   }
 
@@ -196,6 +237,77 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * price);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present values of several FX barrier option products.
+   * <p>
+   * The options are grouped by currency pair and expiry, and a trinomial tree is calibrated to Black volatilities
+   * for each group. All the options of a group are then priced in a single backward pass over the tree,
+   * options with the same payoff per unit of notional being priced only once.
+   * The results are identical to {@link #presentValue(ResolvedFxSingleBarrierOption, RatesProvider, BlackFxOptionVolatilities)}.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the products, in the order of the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    Map<Pair<CurrencyPair, ZonedDateTime>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < options.size(); i++) {
+      ResolvedFxVanillaOption underlyingOption = options.get(i).getUnderlyingOption();
+      groups.computeIfAbsent(
+          Pair.of(underlyingOption.getUnderlying().getCurrencyPair(), underlyingOption.getExpiry()),
+          key -> new ArrayList<>()).add(i);
+    }
+    CurrencyAmount[] result = new CurrencyAmount[options.size()];
+    for (List<Integer> indices : groups.values()) {
+      List<ResolvedFxSingleBarrierOption> group = indices.stream().map(options::get).collect(toImmutableList());
+      RecombiningTrinomialTreeData treeData = treeData(group.get(0), ratesProvider, volatilities);
+      List<CurrencyAmount> pvs = presentValue(group, ratesProvider, volatilities, treeData);
+      for (int j = 0; j < indices.size(); j++) {
+        result[indices.get(j)] = pvs.get(j);
+      }
+    }
+    return ImmutableList.copyOf(result);
+  }
+
+  /**
+   * Calculates the present values of several FX barrier option products on the same tree.
+   * <p>
+   * All the options are priced in a single backward pass over the tree,
+   * options with the same payoff per unit of notional being priced only once.
+   * The results are identical to 
+   * {@link #presentValue(ResolvedFxSingleBarrierOption, RatesProvider, BlackFxOptionVolatilities, RecombiningTrinomialTreeData)}.
+   * <p>
+   * This assumes the tree is already calibrated and the tree data is stored as {@code RecombiningTrinomialTreeData}.
+   * The tree data should be consistent with the pricer and all the options, see {@link #validateData}.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @param treeData  the trinomial tree data
+   * @return the present values of the products, in the order of the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData treeData) {
+
+    List<ValueDerivatives> prices = priceDerivatives(options, ratesProvider, volatilities, treeData);
+    ImmutableList.Builder<CurrencyAmount> result = ImmutableList.builder();
+    for (int i = 0; i < options.size(); i++) {
+      ResolvedFxVanillaOption underlyingOption = options.get(i).getUnderlyingOption();
+      result.add(CurrencyAmount.of(
+          underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * prices.get(i).getValue()));
+    }
+    return result.build();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the FX barrier option product.
@@ -215,8 +327,7 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       RatesProvider ratesProvider,
       BlackFxOptionVolatilities volatilities) {
 
-    RecombiningTrinomialTreeData baseTreeData =
-        calibrator.calibrateTrinomialTree(option.getUnderlyingOption(), ratesProvider, volatilities);
+    RecombiningTrinomialTreeData baseTreeData = treeData(option, ratesProvider, volatilities);
     return presentValueSensitivityRates(option, ratesProvider, volatilities, baseTreeData);
   }
 
@@ -260,7 +371,9 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
           Map<Currency, Curve> mapBumped = new HashMap<>(baseCurves);
           mapBumped.put(entry.getKey(), dscBumped);
           ImmutableRatesProvider providerDscBumped = immRatesProvider.toBuilder().discountCurves(mapBumped).build();
-          double pvBumped = presentValue(option, providerDscBumped, volatilities).getAmount();
+          RecombiningTrinomialTreeData treeDataBumped =
+              calibrator.calibrateTrinomialTree(underlyingOption, providerDscBumped, volatilities);
+          double pvBumped = presentValue(option, providerDscBumped, volatilities, treeDataBumped).getAmount();
           return (pvBumped - pvBase.getAmount()) / shift;
         });
         result = result.combinedWith(curve.createParameterSensitivity(pvBase.getCurrency(), sensitivity));
@@ -286,8 +399,7 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       RatesProvider ratesProvider,
       BlackFxOptionVolatilities volatilities) {
 
-    RecombiningTrinomialTreeData treeData =
-        calibrator.calibrateTrinomialTree(option.getUnderlyingOption(), ratesProvider, volatilities);
+    RecombiningTrinomialTreeData treeData = treeData(option, ratesProvider, volatilities);
     return currencyExposure(option, ratesProvider, volatilities, treeData);
   }
 
@@ -328,6 +440,46 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       BlackFxOptionVolatilities volatilities,
       RecombiningTrinomialTreeData data) {
 
+    TreePayoff payoff = treePayoff(option, ratesProvider, volatilities, data);
+    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(payoff.barrierFunction, data);
+    ValueDerivatives vanillaPrice = payoff.vanillaFunction != null ?
+        TREE.optionPriceAdjoint(payoff.vanillaFunction, data) :
+        null;
+    return payoff.price(barrierPrice, vanillaPrice);
+  }
+
+  // prices several options on the same tree in a single backward pass, identical payoffs are only priced once
+  private List<ValueDerivatives> priceDerivatives(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData data) {
+
+    List<TreePayoff> payoffs = new ArrayList<>(options.size());
+    Map<OptionFunction, Integer> functions = new LinkedHashMap<>();
+    for (ResolvedFxSingleBarrierOption option : options) {
+      TreePayoff payoff = treePayoff(option, ratesProvider, volatilities, data);
+      payoffs.add(payoff);
+      functions.putIfAbsent(payoff.barrierFunction, functions.size());
+      if (payoff.vanillaFunction != null) {
+        functions.putIfAbsent(payoff.vanillaFunction, functions.size());
+      }
+    }
+    List<ValueDerivatives> prices = TREE.optionPriceAdjoint(ImmutableList.copyOf(functions.keySet()), data);
+    return payoffs.stream()
+        .map(payoff -> payoff.price(
+            prices.get(functions.get(payoff.barrierFunction)),
+            payoff.vanillaFunction != null ? prices.get(functions.get(payoff.vanillaFunction)) : null))
+        .collect(toImmutableList());
+  }
+
+  // the functions to price on the tree, knock-in options are priced by in-out parity
+  private TreePayoff treePayoff(
+      ResolvedFxSingleBarrierOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData data) {
+
     validate(option, ratesProvider, volatilities);
     validateData(option, ratesProvider, volatilities, data);
     int nSteps = data.getNumberOfSteps();
@@ -374,18 +526,28 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
         barrier.getBarrierType(),
         barrier.getBarrierLevel(),
         DoubleArray.ofUnsafe(rebateArray));
-    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(barrierFunction, data);
     if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
       EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
           underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
-      ValueDerivatives vanillaPrice = TREE.optionPriceAdjoint(vanillaFunction, data);
-      return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
-          DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
+      return new TreePayoff(barrierFunction, vanillaFunction, rebateAtExpiry, rebateAtExpiryDerivative);
     }
-    return barrierPrice;
+    return new TreePayoff(barrierFunction, null, 0d, 0d);
   }
 
   //-------------------------------------------------------------------------
+  // obtains the tree calibrated to the option, from the cache if present
+  private RecombiningTrinomialTreeData treeData(
+      ResolvedFxSingleBarrierOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+    if (treeDataCache != null) {
+      return treeDataCache.calibrateTrinomialTree(calibrator, underlyingOption, ratesProvider, volatilities);
+    }
+    return calibrator.calibrateTrinomialTree(underlyingOption, ratesProvider, volatilities);
+  }
+
   private void validateData(ResolvedFxSingleBarrierOption option,
       RatesProvider ratesProvider,
       BlackFxOptionVolatilities volatilities,
@@ -417,4 +579,36 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
         Math.abs(option.getUnderlying().getBaseCurrencyPayment().getAmount());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The functions to price on the tree for a barrier option.
+   */
+  private static final class TreePayoff {
+    private final ConstantContinuousSingleBarrierKnockoutFunction barrierFunction;
+    private final EuropeanVanillaOptionFunction vanillaFunction;  // null for knock-out options
+    private final double rebateAtExpiry;
+    private final double rebateAtExpiryDerivative;
+
+    private TreePayoff(
+        ConstantContinuousSingleBarrierKnockoutFunction barrierFunction,
+        EuropeanVanillaOptionFunction vanillaFunction,
+        double rebateAtExpiry,
+        double rebateAtExpiryDerivative) {
+
+      this.barrierFunction = barrierFunction;
+      this.vanillaFunction = vanillaFunction;
+      this.rebateAtExpiry = rebateAtExpiry;
+      this.rebateAtExpiryDerivative = rebateAtExpiryDerivative;
+    }
+
+    // the price of the option from the prices of the functions
+    private ValueDerivatives price(ValueDerivatives barrierPrice, ValueDerivatives vanillaPrice) {
+      if (vanillaFunction == null) {
+        return barrierPrice;
+      }
+      return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
+          DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
+    }
+  }
+
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
+
+/**
+ * Bounded cache of calibrated trinomial trees.
+ * <p>
+ * Calibrating an implied trinomial tree is much more expensive than pricing an option on it,
+ * and the calibrated tree only depends on the currency pair, the time to expiry, the number of steps
+ * and the market data used by {@link ImpliedTrinomialTreeFxOptionCalibrator}.
+ * This cache allows the tree to be reused by all the options sharing these inputs.
+ * <p>
+ * The key of the cache is made of the volatilities, the currency pair, the time to expiry, the number of steps,
+ * the FX rate and the discount factors of the two currencies. The volatilities and the discount factors
+ * are compared using {@code equals}, which is immediate when the same instances are used.
+ * Thus trees calibrated to bumped curves are not mixed with the base trees.
+ * <p>
+ * When the maximum size is reached, the least recently used tree is evicted.
+ * This class is thread-safe. The calibration is performed outside of the lock,
+ * thus two threads requesting the same missing tree may both calibrate it.
+ */
+public final class RecombiningTrinomialTreeDataCache {
+
+  /**
+   * The maximum number of trees held.
+   */
+  private final int maximumSize;
+  /**
+   * The trees, in access order, guarded by this instance.
+   */
+  private final LinkedHashMap<Key, RecombiningTrinomialTreeData> trees;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache holding at most the specified number of trees.
+   *
+   * @param maximumSize  the maximum number of trees, strictly positive
+   * @return the cache
+   */
+  public static RecombiningTrinomialTreeDataCache of(int maximumSize) {
+    return new RecombiningTrinomialTreeDataCache(maximumSize);
+  }
+
+  // restricted constructor
+  private RecombiningTrinomialTreeDataCache(int maximumSize) {
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    this.maximumSize = maximumSize;
+    this.trees = new LinkedHashMap<Key, RecombiningTrinomialTreeData>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, RecombiningTrinomialTreeData> eldest) {
+        return size() > RecombiningTrinomialTreeDataCache.this.maximumSize;
+      }
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum number of trees held by the cache.
+   *
+   * @return the maximum size
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Gets the number of trees currently held by the cache.
+   *
+   * @return the size
+   */
+  public synchronized int size() {
+    return trees.size();
+  }
+
+  /**
+   * Removes all the trees from the cache.
+   */
+  public synchronized void clear() {
+    trees.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the trinomial tree calibrated to the expiry of the option.
+   * <p>
+   * The tree is returned from the cache if present, otherwise it is calibrated and added to the cache.
+   *
+   * @param calibrator  the calibrator
+   * @param option  the vanilla option
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the trinomial tree data
+   */
+  public RecombiningTrinomialTreeData calibrateTrinomialTree(
+      ImpliedTrinomialTreeFxOptionCalibrator calibrator,
+      ResolvedFxVanillaOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    double timeToExpiry = volatilities.relativeTime(option.getExpiry());
+    CurrencyPair currencyPair = option.getUnderlying().getCurrencyPair();
+    return calibrateTrinomialTree(calibrator, timeToExpiry, currencyPair, ratesProvider, volatilities);
+  }
+
+  /**
+   * Obtains the trinomial tree calibrated to the time to expiry.
+   * <p>
+   * The tree is returned from the cache if present, otherwise it is calibrated and added to the cache.
+   *
+   * @param calibrator  the calibrator
+   * @param timeToExpiry  the time to expiry
+   * @param currencyPair  the currency pair
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the trinomial tree data
+   */
+  public RecombiningTrinomialTreeData calibrateTrinomialTree(
+      ImpliedTrinomialTreeFxOptionCalibrator calibrator,
+      double timeToExpiry,
+      CurrencyPair currencyPair,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    Key key = new Key(
+        volatilities,
+        currencyPair,
+        timeToExpiry,
+        calibrator.getNumberOfSteps(),
+        ratesProvider.fxRate(currencyPair),
+        ratesProvider.discountFactors(currencyPair.getBase()),
+        ratesProvider.discountFactors(currencyPair.getCounter()));
+    synchronized (this) {
+      RecombiningTrinomialTreeData cached = trees.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    RecombiningTrinomialTreeData calibrated =
+        calibrator.calibrateTrinomialTree(timeToExpiry, currencyPair, ratesProvider, volatilities);
+    synchronized (this) {
+      RecombiningTrinomialTreeData existing = trees.putIfAbsent(key, calibrated);
+      return existing != null ? existing : calibrated;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The inputs of the calibration.
+   */
+  private static final class Key {
+    private final BlackFxOptionVolatilities volatilities;
+    private final CurrencyPair currencyPair;
+    private final double timeToExpiry;
+    private final int nSteps;
+    private final double fxRate;
+    private final DiscountFactors baseDiscountFactors;
+    private final DiscountFactors counterDiscountFactors;
+    private final int hashCode;
+
+    private Key(
+        BlackFxOptionVolatilities volatilities,
+        CurrencyPair currencyPair,
+        double timeToExpiry,
+        int nSteps,
+        double fxRate,
+        DiscountFactors baseDiscountFactors,
+        DiscountFactors counterDiscountFactors) {
+
+      this.volatilities = volatilities;
+      this.currencyPair = currencyPair;
+      this.timeToExpiry = timeToExpiry;
+      this.nSteps = nSteps;
+      this.fxRate = fxRate;
+      this.baseDiscountFactors = baseDiscountFactors;
+      this.counterDiscountFactors = counterDiscountFactors;
+      this.hashCode = Objects.hash(
+          volatilities, currencyPair, timeToExpiry, nSteps, fxRate, baseDiscountFactors, counterDiscountFactors);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return hashCode == other.hashCode &&
+          Double.compare(timeToExpiry, other.timeToExpiry) == 0 &&
+          nSteps == other.nSteps &&
+          Double.compare(fxRate, other.fxRate) == 0 &&
+          currencyPair.equals(other.currencyPair) &&
+          volatilities.equals(other.volatilities) &&
+          baseDiscountFactors.equals(other.baseDiscountFactors) &&
+          counterDiscountFactors.equals(other.counterDiscountFactors);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
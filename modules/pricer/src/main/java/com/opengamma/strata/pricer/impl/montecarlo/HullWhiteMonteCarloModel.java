@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+
+/**
+ * Hull-White one factor model with piecewise constant volatility for Monte Carlo path simulation.
+ * <p>
+ * The state variable is {@code X(t) = int_0^t sigma(s) exp(a s) dW(s)}, where {@code W} is a Brownian motion
+ * under the measure associated to the numeraire {@code P(t, T)}, with {@code T} the last simulation date.
+ * This state variable is a driftless Gaussian martingale, so that each time step is simulated exactly.
+ * The zero-coupon bond prices on a path are explicit,
+ * {@code P(t, u) / P(t, T) = P(0, u) / P(0, T) exp(h(u) X(t) - h(u)^2 V(t) / 2)},
+ * with {@code h(u) = (exp(-a u) - exp(-a T)) / a} and {@code V(t)} the variance of {@code X(t)}.
+ * <p>
+ * The value on the valuation date of a cash flow {@code c} paid at {@code t} is
+ * {@code P(0, T) E[c / P(t, T)]}, see {@link #numeraire(int, double)}.
+ */
+public final class HullWhiteMonteCarloModel
+    implements MonteCarloPathModel {
+
+  /**
+   * The Hull-White model.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+
+  /**
+   * The Hull-White model parameter provider.
+   */
+  private final HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider;
+  /**
+   * The discount factors on the valuation date.
+   */
+  private final DiscountFactors discountFactors;
+  /**
+   * The simulation dates.
+   */
+  private final ImmutableList<LocalDate> dates;
+  /**
+   * The simulation times.
+   */
+  private final DoubleArray times;
+  /**
+   * The standard deviation of the state variable increment for each time step.
+   */
+  private final double[] stepDeviations;
+  /**
+   * The variance of the state variable at each simulation time.
+   */
+  private final double[] variances;
+  /**
+   * The time of the numeraire.
+   */
+  private final double numeraireTime;
+  /**
+   * The discount factor to the numeraire date on the valuation date.
+   */
+  private final double numeraireDiscountFactor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the simulation dates.
+   * <p>
+   * The numeraire is the zero-coupon bond paying on the last simulation date.
+   *
+   * @param hwProvider  the Hull-White model parameter provider
+   * @param discountFactors  the discount factors on the valuation date
+   * @param dates  the simulation dates, sorted in increasing order and after the valuation date
+   * @return the model
+   */
+  public static HullWhiteMonteCarloModel of(
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+      DiscountFactors discountFactors,
+      List<LocalDate> dates) {
+
+    ArgChecker.notNull(hwProvider, "hwProvider");
+    ArgChecker.notNull(discountFactors, "discountFactors");
+    ArgChecker.notEmpty(dates, "dates");
+    ArgChecker.isTrue(hwProvider.getValuationDateTime().toLocalDate().equals(discountFactors.getValuationDate()),
+        "Hull-White model data and discount factors should be for the same date");
+    int nTimes = dates.size();
+    double[] times = new double[nTimes];
+    double[] stepDeviations = new double[nTimes];
+    double[] variances = new double[nTimes];
+    HullWhiteOneFactorPiecewiseConstantParameters parameters = hwProvider.getParameters();
+    double previousTime = 0d;
+    double previousVariance = 0d;
+    for (int i = 0; i < nTimes; i++) {
+      times[i] = hwProvider.relativeTime(dates.get(i));
+      ArgChecker.isTrue(times[i] > previousTime,
+          "Simulation dates must be sorted in increasing order and after the valuation date");
+      stepDeviations[i] = MODEL.beta(parameters, previousTime, times[i]);
+      variances[i] = previousVariance + stepDeviations[i] * stepDeviations[i];
+      previousTime = times[i];
+      previousVariance = variances[i];
+    }
+    LocalDate numeraireDate = dates.get(nTimes - 1);
+    return new HullWhiteMonteCarloModel(
+        hwProvider,
+        discountFactors,
+        ImmutableList.copyOf(dates),
+        DoubleArray.ofUnsafe(times),
+        stepDeviations,
+        variances,
+        times[nTimes - 1],
+        discountFactors.discountFactor(numeraireDate));
+  }
+
+  // creates an instance
+  private HullWhiteMonteCarloModel(
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+      DiscountFactors discountFactors,
+      ImmutableList<LocalDate> dates,
+      DoubleArray times,
+      double[] stepDeviations,
+      double[] variances,
+      double numeraireTime,
+      double numeraireDiscountFactor) {
+
+    this.hwProvider = hwProvider;
+    this.discountFactors = discountFactors;
+    this.dates = dates;
+    this.times = times;
+    this.stepDeviations = stepDeviations;
+    this.variances = variances;
+    this.numeraireTime = numeraireTime;
+    this.numeraireDiscountFactor = numeraireDiscountFactor;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the Hull-White model parameter provider.
+   *
+   * @return the provider
+   */
+  public HullWhiteOneFactorPiecewiseConstantParametersProvider getHwProvider() {
+    return hwProvider;
+  }
+
+  /**
+   * Gets the discount factors on the valuation date.
+   *
+   * @return the discount factors
+   */
+  public DiscountFactors getDiscountFactors() {
+    return discountFactors;
+  }
+
+  /**
+   * Gets the simulation dates.
+   *
+   * @return the dates
+   */
+  public ImmutableList<LocalDate> getDates() {
+    return dates;
+  }
+
+  /**
+   * Gets the discount factor to the numeraire date on the valuation date, {@code P(0, T)}.
+   *
+   * @return the discount factor
+   */
+  public double getNumeraireDiscountFactor() {
+    return numeraireDiscountFactor;
+  }
+
+  @Override
+  public DoubleArray getTimes() {
+    return times;
+  }
+
+  @Override
+  public double getInitialState() {
+    return 0d;
+  }
+
+  @Override
+  public double nextState(int step, double state, double normal) {
+    return state + stepDeviations[step] * normal;
+  }
+
+  @Override
+  public double nextStateDerivative(int step, double state, double nextState) {
+    return 1d;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the numeraire, {@code P(t, T)}, at a simulation date.
+   *
+   * @param timeIndex  the index of the simulation date
+   * @param state  the state at the simulation date
+   * @return the numeraire
+   */
+  public double numeraire(int timeIndex, double state) {
+    return 1d / bondRatio(timeIndex, state, dates.get(timeIndex));
+  }
+
+  /**
+   * Computes the discount factor {@code P(t, u)} at a simulation date.
+   *
+   * @param timeIndex  the index of the simulation date
+   * @param state  the state at the simulation date
+   * @param date  the payment date, not before the simulation date
+   * @return the discount factor
+   */
+  public double discountFactor(int timeIndex, double state, LocalDate date) {
+    return bondRatio(timeIndex, state, date) / bondRatio(timeIndex, state, dates.get(timeIndex));
+  }
+
+  /**
+   * Computes the discount factors {@code P(t, u)} at a simulation date for several payment dates.
+   * <p>
+   * The terms depending on the state only are computed once.
+   *
+   * @param timeIndex  the index of the simulation date
+   * @param state  the state at the simulation date
+   * @param paymentDates  the payment dates, not before the simulation date
+   * @param result  the array to write the discount factors into
+   */
+  public void discountFactors(int timeIndex, double state, List<LocalDate> paymentDates, double[] result) {
+    double ratio = bondRatio(timeIndex, state, dates.get(timeIndex));
+    for (int m = 0; m < paymentDates.size(); m++) {
+      result[m] = bondRatio(timeIndex, state, paymentDates.get(m)) / ratio;
+    }
+  }
+
+  // computes P(t, u) / P(t, T)
+  private double bondRatio(int timeIndex, double state, LocalDate date) {
+    double a = hwProvider.getParameters().getMeanReversion();
+    double h = (Math.exp(-a * hwProvider.relativeTime(date)) - Math.exp(-a * numeraireTime)) / a;
+    return discountFactors.discountFactor(date) / numeraireDiscountFactor *
+        Math.exp(h * state - 0.5d * h * h * variances[timeIndex]);
+  }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionVolatilities;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Lognormal FX model with deterministic interest rates for Monte Carlo path simulation.
+ * <p>
+ * The state variable is the FX spot rate of the currency pair, that is the price of one unit
+ * of the base currency in the counter currency. Under the risk neutral measure of the counter currency,
+ * the forward rate to each simulation date is a martingale and the spot rate is lognormal.
+ * The variance of a time step is the increment of the total variance {@code sigma(t)^2 t},
+ * with {@code sigma(t)} the at-the-money forward Black volatility of expiry {@code t}.
+ * Each time step is thus simulated exactly and the Black prices of European options are recovered.
+ * <p>
+ * The value on the valuation date of a cash flow {@code c} in the counter currency paid at {@code t}
+ * is {@code E[c] P(0, t)}, see {@link #discountFactor(int)}.
+ */
+public final class LognormalFxMonteCarloModel
+    implements MonteCarloPathModel {
+
+  /**
+   * The currency pair.
+   */
+  private final CurrencyPair currencyPair;
+  /**
+   * The simulation date-times.
+   */
+  private final ImmutableList<ZonedDateTime> dateTimes;
+  /**
+   * The simulation times.
+   */
+  private final DoubleArray times;
+  /**
+   * The spot rate on the valuation date.
+   */
+  private final double spot;
+  /**
+   * The deterministic growth factor of the spot rate for each time step, including the convexity term.
+   */
+  private final double[] stepDrifts;
+  /**
+   * The standard deviation of the logarithm of the spot rate increment for each time step.
+   */
+  private final double[] stepDeviations;
+  /**
+   * The discount factor of the counter currency to each simulation date.
+   */
+  private final double[] discountFactors;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the simulation date-times.
+   *
+   * @param currencyPair  the currency pair
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @param dateTimes  the simulation date-times, sorted in increasing order and after the valuation date-time
+   * @return the model
+   */
+  public static LognormalFxMonteCarloModel of(
+      CurrencyPair currencyPair,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      List<ZonedDateTime> dateTimes) {
+
+    ArgChecker.notNull(currencyPair, "currencyPair");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(volatilities, "volatilities");
+    ArgChecker.notEmpty(dateTimes, "dateTimes");
+    ArgChecker.isTrue(ratesProvider.getValuationDate().isEqual(volatilities.getValuationDateTime().toLocalDate()),
+        "Volatility and rate data must be for the same date");
+    DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(currencyPair.getBase());
+    DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(currencyPair.getCounter());
+    double spot = ratesProvider.fxRate(currencyPair);
+    int nTimes = dateTimes.size();
+    double[] times = new double[nTimes];
+    double[] stepDrifts = new double[nTimes];
+    double[] stepDeviations = new double[nTimes];
+    double[] discountFactors = new double[nTimes];
+    double previousTime = 0d;
+    double previousForward = spot;
+    double previousVariance = 0d;
+    for (int i = 0; i < nTimes; i++) {
+      times[i] = volatilities.relativeTime(dateTimes.get(i));
+      ArgChecker.isTrue(times[i] > previousTime,
+          "Simulation dates must be sorted in increasing order and after the valuation date");
+      LocalDate date = dateTimes.get(i).toLocalDate();
+      discountFactors[i] = counterDiscountFactors.discountFactor(date);
+      double forward = spot * baseDiscountFactors.discountFactor(date) / discountFactors[i];
+      double volatility = volatilities.volatility(currencyPair, times[i], forward, forward);
+      double variance = volatility * volatility * times[i];
+      double stepVariance = variance - previousVariance;
+      ArgChecker.isTrue(stepVariance >= 0d, "Total variance must not decrease with time");
+      stepDeviations[i] = Math.sqrt(stepVariance);
+      stepDrifts[i] = forward / previousForward * Math.exp(-0.5d * stepVariance);
+      previousTime = times[i];
+      previousForward = forward;
+      previousVariance = variance;
+    }
+    return new LognormalFxMonteCarloModel(
+        currencyPair,
+        ImmutableList.copyOf(dateTimes),
+        DoubleArray.ofUnsafe(times),
+        spot,
+        stepDrifts,
+        stepDeviations,
+        discountFactors);
+  }
+
+  // creates an instance
+  private LognormalFxMonteCarloModel(
+      CurrencyPair currencyPair,
+      ImmutableList<ZonedDateTime> dateTimes,
+      DoubleArray times,
+      double spot,
+      double[] stepDrifts,
+      double[] stepDeviations,
+      double[] discountFactors) {
+
+    this.currencyPair = currencyPair;
+    this.dateTimes = dateTimes;
+    this.times = times;
+    this.spot = spot;
+    this.stepDrifts = stepDrifts;
+    this.stepDeviations = stepDeviations;
+    this.discountFactors = discountFactors;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currency pair.
+   *
+   * @return the currency pair
+   */
+  public CurrencyPair getCurrencyPair() {
+    return currencyPair;
+  }
+
+  /**
+   * Gets the simulation date-times.
+   *
+   * @return the date-times
+   */
+  public ImmutableList<ZonedDateTime> getDateTimes() {
+    return dateTimes;
+  }
+
+  @Override
+  public DoubleArray getTimes() {
+    return times;
+  }
+
+  @Override
+  public double getInitialState() {
+    return spot;
+  }
+
+  @Override
+  public double nextState(int step, double state, double normal) {
+    return state * stepDrifts[step] * Math.exp(stepDeviations[step] * normal);
+  }
+
+  @Override
+  public double nextStateDerivative(int step, double state, double nextState) {
+    return nextState / state;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the discount factor of the counter currency to a simulation date.
+   *
+   * @param timeIndex  the index of the simulation date
+   * @return the discount factor
+   */
+  public double discountFactor(int timeIndex) {
+    return discountFactors[timeIndex];
+  }
+
+}
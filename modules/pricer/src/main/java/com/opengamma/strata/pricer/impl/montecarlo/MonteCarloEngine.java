@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.SplittableNormalRandomNumberGenerator;
+
+/**
+ * Monte Carlo engine for one factor path models.
+ * <p>
+ * The paths are divided into blocks of a fixed size. The random number stream of each block is obtained
+ * by splitting a root {@link SplittableNormalRandomNumberGenerator} created from the seed,
+ * the splits being made in the order of the blocks before any path is generated.
+ * The blocks are then simulated serially or, with {@link #withExecutor(ExecutorService)}, in parallel,
+ * and the block results are combined in the order of the blocks.
+ * Thus the results only depend on the seed and the number of paths, not on the executor.
+ * <p>
+ * With antithetic variates, which is the default, each path generated from normal numbers {@code z}
+ * is followed by the path generated from {@code -z}.
+ * <p>
+ * The pathwise derivative of the price with respect to the initial state is computed in adjoint mode:
+ * the derivatives of the payoff with respect to the states of a path are propagated backward
+ * along the path with {@link MonteCarloPathModel#nextStateDerivative(int, double, double)}.
+ */
+public final class MonteCarloEngine {
+
+  /**
+   * The number of paths in a block, even so that antithetic pairs are not split between blocks.
+   */
+  private static final int BLOCK_SIZE = 1024;
+
+  /**
+   * The number of paths.
+   */
+  private final int numberOfPaths;
+  /**
+   * The seed of the random number generator.
+   */
+  private final long seed;
+  /**
+   * Whether antithetic variates are used.
+   */
+  private final boolean antithetic;
+  /**
+   * The executor used to simulate the blocks of paths, null to simulate them serially.
+   */
+  private final ExecutorService executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an engine simulating the specified number of paths with antithetic variates.
+   *
+   * @param numberOfPaths  the number of paths, positive and even
+   * @param seed  the seed of the random number generator
+   * @return the engine
+   */
+  public static MonteCarloEngine of(int numberOfPaths, long seed) {
+    return new MonteCarloEngine(numberOfPaths, seed, true, null);
+  }
+
+  // creates an instance
+  private MonteCarloEngine(int numberOfPaths, long seed, boolean antithetic, ExecutorService executor) {
+    ArgChecker.notNegativeOrZero(numberOfPaths, "numberOfPaths");
+    ArgChecker.isTrue(!antithetic || numberOfPaths % 2 == 0, "Number of paths must be even with antithetic variates");
+    this.numberOfPaths = numberOfPaths;
+    this.seed = seed;
+    this.antithetic = antithetic;
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a copy of this engine with antithetic variates enabled or disabled.
+   *
+   * @param antithetic  whether antithetic variates are used
+   * @return the engine
+   */
+  public MonteCarloEngine withAntitheticVariates(boolean antithetic) {
+    return new MonteCarloEngine(numberOfPaths, seed, antithetic, executor);
+  }
+
+  /**
+   * Returns a copy of this engine that simulates the blocks of paths in parallel.
+   * <p>
+   * Each block of paths is simulated as a separate task,
+   * see {@link Guavate#evaluate(List, java.util.concurrent.Executor)}.
+   *
+   * @param executor  the executor used to simulate the blocks of paths
+   * @return the engine
+   */
+  public MonteCarloEngine withExecutor(ExecutorService executor) {
+    return new MonteCarloEngine(numberOfPaths, seed, antithetic, ArgChecker.notNull(executor, "executor"));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getNumberOfPaths() {
+    return numberOfPaths;
+  }
+
+  /**
+   * Gets the seed of the random number generator.
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Gets whether antithetic variates are used.
+   *
+   * @return true if antithetic variates are used
+   */
+  public boolean isAntithetic() {
+    return antithetic;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Simulates the paths of the model.
+   * <p>
+   * All the states are stored, see {@link #price(MonteCarloPathModel, MonteCarloPathPayoff)}
+   * to price a payoff without storing the paths.
+   *
+   * @param model  the model
+   * @return the paths
+   */
+  public MonteCarloPaths simulate(MonteCarloPathModel model) {
+    int nTimes = model.getTimes().size();
+    double[] states = new double[numberOfPaths * nTimes];
+    List<SplittableNormalRandomNumberGenerator> streams = streams();
+    List<Supplier<Integer>> tasks = new ArrayList<>();
+    for (int b = 0; b < streams.size(); b++) {
+      SplittableNormalRandomNumberGenerator stream = streams.get(b);
+      int firstPath = b * BLOCK_SIZE;
+      int nPaths = Math.min(BLOCK_SIZE, numberOfPaths - firstPath);
+      tasks.add(() -> {
+        double[] normals = new double[nTimes];
+        for (int p = 0; p < nPaths; p++) {
+          generatePath(model, stream, p, normals, states, (firstPath + p) * nTimes);
+        }
+        return nPaths;
+      });
+    }
+    Guavate.evaluate(tasks, executor);
+    return new MonteCarloPaths(model.getTimes(), model.getInitialState(), numberOfPaths, states);
+  }
+
+  /**
+   * Computes the price of a payoff.
+   * <p>
+   * The price is the average of the path values. The paths are not stored.
+   *
+   * @param model  the model
+   * @param payoff  the payoff
+   * @return the price
+   */
+  public double price(MonteCarloPathModel model, MonteCarloPathPayoff payoff) {
+    return sum(model, payoff, false)[0] / numberOfPaths;
+  }
+
+  /**
+   * Computes the price of a payoff and its pathwise derivative with respect to the initial state.
+   * <p>
+   * The paths are not stored.
+   *
+   * @param model  the model
+   * @param payoff  the payoff
+   * @return the price and its derivative with respect to the initial state
+   */
+  public ValueDerivatives priceAdjoint(MonteCarloPathModel model, MonteCarloPathPayoff payoff) {
+    double[] sum = sum(model, payoff, true);
+    return ValueDerivatives.of(sum[0] / numberOfPaths, DoubleArray.of(sum[1] / numberOfPaths));
+  }
+
+  //-------------------------------------------------------------------------
+  // sums the path values and optionally their derivatives, block by block
+  private double[] sum(MonteCarloPathModel model, MonteCarloPathPayoff payoff, boolean adjoint) {
+    int nTimes = model.getTimes().size();
+    List<SplittableNormalRandomNumberGenerator> streams = streams();
+    List<Supplier<double[]>> tasks = new ArrayList<>();
+    for (int b = 0; b < streams.size(); b++) {
+      SplittableNormalRandomNumberGenerator stream = streams.get(b);
+      int nPaths = Math.min(BLOCK_SIZE, numberOfPaths - b * BLOCK_SIZE);
+      tasks.add(() -> {
+        double[] normals = new double[nTimes];
+        double[] states = new double[nTimes];
+        double[] statesBar = new double[nTimes];
+        double sumValue = 0d;
+        double sumDerivative = 0d;
+        for (int p = 0; p < nPaths; p++) {
+          generatePath(model, stream, p, normals, states, 0);
+          if (adjoint) {
+            sumValue += payoff.valueAdjoint(states, statesBar);
+            sumDerivative += initialStateBar(model, states, statesBar);
+          } else {
+            sumValue += payoff.value(states);
+          }
+        }
+        return new double[] {sumValue, sumDerivative};
+      });
+    }
+    double[] total = new double[2];
+    for (double[] blockSum : Guavate.evaluate(tasks, executor)) {
+      total[0] += blockSum[0];
+      total[1] += blockSum[1];
+    }
+    return total;
+  }
+
+  // generates a path, the normal numbers are drawn for even paths and reversed for odd paths if antithetic
+  private void generatePath(
+      MonteCarloPathModel model,
+      SplittableNormalRandomNumberGenerator stream,
+      int pathInBlock,
+      double[] normals,
+      double[] states,
+      int offset) {
+
+    int nTimes = normals.length;
+    boolean antitheticPath = antithetic && pathInBlock % 2 == 1;
+    if (!antitheticPath) {
+      stream.fill(normals, 0, nTimes);
+    }
+    double state = model.getInitialState();
+    for (int i = 0; i < nTimes; i++) {
+      state = model.nextState(i, state, antitheticPath ? -normals[i] : normals[i]);
+      states[offset + i] = state;
+    }
+  }
+
+  // propagates the derivatives with respect to the states backward to the initial state
+  private static double initialStateBar(MonteCarloPathModel model, double[] states, double[] statesBar) {
+    double bar = 0d;
+    for (int i = states.length - 1; i >= 0; i--) {
+      bar += statesBar[i];
+      double previousState = i > 0 ? states[i - 1] : model.getInitialState();
+      bar *= model.nextStateDerivative(i, previousState, states[i]);
+    }
+    return bar;
+  }
+
+  // the random number stream of each block, split in the order of the blocks
+  private List<SplittableNormalRandomNumberGenerator> streams() {
+    SplittableNormalRandomNumberGenerator root = SplittableNormalRandomNumberGenerator.of(seed);
+    int nBlocks = (numberOfPaths + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    List<SplittableNormalRandomNumberGenerator> streams = new ArrayList<>(nBlocks);
+    for (int b = 0; b < nBlocks; b++) {
+      streams.add(root.split());
+    }
+    return streams;
+  }
+
+}
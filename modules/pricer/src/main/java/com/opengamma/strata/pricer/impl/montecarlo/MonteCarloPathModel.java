@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * One factor model used in Monte Carlo path simulation.
+ * <p>
+ * The model defines the dynamics of a state variable on a grid of simulation times.
+ * Each time step is driven by a single standard normal number, so that the antithetic path
+ * is obtained by changing the sign of the normal numbers.
+ */
+public interface MonteCarloPathModel {
+
+  /**
+   * Obtains the simulation times.
+   * <p>
+   * The times are year fractions from the valuation date, sorted in increasing order.
+   * The {@code i}-th time step goes from the {@code (i-1)}-th time, or zero, to the {@code i}-th time.
+   * 
+   * @return the simulation times
+   */
+  public abstract DoubleArray getTimes();
+
+  /**
+   * Obtains the value of the state variable on the valuation date.
+   * 
+   * @return the initial state
+   */
+  public abstract double getInitialState();
+
+  /**
+   * Computes the state at the end of a time step.
+   * 
+   * @param step  the index of the time step
+   * @param state  the state at the start of the time step
+   * @param normal  the standard normal number driving the time step
+   * @return the state at the end of the time step
+   */
+  public abstract double nextState(int step, double state, double normal);
+
+  /**
+   * Computes the derivative of the state at the end of a time step with respect to the state at the start.
+   * <p>
+   * This is used to propagate the pathwise derivatives backward along a path.
+   * 
+   * @param step  the index of the time step
+   * @param state  the state at the start of the time step
+   * @param nextState  the state at the end of the time step
+   * @return the derivative
+   */
+  public abstract double nextStateDerivative(int step, double state, double nextState);
+
+}
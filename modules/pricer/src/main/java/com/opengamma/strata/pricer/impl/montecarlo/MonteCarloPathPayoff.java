@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+/**
+ * Payoff of a path-dependent instrument used in Monte Carlo pricing.
+ * <p>
+ * The payoff is a function of the states of a path at the simulation times of a {@link MonteCarloPathModel}.
+ * The value returned is the present value contribution of the path, that is the payoff discounted
+ * or deflated by the numeraire of the model, so that the price is the average of the path values.
+ */
+public interface MonteCarloPathPayoff {
+
+  /**
+   * Computes the value of a path.
+   * 
+   * @param states  the states of the path at the simulation times
+   * @return the value of the path
+   */
+  public abstract double value(double[] states);
+
+  /**
+   * Computes the value of a path and its derivatives with respect to the states.
+   * <p>
+   * The derivatives are written in {@code statesBar}, which has the same size as {@code states}.
+   * 
+   * @param states  the states of the path at the simulation times
+   * @param statesBar  the array to write the derivatives with respect to the states into
+   * @return the value of the path
+   */
+  public abstract double valueAdjoint(double[] states, double[] statesBar);
+
+}
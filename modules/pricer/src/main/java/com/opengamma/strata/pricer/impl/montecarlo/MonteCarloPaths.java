@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Simulated paths of a {@link MonteCarloPathModel}.
+ * <p>
+ * The states are stored in a single primitive array, path by path.
+ * With antithetic variates, the path {@code 2k + 1} is the antithetic of the path {@code 2k}.
+ */
+public final class MonteCarloPaths {
+
+  /**
+   * The simulation times.
+   */
+  private final DoubleArray times;
+  /**
+   * The initial state, common to all the paths.
+   */
+  private final double initialState;
+  /**
+   * The number of paths.
+   */
+  private final int numberOfPaths;
+  /**
+   * The states, the state of path {@code p} at time {@code i} being at index {@code p * nTimes + i}.
+   */
+  private final double[] states;
+
+  // creates an instance, the array is not copied
+  MonteCarloPaths(DoubleArray times, double initialState, int numberOfPaths, double[] states) {
+    this.times = times;
+    this.initialState = initialState;
+    this.numberOfPaths = numberOfPaths;
+    this.states = states;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the simulation times.
+   * 
+   * @return the times
+   */
+  public DoubleArray getTimes() {
+    return times;
+  }
+
+  /**
+   * Gets the initial state, common to all the paths.
+   * 
+   * @return the initial state
+   */
+  public double getInitialState() {
+    return initialState;
+  }
+
+  /**
+   * Gets the number of paths.
+   * 
+   * @return the number of paths
+   */
+  public int getNumberOfPaths() {
+    return numberOfPaths;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the state of a path at a simulation time.
+   * 
+   * @param path  the path index
+   * @param timeIndex  the index of the simulation time
+   * @return the state
+   */
+  public double getState(int path, int timeIndex) {
+    ArgChecker.inRange(path, 0, numberOfPaths, "path");
+    ArgChecker.inRange(timeIndex, 0, times.size(), "timeIndex");
+    return states[path * times.size() + timeIndex];
+  }
+
+  /**
+   * Obtains the states of a path at all the simulation times.
+   * 
+   * @param path  the path index
+   * @return the states
+   */
+  public DoubleArray getPath(int path) {
+    ArgChecker.inRange(path, 0, numberOfPaths, "path");
+    int nTimes = times.size();
+    return DoubleArray.copyOf(states, path * nTimes, (path + 1) * nTimes);
+  }
+
+  /**
+   * Obtains the states of all the paths at a simulation time.
+   * 
+   * @param timeIndex  the index of the simulation time
+   * @return the states
+   */
+  public DoubleArray getStates(int timeIndex) {
+    ArgChecker.inRange(timeIndex, 0, times.size(), "timeIndex");
+    int nTimes = times.size();
+    return DoubleArray.of(numberOfPaths, p -> states[p * nTimes + timeIndex]);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the average value of a payoff over the paths.
+   * <p>
+   * This allows several payoffs to be priced on the same paths.
+   * 
+   * @param payoff  the payoff
+   * @return the average value
+   */
+  public double average(MonteCarloPathPayoff payoff) {
+    int nTimes = times.size();
+    double[] path = new double[nTimes];
+    double sum = 0d;
+    for (int p = 0; p < numberOfPaths; p++) {
+      System.arraycopy(states, p * nTimes, path, 0, nTimes);
+      sum += payoff.value(path);
+    }
+    return sum / numberOfPaths;
+  }
+
+}
@@ -62,10 +62,49 @@ public final class BlackFormulaRepository {
       double lognormalVol,
       boolean isCall) {
 
-    ArgChecker.isTrue(forward >= 0d, "negative/NaN forward; have {}", forward);
-    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
-    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
-    ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
+    validateInputs(forward, strike, timeToExpiry, lognormalVol);
+    return priceUnchecked(forward, strike, timeToExpiry, lognormalVol, isCall);
+  }
+
+  /**
+   * Computes the forward prices of a set of options.
+   * <p>
+   * The price of the option at index {@code i} is stored at index {@code i} of the price array.
+   * The result is the same as calling {@link #price(double, double, double, double, boolean)} for each option.
+   * No objects are allocated per option, making this suitable for pricing a strip of caplets or a grid of options.
+   * 
+   * @param forward  the forward value of the underlying of each option
+   * @param strike  the strike of each option
+   * @param timeToExpiry  the time to expiry of each option
+   * @param lognormalVol  the log-normal volatility of each option
+   * @param isCall  true for call, false for put, for each option
+   * @param price  the array to store the forward prices in, at least as long as the forward array
+   */
+  public static void price(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      boolean[] isCall,
+      double[] price) {
+
+    int size = forward.length;
+    validateSizes(size, strike, timeToExpiry, lognormalVol, isCall, price);
+    for (int i = 0; i < size; i++) {
+      validateInputs(forward[i], strike[i], timeToExpiry[i], lognormalVol[i]);
+    }
+    for (int i = 0; i < size; i++) {
+      price[i] = priceUnchecked(forward[i], strike[i], timeToExpiry[i], lognormalVol[i], isCall[i]);
+    }
+  }
+
+  // computes the price, the inputs having been validated
+  private static double priceUnchecked(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      boolean isCall) {
 
     double sigmaRootT = lognormalVol * Math.sqrt(timeToExpiry);
     if (Double.isNaN(sigmaRootT)) {
@@ -187,6 +226,103 @@ public final class BlackFormulaRepository {
     return ValueDerivatives.of(price, DoubleArray.of(forwardBar, strikeBar, timeToExpiryBar, lognormalVolBar));
   }
 
+  /**
+   * Computes the forward prices of a set of options and their derivatives.
+   * <p>
+   * The price, the derivative with respect to the forward and the derivative with respect to the volatility
+   * of the option at index {@code i} are stored at index {@code i} of the output arrays.
+   * The result is the same as calling {@link #priceAdjoint(double, double, double, double, boolean)} for each option.
+   * No objects are allocated per option, making this suitable for pricing a strip of caplets or a grid of options.
+   * 
+   * @param forward  the forward value of the underlying of each option
+   * @param strike  the strike of each option
+   * @param timeToExpiry  the time to expiry of each option
+   * @param lognormalVol  the log-normal volatility of each option
+   * @param isCall  true for call, false for put, for each option
+   * @param price  the array to store the forward prices in, at least as long as the forward array
+   * @param forwardDerivative  the array to store the derivatives with respect to the forward in
+   * @param volatilityDerivative  the array to store the derivatives with respect to the volatility in
+   */
+  public static void priceAdjoint(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      boolean[] isCall,
+      double[] price,
+      double[] forwardDerivative,
+      double[] volatilityDerivative) {
+
+    int size = forward.length;
+    validateSizes(size, strike, timeToExpiry, lognormalVol, isCall, price);
+    ArgChecker.isTrue(forwardDerivative.length >= size, "Forward derivative array is too short");
+    ArgChecker.isTrue(volatilityDerivative.length >= size, "Volatility derivative array is too short");
+    for (int i = 0; i < size; i++) {
+      validateInputs(forward[i], strike[i], timeToExpiry[i], lognormalVol[i]);
+    }
+    for (int i = 0; i < size; i++) {
+      double fwd = forward[i];
+      double str = strike[i];
+      double rootT = Math.sqrt(timeToExpiry[i]);
+      double sigmaRootT = lognormalVol[i] * rootT;
+      if (Double.isNaN(sigmaRootT)) {
+        sigmaRootT = 1d;
+      }
+      int sign = isCall[i] ? 1 : -1;
+      if (fwd > LARGE && str > LARGE) {
+        price[i] = isCall[i] ? (fwd >= str ? fwd : 0d) : (str >= fwd ? str : 0d);
+        forwardDerivative[i] = 0d;
+        volatilityDerivative[i] = 0d;
+      } else if (sigmaRootT < SMALL) {
+        boolean isItm = (sign * (fwd - str)) > 0;
+        price[i] = isItm ? sign * (fwd - str) : 0d;
+        forwardDerivative[i] = isItm ? sign : 0d;
+        volatilityDerivative[i] = 0d;
+      } else {
+        double d1;
+        double d2;
+        if (Math.abs(fwd - str) < SMALL || sigmaRootT > LARGE) {
+          d1 = 0.5 * sigmaRootT;
+          d2 = -0.5 * sigmaRootT;
+        } else {
+          d2 = Math.log(fwd / str) / sigmaRootT - 0.5 * sigmaRootT;
+          d1 = d2 + sigmaRootT;
+        }
+        double nF = NORMAL.getCDF(sign * d1);
+        double nS = NORMAL.getCDF(sign * d2);
+        double first = nF == 0d ? 0d : fwd * nF;
+        double second = nS == 0d ? 0d : str * nS;
+        price[i] = Math.max(0d, sign * (first - second));
+        forwardDerivative[i] = nF * sign;
+        volatilityDerivative[i] = rootT * (sign * NORMAL.getPDF(sign * d1) * (fwd * sign));
+      }
+    }
+  }
+
+  // checks the sizes of the arrays used for array based pricing
+  private static void validateSizes(
+      int size,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      boolean[] isCall,
+      double[] price) {
+
+    ArgChecker.isTrue(strike.length == size, "Strike array must have the same size as the forward array");
+    ArgChecker.isTrue(timeToExpiry.length == size, "Time to expiry array must have the same size as the forward array");
+    ArgChecker.isTrue(lognormalVol.length == size, "Volatility array must have the same size as the forward array");
+    ArgChecker.isTrue(isCall.length == size, "Call flag array must have the same size as the forward array");
+    ArgChecker.isTrue(price.length >= size, "Price array is too short");
+  }
+
+  // checks the inputs of a single option
+  private static void validateInputs(double forward, double strike, double timeToExpiry, double lognormalVol) {
+    ArgChecker.isTrue(forward >= 0d, "negative/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
+  }
+
   /**
    * Computes the price without numeraire and its derivatives of the first and second order.
    * <p>
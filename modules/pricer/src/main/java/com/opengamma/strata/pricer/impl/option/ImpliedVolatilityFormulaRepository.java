@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Implied volatility formulas for the Black and normal models using an explicit initial guess and Householder steps.
+ * <p>
+ * The implied volatility is found as follows.
+ * The price is converted to the price of the out-of-the-money option using put-call parity and normalized.
+ * An initial guess is computed explicitly from the normalized price, using the asymptotic forms of the
+ * price for low and high volatilities described by P. Jäckel in "By Implication" (2006).
+ * The guess is then refined by third order Householder steps.
+ * For low prices, the steps are applied to the logarithm of the price, where the function is close to linear.
+ * As the price is increasing in the volatility, the root is bracketed by the previous steps,
+ * and a step leaving the bracket is replaced by bisection.
+ * <p>
+ * Typically two to four steps are sufficient to reach machine precision.
+ * The accuracy is that of the out-of-the-money price, so in-the-money prices with a small time value
+ * lose precision when the intrinsic value is removed.
+ * This is much faster than the root-finding of {@link GenericImpliedVolatiltySolver},
+ * making these formulas suitable for converting large numbers of option prices to volatilities.
+ * Array based methods are provided for that purpose.
+ * <p>
+ * As with the other formula repositories, all prices are forward prices, the numeraire being the responsibility of the caller.
+ */
+public final class ImpliedVolatilityFormulaRepository {
+
+  /**
+   * The normal distribution implementation.
+   */
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  /**
+   * The maximum number of steps, only reached if the steps are replaced by bisection.
+   */
+  private static final int MAX_ITERATIONS = 50;
+  /**
+   * The relative step size ending the iteration.
+   * As the convergence is of third order, the error after a step of this size is below machine precision.
+   */
+  private static final double TOLERANCE = 1e-8;
+  /**
+   * One over the square root of two pi.
+   */
+  private static final double ONE_OVER_SQRT_TWO_PI = 1d / Math.sqrt(2d * Math.PI);
+
+  // restricted constructor
+  private ImpliedVolatilityFormulaRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatility.
+   * <p>
+   * The result is the volatility for which {@link BlackFormulaRepository#price(double, double, double, double, boolean)}
+   * is equal to the specified price.
+   *
+   * @param price  the forward price of the option
+   * @param forward  the forward value of the underlying, positive
+   * @param strike  the strike, positive
+   * @param timeToExpiry  the time to expiry
+   * @param isCall  true for call, false for put
+   * @return the log-normal implied volatility
+   * @throws IllegalArgumentException if the price is outside the range of prices attainable by the model
+   */
+  public static double blackImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(price >= 0d, "negative/NaN price; have {}", price);
+    ArgChecker.isTrue(forward > 0d && forward < Double.POSITIVE_INFINITY, "non-positive/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike > 0d && strike < Double.POSITIVE_INFINITY, "non-positive/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+
+    double intrinsic = Math.max((isCall ? 1d : -1d) * (forward - strike), 0d);
+    double otmPrice = price - intrinsic;
+    ArgChecker.isTrue(otmPrice >= 0d, "price of {} is below the intrinsic value", price);
+    if (otmPrice == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a price above the intrinsic value");
+    // the out-of-the-money price is that of a call with forward max(F, K) and strike min(F, K), by put-call symmetry
+    double rootFK = Math.sqrt(forward * strike);
+    double x = -Math.abs(Math.log(forward / strike));
+    double beta = otmPrice / rootFK;
+    double betaMax = Math.exp(0.5 * x);
+    ArgChecker.isTrue(beta < betaMax, "price of {} exceeds the upper bound of the model", price);
+    return normalizedBlackImpliedTotalVolatility(beta, x, betaMax) / Math.sqrt(timeToExpiry);
+  }
+
+  /**
+   * Computes the log-normal (Black) implied volatilities of a set of options.
+   * <p>
+   * The implied volatility of the option at index {@code i} is stored at index {@code i} of the result array.
+   * The result is the same as calling {@link #blackImpliedVolatility(double, double, double, double, boolean)}
+   * for each option.
+   *
+   * @param price  the forward price of each option
+   * @param forward  the forward value of the underlying of each option
+   * @param strike  the strike of each option
+   * @param timeToExpiry  the time to expiry of each option
+   * @param isCall  true for call, false for put, for each option
+   * @param impliedVolatility  the array to store the implied volatilities in, at least as long as the price array
+   * @throws IllegalArgumentException if a price is outside the range of prices attainable by the model
+   */
+  public static void blackImpliedVolatility(
+      double[] price,
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      boolean[] isCall,
+      double[] impliedVolatility) {
+
+    int size = price.length;
+    ArgChecker.isTrue(isCall.length == size, "Call flag array must have the same size as the price array");
+    validateSizes(size, forward, strike, timeToExpiry, impliedVolatility);
+    for (int i = 0; i < size; i++) {
+      impliedVolatility[i] = blackImpliedVolatility(price[i], forward[i], strike[i], timeToExpiry[i], isCall[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the normal (Bachelier) implied volatility.
+   * <p>
+   * The result is the volatility for which {@link NormalFormulaRepository#price(double, double, double, double, PutCall)}
+   * is equal to the specified price.
+   *
+   * @param price  the forward price of the option
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param putCall  whether the option is put or call
+   * @return the normal implied volatility
+   * @throws IllegalArgumentException if the price is below the intrinsic value
+   */
+  public static double normalImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      PutCall putCall) {
+
+    ArgChecker.isTrue(price >= 0d && price < Double.POSITIVE_INFINITY, "negative/NaN price; have {}", price);
+    ArgChecker.isTrue(Double.isFinite(forward), "forward must be finite; have {}", forward);
+    ArgChecker.isTrue(Double.isFinite(strike), "strike must be finite; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+
+    double intrinsic = Math.max((putCall.isCall() ? 1d : -1d) * (forward - strike), 0d);
+    double otmPrice = price - intrinsic;
+    ArgChecker.isTrue(otmPrice >= 0d, "price of {} is below the intrinsic value", price);
+    if (otmPrice == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a price above the intrinsic value");
+    double x = -Math.abs(forward - strike);
+    return normalImpliedTotalVolatility(otmPrice, x) / Math.sqrt(timeToExpiry);
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatilities of a set of options.
+   * <p>
+   * The implied volatility of the option at index {@code i} is stored at index {@code i} of the result array.
+   * The result is the same as calling {@link #normalImpliedVolatility(double, double, double, double, PutCall)}
+   * for each option.
+   *
+   * @param price  the forward price of each option
+   * @param forward  the forward value of the underlying of each option
+   * @param strike  the strike of each option
+   * @param timeToExpiry  the time to expiry of each option
+   * @param putCall  whether each option is put or call
+   * @param impliedVolatility  the array to store the implied volatilities in, at least as long as the price array
+   * @throws IllegalArgumentException if a price is below the intrinsic value
+   */
+  public static void normalImpliedVolatility(
+      double[] price,
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      PutCall[] putCall,
+      double[] impliedVolatility) {
+
+    int size = price.length;
+    ArgChecker.isTrue(putCall.length == size, "Put/call array must have the same size as the price array");
+    validateSizes(size, forward, strike, timeToExpiry, impliedVolatility);
+    for (int i = 0; i < size; i++) {
+      impliedVolatility[i] = normalImpliedVolatility(price[i], forward[i], strike[i], timeToExpiry[i], putCall[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // finds s such that the normalized out-of-the-money Black price b(x, s) is beta, where x <= 0
+  private static double normalizedBlackImpliedTotalVolatility(double beta, double x, double betaMax) {
+    if (x == 0d) { // at-the-money, explicit solution
+      return 2d * NORMAL.getInverseCDF(0.5 * (beta + 1d));
+    }
+    // initial guess, from the asymptotic forms either side of the inflection point of b
+    double sc = Math.sqrt(2d * Math.abs(x));
+    double bc = normalizedBlackPrice(x, sc);
+    boolean lower = beta < bc;
+    double s;
+    if (lower) {
+      s = Math.sqrt(2d * x * x / (Math.abs(x) - 4d * Math.log(beta / bc)));
+    } else {
+      s = -2d * NORMAL.getInverseCDF((betaMax - beta) / (betaMax - bc) * NORMAL.getCDF(-Math.sqrt(0.5 * Math.abs(x))));
+    }
+    double logBeta = Math.log(beta);
+    double low = 0d;
+    double high = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double b = normalizedBlackPrice(x, s);
+      if (b < beta) {
+        low = s;
+      } else {
+        high = s;
+      }
+      // derivatives of b with respect to s, relative to the first derivative
+      double b1 = ONE_OVER_SQRT_TWO_PI * Math.exp(-0.5 * (x * x / (s * s) + 0.25 * s * s));
+      double h2 = x * x / (s * s * s) - 0.25 * s;
+      double h3 = h2 * h2 - 3d * x * x / (s * s * s * s) - 0.25;
+      double next;
+      if (lower && b > 0d) {
+        // Householder step on ln(b) - ln(beta)
+        double r = b1 / b;
+        double f2 = r * h2 - r * r;
+        double f3 = r * h3 - 3d * r * r * h2 + 2d * r * r * r;
+        next = s + householder(Math.log(b) - logBeta, r, f2 / r, f3 / r);
+      } else {
+        // Householder step on b - beta
+        next = s + householder(b - beta, b1, h2, h3);
+      }
+      if (Math.abs(next - s) <= TOLERANCE * s) {
+        return next;
+      }
+      s = safeguard(next, low, high);
+    }
+    return s;
+  }
+
+  // the normalized price of an out-of-the-money call, b(x, s) = e^(x/2) N(x/s + s/2) - e^(-x/2) N(x/s - s/2)
+  private static double normalizedBlackPrice(double x, double s) {
+    double xOverS = x / s;
+    double halfS = 0.5 * s;
+    double price = Math.exp(0.5 * x) * NORMAL.getCDF(xOverS + halfS) - Math.exp(-0.5 * x) * NORMAL.getCDF(xOverS - halfS);
+    return Math.max(price, 0d);
+  }
+
+  // finds s such that the out-of-the-money Bachelier price s * (n(x/s) + x/s * N(x/s)) is the price, where x <= 0
+  private static double normalImpliedTotalVolatility(double price, double x) {
+    double atmGuess = price / ONE_OVER_SQRT_TWO_PI;
+    if (x == 0d) { // at-the-money, explicit solution
+      return atmGuess;
+    }
+    // initial guess, from the expansion around the money for high prices, the asymptotic value for low prices
+    // around the money, price ~ s n(0) + x / 2, the at-the-money value being a lower bound
+    // for small s, price ~ s^3 n(v) / x^2 with v = -x/s, so v^2 ~ 2 L - 3 ln(2 L) with L = -ln(price sqrt(2 pi) / -x)
+    double s = (price - 0.5 * x) / ONE_OVER_SQRT_TWO_PI;
+    double logTerm = -Math.log(price / (-x * ONE_OVER_SQRT_TWO_PI));
+    double v2 = 2d * logTerm - 3d * Math.log(Math.max(2d * logTerm, 1d));
+    if (v2 > 1d) {
+      s = Math.max(-x / Math.sqrt(v2), atmGuess);
+    }
+    double logPrice = Math.log(price);
+    double low = atmGuess;
+    double high = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double u = x / s;
+      double pdf = ONE_OVER_SQRT_TWO_PI * Math.exp(-0.5 * u * u);
+      double p = s * pdf + x * NORMAL.getCDF(u);
+      if (p < price) {
+        low = s;
+      } else {
+        high = s;
+      }
+      double next;
+      if (p > 0d) {
+        // Householder step on ln(p) - ln(price)
+        // derivatives of the price with respect to s, relative to the first derivative which is the density
+        double h2 = x * x / (s * s * s);
+        double h3 = h2 * h2 - 3d * x * x / (s * s * s * s);
+        double r = pdf / p;
+        double f2 = r * h2 - r * r;
+        double f3 = r * h3 - 3d * r * r * h2 + 2d * r * r * r;
+        next = s + householder(Math.log(p) - logPrice, r, f2 / r, f3 / r);
+      } else {
+        next = Double.NaN;
+      }
+      if (Math.abs(next - s) <= TOLERANCE * s) {
+        return next;
+      }
+      s = safeguard(next, low, high);
+    }
+    return s;
+  }
+
+  // the third order Householder step for a function with value f, first derivative f1,
+  // and second and third derivatives relative to the first h2 and h3
+  private static double householder(double f, double f1, double h2, double h3) {
+    double nu = -f / f1;
+    return nu * (1d + 0.5 * h2 * nu) / (1d + nu * (h2 + h3 * nu / 6d));
+  }
+
+  // keeps the next value within the bracket of the root, bisecting if the step leaves the bracket
+  private static double safeguard(double next, double low, double high) {
+    if (next > low && next < high) {
+      return next;
+    }
+    return high == Double.POSITIVE_INFINITY ? 2d * low : 0.5 * (low + high);
+  }
+
+  // checks the sizes of the arrays
+  private static void validateSizes(
+      int size,
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] impliedVolatility) {
+
+    ArgChecker.isTrue(forward.length == size, "Forward array must have the same size as the price array");
+    ArgChecker.isTrue(strike.length == size, "Strike array must have the same size as the price array");
+    ArgChecker.isTrue(timeToExpiry.length == size, "Time to expiry array must have the same size as the price array");
+    ArgChecker.isTrue(impliedVolatility.length >= size, "Implied volatility array is too short");
+  }
+
+}
@@ -138,6 +138,105 @@ public final class NormalFormulaRepository {
     return ValueDerivatives.of(price, DoubleArray.of(forwardDerivative, volatilityDerivative, strikeDerivative));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices of a set of options.
+   * <p>
+   * The price of the option at index {@code i} is stored at index {@code i} of the price array.
+   * The result is the same as calling {@link #price(double, double, double, double, PutCall)} for each option.
+   * No objects are allocated per option, making this suitable for pricing a strip of caplets or a grid of options.
+   * 
+   * @param forward  the forward value of the underlying of each option
+   * @param strike  the strike of each option
+   * @param timeToExpiry  the time to expiry of each option
+   * @param normalVol  the normal volatility of each option
+   * @param putCall  whether each option is put or call
+   * @param price  the array to store the forward prices in, at least as long as the forward array
+   */
+  public static void price(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      PutCall[] putCall,
+      double[] price) {
+
+    int size = forward.length;
+    validateSizes(size, strike, timeToExpiry, normalVol, putCall, price);
+    for (int i = 0; i < size; i++) {
+      price[i] = price(forward[i], strike[i], timeToExpiry[i], normalVol[i], putCall[i]);
+    }
+  }
+
+  /**
+   * Computes the forward prices of a set of options and their derivatives.
+   * <p>
+   * The price, the derivative with respect to the forward and the derivative with respect to the volatility
+   * of the option at index {@code i} are stored at index {@code i} of the output arrays.
+   * The result is the same as calling {@link #priceAdjoint(double, double, double, double, double, PutCall)}
+   * with a numeraire of one for each option.
+   * No objects are allocated per option, making this suitable for pricing a strip of caplets or a grid of options.
+   * 
+   * @param forward  the forward value of the underlying of each option
+   * @param strike  the strike of each option
+   * @param timeToExpiry  the time to expiry of each option
+   * @param normalVol  the normal volatility of each option
+   * @param putCall  whether each option is put or call
+   * @param price  the array to store the forward prices in, at least as long as the forward array
+   * @param forwardDerivative  the array to store the derivatives with respect to the forward in
+   * @param volatilityDerivative  the array to store the derivatives with respect to the volatility in
+   */
+  public static void priceAdjoint(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      PutCall[] putCall,
+      double[] price,
+      double[] forwardDerivative,
+      double[] volatilityDerivative) {
+
+    int size = forward.length;
+    validateSizes(size, strike, timeToExpiry, normalVol, putCall, price);
+    ArgChecker.isTrue(forwardDerivative.length >= size, "Forward derivative array is too short");
+    ArgChecker.isTrue(volatilityDerivative.length >= size, "Volatility derivative array is too short");
+    for (int i = 0; i < size; i++) {
+      int sign = putCall[i].isCall() ? 1 : -1;
+      double rootT = Math.sqrt(timeToExpiry[i]);
+      double sigmaRootT = normalVol[i] * rootT;
+      double x = sign * (forward[i] - strike[i]);
+      if (sigmaRootT < NEAR_ZERO) {
+        price[i] = (x > 0 ? x : 0d);
+        forwardDerivative[i] = x > 0 ? sign : 0d;
+        volatilityDerivative[i] = 0d;
+      } else {
+        double arg = x / sigmaRootT;
+        double cdf = DISTRIBUTION.getCDF(arg);
+        double pdf = DISTRIBUTION.getPDF(arg);
+        price[i] = x * cdf + sigmaRootT * pdf;
+        double argBar = pdf * x - pdf * arg * sigmaRootT;
+        forwardDerivative[i] = sign * cdf + sign / sigmaRootT * argBar;
+        volatilityDerivative[i] = rootT * (-arg / sigmaRootT * argBar + pdf);
+      }
+    }
+  }
+
+  // checks the sizes of the arrays used for array based pricing
+  private static void validateSizes(
+      int size,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      PutCall[] putCall,
+      double[] price) {
+
+    ArgChecker.isTrue(strike.length == size, "Strike array must have the same size as the forward array");
+    ArgChecker.isTrue(timeToExpiry.length == size, "Time to expiry array must have the same size as the forward array");
+    ArgChecker.isTrue(normalVol.length == size, "Volatility array must have the same size as the forward array");
+    ArgChecker.isTrue(putCall.length == size, "Put/call array must have the same size as the forward array");
+    ArgChecker.isTrue(price.length >= size, "Price array is too short");
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the delta.
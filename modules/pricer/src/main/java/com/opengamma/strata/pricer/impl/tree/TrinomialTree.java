@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -117,4 +121,49 @@ public class TrinomialTree {
     return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
   }
 
+  /**
+   * Compute option prices and deltas of several options under the same trinomial tree gird.
+   * <p>
+   * The options are priced in a single backward pass over the tree, 
+   * thus the layer data of the tree is read once for all the options.
+   * The result for each option is identical to {@link #optionPriceAdjoint(OptionFunction, RecombiningTrinomialTreeData)}.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices and spot deltas, in the order of the options
+   */
+  public List<ValueDerivatives> optionPriceAdjoint(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    int nSteps = data.getNumberOfSteps();
+    int nOptions = functions.size();
+    DoubleArray[] values = new DoubleArray[nOptions];
+    DoubleArray stateValueAtExpiry = data.getStateValueAtLayer(nSteps);
+    for (int j = 0; j < nOptions; ++j) {
+      OptionFunction function = functions.get(j);
+      ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
+      values[j] = function.getPayoffAtExpiryTrinomial(stateValueAtExpiry);
+    }
+    double[] delta = new double[nOptions];
+    for (int i = nSteps - 1; i > -1; --i) {
+      double discountFactor = data.getDiscountFactorAtLayer(i);
+      DoubleMatrix probability = data.getProbabilityAtLayer(i);
+      DoubleArray stateValue = data.getStateValueAtLayer(i);
+      for (int j = 0; j < nOptions; ++j) {
+        values[j] = functions.get(j).getNextOptionValues(discountFactor, probability, stateValue, values[j], i);
+        if (i == 1) {
+          double d1 = (values[j].get(2) - values[j].get(1)) / (stateValue.get(2) - stateValue.get(1));
+          double d2 = (values[j].get(1) - values[j].get(0)) / (stateValue.get(1) - stateValue.get(0));
+          delta[j] = 0.5 * (d1 + d2);
+        }
+      }
+    }
+    ImmutableList.Builder<ValueDerivatives> result = ImmutableList.builder();
+    for (int j = 0; j < nOptions; ++j) {
+      result.add(ValueDerivatives.of(values[j].get(0), DoubleArray.of(delta[j])));
+    }
+    return result.build();
+  }
+
 }
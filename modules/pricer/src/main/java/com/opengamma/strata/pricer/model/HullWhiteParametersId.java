@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.model;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.data.MarketDataId;
+
+/**
+ * An identifier used to access Hull-White one factor parameters by name.
+ * <p>
+ * This is used when there is a need to obtain an instance of
+ * {@link HullWhiteOneFactorPiecewiseConstantParametersProvider}.
+ */
+@BeanDefinition(style = "light", cacheHashCode = true)
+public final class HullWhiteParametersId
+    implements MarketDataId<HullWhiteOneFactorPiecewiseConstantParametersProvider>, ImmutableBean, Serializable {
+
+  /**
+   * The name of the parameters.
+   */
+  @PropertyDefinition(validate = "notEmpty")
+  private final String name;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an identifier used to find Hull-White one factor parameters.
+   *
+   * @param name  the name
+   * @return an identifier for the parameters
+   */
+  public static HullWhiteParametersId of(String name) {
+    return new HullWhiteParametersId(name);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Class<HullWhiteOneFactorPiecewiseConstantParametersProvider> getMarketDataType() {
+    return HullWhiteOneFactorPiecewiseConstantParametersProvider.class;
+  }
+
+  @Override
+  public String toString() {
+    return "HullWhiteParametersId:" + name;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code HullWhiteParametersId}.
+   */
+  private static final TypedMetaBean<HullWhiteParametersId> META_BEAN =
+      LightMetaBean.of(
+          HullWhiteParametersId.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "name"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code HullWhiteParametersId}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<HullWhiteParametersId> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The cached hash code, using the racy single-check idiom.
+   */
+  private transient int cacheHashCode;
+
+  private HullWhiteParametersId(
+      String name) {
+    JodaBeanUtils.notEmpty(name, "name");
+    this.name = name;
+  }
+
+  @Override
+  public TypedMetaBean<HullWhiteParametersId> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the name of the parameters.
+   * @return the value of the property, not empty
+   */
+  public String getName() {
+    return name;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      HullWhiteParametersId other = (HullWhiteParametersId) obj;
+      return JodaBeanUtils.equal(name, other.name);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = cacheHashCode;
+    if (hash == 0) {
+      hash = getClass().hashCode();
+      hash = hash * 31 + JodaBeanUtils.hashCode(name);
+      cacheHashCode = hash;
+    }
+    return hash;
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+
+}
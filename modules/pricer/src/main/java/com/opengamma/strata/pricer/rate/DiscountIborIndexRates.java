@@ -7,6 +7,8 @@ package com.opengamma.strata.pricer.rate;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -152,6 +154,37 @@ public final class DiscountIborIndexRates
     return rateIgnoringFixings(observation);
   }
 
+  @Override
+  public DoubleArray rates(List<IborIndexObservation> observations) {
+    // forward rates use discount factors found in a single call for all the observations
+    int size = observations.size();
+    double[] rates = new double[size];
+    double[] startYearFractions = new double[size];
+    double[] endYearFractions = new double[size];
+    int[] forwardIndices = new int[size];
+    int forwardCount = 0;
+    for (int i = 0; i < size; i++) {
+      IborIndexObservation observation = observations.get(i);
+      if (observation.getFixingDate().isAfter(getValuationDate())) {
+        startYearFractions[forwardCount] = discountFactors.relativeYearFraction(observation.getEffectiveDate());
+        endYearFractions[forwardCount] = discountFactors.relativeYearFraction(observation.getMaturityDate());
+        forwardIndices[forwardCount] = i;
+        forwardCount++;
+      } else {
+        rates[i] = historicRate(observation);
+      }
+    }
+    if (forwardCount > 0) {
+      DoubleArray dfStart = discountFactors.discountFactors(DoubleArray.ofUnsafe(Arrays.copyOf(startYearFractions, forwardCount)));
+      DoubleArray dfEnd = discountFactors.discountFactors(DoubleArray.ofUnsafe(Arrays.copyOf(endYearFractions, forwardCount)));
+      for (int j = 0; j < forwardCount; j++) {
+        double accrualFactor = observations.get(forwardIndices[j]).getYearFraction();
+        rates[forwardIndices[j]] = (dfStart.get(j) / dfEnd.get(j) - 1) / accrualFactor;
+      }
+    }
+    return DoubleArray.ofUnsafe(rates);
+  }
+
   // historic rate
   private double historicRate(IborIndexObservation observation) {
     LocalDate fixingDate = observation.getFixingDate();
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.rate;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.function.Consumer;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -126,6 +127,22 @@ public interface IborIndexRates
    */
   public abstract double rate(IborIndexObservation observation);
 
+  /**
+   * Gets the historic or forward rates for the specified observations.
+   * <p>
+   * The result is the same as calling {@link #rate(IborIndexObservation)} for each observation.
+   * This allows the rates of all the periods of a swap leg to be obtained in a single call.
+   * Implementations may evaluate the underlying curve in a single pass, which is
+   * most efficient when the observations are sorted by date.
+   * 
+   * @param observations  the rate observations, including the fixing dates
+   * @return the rates of the index, one for each observation
+   * @throws RuntimeException if a value cannot be obtained
+   */
+  public default DoubleArray rates(List<IborIndexObservation> observations) {
+    return DoubleArray.of(observations.size(), i -> rate(observations.get(i)));
+  }
+
   /**
    * Ignores the time-series of fixings to get the forward rate at the specified
    * fixing date, used in rare and special cases. In most cases callers should use
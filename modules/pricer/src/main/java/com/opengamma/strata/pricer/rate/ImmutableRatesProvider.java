@@ -15,6 +15,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
@@ -43,6 +45,7 @@ import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
@@ -62,6 +65,9 @@ import com.opengamma.strata.pricer.fx.FxIndexRates;
  * <p>
  * This provides the environmental information against which pricing occurs.
  * This includes FX rates, discount factors and forward curves.
+ * <p>
+ * The discount factors, Ibor and Overnight index rates and FX forward rates views are
+ * created on first use and then cached, as pricers typically request them for every payment period.
  */
 @BeanDefinition(builderScope = "private", constructorScope = "package")
 public final class ImmutableRatesProvider
@@ -101,6 +107,26 @@ public final class ImmutableRatesProvider
    */
   @PropertyDefinition(validate = "notNull")
   private final ImmutableMap<Index, LocalDateDoubleTimeSeries> timeSeries;
+  /**
+   * The discount factors, created on demand and keyed by currency.
+   */
+  private final transient ConcurrentMap<Currency, DiscountFactors> discountFactorsCache =
+      new ConcurrentHashMap<>();  // derived, not a property
+  /**
+   * The FX forward rates, created on demand and keyed by currency pair.
+   */
+  private final transient ConcurrentMap<CurrencyPair, FxForwardRates> fxForwardRatesCache =
+      new ConcurrentHashMap<>();  // derived, not a property
+  /**
+   * The Ibor index rates, created on demand and keyed by index.
+   */
+  private final transient ConcurrentMap<IborIndex, IborIndexRates> iborIndexRatesCache =
+      new ConcurrentHashMap<>();  // derived, not a property
+  /**
+   * The Overnight index rates, created on demand and keyed by index.
+   */
+  private final transient ConcurrentMap<OvernightIndex, OvernightIndexRates> overnightIndexRatesCache =
+      new ConcurrentHashMap<>();  // derived, not a property
 
   //-------------------------------------------------------------------------
   @ImmutableDefaults
@@ -108,6 +134,11 @@ public final class ImmutableRatesProvider
     builder.fxRateProvider = FxMatrix.empty();
   }
 
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new ImmutableRatesProvider(valuationDate, fxRateProvider, discountCurves, indexCurves, timeSeries);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Combines a number of rates providers.
@@ -218,6 +249,12 @@ public final class ImmutableRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public DiscountFactors discountFactors(Currency currency) {
+    DiscountFactors cached = discountFactorsCache.get(currency);
+    return cached != null ? cached : discountFactorsCache.computeIfAbsent(currency, this::createDiscountFactors);
+  }
+
+  // creates the discount factors, called once per currency
+  private DiscountFactors createDiscountFactors(Currency currency) {
     Curve curve = discountCurves.get(currency);
     if (curve == null) {
       throw new IllegalArgumentException("Unable to find discount curve: " + currency);
@@ -236,6 +273,12 @@ public final class ImmutableRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    FxForwardRates cached = fxForwardRatesCache.get(currencyPair);
+    return cached != null ? cached : fxForwardRatesCache.computeIfAbsent(currencyPair, this::createFxForwardRates);
+  }
+
+  // creates the FX forward rates, called once per currency pair
+  private FxForwardRates createFxForwardRates(CurrencyPair currencyPair) {
     DiscountFactors base = discountFactors(currencyPair.getBase());
     DiscountFactors counter = discountFactors(currencyPair.getCounter());
     return DiscountFxForwardRates.of(currencyPair, fxRateProvider, base, counter);
@@ -244,6 +287,12 @@ public final class ImmutableRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public IborIndexRates iborIndexRates(IborIndex index) {
+    IborIndexRates cached = iborIndexRatesCache.get(index);
+    return cached != null ? cached : iborIndexRatesCache.computeIfAbsent(index, this::createIborIndexRates);
+  }
+
+  // creates the Ibor index rates, called once per index
+  private IborIndexRates createIborIndexRates(IborIndex index) {
     Curve curve = indexCurves.get(index);
     if (curve == null) {
       return historicCurve(index);
@@ -263,6 +312,12 @@ public final class ImmutableRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    OvernightIndexRates cached = overnightIndexRatesCache.get(index);
+    return cached != null ? cached : overnightIndexRatesCache.computeIfAbsent(index, this::createOvernightIndexRates);
+  }
+
+  // creates the Overnight index rates, called once per index
+  private OvernightIndexRates createOvernightIndexRates(OvernightIndex index) {
     Curve curve = indexCurves.get(index);
     if (curve == null) {
       return historicCurve(index);
@@ -340,6 +395,47 @@ public final class ImmutableRatesProvider
     return merged.build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this provider with the discount curve of the specified currency replaced.
+   * <p>
+   * The other curves, the time-series and the FX rate provider are shared with this provider, not copied.
+   * This makes the method suitable for creating many providers that each differ by one curve,
+   * as in finite difference calculations.
+   * 
+   * @param currency  the currency of the curve to replace
+   * @param discountCurve  the new discount curve
+   * @return the provider with the curve replaced
+   * @throws IllegalArgumentException if this provider has no discount curve for the currency
+   */
+  public ImmutableRatesProvider withDiscountCurve(Currency currency, Curve discountCurve) {
+    ArgChecker.notNull(discountCurve, "discountCurve");
+    ArgChecker.isTrue(discountCurves.containsKey(currency), "Unable to find discount curve: {}", currency);
+    ImmutableMap<Currency, Curve> curves =
+        MapStream.of(discountCurves).mapValues((key, curve) -> key.equals(currency) ? discountCurve : curve).toMap();
+    return new ImmutableRatesProvider(valuationDate, fxRateProvider, curves, indexCurves, timeSeries);
+  }
+
+  /**
+   * Returns a copy of this provider with the forward curve of the specified index replaced.
+   * <p>
+   * The other curves, the time-series and the FX rate provider are shared with this provider, not copied.
+   * This makes the method suitable for creating many providers that each differ by one curve,
+   * as in finite difference calculations.
+   * 
+   * @param index  the index of the curve to replace
+   * @param forwardCurve  the new forward curve
+   * @return the provider with the curve replaced
+   * @throws IllegalArgumentException if this provider has no forward curve for the index
+   */
+  public ImmutableRatesProvider withIndexCurve(Index index, Curve forwardCurve) {
+    ArgChecker.notNull(forwardCurve, "forwardCurve");
+    ArgChecker.isTrue(indexCurves.containsKey(index), "Unable to find index curve: {}", index);
+    ImmutableMap<Index, Curve> curves =
+        MapStream.of(indexCurves).mapValues((key, curve) -> key.equals(index) ? forwardCurve : curve).toMap();
+    return new ImmutableRatesProvider(valuationDate, fxRateProvider, discountCurves, curves, timeSeries);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ImmutableRatesProvider toImmutableRatesProvider() {
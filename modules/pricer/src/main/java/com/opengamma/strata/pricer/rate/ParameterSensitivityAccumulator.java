@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAggregator;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.fx.FxForwardRates;
+import com.opengamma.strata.pricer.fx.FxForwardSensitivity;
+import com.opengamma.strata.pricer.fx.FxIndexRates;
+import com.opengamma.strata.pricer.fx.FxIndexSensitivity;
+
+/**
+ * Accumulates the sensitivity to the curve parameters of a rates provider.
+ * <p>
+ * Each point sensitivity is projected onto the parameters of the curve it refers to as it is added.
+ * The projected values are summed using a {@link CurrencyParameterSensitivitiesAggregator},
+ * so the number of objects retained does not depend on the number of point sensitivities added.
+ * Zero rate, Ibor and Overnight sensitivities on curves of zero rates are projected directly,
+ * adding the unit sensitivity of the curve multiplied by the point sensitivity into the primitive totals,
+ * without creating parameter sensitivities for each point.
+ * This avoids the cost of combining many immutable {@link CurrencyParameterSensitivities},
+ * which is significant when computing bucketed sensitivities for large trades and portfolios.
+ * <p>
+ * This is used by {@link RatesProvider#parameterSensitivity(PointSensitivities)}.
+ * Point sensitivities of a type not handled by the rates provider are ignored.
+ * <p>
+ * The parameter metadata of each curve is taken from the first sensitivity added for that curve.
+ * As with {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivities)},
+ * the metadata of later sensitivities is not checked, but the parameter count must match.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class ParameterSensitivityAccumulator {
+
+  /**
+   * The provider used to project the point sensitivities.
+   */
+  private final RatesProvider provider;
+  /**
+   * The accumulated sensitivities.
+   */
+  private final CurrencyParameterSensitivitiesAggregator aggregator = CurrencyParameterSensitivitiesAggregator.create();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty accumulator for the specified rates provider.
+   *
+   * @param provider  the rates provider used to project the point sensitivities
+   * @return the accumulator
+   */
+  public static ParameterSensitivityAccumulator of(RatesProvider provider) {
+    return new ParameterSensitivityAccumulator(provider);
+  }
+
+  // restricted constructor
+  private ParameterSensitivityAccumulator(RatesProvider provider) {
+    this.provider = ArgChecker.notNull(provider, "provider");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the parameter sensitivity of each of the specified point sensitivities.
+   *
+   * @param pointSensitivities  the point sensitivities to add
+   * @return this accumulator, for chaining
+   */
+  public ParameterSensitivityAccumulator addAll(PointSensitivities pointSensitivities) {
+    for (PointSensitivity point : pointSensitivities.getSensitivities()) {
+      add(point);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the parameter sensitivity of the specified point sensitivity.
+   * <p>
+   * The point sensitivity is projected onto the curve parameters using the rates provider.
+   *
+   * @param point  the point sensitivity to add
+   * @return this accumulator, for chaining
+   */
+  public ParameterSensitivityAccumulator add(PointSensitivity point) {
+    if (point instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
+      DiscountFactors factors = provider.discountFactors(pt.getCurveCurrency());
+      addZeroRate(factors, pt, 1d);
+
+    } else if (point instanceof IborRateSensitivity) {
+      IborRateSensitivity pt = (IborRateSensitivity) point;
+      IborIndexRates rates = provider.iborIndexRates(pt.getIndex());
+      if (rates instanceof DiscountIborIndexRates) {
+        IborIndexObservation observation = pt.getObservation();
+        addForward(
+            ((DiscountIborIndexRates) rates).getDiscountFactors(),
+            observation.getEffectiveDate(),
+            observation.getMaturityDate(),
+            observation.getYearFraction(),
+            pt.getCurrency(),
+            pt.getSensitivity());
+      } else {
+        add(rates.parameterSensitivity(pt));
+      }
+
+    } else if (point instanceof OvernightRateSensitivity) {
+      OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
+      OvernightIndexRates rates = provider.overnightIndexRates(pt.getIndex());
+      if (rates instanceof DiscountOvernightIndexRates) {
+        LocalDate startDate = pt.getObservation().getEffectiveDate();
+        LocalDate endDate = pt.getEndDate();
+        addForward(
+            ((DiscountOvernightIndexRates) rates).getDiscountFactors(),
+            startDate,
+            endDate,
+            pt.getIndex().getDayCount().yearFraction(startDate, endDate),
+            pt.getCurrency(),
+            pt.getSensitivity());
+      } else {
+        add(rates.parameterSensitivity(pt));
+      }
+
+    } else if (point instanceof FxIndexSensitivity) {
+      FxIndexSensitivity pt = (FxIndexSensitivity) point;
+      FxIndexRates rates = provider.fxIndexRates(pt.getIndex());
+      add(rates.parameterSensitivity(pt));
+
+    } else if (point instanceof InflationRateSensitivity) {
+      InflationRateSensitivity pt = (InflationRateSensitivity) point;
+      PriceIndexValues rates = provider.priceIndexValues(pt.getIndex());
+      add(rates.parameterSensitivity(pt));
+
+    } else if (point instanceof FxForwardSensitivity) {
+      FxForwardSensitivity pt = (FxForwardSensitivity) point;
+      FxForwardRates rates = provider.fxForwardRates(pt.getCurrencyPair());
+      add(rates.parameterSensitivity(pt));
+    }
+    return this;
+  }
+
+  // adds the sensitivity to a forward rate implied by discount factors,
+  // matching DiscountIborIndexRates and DiscountOvernightIndexRates
+  private void addForward(
+      DiscountFactors factors,
+      LocalDate startDate,
+      LocalDate endDate,
+      double accrualFactor,
+      Currency currency,
+      double forwardBar) {
+
+    double dfForwardStart = factors.discountFactor(startDate);
+    double dfForwardEnd = factors.discountFactor(endDate);
+    double dfStartBar = forwardBar / (accrualFactor * dfForwardEnd);
+    double dfEndBar = -forwardBar * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+    addZeroRate(factors, factors.zeroRatePointSensitivity(startDate, currency), dfStartBar);
+    addZeroRate(factors, factors.zeroRatePointSensitivity(endDate, currency), dfEndBar);
+  }
+
+  // adds the multiplied zero rate sensitivity, projecting directly onto the curve of zero rates
+  private void addZeroRate(DiscountFactors factors, ZeroRateSensitivity point, double multiplier) {
+    if (factors instanceof ZeroRateDiscountFactors) {
+      Curve curve = ((ZeroRateDiscountFactors) factors).getCurve();
+      aggregator.add(
+          curve.yValueParameterSensitivity(point.getYearFraction()),
+          point.getCurrency(),
+          point.getSensitivity() * multiplier);
+    } else if (multiplier == 1d) {
+      add(factors.parameterSensitivity(point));
+    } else {
+      add(factors.parameterSensitivity(point).multipliedBy(multiplier));
+    }
+  }
+
+  /**
+   * Adds the specified parameter sensitivities.
+   *
+   * @param sensitivities  the parameter sensitivities to add
+   * @return this accumulator, for chaining
+   */
+  public ParameterSensitivityAccumulator add(CurrencyParameterSensitivities sensitivities) {
+    aggregator.add(sensitivities);
+    return this;
+  }
+
+  /**
+   * Adds the specified parameter sensitivity.
+   * <p>
+   * The values are added to those already accumulated for the same market data name and currency.
+   *
+   * @param sensitivity  the parameter sensitivity to add
+   * @return this accumulator, for chaining
+   * @throws IllegalArgumentException if the parameter count differs from that already accumulated
+   */
+  public ParameterSensitivityAccumulator add(CurrencyParameterSensitivity sensitivity) {
+    aggregator.add(sensitivity);
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the accumulated parameter sensitivities.
+   * <p>
+   * The accumulator is unaffected and may continue to be used.
+   *
+   * @return the parameter sensitivities
+   */
+  public CurrencyParameterSensitivities build() {
+    return aggregator.build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("ParameterSensitivityAccumulator[{}]", aggregator.size());
+  }
+
+}
@@ -23,8 +23,6 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivity;
 import com.opengamma.strata.pricer.BaseProvider;
-import com.opengamma.strata.pricer.DiscountFactors;
-import com.opengamma.strata.pricer.ZeroRateSensitivity;
 import com.opengamma.strata.pricer.fx.FxForwardRates;
 import com.opengamma.strata.pricer.fx.FxForwardSensitivity;
 import com.opengamma.strata.pricer.fx.FxIndexRates;
@@ -162,45 +160,15 @@ public interface RatesProvider
    * of each month in a year relative to a specific forward curve. This method converts to the point
    * sensitivities to be relative to each parameter on the underlying curve, such as the 1 day, 1 week,
    * 1 month, 3 month, 12 month and 5 year nodal points.
+   * <p>
+   * The sensitivities are summed using a {@link ParameterSensitivityAccumulator}, which can also
+   * be used directly to accumulate the sensitivities of many trades.
    * 
    * @param pointSensitivities  the point sensitivities
    * @return the sensitivity to the curve parameters
    */
   public default CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
-    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
-    for (PointSensitivity point : pointSensitivities.getSensitivities()) {
-      if (point instanceof ZeroRateSensitivity) {
-        ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
-        DiscountFactors factors = discountFactors(pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.parameterSensitivity(pt));
-
-      } else if (point instanceof IborRateSensitivity) {
-        IborRateSensitivity pt = (IborRateSensitivity) point;
-        IborIndexRates rates = iborIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
-
-      } else if (point instanceof OvernightRateSensitivity) {
-        OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
-        OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
-
-      } else if (point instanceof FxIndexSensitivity) {
-        FxIndexSensitivity pt = (FxIndexSensitivity) point;
-        FxIndexRates rates = fxIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
-
-      } else if (point instanceof InflationRateSensitivity) {
-        InflationRateSensitivity pt = (InflationRateSensitivity) point;
-        PriceIndexValues rates = priceIndexValues(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
-
-      } else if (point instanceof FxForwardSensitivity) {
-        FxForwardSensitivity pt = (FxForwardSensitivity) point;
-        FxForwardRates rates = fxForwardRates(pt.getCurrencyPair());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
-      }
-    }
-    return sens;
+    return ParameterSensitivityAccumulator.of(this).addAll(pointSensitivities).build();
   }
 
   /**
@@ -7,6 +7,8 @@ package com.opengamma.strata.pricer.rate;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -198,6 +200,33 @@ public final class SimpleIborIndexRates
     return rateIgnoringFixings(observation);
   }
 
+  @Override
+  public DoubleArray rates(List<IborIndexObservation> observations) {
+    // forward rates are read off the curve in a single call for all the observations
+    int size = observations.size();
+    double[] rates = new double[size];
+    double[] forwardYearFractions = new double[size];
+    int[] forwardIndices = new int[size];
+    int forwardCount = 0;
+    for (int i = 0; i < size; i++) {
+      IborIndexObservation observation = observations.get(i);
+      if (observation.getFixingDate().isAfter(getValuationDate())) {
+        forwardYearFractions[forwardCount] = relativeYearFraction(observation.getMaturityDate());
+        forwardIndices[forwardCount] = i;
+        forwardCount++;
+      } else {
+        rates[i] = historicRate(observation);
+      }
+    }
+    if (forwardCount > 0) {
+      DoubleArray forwardRates = curve.yValues(DoubleArray.ofUnsafe(Arrays.copyOf(forwardYearFractions, forwardCount)));
+      for (int j = 0; j < forwardCount; j++) {
+        rates[forwardIndices[j]] = forwardRates.get(j);
+      }
+    }
+    return DoubleArray.ofUnsafe(rates);
+  }
+
   // historic rate
   private double historicRate(IborIndexObservation observation) {
     LocalDate fixingDate = observation.getFixingDate();
@@ -13,7 +13,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
@@ -22,6 +24,8 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.basics.index.RateIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -53,6 +57,11 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
+ * The cross gamma requires one full sensitivity calculation for each curve parameter.
+ * The sensitivity at the unshifted curves is only calculated once, and in the cross-curve case
+ * the shifted sensitivities are shared between all the curves of the result.
+ * Use {@link #withExecutor(ExecutorService)} to calculate the shifted sensitivities in parallel.
+ * <p>
  * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
  */
 public final class CurveGammaCalculator {
@@ -66,6 +75,18 @@ public final class CurveGammaCalculator {
    * The first order finite difference calculator.
    */
   private final VectorFieldFirstOrderDifferentiator fd;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
+  /**
+   * The executor used to calculate the shifted sensitivities, null to calculate them serially.
+   */
+  private final ExecutorService executor;
 
   //-------------------------------------------------------------------------
   /**
@@ -106,7 +127,30 @@ public final class CurveGammaCalculator {
    * @param shift  the shift to be applied to the curves
    */
   private CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+    this(fdType, shift, null);
+  }
+
+  // creates an instance
+  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift, ExecutorService executor) {
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
+    this.fdType = fdType;
+    this.shift = shift;
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a copy of this calculator that calculates the shifted sensitivities in parallel.
+   * <p>
+   * The cross gamma methods calculate the sensitivities at each shifted curve as a separate task,
+   * see {@link Guavate#evaluate(List, java.util.concurrent.Executor)}, thus the sensitivity function
+   * must be safe to call from multiple threads.
+   * The semi-parallel gamma only requires one shift and is not affected.
+   * 
+   * @param executor  the executor used to calculate the shifted sensitivities
+   * @return the calculator
+   */
+  public CurveGammaCalculator withExecutor(ExecutorService executor) {
+    return new CurveGammaCalculator(fdType, shift, ArgChecker.notNull(executor, "executor"));
   }
 
   //-------------------------------------------------------------------------
@@ -136,7 +180,7 @@ public final class CurveGammaCalculator {
       Curve curve = entry.getValue();
       if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
         CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-            curve, currency, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
+            curve, currency, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn, baseDelta);
         result = result.combinedWith(gammaSingle);
       } else if (curve.split().size() > 1) {
         ImmutableList<Curve> curves = curve.split();
@@ -149,7 +193,8 @@ public final class CurveGammaCalculator {
                 underlyingCurve,
                 currency,
                 c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                sensitivitiesFn);
+                sensitivitiesFn,
+                baseDelta);
             result = result.combinedWith(gammaSingle);
           }
         }
@@ -163,7 +208,7 @@ public final class CurveGammaCalculator {
         Curve curve = entry.getValue();
         if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
           CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              curve, currency, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
+              curve, currency, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn, baseDelta);
           result = result.combinedWith(gammaSingle);
         } else if (curve.split().size() > 1) {
           ImmutableList<Curve> curves = curve.split();
@@ -176,7 +221,8 @@ public final class CurveGammaCalculator {
                   underlyingCurve,
                   currency,
                   c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                  sensitivitiesFn);
+                  sensitivitiesFn,
+                  baseDelta);
               result = result.combinedWith(gammaSingle);
             }
           }
@@ -219,7 +265,8 @@ public final class CurveGammaCalculator {
             curve,
             currency,
             c -> replaceIssuerCurve(immProv, legCcy, DiscountFactors.of(currency, valuationDate, c)),
-            sensitivitiesFn);
+            sensitivitiesFn,
+            baseDelta);
         result = result.combinedWith(gammaSingle);
       } else {
         ImmutableList<Curve> curves = curve.split();
@@ -236,7 +283,8 @@ public final class CurveGammaCalculator {
                   currency,
                   c -> replaceIssuerCurve(
                       immProv, legCcy, DiscountFactors.of(currency, valuationDate, curve.withUnderlyingCurve(currentIndex, c))),
-                  sensitivitiesFn);
+                  sensitivitiesFn,
+                  baseDelta);
               result = result.combinedWith(gammaSingle);
             }
           }
@@ -255,7 +303,8 @@ public final class CurveGammaCalculator {
             curve,
             currency,
             c -> replaceRepoCurve(immProv, rgCcy, DiscountFactors.of(currency, valuationDate, c)),
-            sensitivitiesFn);
+            sensitivitiesFn,
+            baseDelta);
         result = result.combinedWith(gammaSingle);
       } else {
         ImmutableList<Curve> curves = curve.split();
@@ -272,7 +321,8 @@ public final class CurveGammaCalculator {
                   currency,
                   c -> replaceRepoCurve(
                       immProv, rgCcy, DiscountFactors.of(currency, valuationDate, curve.withUnderlyingCurve(currentIndex, c))),
-                  sensitivitiesFn);
+                  sensitivitiesFn,
+                  baseDelta);
               result = result.combinedWith(gammaSingle);
             }
           }
@@ -302,6 +352,8 @@ public final class CurveGammaCalculator {
 
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits.
+    // the shifted sensitivities are shared by all sensitivities, keyed by currency or index and curve name
+    Map<Pair<?, CurveName>, List<CurrencyParameterSensitivities>> shifted = new HashMap<>();
     CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
     for (CurrencyParameterSensitivity baseDeltaSingle : baseDelta.getSensitivities()) {
       CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
@@ -311,7 +363,13 @@ public final class CurveGammaCalculator {
         Curve curve = entry.getValue();
         if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
           CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              baseDeltaSingle, curve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
+              baseDeltaSingle,
+              curve,
+              c -> immProv.toBuilder().discountCurve(currency, c).build(),
+              sensitivitiesFn,
+              baseDelta,
+              shifted,
+              Pair.of(currency, curve.getName()));
           resultInner = resultInner.combinedWith(gammaSingle);
         } else if (curve.split().size() > 1) {
           ImmutableList<Curve> curves = curve.split();
@@ -324,7 +382,10 @@ public final class CurveGammaCalculator {
                   baseDeltaSingle,
                   underlyingCurve,
                   c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                  sensitivitiesFn);
+                  sensitivitiesFn,
+                  baseDelta,
+                  shifted,
+                  Pair.of(currency, underlyingCurve.getName()));
               resultInner = resultInner.combinedWith(gammaSingle);
             }
           }
@@ -338,7 +399,13 @@ public final class CurveGammaCalculator {
           Curve curve = entry.getValue();
           if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
             CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                baseDeltaSingle, curve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
+                baseDeltaSingle,
+                curve,
+                c -> immProv.toBuilder().indexCurve(index, c).build(),
+                sensitivitiesFn,
+                baseDelta,
+                shifted,
+                Pair.of(index, curve.getName()));
             resultInner = resultInner.combinedWith(gammaSingle);
           } else if (curve.split().size() > 1) {
             ImmutableList<Curve> curves = curve.split();
@@ -351,7 +418,10 @@ public final class CurveGammaCalculator {
                     baseDeltaSingle,
                     underlyingCurve,
                     c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                    sensitivitiesFn);
+                    sensitivitiesFn,
+                    baseDelta,
+                    shifted,
+                    Pair.of(index, underlyingCurve.getName()));
                 resultInner = resultInner.combinedWith(gammaSingle);
               }
             }
@@ -378,43 +448,38 @@ public final class CurveGammaCalculator {
       Curve curve,
       Currency sensitivityCurrency,
       Function<Curve, ImmutableRatesProvider> ratesProviderFn,
-      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
+      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn,
+      CurrencyParameterSensitivities baseDelta) {
 
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        Curve newCurve = replaceParameters(curve, t);
-        ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(newCurve.getName(), sensitivityCurrency).getSensitivity();
-      }
-    };
     int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
+    DoubleMatrix sensi = difference(
+        baseDelta,
+        shiftedSensitivities(curve, ratesProviderFn, sensitivitiesFn),
+        sensiMulti -> sensiMulti.getSensitivity(curve.getName(), sensitivityCurrency).getSensitivity());
     List<ParameterMetadata> metadata = IntStream.range(0, nParams)
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
     return CrossGammaParameterSensitivity.of(curve.getName(), metadata, sensitivityCurrency, sensi);
   }
 
-  // computes the sensitivity of baseDeltaSingle to Curve
+  // computes the sensitivity of baseDeltaSingle to Curve, the shifted sensitivities being shared between calls
   CrossGammaParameterSensitivity computeGammaForCurve(
       CurrencyParameterSensitivity baseDeltaSingle,
       Curve curve,
       Function<Curve, ImmutableRatesProvider> ratesProviderFn,
-      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
+      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn,
+      CurrencyParameterSensitivities baseDelta,
+      Map<Pair<?, CurveName>, List<CurrencyParameterSensitivities>> shifted,
+      Pair<?, CurveName> shiftedKey) {
 
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        Curve newCurve = replaceParameters(curve, t);
-        ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
-      }
-    };
     int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
+    List<CurrencyParameterSensitivities> shiftedCurve = shifted.computeIfAbsent(
+        shiftedKey, key -> shiftedSensitivities(curve, ratesProviderFn, sensitivitiesFn));
+    DoubleMatrix sensi = difference(
+        baseDelta,
+        shiftedCurve,
+        sensiMulti -> sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency())
+            .getSensitivity());
     List<ParameterMetadata> metadata = IntStream.range(0, nParams)
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
@@ -476,6 +541,73 @@ public final class CurveGammaCalculator {
   }
 
   //-------------------------------------------------------------------------
+  // computes the sensitivities with each parameter of the curve shifted in turn, in parallel if there is an executor
+  // for central differencing, the sensitivities to the up shifts are followed by those to the down shifts
+  private <P> List<CurrencyParameterSensitivities> shiftedSensitivities(
+      Curve curve,
+      Function<Curve, P> providerFn,
+      Function<P, CurrencyParameterSensitivities> sensitivitiesFn) {
+
+    int nParams = curve.getParameterCount();
+    DoubleArray parameters = DoubleArray.of(nParams, n -> curve.getParameter(n));
+    List<Supplier<CurrencyParameterSensitivities>> tasks = new ArrayList<>();
+    if (fdType != FiniteDifferenceType.BACKWARD) {
+      for (int j = 0; j < nParams; j++) {
+        DoubleArray shiftedParameters = parameters.with(j, parameters.get(j) + shift);
+        tasks.add(() -> sensitivitiesFn.apply(providerFn.apply(replaceParameters(curve, shiftedParameters))));
+      }
+    }
+    if (fdType != FiniteDifferenceType.FORWARD) {
+      for (int j = 0; j < nParams; j++) {
+        DoubleArray shiftedParameters = parameters.with(j, parameters.get(j) - shift);
+        tasks.add(() -> sensitivitiesFn.apply(providerFn.apply(replaceParameters(curve, shiftedParameters))));
+      }
+    }
+    return Guavate.evaluate(tasks, executor);
+  }
+
+  // computes the finite difference of the sensitivity selected by the function
+  // the rows correspond to the sensitivity and the columns to the shifted parameters
+  private DoubleMatrix difference(
+      CurrencyParameterSensitivities baseDelta,
+      List<CurrencyParameterSensitivities> shifted,
+      Function<CurrencyParameterSensitivities, DoubleArray> sensitivityFn) {
+
+    DoubleArray base = sensitivityFn.apply(baseDelta);
+    int n = fdType == FiniteDifferenceType.CENTRAL ? shifted.size() / 2 : shifted.size();
+    int m = base.size();
+    double[][] res = new double[m][n];
+    for (int j = 0; j < n; j++) {
+      switch (fdType) {
+        case FORWARD: {
+          DoubleArray up = sensitivityFn.apply(shifted.get(j));
+          for (int i = 0; i < m; i++) {
+            res[i][j] = (up.get(i) - base.get(i)) / shift;
+          }
+          break;
+        }
+        case CENTRAL: {
+          DoubleArray up = sensitivityFn.apply(shifted.get(j));
+          DoubleArray down = sensitivityFn.apply(shifted.get(n + j));
+          for (int i = 0; i < m; i++) {
+            res[i][j] = (up.get(i) - down.get(i)) / (2 * shift);
+          }
+          break;
+        }
+        case BACKWARD: {
+          DoubleArray down = sensitivityFn.apply(shifted.get(j));
+          for (int i = 0; i < m; i++) {
+            res[i][j] = (base.get(i) - down.get(i)) / shift;
+          }
+          break;
+        }
+        default:
+          throw new IllegalArgumentException("Can only handle forward, backward and central differencing");
+      }
+    }
+    return DoubleMatrix.ofUnsafe(res);
+  }
+
   private Curve replaceParameters(Curve curve, DoubleArray newParameters) {
     return curve.withPerturbation((i, v, m) -> newParameters.get(i));
   }
@@ -521,19 +653,14 @@ public final class CurveGammaCalculator {
       Curve curve,
       Currency sensitivityCurrency,
       Function<Curve, ImmutableLegalEntityDiscountingProvider> ratesProviderFn,
-      Function<ImmutableLegalEntityDiscountingProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
+      Function<ImmutableLegalEntityDiscountingProvider, CurrencyParameterSensitivities> sensitivitiesFn,
+      CurrencyParameterSensitivities baseDelta) {
 
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        Curve newCurve = curve.withPerturbation((i, v, m) -> t.get(i));
-        ImmutableLegalEntityDiscountingProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(curveName, sensitivityCurrency).getSensitivity();
-      }
-    };
     int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
+    DoubleMatrix sensi = difference(
+        baseDelta,
+        shiftedSensitivities(curve, ratesProviderFn, sensitivitiesFn),
+        sensiMulti -> sensiMulti.getSensitivity(curveName, sensitivityCurrency).getSensitivity());
     List<ParameterMetadata> metadata = IntStream.range(0, nParams)
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
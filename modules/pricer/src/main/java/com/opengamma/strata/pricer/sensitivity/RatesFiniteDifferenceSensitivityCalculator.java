@@ -5,22 +5,28 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.SimpleDiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
@@ -39,6 +45,11 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, {@link LegalEntityDiscountingProvider} or {@link CreditRatesProvider}.
  * The sensitivities are calculated by finite difference.
+ * <p>
+ * By default, each curve parameter is shifted up in turn and the value recalculated serially.
+ * Use {@link #ofCentralDifference(double)} to also shift each parameter down,
+ * and {@link #withExecutor(ExecutorService)} to calculate the shifted values in parallel.
+ * The shifted providers share all but the shifted curve with the base provider.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -52,21 +63,69 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The finite difference type, forward or central.
+   */
+  private final FiniteDifferenceType differenceType;
+  /**
+   * The executor used to calculate the shifted values, null to calculate them serially.
+   */
+  private final ExecutorService executor;
 
   /**
    * Create an instance of the finite difference calculator.
+   * <p>
+   * The finite difference is computed by forward type.
    * 
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(shift, FiniteDifferenceType.FORWARD, null);
+  }
+
+  // creates an instance
+  private RatesFiniteDifferenceSensitivityCalculator(
+      double shift,
+      FiniteDifferenceType differenceType,
+      ExecutorService executor) {
+
     this.shift = shift;
+    this.differenceType = differenceType;
+    this.executor = executor;
+  }
+
+  /**
+   * Obtains an instance of the finite difference calculator using central differencing.
+   * <p>
+   * Central differencing is second order accurate in the shift but requires two valuations per curve parameter.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofCentralDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, FiniteDifferenceType.CENTRAL, null);
+  }
+
+  /**
+   * Returns a copy of this calculator that calculates the shifted values in parallel.
+   * <p>
+   * Each shift of each curve parameter is valued as a separate task,
+   * see {@link Guavate#evaluate(List, java.util.concurrent.Executor)}.
+   * The value function must therefore be safe to call from multiple threads.
+   * 
+   * @param executor  the executor used to calculate the shifted values
+   * @return the calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator withExecutor(ExecutorService executor) {
+    return new RatesFiniteDifferenceSensitivityCalculator(
+        shift, differenceType, ArgChecker.notNull(executor, "executor"));
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference is computed by forward or central type, as configured.
    * The function should return a value in the same currency for any rate provider.
    * 
    * @param provider  the rates provider
@@ -80,15 +139,13 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     ImmutableRatesProvider immProv = provider.toImmutableRatesProvider();
     CurrencyAmount valueInit = valueFn.apply(immProv);
     CurrencyParameterSensitivities discounting = sensitivity(
-        immProv,
         immProv.getDiscountCurves(),
-        (base, bumped) -> base.toBuilder().discountCurves(bumped).build(),
+        immProv::withDiscountCurve,
         valueFn,
         valueInit);
     CurrencyParameterSensitivities forward = sensitivity(
-        immProv,
         immProv.getIndexCurves(),
-        (base, bumped) -> base.toBuilder().indexCurves(bumped).build(),
+        immProv::withIndexCurve,
         valueFn,
         valueInit);
     return discounting.combinedWith(forward);
@@ -96,22 +153,16 @@ public class RatesFiniteDifferenceSensitivityCalculator {
 
   // computes the sensitivity with respect to the curves
   private <T> CurrencyParameterSensitivities sensitivity(
-      ImmutableRatesProvider provider,
       Map<T, Curve> baseCurves,
-      BiFunction<ImmutableRatesProvider, Map<T, Curve>, ImmutableRatesProvider> storeBumpedFn,
+      BiFunction<T, Curve, ImmutableRatesProvider> bumpedProviderFn,
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
       CurrencyAmount valueInit) {
 
     CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
     for (Entry<T, Curve> entry : baseCurves.entrySet()) {
       Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
+      DoubleArray sensitivity = curveSensitivity(
+          curve, bumped -> bumpedProviderFn.apply(entry.getKey(), bumped), valueFn, valueInit);
       result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
@@ -121,7 +172,7 @@ public class RatesFiniteDifferenceSensitivityCalculator {
   /**
    * Computes the first order sensitivities of a function of a LegalEntityDiscountingProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference is computed by forward or central type, as configured.
    * The function should return a value in the same currency for any rates provider of LegalEntityDiscountingProvider.
    * 
    * @param provider  the rates provider
@@ -152,17 +203,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     for (Pair<T, Currency> key : baseCurves.keySet()) {
       DiscountFactors discountFactors = baseCurves.get(key);
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
-        ImmutableLegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+      DoubleArray sensitivity = curveSensitivity(
+          curve,
+          bumped -> provider.toBuilder()
+              .set(metaProperty, replaced(baseCurves, key, createDiscountFactors(discountFactors, bumped)))
+              .build(),
+          valueFn,
+          valueInit);
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
@@ -171,7 +219,7 @@ public class RatesFiniteDifferenceSensitivityCalculator {
   /**
    * Computes the first order sensitivities of a function of a {@code CreditRatesProvider} to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference is computed by forward or central type, as configured.
    * The function should return a value in the same currency for any rates provider of {@code CreditRatesProvider}.
    * 
    * @param provider  the rates provider
@@ -203,17 +251,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CreditDiscountFactors creditDiscountFactors = baseCurves.get(key);
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, dscBumped));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+      DoubleArray sensitivity = curveSensitivity(
+          curve,
+          bumped -> provider.toBuilder()
+              .set(metaProperty, replaced(baseCurves, key, createCreditDiscountFactors(creditDiscountFactors, bumped)))
+              .build(),
+          valueFn,
+          valueInit);
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
@@ -231,23 +276,55 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CreditDiscountFactors creditDiscountFactors = credit.getSurvivalProbabilities();
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
-            credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, dscBumped)));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+      DoubleArray sensitivity = curveSensitivity(
+          curve,
+          bumped -> provider.toBuilder()
+              .set(metaProperty, replaced(baseCurves, key, LegalEntitySurvivalProbabilities.of(
+                  credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, bumped))))
+              .build(),
+          valueFn,
+          valueInit);
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
 
   //-------------------------------------------------------------------------
+  // computes the sensitivity to the parameters of the curve, given a function creating the provider from a shifted curve
+  private <P> DoubleArray curveSensitivity(
+      Curve curve,
+      Function<Curve, P> bumpedProviderFn,
+      Function<P, CurrencyAmount> valueFn,
+      CurrencyAmount valueInit) {
+
+    int paramCount = curve.getParameterCount();
+    List<Supplier<Double>> tasks = new ArrayList<>();
+    for (int i = 0; i < paramCount; i++) {
+      Curve upBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+      tasks.add(() -> valueFn.apply(bumpedProviderFn.apply(upBumped)).getAmount());
+    }
+    if (differenceType == FiniteDifferenceType.CENTRAL) {
+      for (int i = 0; i < paramCount; i++) {
+        Curve downBumped = curve.withParameter(i, curve.getParameter(i) - shift);
+        tasks.add(() -> valueFn.apply(bumpedProviderFn.apply(downBumped)).getAmount());
+      }
+    }
+    List<Double> values = Guavate.evaluate(tasks, executor);
+    if (differenceType == FiniteDifferenceType.CENTRAL) {
+      return DoubleArray.of(paramCount, i -> (values.get(i) - values.get(paramCount + i)) / (2 * shift));
+    }
+    return DoubleArray.of(paramCount, i -> (values.get(i) - valueInit.getAmount()) / shift);
+  }
+
+  // replaces the value of an existing key, retaining the order of the map
+  private static <K, V> ImmutableMap<K, V> replaced(ImmutableMap<K, V> map, K key, V value) {
+    ImmutableMap.Builder<K, V> builder = ImmutableMap.builder();
+    for (Entry<K, V> entry : map.entrySet()) {
+      builder.put(entry.getKey(), entry.getKey().equals(key) ? value : entry.getValue());
+    }
+    return builder.build();
+  }
+
   // check that the discountFactors is ZeroRateDiscountFactors or SimpleDiscountFactors
   private Curve checkDiscountFactors(DiscountFactors discountFactors) {
     if (discountFactors instanceof ZeroRateDiscountFactors) {
@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountingPaymentPricer;
+import com.opengamma.strata.pricer.impl.rate.swap.CashFlowEquivalentCalculator;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.common.SettlementType;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+
+/**
+ * Pricer for Bermudan swaption with physical settlement in Hull-White one factor model
+ * with piecewise constant volatility.
+ * <p>
+ * The price is computed by backward induction on a {@link HullWhiteTrinomialTreeData}.
+ * The swaption can be exercised on each exercise date of the tree that is on or after its expiry date.
+ * If the option is exercised, the holder enters into the periods of the underlying swap
+ * starting on or after the exercise date. The underlying swap is represented by its cash flow equivalent.
+ * <p>
+ * The tree only depends on the model parameters and the exercise dates,
+ * thus the same tree can be used to price all the swaptions sharing the same exercise dates.
+ * <p>
+ * Reference: Henrard, M. "Bermudan Swaptions in Gaussian HJM One-Factor Model: Analytical and Numerical Approaches",
+ * SSRN, October 2008.
+ */
+public class HullWhiteTrinomialTreeBermudanSwaptionProductPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final HullWhiteTrinomialTreeBermudanSwaptionProductPricer DEFAULT =
+      new HullWhiteTrinomialTreeBermudanSwaptionProductPricer(DiscountingPaymentPricer.DEFAULT);
+
+  /**
+   * Pricer for {@link Payment}.
+   */
+  private final DiscountingPaymentPricer paymentPricer;
+
+  /**
+   * Creates an instance.
+   *
+   * @param paymentPricer  the pricer for {@link Payment}
+   */
+  public HullWhiteTrinomialTreeBermudanSwaptionProductPricer(DiscountingPaymentPricer paymentPricer) {
+    this.paymentPricer = ArgChecker.notNull(paymentPricer, "paymentPricer");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the Bermudan swaption product.
+   * <p>
+   * The result is expressed using the currency of the swaption.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param treeData  the Hull-White trinomial tree data
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteTrinomialTreeData treeData) {
+
+    validate(swaption, ratesProvider, treeData);
+    HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider = treeData.getHwProvider();
+    List<LocalDate> exerciseDates = treeData.getExerciseDates();
+    int nExercises = exerciseDates.size();
+    double[][] discountedCashFlows = new double[nExercises][];
+    double[][] paymentTimes = new double[nExercises][];
+    for (int k = 0; k < nExercises; k++) {
+      ResolvedSwap swap = exercisedSwap(swaption, exerciseDates.get(k));
+      if (swap != null) {
+        ResolvedSwapLeg cashFlowEquiv = CashFlowEquivalentCalculator.cashFlowEquivalentSwap(swap, ratesProvider);
+        int nPayments = cashFlowEquiv.getPaymentEvents().size();
+        discountedCashFlows[k] = new double[nPayments];
+        paymentTimes[k] = new double[nPayments];
+        for (int loopcf = 0; loopcf < nPayments; loopcf++) {
+          NotionalExchange payment = (NotionalExchange) cashFlowEquiv.getPaymentEvents().get(loopcf);
+          discountedCashFlows[k][loopcf] = paymentPricer.presentValueAmount(payment.getPayment(), ratesProvider);
+          paymentTimes[k][loopcf] = hwProvider.relativeTime(payment.getPaymentDate());
+        }
+      }
+    }
+    double pv = treeData.value(discountedCashFlows, paymentTimes);
+    return CurrencyAmount.of(currency(swaption), pv * (swaption.getLongShort().isLong() ? 1d : -1d));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the currency exposure of the Bermudan swaption product.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param treeData  the Hull-White trinomial tree data
+   * @return the currency exposure
+   */
+  public MultiCurrencyAmount currencyExposure(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteTrinomialTreeData treeData) {
+
+    return MultiCurrencyAmount.of(presentValue(swaption, ratesProvider, treeData));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity of the Bermudan swaption product.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of the present value to
+   * the underlying curves.
+   * <p>
+   * The sensitivity is computed with the exercise strategy of the tree kept fixed.
+   * The exercise weights of the cash flows are obtained in a single forward sweep of the tree,
+   * after the backward induction, and the curve sensitivity is the weighted sum of the cash flow sensitivities.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param treeData  the Hull-White trinomial tree data
+   * @return the point sensitivity to the rate curves
+   */
+  public PointSensitivityBuilder presentValueSensitivityRates(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteTrinomialTreeData treeData) {
+
+    validate(swaption, ratesProvider, treeData);
+    HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider = treeData.getHwProvider();
+    List<LocalDate> exerciseDates = treeData.getExerciseDates();
+    int nExercises = exerciseDates.size();
+    double[][] discountedCashFlows = new double[nExercises][];
+    double[][] paymentTimes = new double[nExercises][];
+    List<ImmutableList<Payment>> payments = new ArrayList<>();
+    List<ImmutableList<PointSensitivityBuilder>> paymentSensis = new ArrayList<>();
+    for (int k = 0; k < nExercises; k++) {
+      ResolvedSwap swap = exercisedSwap(swaption, exerciseDates.get(k));
+      if (swap == null) {
+        payments.add(ImmutableList.of());
+        paymentSensis.add(ImmutableList.of());
+        continue;
+      }
+      ImmutableMap<Payment, PointSensitivityBuilder> cashFlowEquivSensi =
+          CashFlowEquivalentCalculator.cashFlowEquivalentAndSensitivitySwap(swap, ratesProvider);
+      ImmutableList<Payment> list = cashFlowEquivSensi.keySet().asList();
+      payments.add(list);
+      paymentSensis.add(cashFlowEquivSensi.values().asList());
+      int nPayments = list.size();
+      discountedCashFlows[k] = new double[nPayments];
+      paymentTimes[k] = new double[nPayments];
+      for (int loopcf = 0; loopcf < nPayments; loopcf++) {
+        Payment payment = list.get(loopcf);
+        discountedCashFlows[k][loopcf] = paymentPricer.presentValueAmount(payment, ratesProvider);
+        paymentTimes[k][loopcf] = hwProvider.relativeTime(payment.getDate());
+      }
+    }
+    double[][] weights = treeData.exerciseWeights(discountedCashFlows, paymentTimes);
+    PointSensitivityBuilder point = PointSensitivityBuilder.none();
+    for (int k = 0; k < nExercises; k++) {
+      if (weights[k] == null) {
+        continue;
+      }
+      ImmutableList<Payment> list = payments.get(k);
+      ImmutableList<PointSensitivityBuilder> listSensi = paymentSensis.get(k);
+      for (int loopcf = 0; loopcf < list.size(); loopcf++) {
+        double weight = weights[k][loopcf];
+        if (weight == 0d) {
+          continue;
+        }
+        Payment payment = list.get(loopcf);
+        point = point.combinedWith(paymentPricer.presentValueSensitivity(payment, ratesProvider).multipliedBy(weight));
+        if (!listSensi.get(loopcf).equals(PointSensitivityBuilder.none())) {
+          point = point.combinedWith(listSensi.get(loopcf)
+              .multipliedBy(weight * ratesProvider.discountFactor(payment.getCurrency(), payment.getDate())));
+        }
+      }
+    }
+    return swaption.getLongShort().isLong() ? point : point.multipliedBy(-1d);
+  }
+
+  //-------------------------------------------------------------------------
+  // the part of the underlying swap entered into on exercise, null if the swaption cannot be exercised
+  private static ResolvedSwap exercisedSwap(ResolvedSwaption swaption, LocalDate exerciseDate) {
+    if (exerciseDate.isBefore(swaption.getExpiryDate())) {
+      return null;
+    }
+    ImmutableList.Builder<ResolvedSwapLeg> legs = ImmutableList.builder();
+    for (ResolvedSwapLeg leg : swaption.getUnderlying().getLegs()) {
+      ImmutableList<SwapPaymentPeriod> periods = leg.getPaymentPeriods().stream()
+          .filter(period -> !period.getStartDate().isBefore(exerciseDate))
+          .collect(toImmutableList());
+      if (periods.isEmpty()) {
+        return null;
+      }
+      ImmutableList<SwapPaymentEvent> events = leg.getPaymentEvents().stream()
+          .filter(event -> event.getPaymentDate().isAfter(exerciseDate))
+          .collect(toImmutableList());
+      legs.add(ResolvedSwapLeg.builder()
+          .type(leg.getType())
+          .payReceive(leg.getPayReceive())
+          .paymentPeriods(periods)
+          .paymentEvents(events)
+          .build());
+    }
+    return ResolvedSwap.builder().legs(legs.build()).build();
+  }
+
+  // the currency of the swaption
+  private static Currency currency(ResolvedSwaption swaption) {
+    return swaption.getUnderlying().getLegs().get(0).getCurrency();
+  }
+
+  // validate that the rates provider, the tree and the swaption are coherent
+  private static void validate(ResolvedSwaption swaption, RatesProvider ratesProvider, HullWhiteTrinomialTreeData treeData) {
+    ArgChecker.isTrue(treeData.getHwProvider().getValuationDateTime().toLocalDate().equals(ratesProvider.getValuationDate()),
+        "Hull-White model data and rate data should be for the same date");
+    ArgChecker.isFalse(swaption.getUnderlying().isCrossCurrency(), "underlying swap should be single currency");
+    ArgChecker.isTrue(swaption.getSwaptionSettlement().getSettlementType().equals(SettlementType.PHYSICAL),
+        "swaption should be physical settlement");
+    List<LocalDate> exerciseDates = treeData.getExerciseDates();
+    ArgChecker.isFalse(swaption.getExpiryDate().isAfter(exerciseDates.get(exerciseDates.size() - 1)),
+        "swaption expiry date should not be after the last exercise date of the tree");
+  }
+
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+
+/**
+ * Recombining trinomial tree in the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The tree is built on a grid of exercise dates and is independent of the trades priced on it.
+ * Thus a single instance can be used for all of the Bermudan swaptions sharing the same exercise dates.
+ * <p>
+ * The state variable is {@code X(t) = int_0^t sigma(s) exp(a s) dW(s)}, where {@code W} is a Brownian motion
+ * under the measure associated to the numeraire {@code P(t, T)}, with {@code T} the last exercise date.
+ * This state variable is a driftless Gaussian martingale, so that the tree nodes are evenly spaced
+ * and the transition probabilities of a time step are the same for all of the nodes.
+ * The zero-coupon bond prices at a node are then explicit,
+ * {@code P(t, u) / P(t, T) = P(0, u) / P(0, T) exp(h(u) X(t) - h(u)^2 V(t) / 2)},
+ * with {@code h(u) = (exp(-a u) - exp(-a T)) / a} and {@code V(t)} the variance of {@code X(t)}.
+ * <p>
+ * As in {@link com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData}, the {@code i}-th time layer
+ * has {@code 2 * i + 1} nodes and the {@code j}-th lowest node of a layer is connected to the
+ * {@code j}-th, {@code (j+1)}-th and {@code (j+2)}-th lowest nodes of the next layer.
+ * <p>
+ * Reference: Henrard, M. "Bermudan Swaptions in Gaussian HJM One-Factor Model: Analytical and Numerical Approaches",
+ * SSRN, October 2008.
+ */
+public final class HullWhiteTrinomialTreeData {
+
+  /**
+   * The Hull-White model.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+
+  /**
+   * The Hull-White model parameter provider.
+   */
+  private final HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider;
+  /**
+   * The exercise dates, sorted in increasing order.
+   */
+  private final ImmutableList<LocalDate> exerciseDates;
+  /**
+   * The time layer of each exercise date.
+   */
+  private final int[] exerciseLayers;
+  /**
+   * The exercise index at each time layer, -1 if the layer is not an exercise layer.
+   */
+  private final int[] exerciseIndices;
+  /**
+   * The variance of the state variable at each time layer.
+   */
+  private final double[] variances;
+  /**
+   * The up probability for each time step, equal to the down probability.
+   */
+  private final double[] upProbabilities;
+  /**
+   * The spacing of the state variable between two adjacent nodes.
+   */
+  private final double spacing;
+  /**
+   * The time of the numeraire, the last exercise date.
+   */
+  private final double numeraireTime;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the exercise dates.
+   * <p>
+   * The period between two consecutive exercise dates is divided into equal time steps,
+   * the number of steps being at least {@code stepsPerYear} times the length of the period in years.
+   * The space step is chosen such that all of the transition probabilities are positive.
+   *
+   * @param hwProvider  the Hull-White model parameter provider
+   * @param exerciseDates  the exercise dates, sorted in increasing order and not before the valuation date
+   * @param stepsPerYear  the minimum number of time steps per year
+   * @return the tree data
+   */
+  public static HullWhiteTrinomialTreeData of(
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+      List<LocalDate> exerciseDates,
+      int stepsPerYear) {
+
+    ArgChecker.notNull(hwProvider, "hwProvider");
+    ArgChecker.notEmpty(exerciseDates, "exerciseDates");
+    ArgChecker.notNegativeOrZero(stepsPerYear, "stepsPerYear");
+    int nExercises = exerciseDates.size();
+    double[] exerciseTimes = new double[nExercises];
+    int[] exerciseLayers = new int[nExercises];
+    int nSteps = 0;
+    double previousTime = 0d;
+    for (int k = 0; k < nExercises; k++) {
+      exerciseTimes[k] = hwProvider.relativeTime(exerciseDates.get(k));
+      ArgChecker.isTrue(exerciseTimes[k] >= previousTime && (k == 0 || exerciseTimes[k] > previousTime),
+          "Exercise dates must be sorted in increasing order and not before the valuation date");
+      double period = exerciseTimes[k] - previousTime;
+      nSteps += period > 0d ? Math.max(1, (int) Math.ceil(period * stepsPerYear)) : 0;
+      exerciseLayers[k] = nSteps;
+      previousTime = exerciseTimes[k];
+    }
+    // time grid, uniform between consecutive exercise dates
+    double[] times = new double[nSteps + 1];
+    int[] exerciseIndices = new int[nSteps + 1];
+    Arrays.fill(exerciseIndices, -1);
+    int layer = 0;
+    for (int k = 0; k < nExercises; k++) {
+      int startLayer = layer;
+      double startTime = times[startLayer];
+      double dt = (exerciseTimes[k] - startTime) / Math.max(1, exerciseLayers[k] - startLayer);
+      for (layer = startLayer + 1; layer <= exerciseLayers[k]; layer++) {
+        times[layer] = startTime + dt * (layer - startLayer);
+      }
+      layer = exerciseLayers[k];
+      times[layer] = exerciseTimes[k];
+      exerciseIndices[layer] = k;
+    }
+    // variance of the state variable
+    HullWhiteOneFactorPiecewiseConstantParameters parameters = hwProvider.getParameters();
+    double[] stepVariances = new double[nSteps];
+    double[] variances = new double[nSteps + 1];
+    double maxVariance = 0d;
+    for (int i = 0; i < nSteps; i++) {
+      double beta = MODEL.beta(parameters, times[i], times[i + 1]);
+      stepVariances[i] = beta * beta;
+      variances[i + 1] = variances[i] + stepVariances[i];
+      maxVariance = Math.max(maxVariance, stepVariances[i]);
+    }
+    ArgChecker.isTrue(nSteps == 0 || maxVariance > 0d, "Hull-White volatility must be positive");
+    // space step such that the probabilities match the variance and the middle probability is at least 2/3
+    double spacing = Math.sqrt(3d * maxVariance);
+    double[] upProbabilities = new double[nSteps];
+    for (int i = 0; i < nSteps; i++) {
+      upProbabilities[i] = stepVariances[i] / (2d * spacing * spacing);
+    }
+    return new HullWhiteTrinomialTreeData(
+        hwProvider,
+        ImmutableList.copyOf(exerciseDates),
+        exerciseLayers,
+        exerciseIndices,
+        variances,
+        upProbabilities,
+        spacing,
+        exerciseTimes[nExercises - 1]);
+  }
+
+  // creates an instance
+  private HullWhiteTrinomialTreeData(
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+      ImmutableList<LocalDate> exerciseDates,
+      int[] exerciseLayers,
+      int[] exerciseIndices,
+      double[] variances,
+      double[] upProbabilities,
+      double spacing,
+      double numeraireTime) {
+
+    this.hwProvider = hwProvider;
+    this.exerciseDates = exerciseDates;
+    this.exerciseLayers = exerciseLayers;
+    this.exerciseIndices = exerciseIndices;
+    this.variances = variances;
+    this.upProbabilities = upProbabilities;
+    this.spacing = spacing;
+    this.numeraireTime = numeraireTime;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the Hull-White model parameter provider.
+   *
+   * @return the provider
+   */
+  public HullWhiteOneFactorPiecewiseConstantParametersProvider getHwProvider() {
+    return hwProvider;
+  }
+
+  /**
+   * Gets the exercise dates.
+   *
+   * @return the exercise dates
+   */
+  public ImmutableList<LocalDate> getExerciseDates() {
+    return exerciseDates;
+  }
+
+  /**
+   * Obtains the number of time steps.
+   *
+   * @return the number of time steps
+   */
+  public int getNumberOfSteps() {
+    return upProbabilities.length;
+  }
+
+  /**
+   * Obtains the time layer of the {@code k}-th exercise date.
+   *
+   * @param k  the exercise index
+   * @return the time layer
+   */
+  public int getExerciseLayer(int k) {
+    return exerciseLayers[k];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the value of the option to enter into the cash flows on the exercise dates.
+   * <p>
+   * The {@code k}-th elements of the arrays are the present values and payment times of the cash flows
+   * received if the option is exercised on the {@code k}-th exercise date.
+   * A {@code null} element means that the option cannot be exercised on that date.
+   *
+   * @param discountedCashFlows  the present values of the cash flows for each exercise date
+   * @param paymentTimes  the payment times of the cash flows for each exercise date
+   * @return the option value
+   */
+  double value(double[][] discountedCashFlows, double[][] paymentTimes) {
+    return backwardInduction(discountedCashFlows, paymentTimes, null);
+  }
+
+  /**
+   * Calculates the exercise weights of the cash flows.
+   * <p>
+   * The value of the option is the sum of the discounted cash flows multiplied by their weights.
+   * The weights being computed with a fixed exercise strategy, they are also the derivatives
+   * of the value with respect to the discounted cash flows.
+   *
+   * @param discountedCashFlows  the present values of the cash flows for each exercise date
+   * @param paymentTimes  the payment times of the cash flows for each exercise date
+   * @return the exercise weights, with the same shape as the cash flows
+   */
+  double[][] exerciseWeights(double[][] discountedCashFlows, double[][] paymentTimes) {
+    int nExercises = exerciseDates.size();
+    boolean[][] exercised = new boolean[nExercises][];
+    backwardInduction(discountedCashFlows, paymentTimes, exercised);
+    // forward propagation of the probability of reaching a node without having exercised
+    int nSteps = getNumberOfSteps();
+    double[][] weights = new double[nExercises][];
+    double[] probabilities = new double[2 * nSteps + 1];
+    double[] next = new double[2 * nSteps + 1];
+    double[] factors = new double[2 * nSteps + 1];
+    probabilities[0] = 1d;
+    for (int i = 0; i <= nSteps; i++) {
+      int nNodes = 2 * i + 1;
+      int k = exerciseIndices[i];
+      if (k >= 0 && discountedCashFlows[k] != null) {
+        int nCashFlows = discountedCashFlows[k].length;
+        weights[k] = new double[nCashFlows];
+        for (int m = 0; m < nCashFlows; m++) {
+          bondFactors(i, paymentTimes[k][m], factors);
+          double weight = 0d;
+          for (int j = 0; j < nNodes; j++) {
+            if (exercised[k][j]) {
+              weight += probabilities[j] * factors[j];
+            }
+          }
+          weights[k][m] = weight;
+        }
+        for (int j = 0; j < nNodes; j++) {
+          if (exercised[k][j]) {
+            probabilities[j] = 0d;
+          }
+        }
+      }
+      if (i < nSteps) {
+        double pu = upProbabilities[i];
+        double pm = 1d - 2d * pu;
+        Arrays.fill(next, 0, nNodes + 2, 0d);
+        for (int j = 0; j < nNodes; j++) {
+          double p = probabilities[j];
+          next[j] += pu * p;
+          next[j + 1] += pm * p;
+          next[j + 2] += pu * p;
+        }
+        double[] swap = probabilities;
+        probabilities = next;
+        next = swap;
+      }
+    }
+    return weights;
+  }
+
+  //-------------------------------------------------------------------------
+  // backward induction of the option value, storing the exercise decisions if required
+  private double backwardInduction(double[][] discountedCashFlows, double[][] paymentTimes, boolean[][] exercised) {
+    ArgChecker.isTrue(discountedCashFlows.length == exerciseDates.size(), "Cash flows must be provided for each exercise date");
+    ArgChecker.isTrue(paymentTimes.length == exerciseDates.size(), "Payment times must be provided for each exercise date");
+    int nSteps = getNumberOfSteps();
+    double[] values = new double[2 * nSteps + 1];
+    double[] next = new double[2 * nSteps + 1];
+    double[] exerciseValues = new double[2 * nSteps + 1];
+    double[] factors = new double[2 * nSteps + 1];
+    for (int i = nSteps; i >= 0; i--) {
+      int nNodes = 2 * i + 1;
+      if (i < nSteps) {
+        double pu = upProbabilities[i];
+        double pm = 1d - 2d * pu;
+        for (int j = 0; j < nNodes; j++) {
+          next[j] = pu * values[j] + pm * values[j + 1] + pu * values[j + 2];
+        }
+        double[] swap = values;
+        values = next;
+        next = swap;
+      }
+      int k = exerciseIndices[i];
+      if (k >= 0 && discountedCashFlows[k] != null) {
+        ArgChecker.isTrue(discountedCashFlows[k].length == paymentTimes[k].length, "Cash flows and payment times must match");
+        Arrays.fill(exerciseValues, 0, nNodes, 0d);
+        for (int m = 0; m < discountedCashFlows[k].length; m++) {
+          double dcf = discountedCashFlows[k][m];
+          bondFactors(i, paymentTimes[k][m], factors);
+          for (int j = 0; j < nNodes; j++) {
+            exerciseValues[j] += dcf * factors[j];
+          }
+        }
+        if (exercised != null) {
+          exercised[k] = new boolean[nNodes];
+        }
+        for (int j = 0; j < nNodes; j++) {
+          if (exerciseValues[j] > values[j]) {
+            values[j] = exerciseValues[j];
+            if (exercised != null) {
+              exercised[k][j] = true;
+            }
+          }
+        }
+      }
+    }
+    return values[0];
+  }
+
+  // computes exp(h X - h^2 V / 2) at each node of the layer, from the middle node outwards
+  private void bondFactors(int layer, double paymentTime, double[] factors) {
+    double a = hwProvider.getParameters().getMeanReversion();
+    double h = (Math.exp(-a * paymentTime) - Math.exp(-a * numeraireTime)) / a;
+    double up = Math.exp(h * spacing);
+    double down = 1d / up;
+    factors[layer] = Math.exp(-0.5d * h * h * variances[layer]);
+    for (int j = 1; j <= layer; j++) {
+      factors[layer + j] = factors[layer + j - 1] * up;
+      factors[layer - j] = factors[layer - j + 1] * down;
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.Duration;
+import java.time.Period;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * Statistics of the SABR calibration of a swaption cube, recorded per expiry and tenor node.
+ * <p>
+ * An instance is attached to a calibrator using
+ * {@link SabrSwaptionCalibrator#withStatistics(SabrSwaptionCalibrationStatistics)}.
+ * Each time the smile at a node is calibrated, the number of least-squares fits,
+ * the total number of solver iterations of those fits and the elapsed time are added to the counters of the node.
+ * Calibrations that fail with an exception are not recorded.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class SabrSwaptionCalibrationStatistics {
+
+  // the indices of the counters
+  private static final int CALIBRATIONS = 0;
+  private static final int FITS = 1;
+  private static final int ITERATIONS = 2;
+  private static final int NANOS = 3;
+
+  /**
+   * The counters, keyed by expiry and tenor.
+   */
+  private final ConcurrentMap<Pair<Period, Tenor>, AtomicLongArray> counters = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty set of statistics.
+   *
+   * @return the statistics
+   */
+  public static SabrSwaptionCalibrationStatistics create() {
+    return new SabrSwaptionCalibrationStatistics();
+  }
+
+  // restricted constructor
+  private SabrSwaptionCalibrationStatistics() {
+  }
+
+  //-------------------------------------------------------------------------
+  // records a single calibration of a node
+  void record(Period expiry, Tenor tenor, int fits, int iterations, long nanos) {
+    AtomicLongArray nodeCounters = counters.computeIfAbsent(Pair.of(expiry, tenor), node -> new AtomicLongArray(4));
+    nodeCounters.incrementAndGet(CALIBRATIONS);
+    nodeCounters.addAndGet(FITS, fits);
+    nodeCounters.addAndGet(ITERATIONS, iterations);
+    nodeCounters.addAndGet(NANOS, nanos);
+  }
+
+  /**
+   * Gets the expiry and tenor of the nodes that have been calibrated.
+   *
+   * @return the nodes, as pairs of expiry and tenor
+   */
+  public ImmutableSet<Pair<Period, Tenor>> getNodes() {
+    return ImmutableSet.copyOf(counters.keySet());
+  }
+
+  /**
+   * Gets the number of times that a node has been calibrated.
+   *
+   * @param expiry  the expiry of the node
+   * @param tenor  the tenor of the node
+   * @return the number of calibrations, zero if the node has not been calibrated
+   */
+  public long getCalibrationCount(Period expiry, Tenor tenor) {
+    return get(expiry, tenor, CALIBRATIONS);
+  }
+
+  /**
+   * Gets the number of least-squares fits performed to calibrate a node.
+   * <p>
+   * Each calibration performs one fit for each starting point that is tried.
+   *
+   * @param expiry  the expiry of the node
+   * @param tenor  the tenor of the node
+   * @return the number of fits, zero if the node has not been calibrated
+   */
+  public long getFitCount(Period expiry, Tenor tenor) {
+    return get(expiry, tenor, FITS);
+  }
+
+  /**
+   * Gets the total number of solver iterations performed to calibrate a node.
+   *
+   * @param expiry  the expiry of the node
+   * @param tenor  the tenor of the node
+   * @return the number of iterations, zero if the node has not been calibrated
+   */
+  public long getIterationCount(Period expiry, Tenor tenor) {
+    return get(expiry, tenor, ITERATIONS);
+  }
+
+  /**
+   * Gets the total time spent calibrating a node.
+   *
+   * @param expiry  the expiry of the node
+   * @param tenor  the tenor of the node
+   * @return the total time, zero if the node has not been calibrated
+   */
+  public Duration getTotalTime(Period expiry, Tenor tenor) {
+    return Duration.ofNanos(get(expiry, tenor, NANOS));
+  }
+
+  /**
+   * Gets the total number of solver iterations performed across all nodes.
+   *
+   * @return the number of iterations
+   */
+  public long getTotalIterationCount() {
+    return counters.values().stream().mapToLong(nodeCounters -> nodeCounters.get(ITERATIONS)).sum();
+  }
+
+  /**
+   * Clears all the counters.
+   */
+  public void reset() {
+    counters.clear();
+  }
+
+  // gets a single counter
+  private long get(Period expiry, Tenor tenor, int index) {
+    ArgChecker.notNull(expiry, "expiry");
+    ArgChecker.notNull(tenor, "tenor");
+    AtomicLongArray nodeCounters = counters.get(Pair.of(expiry, tenor));
+    return nodeCounters == null ? 0 : nodeCounters.get(index);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "SabrSwaptionCalibrationStatistics[nodes=" + counters.size() + ", iterations=" + getTotalIterationCount() + "]";
+  }
+
+}
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZonedDateTime;
@@ -13,6 +15,7 @@ import java.util.BitSet;
 import java.util.List;
 import java.util.TreeMap;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
@@ -67,9 +70,29 @@ public final class SabrSwaptionCalibrator {
    * The reference data.
    */
   private final ReferenceData refData;
+  /**
+   * Whether the tenors of a cube are calibrated in parallel.
+   */
+  private final boolean parallel;
+  /**
+   * Whether the calibration at each expiry starts from the parameters calibrated at the previous expiry.
+   */
+  private final boolean seeded;
+  /**
+   * The statistics that are updated as nodes are calibrated, null if not recorded.
+   */
+  private final SabrSwaptionCalibrationStatistics statistics;
 
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
+  /** The limit on the absolute value of the rho used as a seed, within the limit of the fitter. */
+  private static final double SEED_RHO_LIMIT = 0.99;
+  /** The minimum nu used as a seed, within the limit of the fitter. */
+  private static final double SEED_NU_MIN = 0.02;
+  /** The maximum nu used as a seed, within the limit of the fitter. */
+  private static final double SEED_NU_MAX = 2.40;
+  /** The factor by which the chi-square per data point of a seeded fit may exceed that of the seed. */
+  private static final double SEED_CHI_SQ_FACTOR = 10d;
 
   /**
    * The default instance of the class.
@@ -118,9 +141,69 @@ public final class SabrSwaptionCalibrator {
       DiscountingSwapProductPricer swapPricer,
       ReferenceData refData) {
 
+    this(sabrVolatilityFormula, swapPricer, refData, false, false, null);
+  }
+
+  private SabrSwaptionCalibrator(
+      SabrVolatilityFormula sabrVolatilityFormula,
+      DiscountingSwapProductPricer swapPricer,
+      ReferenceData refData,
+      boolean parallel,
+      boolean seeded,
+      SabrSwaptionCalibrationStatistics statistics) {
+
     this.sabrVolatilityFormula = ArgChecker.notNull(sabrVolatilityFormula, "sabrVolatilityFormula");
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.refData = ArgChecker.notNull(refData, "refData");
+    this.parallel = parallel;
+    this.seeded = seeded;
+    this.statistics = statistics;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this calibrator that calibrates the tenors of a cube in parallel.
+   * <p>
+   * When calibrating a cube with {@link #calibrateWithFixedBetaAndShift}, the smile at each expiry and tenor
+   * is calibrated independently. The expiries of each tenor are calibrated in order, and the tenors are
+   * calibrated in parallel using the common fork-join pool. The calibrated parameters are the same whether
+   * or not the tenors are calibrated in parallel.
+   *
+   * @param parallel  whether to calibrate the tenors in parallel
+   * @return the calibrator
+   */
+  public SabrSwaptionCalibrator withParallelCalibration(boolean parallel) {
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, parallel, seeded, statistics);
+  }
+
+  /**
+   * Returns a copy of this calibrator that seeds each smile calibration from the neighbouring expiry.
+   * <p>
+   * By default, the smile at each expiry and tenor of a cube is fitted from four standard starting points,
+   * keeping the best fit. When seeding is enabled, the fit first starts from the parameters calibrated
+   * at the previous expiry of the same tenor. If that fit is good enough, the standard starting points are not used.
+   * As the smiles of neighbouring expiries are usually similar, this typically reduces the number of fits.
+   * The calibrated parameters may differ slightly from those obtained without seeding,
+   * within the tolerance of the least-square fit.
+   *
+   * @param seeded  whether to seed the calibration from the neighbouring expiry
+   * @return the calibrator
+   */
+  public SabrSwaptionCalibrator withNeighbourSeeding(boolean seeded) {
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, parallel, seeded, statistics);
+  }
+
+  /**
+   * Returns a copy of this calibrator that records statistics of the calibration of each node of a cube.
+   * <p>
+   * The statistics are updated each time the smile at an expiry and tenor is calibrated by the returned calibrator.
+   *
+   * @param statistics  the statistics to update
+   * @return the calibrator
+   */
+  public SabrSwaptionCalibrator withStatistics(SabrSwaptionCalibrationStatistics statistics) {
+    return new SabrSwaptionCalibrator(
+        sabrVolatilityFormula, swapPricer, refData, parallel, seeded, ArgChecker.notNull(statistics, "statistics"));
   }
 
   //-------------------------------------------------------------------------
@@ -193,74 +276,33 @@ public final class SabrSwaptionCalibrator {
     DayCount dayCount = definition.getDayCount();
     SurfaceInterpolator interpolator = definition.getInterpolator();
 
-    BitSet fixed = new BitSet();
-    fixed.set(1); // Beta fixed
-    BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
-    LocalDate calibrationDate = calibrationDateTime.toLocalDate();
+    // The tenors are independent, each is calibrated expiry by expiry
+    Stream<Tenor> tenors = parallel ? data.getTenors().parallelStream() : data.getTenors().stream();
+    List<NodeCalibration> nodes = tenors
+        .flatMap(tenor -> calibrateTenor(definition, calibrationDateTime, tenor, data.getData(tenor), ratesProvider,
+            betaSurface, shiftSurface, stopOnMathException).stream())
+        .collect(toImmutableList());
     // Sorted maps to obtain the surfaces nodes in standard order
     TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
     TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
-    for (Tenor tenor : data.getTenors()) {
-      RawOptionData tenorData = data.getData(tenor);
-      double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
-      List<Period> expiries = tenorData.getExpiries();
-      int nbExpiries = expiries.size();
-      for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
-        if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
-          continue;
-        }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
-        double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        double beta = betaSurface.zValue(timeToExpiry, timeTenor);
-        double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
-        }
+    for (NodeCalibration node : nodes) {
+      double timeToExpiry = node.timeToExpiry;
+      double timeTenor = node.timeTenor;
+      if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+        parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+        sabrPointTmp.put(timeToExpiry, new TreeMap<>());
       }
+      parameterMetadataTmp.get(timeToExpiry).put(timeTenor, node.parameterMetadata);
+      dataSensitivityAlphaTmp.get(timeToExpiry).put(timeTenor, node.smile.parameterSensitivityToData.row(0));
+      dataSensitivityRhoTmp.get(timeToExpiry).put(timeTenor, node.smile.parameterSensitivityToData.row(2));
+      dataSensitivityNuTmp.get(timeToExpiry).put(timeTenor, node.smile.parameterSensitivityToData.row(3));
+      sabrPointTmp.get(timeToExpiry).put(timeTenor, node.smile.sabrParameters);
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
     DoubleArray timeTenorArray = DoubleArray.EMPTY;
@@ -317,9 +359,68 @@ public final class SabrSwaptionCalibrator {
         .dataSensitivityNu(dataSensitivityNu).build();
   }
 
+  // Calibrates the smiles of a single tenor, in the order of the expiries.
+  // If seeding is enabled, the calibration at each expiry starts from the parameters calibrated at the previous one.
+  private List<NodeCalibration> calibrateTenor(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      Tenor tenor,
+      RawOptionData tenorData,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException) {
+
+    FixedIborSwapConvention convention = definition.getConvention();
+    DayCount dayCount = definition.getDayCount();
+    BitSet fixed = new BitSet();
+    fixed.set(1); // Beta fixed
+    BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
+    LocalDate calibrationDate = calibrationDateTime.toLocalDate();
+    double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
+    List<NodeCalibration> nodes = new ArrayList<>();
+    SmileCalibration seed = null;
+    for (Period expiry : tenorData.getExpiries()) {
+      Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
+      if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
+        continue;
+      }
+      LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
+      LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+      double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
+      double beta = betaSurface.zValue(timeToExpiry, timeTenor);
+      double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+      LocalDate endDate = effectiveDate.plus(tenor);
+      SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+      double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+      long start = System.nanoTime();
+      try {
+        SmileCalibration smile = calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+            availableSmile.getFirst(), availableSmile.getSecond(), expiry, tenorData, seeded ? seed : null);
+        if (statistics != null) {
+          statistics.record(expiry, tenor, smile.fitCount, smile.iterationCount, System.nanoTime() - start);
+        }
+        ParameterMetadata parameterMetadata = SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            expiry.toString() + "x" + tenor.toString());
+        nodes.add(new NodeCalibration(timeToExpiry, timeTenor, parameterMetadata, smile));
+        seed = smile;
+      } catch (MathException e) {
+        if (stopOnMathException) {
+          String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(), expiry, tenor);
+          throw new MathException(message, e);
+        }
+      }
+    }
+    return nodes;
+  }
+
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  // If a seed is available, the calibration is first done from the parameters of the seed. The result is returned directly
+  // if the fit is about as good as that of the seed, otherwise it is kept as a candidate for the standard starting points.
+  private SmileCalibration calibration(
       double forward,
       double shift,
       double beta,
@@ -330,47 +431,55 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
-
-    double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
-    // Correlation is usually positive for normal and negative for log-normal;.
-    double[] alphaStart = new double[4];
-    alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
-    alphaStart[1] = alphaStart[0];
-    alphaStart[2] = 4 * alphaStart[0]; // High vol
-    alphaStart[3] = alphaStart[2];
-    double[] nuStart = new double[4];
-    nuStart[0] = 0.10; // Low vol of vol
-    nuStart[1] = 0.50; // High vol of vol
-    nuStart[2] = 0.10;
-    nuStart[3] = 0.50;
+      RawOptionData rawData,
+      SmileCalibration seed) {
+
+    int fitCount = 0;
+    int iterationCount = 0;
     double chi2 = 1.0E+12; // Large number
     Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
-    for (int i = 0; i < 4; i++) { // Try different starting points and take the best
-      DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
-      }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
+    if (seed != null) {
+      SabrFormulaData seedParameters = seed.sabrParameters;
+      DoubleArray startParameters = DoubleArray.of(
+          seedParameters.getAlpha(),
+          beta,
+          Math.max(Math.min(seedParameters.getRho(), SEED_RHO_LIMIT), -SEED_RHO_LIMIT),
+          Math.max(Math.min(seedParameters.getNu(), SEED_NU_MAX), SEED_NU_MIN));
+      try {
+        Pair<LeastSquareResultsWithTransform, DoubleArray> r = fit(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters);
+        fitCount++;
+        iterationCount += r.getFirst().getIterations();
         sabrCalibrationResult = r;
         chi2 = r.getFirst().getChiSq();
+      } catch (MathException e) {
+        // the seed is not suitable, use the standard starting points
+      }
+    }
+    if (sabrCalibrationResult == null ||
+        chi2 / strike.size() > SEED_CHI_SQ_FACTOR * Math.max(seed.chiSqPerData, 1d)) {
+      double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
+      // Correlation is usually positive for normal and negative for log-normal;.
+      double[] alphaStart = new double[4];
+      alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
+      alphaStart[1] = alphaStart[0];
+      alphaStart[2] = 4 * alphaStart[0]; // High vol
+      alphaStart[3] = alphaStart[2];
+      double[] nuStart = new double[4];
+      nuStart[0] = 0.10; // Low vol of vol
+      nuStart[1] = 0.50; // High vol of vol
+      nuStart[2] = 0.10;
+      nuStart[3] = 0.50;
+      for (int i = 0; i < 4; i++) { // Try different starting points and take the best
+        DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
+        Pair<LeastSquareResultsWithTransform, DoubleArray> r = fit(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters);
+        fitCount++;
+        iterationCount += r.getFirst().getIterations();
+        if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
+          sabrCalibrationResult = r;
+          chi2 = r.getFirst().getChiSq();
+        }
       }
     }
     @SuppressWarnings("null")
@@ -388,7 +497,39 @@ public final class SabrSwaptionCalibrator {
       }
     }
     DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
-    return Pair.of(sabrParameters, parameterSensitivityToData);
+    return new SmileCalibration(sabrParameters, parameterSensitivityToData, chi2 / strike.size(), fitCount, iterationCount);
+  }
+
+  // A single least-square fit from the starting parameters, depending on the type of raw data
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> fit(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
   }
 
   //-------------------------------------------------------------------------
@@ -900,4 +1041,43 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // The result of the calibration of the smile at a single expiry and tenor
+  private static final class SmileCalibration {
+    private final SabrFormulaData sabrParameters;
+    private final DoubleMatrix parameterSensitivityToData;
+    private final double chiSqPerData;
+    private final int fitCount;
+    private final int iterationCount;
+
+    private SmileCalibration(
+        SabrFormulaData sabrParameters,
+        DoubleMatrix parameterSensitivityToData,
+        double chiSqPerData,
+        int fitCount,
+        int iterationCount) {
+
+      this.sabrParameters = sabrParameters;
+      this.parameterSensitivityToData = parameterSensitivityToData;
+      this.chiSqPerData = chiSqPerData;
+      this.fitCount = fitCount;
+      this.iterationCount = iterationCount;
+    }
+  }
+
+  // A calibrated node of the cube
+  private static final class NodeCalibration {
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final ParameterMetadata parameterMetadata;
+    private final SmileCalibration smile;
+
+    private NodeCalibration(double timeToExpiry, double timeTenor, ParameterMetadata parameterMetadata, SmileCalibration smile) {
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.parameterMetadata = parameterMetadata;
+      this.smile = smile;
+    }
+  }
+
 }
@@ -22,6 +22,7 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.CurveMetadata;
@@ -101,6 +102,16 @@ public class SimpleDiscountFactorsTest {
     assertThat(test.discountFactor(DATE_AFTER)).isEqualTo(expected);
   }
   
+  @Test
+  public void test_discountFactors() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    ImmutableList<LocalDate> dates = ImmutableList.of(DATE_VAL, DATE_AFTER, date(2016, 6, 4), date(2015, 9, 4));
+    DoubleArray expected = DoubleArray.of(dates.size(), i -> test.discountFactor(dates.get(i)));
+    assertThat(test.discountFactors(dates)).isEqualTo(expected);
+    DoubleArray yearFractions = DoubleArray.of(dates.size(), i -> test.relativeYearFraction(dates.get(i)));
+    assertThat(test.discountFactors(yearFractions)).isEqualTo(expected);
+  }
+
   @Test
   public void test_discountFactorTimeDerivative() {
     DiscountFactors test = DiscountFactors.of(GBP, DATE_VAL, CURVE);
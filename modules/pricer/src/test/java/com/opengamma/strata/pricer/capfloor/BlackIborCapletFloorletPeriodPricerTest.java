@@ -15,10 +15,12 @@ import static org.assertj.core.data.Offset.offset;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.DoubleArrayMath;
@@ -242,6 +244,30 @@ public class BlackIborCapletFloorletPeriodPricerTest {
     assertThat(computedFloorlet.getAmount()).isCloseTo(expectedFloorlet, offset(NOTIONAL * TOL));
   }
 
+  @Test
+  public void test_presentValue_periods() {
+    ImmutableList<IborCapletFloorletPeriod> periods = ImmutableList.of(CAPLET_LONG, CAPLET_SHORT, FLOORLET_LONG, FLOORLET_SHORT);
+    assertPresentValuePeriods(periods, RATES, VOLS);
+    assertPresentValuePeriods(periods, RATES, SHIFTED_VOLS);
+    assertPresentValuePeriods(periods, RATES_ON_FIX, VOLS_ON_FIX);
+    assertPresentValuePeriods(periods, RATES_AFTER_FIX, VOLS_AFTER_FIX);
+    assertPresentValuePeriods(periods, RATES_AFTER_PAY, VOLS_AFTER_PAY);
+  }
+
+  // the periods priced together match the sum of the periods priced individually
+  private static void assertPresentValuePeriods(
+      List<IborCapletFloorletPeriod> periods,
+      ImmutableRatesProvider rates,
+      IborCapletFloorletVolatilities vols) {
+
+    CurrencyAmount computed = PRICER.presentValue(periods, rates, vols);
+    double expected = periods.stream()
+        .mapToDouble(period -> PRICER.presentValue(period, rates, vols).getAmount())
+        .sum();
+    assertThat(computed.getCurrency()).isEqualTo(EUR);
+    assertThat(computed.getAmount()).isCloseTo(expected, offset(NOTIONAL * TOL));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_impliedVolatility() {
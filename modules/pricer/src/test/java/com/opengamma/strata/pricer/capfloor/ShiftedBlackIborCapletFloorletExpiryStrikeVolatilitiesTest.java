@@ -132,6 +132,34 @@ public class ShiftedBlackIborCapletFloorletExpiryStrikeVolatilitiesTest {
     }
   }
 
+  @Test
+  public void test_price_arrays() {
+    int size = NB_TEST * NB_TEST * 2;
+    double[] expiries = new double[size];
+    PutCall[] putCalls = new PutCall[size];
+    double[] strikes = new double[size];
+    double[] forwards = new double[size];
+    double[] vols = new double[size];
+    int k = 0;
+    for (int i = 0; i < NB_TEST; i++) {
+      for (int j = 0; j < NB_TEST; j++) {
+        for (PutCall putCall : new PutCall[] {PutCall.CALL, PutCall.PUT}) {
+          expiries[k] = VOLS.relativeTime(TEST_OPTION_EXPIRY[i]);
+          putCalls[k] = putCall;
+          strikes[k] = TEST_STRIKE[j];
+          forwards[k] = TEST_FORWARD;
+          vols[k] = 0.1 + 0.01 * k;
+          k++;
+        }
+      }
+    }
+    double[] prices = new double[size];
+    VOLS.price(expiries, putCalls, strikes, forwards, vols, prices);
+    for (int i = 0; i < size; i++) {
+      assertThat(prices[i]).isEqualTo(VOLS.price(expiries[i], putCalls[i], strikes[i], forwards[i], vols[i]));
+    }
+  }
+
   @Test
   public void test_relativeTime() {
     double test1 = VOLS.relativeTime(VAL_DATE_TIME);
@@ -21,6 +21,7 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Triple;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
@@ -43,6 +44,7 @@ import com.opengamma.strata.pricer.swaption.SabrParametersSwaptionVolatilities;
 import com.opengamma.strata.pricer.swaption.SwaptionSabrRateVolatilityDataSet;
 import com.opengamma.strata.pricer.swaption.SwaptionVolatilitiesName;
 import com.opengamma.strata.product.cms.CmsPeriod;
+import com.opengamma.strata.product.cms.CmsPeriodType;
 import com.opengamma.strata.product.common.BuySell;
 import com.opengamma.strata.product.common.PutCall;
 import com.opengamma.strata.product.swap.ResolvedSwap;
@@ -589,6 +591,97 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
         .isThrownBy(() -> PRICER.presentValueSensitivityStrike(COUPON, RATES_PROVIDER, VOLATILITIES));
   }
 
+  //-------------------------------------------------------------------------
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_FIXED_NODES = PRICER.withFixedNodeIntegration(16);
+
+  @Test
+  public void test_fixedNodeIntegration() {
+    CmsPeriod[] periods = {COUPON, CAPLET, FLOORLET, COUPON_SELL, CAPLET_ZERO, FLOORLET_ZERO};
+    for (CmsPeriod period : periods) {
+      assertFixedNodeIntegration(period, VOLATILITIES);
+    }
+    CmsPeriod[] periodsShift = {COUPON, CAPLET, FLOORLET, CAPLET_NEGATIVE, FLOORLET_NEGATIVE, CAPLET_SHIFT, FLOORLET_SHIFT};
+    for (CmsPeriod period : periodsShift) {
+      assertFixedNodeIntegration(period, VOLATILITIES_SHIFT);
+    }
+  }
+
+  @Test
+  public void test_fixedNodeIntegration_presentValueAccuracy() {
+    SabrExtrapolationReplicationCmsPeriodPricer pricer = PRICER.withFixedNodeIntegration(8);
+    CmsPeriod[] periods = {COUPON, CAPLET, FLOORLET, COUPON_SELL, CAPLET_ZERO, FLOORLET_ZERO};
+    for (CmsPeriod period : periods) {
+      double pvExpected = PRICER.presentValue(period, RATES_PROVIDER, VOLATILITIES).getAmount();
+      double pvComputed = pricer.presentValue(period, RATES_PROVIDER, VOLATILITIES).getAmount();
+      assertThat(pvComputed).isCloseTo(pvExpected, offset(NOTIONAL * 1e-9));
+    }
+  }
+
+  @Test
+  public void test_presentValueWithSensitivities() {
+    CmsPeriod[] periods = {COUPON, CAPLET, FLOORLET, COUPON_SELL, CAPLET_ZERO, FLOORLET_ZERO};
+    for (CmsPeriod period : periods) {
+      assertPresentValueWithSensitivities(
+          PRICER_FIXED_NODES, period, RATES_PROVIDER, VOLATILITIES, NOTIONAL * 1e-10);
+      assertPresentValueWithSensitivities(PRICER, period, RATES_PROVIDER, VOLATILITIES, 0d);
+      assertPresentValueWithSensitivities(PRICER_FIXED_NODES, period, RATES_PROVIDER_ON_FIX, VOLATILITIES_ON_FIX, 0d);
+      assertPresentValueWithSensitivities(
+          PRICER_FIXED_NODES, period, RATES_PROVIDER_AFTER_PAY, VOLATILITIES_AFTER_PAY, 0d);
+    }
+    CmsPeriod[] periodsShift = {CAPLET_NEGATIVE, FLOORLET_NEGATIVE, CAPLET_SHIFT, FLOORLET_SHIFT};
+    for (CmsPeriod period : periodsShift) {
+      assertPresentValueWithSensitivities(
+          PRICER_FIXED_NODES, period, RATES_PROVIDER, VOLATILITIES_SHIFT, NOTIONAL * 1e-10);
+    }
+  }
+
+  // the results from the shared evaluations match the separate methods
+  private static void assertPresentValueWithSensitivities(
+      SabrExtrapolationReplicationCmsPeriodPricer pricer,
+      CmsPeriod period,
+      RatesProvider ratesProvider,
+      SabrParametersSwaptionVolatilities volatilities,
+      double tolerance) {
+
+    Triple<CurrencyAmount, PointSensitivityBuilder, PointSensitivityBuilder> computed =
+        pricer.presentValueWithSensitivities(period, ratesProvider, volatilities);
+    assertThat(computed.getFirst().getAmount())
+        .isCloseTo(pricer.presentValue(period, ratesProvider, volatilities).getAmount(), offset(tolerance));
+    PointSensitivities ratesExpected = pricer.presentValueSensitivityRates(period, ratesProvider, volatilities).build();
+    assertThat(computed.getSecond().build().equalWithTolerance(ratesExpected, tolerance)).isTrue();
+    PointSensitivities sabrExpected =
+        pricer.presentValueSensitivityModelParamsSabr(period, ratesProvider, volatilities).build();
+    assertThat(computed.getThird().build().equalWithTolerance(sabrExpected, tolerance)).isTrue();
+  }
+
+  @Test
+  public void test_fixedNodeIntegration_nodes() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.withFixedNodeIntegration(1));
+  }
+
+  // compares the fixed-node integration to the adaptive integration, which has a lower accuracy for SABR sensitivities
+  private static void assertFixedNodeIntegration(CmsPeriod period, SabrParametersSwaptionVolatilities volatilities) {
+    double pvExpected = PRICER.presentValue(period, RATES_PROVIDER, volatilities).getAmount();
+    double pvComputed = PRICER_FIXED_NODES.presentValue(period, RATES_PROVIDER, volatilities).getAmount();
+    assertThat(pvComputed).isCloseTo(pvExpected, offset(NOTIONAL * 1e-8));
+    PointSensitivities ratesExpected =
+        PRICER.presentValueSensitivityRates(period, RATES_PROVIDER, volatilities).build();
+    PointSensitivities ratesComputed =
+        PRICER_FIXED_NODES.presentValueSensitivityRates(period, RATES_PROVIDER, volatilities).build();
+    assertThat(ratesComputed.equalWithTolerance(ratesExpected, NOTIONAL * 1e-7)).isTrue();
+    PointSensitivities sabrExpected =
+        PRICER.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, volatilities).build();
+    PointSensitivities sabrComputed =
+        PRICER_FIXED_NODES.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, volatilities).build();
+    assertThat(sabrComputed.equalWithTolerance(sabrExpected, NOTIONAL * 1e-4)).isTrue();
+    if (period.getCmsPeriodType() != CmsPeriodType.COUPON) {
+      double strikeExpected = PRICER.presentValueSensitivityStrike(period, RATES_PROVIDER, volatilities);
+      double strikeComputed = PRICER_FIXED_NODES.presentValueSensitivityStrike(period, RATES_PROVIDER, volatilities);
+      assertThat(strikeComputed).isCloseTo(strikeExpected, offset(NOTIONAL * 1e-7));
+    }
+  }
+
   //-------------------------------------------------------------------------
   private void testPresentValueSensitivitySabrParameter(CmsPeriod coupon, CmsPeriod caplet, CmsPeriod foorlet,
       RatesProvider ratesProvider, SabrParametersSwaptionVolatilities volatilities) {
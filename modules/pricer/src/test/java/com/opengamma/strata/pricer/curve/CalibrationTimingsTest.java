@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.pricer.curve.CalibrationTimings.Step;
+
+/**
+ * Tests {@link CalibrationTimings}.
+ */
+public class CalibrationTimingsTest {
+
+  private static final CurveGroupName GROUP1 = CurveGroupName.of("Group1");
+  private static final CurveGroupName GROUP2 = CurveGroupName.of("Group2");
+
+  @Test
+  public void test_record() {
+    CalibrationTimings test = CalibrationTimings.create();
+    test.record(GROUP1, Step.DERIVATIVE, 2_000_000);
+    test.record(GROUP1, Step.DERIVATIVE, 3_000_000);
+    test.record(GROUP2, Step.JACOBIAN, 1_000_000);
+    assertThat(test.getGroupNames()).containsOnly(GROUP1, GROUP2);
+    assertThat(test.getCount(GROUP1, Step.DERIVATIVE)).isEqualTo(2);
+    assertThat(test.getTotalTime(GROUP1, Step.DERIVATIVE)).isEqualTo(Duration.ofMillis(5));
+    assertThat(test.getCount(GROUP1, Step.JACOBIAN)).isEqualTo(0);
+    assertThat(test.getTotalTime(GROUP1, Step.JACOBIAN)).isEqualTo(Duration.ZERO);
+    assertThat(test.getCount(GROUP2, Step.JACOBIAN)).isEqualTo(1);
+    assertThat(test.getCount(CurveGroupName.of("Other"), Step.JACOBIAN)).isEqualTo(0);
+    assertThat(test.toString()).isEqualTo("CalibrationTimings[" +
+        "Group1: ROOT_FINDING=0/0ms DERIVATIVE=2/5ms JACOBIAN=0/0ms MARKET_QUOTE_SENSITIVITY=0/0ms, " +
+        "Group2: ROOT_FINDING=0/0ms DERIVATIVE=0/0ms JACOBIAN=1/1ms MARKET_QUOTE_SENSITIVITY=0/0ms]");
+  }
+
+  @Test
+  public void test_reset() {
+    CalibrationTimings test = CalibrationTimings.create();
+    test.record(GROUP1, Step.ROOT_FINDING, 1);
+    test.reset();
+    assertThat(test.getGroupNames()).isEmpty();
+    assertThat(test.getCount(GROUP1, Step.ROOT_FINDING)).isEqualTo(0);
+    assertThat(test.toString()).isEqualTo("CalibrationTimings[]");
+  }
+
+}
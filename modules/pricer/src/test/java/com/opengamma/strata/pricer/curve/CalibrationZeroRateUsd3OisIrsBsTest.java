@@ -33,6 +33,7 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
@@ -43,11 +44,13 @@ import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.DaysAdjustment;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
@@ -378,6 +381,32 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     assertPresentValue(result);
   }
   
+  @Test
+  public void calibration_present_value_oneGroup_initialGuesses() {
+    ImmutableRatesProvider base = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    Curve dscCurve = base.findData(DSCON_CURVE_NAME).get();
+    Map<CurveName, DoubleArray> guesses = ImmutableMap.of(
+        DSCON_CURVE_NAME, DoubleArray.of(dscCurve.getParameterCount(), dscCurve::getParameter),
+        FWD3_CURVE_NAME, DoubleArray.of(0.01));  // wrong size, definition guess used
+    RatesProvider result = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA, guesses);
+    assertPresentValue(result);
+  }
+
+  @Test
+  public void calibration_present_value_threeGroups_parallel() {
+    CalibrationTimings timings = CalibrationTimings.create();
+    RatesCurveCalibrator calibrator = CALIBRATOR.withParallelDerivatives(true).withTimings(timings);
+    ImmutableList<RatesCurveGroupDefinition> groups = ImmutableList.of(GROUP_1, GROUP_2, GROUP_3);
+    ImmutableRatesProvider result = calibrator.calibrate(groups, KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(groups, KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    assertThat(result.getCurves()).isEqualTo(expected.getCurves());
+    assertThat(timings.getGroupNames()).containsOnly(GROUP_1.getName(), GROUP_2.getName(), GROUP_3.getName());
+    assertThat(timings.getCount(GROUP_2.getName(), CalibrationTimings.Step.ROOT_FINDING)).isEqualTo(1);
+    assertThat(timings.getCount(GROUP_2.getName(), CalibrationTimings.Step.DERIVATIVE)).isGreaterThan(0);
+    assertThat(timings.getCount(GROUP_2.getName(), CalibrationTimings.Step.JACOBIAN)).isEqualTo(1);
+  }
+
   @Test
   public void calibration_market_quote_sensitivity_one_group() {
     double shift = 1.0E-6;
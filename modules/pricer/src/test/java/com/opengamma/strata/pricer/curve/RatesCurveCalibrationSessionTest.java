@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.product.deposit.type.TermDepositConventions.USD_SHORT_DEPOSIT_T0;
+import static com.opengamma.strata.product.fx.type.FxSwapConventions.EUR_USD;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.curve.node.FixedOvernightSwapCurveNode;
+import com.opengamma.strata.market.curve.node.FxSwapCurveNode;
+import com.opengamma.strata.market.curve.node.TermDepositCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.deposit.type.TermDepositTemplate;
+import com.opengamma.strata.product.fx.type.FxSwapTemplate;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapTemplate;
+
+/**
+ * Tests {@link RatesCurveCalibrationSession}.
+ */
+public class RatesCurveCalibrationSessionTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 11, 2);
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final RatesCurveCalibrator CALIBRATOR = RatesCurveCalibrator.of(1e-9, 1e-9, 100);
+  private static final double TOLERANCE = 1e-8;
+
+  private static final CurveName USD_DSC_NAME = CurveName.of("USD-DSCON-OIS");
+  private static final CurveName EUR_DSC_NAME = CurveName.of("EUR-DSC-FX");
+  private static final FxRateId FX_ID = FxRateId.of(EUR, USD);
+  private static final QuoteId USD_DEPO_ID = quoteId("USD-ON");
+  private static final QuoteId[] USD_OIS_IDS = {quoteId("USD-OIS-3M"), quoteId("USD-OIS-1Y"), quoteId("USD-OIS-3Y")};
+  private static final Period[] USD_OIS_TENORS = {Period.ofMonths(3), Period.ofYears(1), Period.ofYears(3)};
+  private static final QuoteId[] EUR_FX_IDS = {quoteId("EUR-USD-FX-3M"), quoteId("EUR-USD-FX-1Y"), quoteId("EUR-USD-FX-3Y")};
+  private static final Period[] EUR_FX_TENORS = {Period.ofMonths(3), Period.ofYears(1), Period.ofYears(3)};
+
+  private static final InterpolatedNodalCurveDefinition USD_DSC_CURVE_DEFN;
+  private static final InterpolatedNodalCurveDefinition EUR_DSC_CURVE_DEFN;
+  static {
+    ImmutableList.Builder<CurveNode> usdNodes = ImmutableList.builder();
+    usdNodes.add(TermDepositCurveNode.of(TermDepositTemplate.of(Period.ofDays(1), USD_SHORT_DEPOSIT_T0), USD_DEPO_ID));
+    for (int i = 0; i < USD_OIS_IDS.length; i++) {
+      usdNodes.add(FixedOvernightSwapCurveNode.of(
+          FixedOvernightSwapTemplate.of(Period.ZERO, Tenor.of(USD_OIS_TENORS[i]), USD_FIXED_1Y_FED_FUND_OIS),
+          USD_OIS_IDS[i]));
+    }
+    ImmutableList.Builder<CurveNode> eurNodes = ImmutableList.builder();
+    for (int i = 0; i < EUR_FX_IDS.length; i++) {
+      eurNodes.add(FxSwapCurveNode.of(FxSwapTemplate.of(EUR_FX_TENORS[i], EUR_USD), EUR_FX_IDS[i]));
+    }
+    USD_DSC_CURVE_DEFN = curveDefinition(USD_DSC_NAME, usdNodes.build());
+    EUR_DSC_CURVE_DEFN = curveDefinition(EUR_DSC_NAME, eurNodes.build());
+  }
+  private static final RatesCurveGroupDefinition USD_GROUP = RatesCurveGroupDefinition.builder()
+      .name(CurveGroupName.of("USD"))
+      .addCurve(USD_DSC_CURVE_DEFN, USD, USD_FED_FUND)
+      .build();
+  private static final RatesCurveGroupDefinition EUR_GROUP = RatesCurveGroupDefinition.builder()
+      .name(CurveGroupName.of("EUR"))
+      .addDiscountCurve(EUR_DSC_CURVE_DEFN, EUR)
+      .build();
+  private static final List<RatesCurveGroupDefinition> GROUPS = ImmutableList.of(USD_GROUP, EUR_GROUP);
+
+  private static final ImmutableMarketData MARKET_DATA = ImmutableMarketData.builder(VAL_DATE)
+      .addValue(USD_DEPO_ID, 0.0016)
+      .addValue(USD_OIS_IDS[0], 0.0020)
+      .addValue(USD_OIS_IDS[1], 0.0039)
+      .addValue(USD_OIS_IDS[2], 0.0090)
+      .addValue(EUR_FX_IDS[0], 0.0019)
+      .addValue(EUR_FX_IDS[1], 0.0109)
+      .addValue(EUR_FX_IDS[2], 0.0519)
+      .addValue(FX_ID, FxRate.of(EUR, USD, 1.10))
+      .build();
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_calibrate_first() {
+    RatesCurveCalibrationSession test = RatesCurveCalibrationSession.of(CALIBRATOR, GROUPS, REF_DATA);
+    ImmutableRatesProvider result = test.calibrate(MARKET_DATA);
+    assertThat(test.getCalibratedGroupCount()).isEqualTo(2);
+    assertMatchesCalibrator(result, MARKET_DATA);
+  }
+
+  @Test
+  public void test_calibrate_unchanged() {
+    RatesCurveCalibrationSession test = RatesCurveCalibrationSession.of(CALIBRATOR, GROUPS, REF_DATA);
+    ImmutableRatesProvider first = test.calibrate(MARKET_DATA);
+    ImmutableRatesProvider result = test.calibrate(MARKET_DATA);
+    assertThat(test.getCalibratedGroupCount()).isEqualTo(0);
+    assertThat(result.getCurves()).isEqualTo(first.getCurves());
+  }
+
+  @Test
+  public void test_calibrate_laterGroupChanged() {
+    RatesCurveCalibrationSession test = RatesCurveCalibrationSession.of(CALIBRATOR, GROUPS, REF_DATA);
+    ImmutableRatesProvider first = test.calibrate(MARKET_DATA);
+    MarketData shifted = shifted(EUR_FX_IDS[1], 0.0110);
+    ImmutableRatesProvider result = test.calibrate(shifted);
+    assertThat(test.getCalibratedGroupCount()).isEqualTo(1);
+    assertThat(result.findData(USD_DSC_NAME)).isEqualTo(first.findData(USD_DSC_NAME));
+    assertMatchesCalibrator(result, shifted);
+  }
+
+  @Test
+  public void test_calibrate_earlierGroupChanged() {
+    RatesCurveCalibrationSession test = RatesCurveCalibrationSession.of(CALIBRATOR, GROUPS, REF_DATA);
+    test.calibrate(MARKET_DATA);
+    MarketData shifted = shifted(USD_OIS_IDS[1], 0.0041);
+    ImmutableRatesProvider result = test.calibrate(shifted);
+    assertThat(test.getCalibratedGroupCount()).isEqualTo(2);
+    assertMatchesCalibrator(result, shifted);
+  }
+
+  @Test
+  public void test_calibrate_fxChanged() {
+    RatesCurveCalibrationSession test = RatesCurveCalibrationSession.of(CALIBRATOR, GROUPS, REF_DATA);
+    test.calibrate(MARKET_DATA);
+    MarketData shifted = shifted(FX_ID, FxRate.of(EUR, USD, 1.12));
+    ImmutableRatesProvider result = test.calibrate(shifted);
+    assertThat(test.getCalibratedGroupCount()).isEqualTo(1);
+    assertThat(result.fxRate(EUR, USD)).isEqualTo(1.12);
+    assertMatchesCalibrator(result, shifted);
+  }
+
+  @Test
+  public void test_calibrate_singleGroup() {
+    RatesCurveGroupDefinition group = USD_GROUP.combinedWith(EUR_GROUP);
+    RatesCurveCalibrationSession test = RatesCurveCalibrationSession.of(CALIBRATOR, group, REF_DATA);
+    test.calibrate(MARKET_DATA);
+    MarketData shifted = shifted(EUR_FX_IDS[1], 0.0110);
+    ImmutableRatesProvider result = test.calibrate(shifted);
+    assertThat(test.getCalibratedGroupCount()).isEqualTo(1);
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(group, shifted, REF_DATA);
+    assertCurvesClose(result, expected, USD_DSC_NAME);
+    assertCurvesClose(result, expected, EUR_DSC_NAME);
+  }
+
+  @Test
+  public void test_toString() {
+    assertThat(RatesCurveCalibrationSession.of(CALIBRATOR, GROUPS, REF_DATA).toString())
+        .isEqualTo("RatesCurveCalibrationSession[2]");
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertMatchesCalibrator(ImmutableRatesProvider result, MarketData marketData) {
+    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(VAL_DATE)
+        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
+        .build();
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(GROUPS, knownData, marketData, REF_DATA);
+    assertCurvesClose(result, expected, USD_DSC_NAME);
+    assertCurvesClose(result, expected, EUR_DSC_NAME);
+  }
+
+  private static void assertCurvesClose(
+      ImmutableRatesProvider result,
+      ImmutableRatesProvider expected,
+      CurveName curveName) {
+
+    Curve resultCurve = result.findData(curveName).get();
+    Curve expectedCurve = expected.findData(curveName).get();
+    assertThat(resultCurve.getParameterCount()).isEqualTo(expectedCurve.getParameterCount());
+    for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+      assertThat(resultCurve.getParameter(i)).isCloseTo(expectedCurve.getParameter(i), offset(TOLERANCE));
+    }
+  }
+
+  private static MarketData shifted(MarketDataId<?> id, Object value) {
+    Map<MarketDataId<?>, Object> values = new HashMap<>(MARKET_DATA.getValues());
+    values.put(id, value);
+    return ImmutableMarketData.of(VAL_DATE, values);
+  }
+
+  private static QuoteId quoteId(String value) {
+    return QuoteId.of(StandardId.of("CALIBRATION", value));
+  }
+
+  private static InterpolatedNodalCurveDefinition curveDefinition(CurveName name, List<CurveNode> nodes) {
+    return InterpolatedNodalCurveDefinition.builder()
+        .name(name)
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .dayCount(ACT_365F)
+        .interpolator(CurveInterpolators.LINEAR)
+        .extrapolatorLeft(CurveExtrapolators.FLAT)
+        .extrapolatorRight(CurveExtrapolators.FLAT)
+        .nodes(nodes)
+        .build();
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.exposure;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link ExposureAccumulator}.
+ */
+public class ExposureAccumulatorTest {
+
+  private static final ImmutableList<LocalDate> DATES = ImmutableList.of(LocalDate.of(2020, 6, 30), LocalDate.of(2021, 6, 30));
+
+  @Test
+  public void test_quantileRank() {
+    assertThat(ExposureAccumulator.quantileRank(100, 0.95d)).isEqualTo(95);
+    assertThat(ExposureAccumulator.quantileRank(1000, 0.99d)).isEqualTo(990);
+    assertThat(ExposureAccumulator.quantileRank(10, 0.91d)).isEqualTo(10);
+    assertThat(ExposureAccumulator.quantileRank(10, 0.01d)).isEqualTo(1);
+  }
+
+  @Test
+  public void test_statistics() {
+    int nPaths = 1000;
+    double quantile = 0.95d;
+    Random random = new Random(1);
+    double[][] values = new double[DATES.size()][nPaths];
+    ExposureAccumulator test = new ExposureAccumulator(DATES.size(), nPaths, quantile);
+    for (int p = 0; p < nPaths; p++) {
+      double[] pathValues = new double[DATES.size()];
+      for (int i = 0; i < DATES.size(); i++) {
+        pathValues[i] = random.nextGaussian() * (i + 1) + 0.5d;
+        values[i][p] = pathValues[i];
+      }
+      test.add(pathValues);
+    }
+    assertThat(test.getCount()).isEqualTo(nPaths);
+    ExposureProfile profile = test.toProfile(EUR, DATES, quantile);
+    for (int i = 0; i < DATES.size(); i++) {
+      double positive = Arrays.stream(values[i]).map(v -> Math.max(v, 0d)).sum() / nPaths;
+      double negative = Arrays.stream(values[i]).map(v -> Math.min(v, 0d)).sum() / nPaths;
+      double[] sorted = Arrays.stream(values[i]).map(v -> Math.max(v, 0d)).sorted().toArray();
+      assertThat(profile.getExpectedPositiveExposure().get(i)).isCloseTo(positive, offset(1e-12));
+      assertThat(profile.getExpectedNegativeExposure().get(i)).isCloseTo(negative, offset(1e-12));
+      assertThat(profile.getPotentialFutureExposure().get(i)).isEqualTo(sorted[949]);
+    }
+  }
+
+  @Test
+  public void test_addAll() {
+    int nPaths = 300;
+    Random random = new Random(2);
+    ExposureAccumulator whole = new ExposureAccumulator(DATES.size(), nPaths, 0.9d);
+    ExposureAccumulator[] blocks = new ExposureAccumulator[3];
+    for (int b = 0; b < blocks.length; b++) {
+      blocks[b] = new ExposureAccumulator(DATES.size(), nPaths, 0.9d);
+      for (int p = 0; p < nPaths / blocks.length; p++) {
+        double[] pathValues = {random.nextGaussian(), random.nextGaussian()};
+        whole.add(pathValues);
+        blocks[b].add(pathValues);
+      }
+    }
+    ExposureAccumulator merged = new ExposureAccumulator(DATES.size(), nPaths, 0.9d);
+    for (ExposureAccumulator block : blocks) {
+      merged.addAll(block);
+    }
+    ExposureProfile expected = whole.toProfile(EUR, DATES, 0.9d);
+    ExposureProfile test = merged.toProfile(EUR, DATES, 0.9d);
+    assertThat(test.getPotentialFutureExposure()).isEqualTo(expected.getPotentialFutureExposure());
+    assertThat(test.getExpectedPositiveExposure().equalWithTolerance(expected.getExpectedPositiveExposure(), 1e-12))
+        .isTrue();
+  }
+
+  @Test
+  public void test_incomplete() {
+    ExposureAccumulator test = new ExposureAccumulator(DATES.size(), 10, 0.9d);
+    test.add(new double[] {1d, 2d});
+    assertThatIllegalArgumentException().isThrownBy(() -> test.toProfile(EUR, DATES, 0.9d));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(new double[] {1d}));
+  }
+
+}
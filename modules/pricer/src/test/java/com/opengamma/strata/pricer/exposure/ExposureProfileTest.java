@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.exposure;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link ExposureProfile}.
+ */
+public class ExposureProfileTest {
+
+  private static final ImmutableList<LocalDate> DATES = ImmutableList.of(LocalDate.of(2020, 6, 30), LocalDate.of(2021, 6, 30));
+  private static final DoubleArray EPE = DoubleArray.of(10d, 15d);
+  private static final DoubleArray ENE = DoubleArray.of(-4d, -7d);
+  private static final DoubleArray PFE = DoubleArray.of(30d, 25d);
+
+  @Test
+  public void test_of() {
+    ExposureProfile test = ExposureProfile.of(EUR, DATES, EPE, ENE, PFE, 0.95d);
+    assertThat(test.getCurrency()).isEqualTo(EUR);
+    assertThat(test.getDates()).isEqualTo(DATES);
+    assertThat(test.getExpectedPositiveExposure()).isEqualTo(EPE);
+    assertThat(test.getExpectedNegativeExposure()).isEqualTo(ENE);
+    assertThat(test.getPotentialFutureExposure()).isEqualTo(PFE);
+    assertThat(test.getQuantile()).isEqualTo(0.95d);
+    assertThat(test.getExpectedValue()).isEqualTo(DoubleArray.of(6d, 8d));
+    assertThat(test.getMaximumPotentialFutureExposure()).isEqualTo(30d);
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ExposureProfile.of(EUR, DATES, DoubleArray.of(1d), ENE, PFE, 0.95d));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ExposureProfile.of(EUR, DATES, EPE, ENE, PFE, 1d));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    ExposureProfile test1 = ExposureProfile.of(EUR, DATES, EPE, ENE, PFE, 0.95d);
+    coverImmutableBean(test1);
+    ExposureProfile test2 = ExposureProfile.of(USD, DATES.subList(0, 1),
+        DoubleArray.of(1d), DoubleArray.of(-1d), DoubleArray.of(2d), 0.99d);
+    coverBeanEquals(test1, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(ExposureProfile.of(EUR, DATES, EPE, ENE, PFE, 0.95d));
+  }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.exposure;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_3M;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.pricer.fx.DiscountingFxSingleTradePricer;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionFlatVolatilities;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionVolatilities;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fx.ResolvedFxSingleTrade;
+import com.opengamma.strata.product.fx.ResolvedFxSwap;
+import com.opengamma.strata.product.fx.ResolvedFxSwapTrade;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+/**
+ * Test {@link ExposureSimulator}.
+ */
+public class ExposureSimulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final double FX_RATE = 1.40d;
+  private static final ImmutableRatesProvider RATES_PROVIDER = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION)
+      .toBuilder()
+      .discountCurve(USD, ConstantCurve.of(Curves.zeroRates("USD-Dsc", ACT_365F), 0.01d))
+      .fxRateProvider(FxMatrix.of(EUR, USD, FX_RATE))
+      .build();
+  private static final Map<Currency, HullWhiteOneFactorPiecewiseConstantParametersProvider> HW_PROVIDERS =
+      ImmutableMap.of(EUR, HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION));
+  private static final CurrencyPair EUR_USD = CurrencyPair.of(EUR, USD);
+  private static final Map<CurrencyPair, BlackFxOptionVolatilities> FX_VOLS = ImmutableMap.of(
+      EUR_USD,
+      BlackFxOptionFlatVolatilities.of(
+          EUR_USD,
+          VALUATION.atStartOfDay(ZoneOffset.UTC),
+          ConstantCurve.of(
+              DefaultCurveMetadata.builder()
+                  .curveName("Vol")
+                  .xValueType(ValueType.YEAR_FRACTION)
+                  .yValueType(ValueType.BLACK_VOLATILITY)
+                  .dayCount(ACT_365F)
+                  .build(),
+              0.10d)));
+  private static final ImmutableList<LocalDate> DATES = ImmutableList.of(
+      VALUATION.plusMonths(6), VALUATION.plusYears(1), VALUATION.plusYears(2).plusDays(1), VALUATION.plusYears(3));
+  private static final LocalDate FX_PAYMENT = VALUATION.plusYears(2);
+  private static final ResolvedFxSingleTrade FX_TRADE = ResolvedFxSingleTrade.of(
+      TradeInfo.empty(),
+      ResolvedFxSingle.of(CurrencyAmount.of(EUR, 1_000_000d), CurrencyAmount.of(USD, -1_380_000d), FX_PAYMENT));
+  private static final ResolvedSwapTrade SWAP_TRADE = EUR_FIXED_1Y_EURIBOR_3M
+      .createTrade(VALUATION, Tenor.TENOR_2Y, BUY, 1_000_000d, 0.02d, REF_DATA)
+      .resolve(REF_DATA);
+  private static final ExposureSimulator SIMULATOR = ExposureSimulator.of(2_000, 1L, 0.95d);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    assertThat(SIMULATOR.getNumberOfPaths()).isEqualTo(2_000);
+    assertThat(SIMULATOR.getSeed()).isEqualTo(1L);
+    assertThat(SIMULATOR.getQuantile()).isEqualTo(0.95d);
+    assertThatIllegalArgumentException().isThrownBy(() -> ExposureSimulator.of(0, 1L, 0.95d));
+    assertThatIllegalArgumentException().isThrownBy(() -> ExposureSimulator.of(100, 1L, 1d));
+  }
+
+  @Test
+  public void test_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> SIMULATOR.exposureProfile(
+            ImmutableList.of(FX_TRADE), DATES.reverse(), USD, RATES_PROVIDER, HW_PROVIDERS, FX_VOLS, REF_DATA));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> SIMULATOR.exposureProfile(
+            ImmutableList.of(FX_TRADE), ImmutableList.of(VALUATION), USD, RATES_PROVIDER, HW_PROVIDERS, FX_VOLS, REF_DATA));
+    Map<Currency, HullWhiteOneFactorPiecewiseConstantParametersProvider> staleHwProviders =
+        ImmutableMap.of(EUR, HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION.minusDays(1)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> SIMULATOR.exposureProfile(
+            ImmutableList.of(FX_TRADE), DATES, USD, RATES_PROVIDER, staleHwProviders, FX_VOLS, REF_DATA));
+    ImmutableRatesProvider laterProvider = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION.plusDays(1))
+        .toBuilder()
+        .discountCurve(USD, ConstantCurve.of(Curves.zeroRates("USD-Dsc", ACT_365F), 0.01d))
+        .fxRateProvider(FxMatrix.of(EUR, USD, FX_RATE))
+        .build();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> SIMULATOR.exposureProfile(
+            ImmutableList.of(FX_TRADE), DATES, USD, laterProvider, ImmutableMap.of(), FX_VOLS, REF_DATA));
+    ResolvedFxSingle nearLeg =
+        ResolvedFxSingle.of(CurrencyAmount.of(EUR, 1_000_000d), CurrencyAmount.of(USD, -1_380_000d), DATES.get(0));
+    ResolvedFxSingle farLeg =
+        ResolvedFxSingle.of(CurrencyAmount.of(EUR, -1_000_000d), CurrencyAmount.of(USD, 1_390_000d), DATES.get(1));
+    ResolvedFxSwapTrade unsupported = ResolvedFxSwapTrade.of(TradeInfo.empty(), ResolvedFxSwap.of(nearLeg, farLeg));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> SIMULATOR.exposureProfile(
+            ImmutableList.of(unsupported), DATES, USD, RATES_PROVIDER, HW_PROVIDERS, FX_VOLS, REF_DATA));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_deterministic() {
+    // without model data, all the paths are the forward of the valuation date
+    ExposureProfile test = ExposureSimulator.of(10, 1L, 0.9d).exposureProfile(
+        ImmutableList.of(FX_TRADE), DATES, USD, RATES_PROVIDER, ImmutableMap.of(), ImmutableMap.of(), REF_DATA);
+    double pv = DiscountingFxSingleTradePricer.DEFAULT.presentValue(FX_TRADE, RATES_PROVIDER)
+        .convertedTo(USD, RATES_PROVIDER).getAmount();
+    assertThat(test.getCurrency()).isEqualTo(USD);
+    assertThat(test.getDates()).isEqualTo(DATES);
+    for (int i = 0; i < DATES.size(); i++) {
+      double expected = DATES.get(i).isAfter(FX_PAYMENT) ?
+          0d :
+          pv / RATES_PROVIDER.discountFactor(USD, DATES.get(i));
+      double tolerance = Math.abs(expected) * 1e-4;
+      assertThat(test.getExpectedPositiveExposure().get(i)).isCloseTo(Math.max(expected, 0d), offset(tolerance));
+      assertThat(test.getExpectedNegativeExposure().get(i)).isCloseTo(Math.min(expected, 0d), offset(tolerance));
+      assertThat(test.getPotentialFutureExposure().get(i)).isCloseTo(Math.max(expected, 0d), offset(tolerance));
+    }
+  }
+
+  @Test
+  public void test_fxForward() {
+    // the FX rate is a martingale in the reporting currency, thus the expected value is the forward value
+    ExposureProfile test = SIMULATOR.exposureProfile(
+        ImmutableList.of(FX_TRADE), DATES, USD, RATES_PROVIDER, ImmutableMap.of(), FX_VOLS, REF_DATA);
+    double pv = DiscountingFxSingleTradePricer.DEFAULT.presentValue(FX_TRADE, RATES_PROVIDER)
+        .convertedTo(USD, RATES_PROVIDER).getAmount();
+    for (int i = 0; i < 2; i++) {
+      double expected = pv / RATES_PROVIDER.discountFactor(USD, DATES.get(i));
+      assertThat(test.getExpectedValue().get(i)).isCloseTo(expected, offset(5_000d));
+      assertThat(test.getExpectedPositiveExposure().get(i)).isGreaterThan(Math.max(expected, 0d));
+      assertThat(test.getPotentialFutureExposure().get(i)).isGreaterThan(test.getExpectedPositiveExposure().get(i));
+    }
+    // the exposure grows with the horizon and vanishes after the payment
+    assertThat(test.getPotentialFutureExposure().get(1)).isGreaterThan(test.getPotentialFutureExposure().get(0));
+    assertThat(test.getExpectedPositiveExposure().get(3)).isEqualTo(0d);
+    assertThat(test.getPotentialFutureExposure().get(3)).isEqualTo(0d);
+  }
+
+  @Test
+  public void test_swap() {
+    ExposureProfile test = SIMULATOR.exposureProfile(
+        ImmutableList.of(SWAP_TRADE), DATES, EUR, RATES_PROVIDER, HW_PROVIDERS, FX_VOLS, REF_DATA);
+    assertThat(test.getCurrency()).isEqualTo(EUR);
+    for (int i = 0; i < 2; i++) {
+      assertThat(test.getPotentialFutureExposure().get(i)).isGreaterThan(0d);
+      assertThat(test.getPotentialFutureExposure().get(i)).isGreaterThanOrEqualTo(test.getExpectedPositiveExposure().get(i));
+      assertThat(test.getExpectedNegativeExposure().get(i)).isLessThan(0d);
+    }
+    assertThat(test.getExpectedPositiveExposure().get(3)).isEqualTo(0d);
+    assertThat(test.getExpectedNegativeExposure().get(3)).isEqualTo(0d);
+  }
+
+  @Test
+  public void test_netting() {
+    // netting reduces the exposure on each path, thus the expected positive exposure
+    List<List<ResolvedTrade>> nettingSets = ImmutableList.of(
+        ImmutableList.of(SWAP_TRADE, FX_TRADE), ImmutableList.of(SWAP_TRADE), ImmutableList.of(FX_TRADE));
+    List<ExposureProfile> test = SIMULATOR.exposureProfiles(
+        nettingSets, DATES, USD, RATES_PROVIDER, HW_PROVIDERS, FX_VOLS, REF_DATA);
+    assertThat(test).hasSize(3);
+    for (int i = 0; i < DATES.size(); i++) {
+      double netted = test.get(0).getExpectedPositiveExposure().get(i);
+      double gross = test.get(1).getExpectedPositiveExposure().get(i) + test.get(2).getExpectedPositiveExposure().get(i);
+      assertThat(netted).isLessThanOrEqualTo(gross + 1e-6);
+      assertThat(test.get(0).getExpectedValue().get(i)).isCloseTo(
+          test.get(1).getExpectedValue().get(i) + test.get(2).getExpectedValue().get(i), offset(1e-6));
+    }
+    ExposureProfile single = SIMULATOR.exposureProfile(
+        ImmutableList.of(SWAP_TRADE), DATES, USD, RATES_PROVIDER, HW_PROVIDERS, FX_VOLS, REF_DATA);
+    assertThat(test.get(1)).isEqualTo(single);
+  }
+
+  @Test
+  public void test_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      ExposureSimulator simulator = ExposureSimulator.of(300, 2L, 0.99d);
+      List<ResolvedTrade> trades = ImmutableList.of(SWAP_TRADE, FX_TRADE);
+      ExposureProfile serial =
+          simulator.exposureProfile(trades, DATES, USD, RATES_PROVIDER, HW_PROVIDERS, FX_VOLS, REF_DATA);
+      ExposureProfile parallel = simulator.withExecutor(executor)
+          .exposureProfile(trades, DATES, USD, RATES_PROVIDER, HW_PROVIDERS, FX_VOLS, REF_DATA);
+      assertThat(parallel).isEqualTo(serial);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -14,9 +14,11 @@ import static org.assertj.core.data.Offset.offset;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
@@ -332,6 +334,60 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
     assertThat(ce).isEqualTo(ceWithData);
   }
 
+  @Test
+  public void test_presentValue_batch() {
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(21);
+    ResolvedFxVanillaOption callShortExpiry = CALL.toBuilder().expiry(EXPIRY_DATETIME.minusYears(1)).build();
+    ResolvedFxVanillaOption putShort = PUT.toBuilder().longShort(LongShort.LONG).build();
+    List<ResolvedFxSingleBarrierOption> options = ImmutableList.of(
+        CALL_DKO,
+        CALL_UKI_C,
+        ResolvedFxSingleBarrierOption.of(callShortExpiry, BARRIER_DKO),
+        ResolvedFxSingleBarrierOption.of(PUT, BARRIER_UKI, REBATE_BASE),
+        ResolvedFxSingleBarrierOption.of(putShort, BARRIER_UKI, REBATE_BASE),
+        ResolvedFxSingleBarrierOption.of(callShortExpiry, BARRIER_UKI, REBATE),
+        CALL_DKO);
+    List<CurrencyAmount> computed = pricer.presentValue(options, RATE_PROVIDER, VOLS);
+    assertThat(computed).hasSize(options.size());
+    for (int i = 0; i < options.size(); i++) {
+      assertThat(computed.get(i)).isEqualTo(pricer.presentValue(options.get(i), RATE_PROVIDER, VOLS));
+    }
+    List<ResolvedFxSingleBarrierOption> sameExpiry = ImmutableList.of(options.get(0), options.get(1), options.get(3));
+    RecombiningTrinomialTreeData data = pricer.getCalibrator().calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    List<CurrencyAmount> computedWithData = pricer.presentValue(sameExpiry, RATE_PROVIDER, VOLS, data);
+    for (int i = 0; i < sameExpiry.size(); i++) {
+      assertThat(computedWithData.get(i)).isEqualTo(pricer.presentValue(sameExpiry.get(i), RATE_PROVIDER, VOLS, data));
+    }
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> pricer.presentValue(options, RATE_PROVIDER, VOLS, data));
+  }
+
+  @Test
+  public void test_treeDataCache() {
+    RecombiningTrinomialTreeDataCache cache = RecombiningTrinomialTreeDataCache.of(10);
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(21, cache);
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricerNoCache =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(21);
+    assertThat(pricer.getTreeDataCache()).hasValue(cache);
+    assertThat(pricerNoCache.getTreeDataCache()).isEmpty();
+    assertThat(pricer.presentValue(CALL_DKO, RATE_PROVIDER, VOLS))
+        .isEqualTo(pricerNoCache.presentValue(CALL_DKO, RATE_PROVIDER, VOLS));
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(pricer.currencyExposure(CALL_UKI_C, RATE_PROVIDER, VOLS))
+        .isEqualTo(pricerNoCache.currencyExposure(CALL_UKI_C, RATE_PROVIDER, VOLS));
+    assertThat(cache.size()).isEqualTo(1);
+    // bumped curves used in the sensitivity are not cached
+    assertThat(pricer.presentValueSensitivityRates(CALL_UKI_C, RATE_PROVIDER, VOLS))
+        .isEqualTo(pricerNoCache.presentValueSensitivityRates(CALL_UKI_C, RATE_PROVIDER, VOLS));
+    assertThat(cache.size()).isEqualTo(1);
+    // different market data
+    assertThat(pricer.presentValue(CALL_DKO, RATE_PROVIDER_FLAT, VOLS_FLAT))
+        .isEqualTo(pricerNoCache.presentValue(CALL_DKO, RATE_PROVIDER_FLAT, VOLS_FLAT));
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
   @Test
   public void test_expired_calibration() {
     assertThatIllegalArgumentException()
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link RecombiningTrinomialTreeDataCache}.
+ */
+public class RecombiningTrinomialTreeDataCacheTest {
+
+  private static final ZoneId ZONE = ZoneId.of("Z");
+  private static final LocalDate VAL_DATE = LocalDate.of(2011, 6, 13);
+  private static final ZonedDateTime VAL_DATETIME = VAL_DATE.atStartOfDay(ZONE);
+  private static final CurrencyPair EUR_USD = CurrencyPair.of(EUR, USD);
+  private static final ImmutableRatesProvider RATE_PROVIDER = RatesProviderFxDataSets.createProviderEURUSD(VAL_DATE);
+  private static final BlackFxOptionSmileVolatilities VOLS =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider5(VAL_DATETIME);
+  private static final ImpliedTrinomialTreeFxOptionCalibrator CALIBRATOR = new ImpliedTrinomialTreeFxOptionCalibrator(11);
+
+  @Test
+  public void test_hit() {
+    RecombiningTrinomialTreeDataCache test = RecombiningTrinomialTreeDataCache.of(3);
+    assertThat(test.getMaximumSize()).isEqualTo(3);
+    assertThat(test.size()).isEqualTo(0);
+    RecombiningTrinomialTreeData first = test.calibrateTrinomialTree(CALIBRATOR, 1d, EUR_USD, RATE_PROVIDER, VOLS);
+    assertThat(first).isEqualTo(CALIBRATOR.calibrateTrinomialTree(1d, EUR_USD, RATE_PROVIDER, VOLS));
+    // equal but distinct market data
+    ImmutableRatesProvider provider = RATE_PROVIDER.toBuilder().build();
+    RecombiningTrinomialTreeData second = test.calibrateTrinomialTree(CALIBRATOR, 1d, EUR_USD, provider, VOLS);
+    assertThat(second).isSameAs(first);
+    assertThat(test.size()).isEqualTo(1);
+    // different number of steps
+    ImpliedTrinomialTreeFxOptionCalibrator calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(12);
+    assertThat(test.calibrateTrinomialTree(calibrator, 1d, EUR_USD, RATE_PROVIDER, VOLS).getNumberOfSteps())
+        .isEqualTo(12);
+    assertThat(test.size()).isEqualTo(2);
+    test.clear();
+    assertThat(test.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void test_eviction() {
+    RecombiningTrinomialTreeDataCache test = RecombiningTrinomialTreeDataCache.of(2);
+    RecombiningTrinomialTreeData first = test.calibrateTrinomialTree(CALIBRATOR, 1d, EUR_USD, RATE_PROVIDER, VOLS);
+    test.calibrateTrinomialTree(CALIBRATOR, 2d, EUR_USD, RATE_PROVIDER, VOLS);
+    // access the first tree, the second is then the least recently used
+    assertThat(test.calibrateTrinomialTree(CALIBRATOR, 1d, EUR_USD, RATE_PROVIDER, VOLS)).isSameAs(first);
+    test.calibrateTrinomialTree(CALIBRATOR, 3d, EUR_USD, RATE_PROVIDER, VOLS);
+    assertThat(test.size()).isEqualTo(2);
+    assertThat(test.calibrateTrinomialTree(CALIBRATOR, 1d, EUR_USD, RATE_PROVIDER, VOLS)).isSameAs(first);
+    assertThat(test.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> RecombiningTrinomialTreeDataCache.of(0));
+  }
+
+}
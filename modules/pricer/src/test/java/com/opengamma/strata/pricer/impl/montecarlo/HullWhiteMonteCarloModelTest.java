@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link HullWhiteMonteCarloModel}.
+ */
+public class HullWhiteMonteCarloModelTest {
+
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+  private static final ImmutableRatesProvider RATES_PROVIDER = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+  private static final DiscountFactors DSC = RATES_PROVIDER.discountFactors(EUR);
+  private static final ImmutableList<LocalDate> DATES = ImmutableList.of(
+      VALUATION.plusYears(1), VALUATION.plusYears(2), VALUATION.plusYears(5), VALUATION.plusYears(10));
+  private static final HullWhiteMonteCarloModel MODEL = HullWhiteMonteCarloModel.of(HW_PROVIDER, DSC, DATES);
+  private static final MonteCarloEngine ENGINE = MonteCarloEngine.of(20_000, 1L);
+
+  @Test
+  public void test_of() {
+    assertThat(MODEL.getHwProvider()).isEqualTo(HW_PROVIDER);
+    assertThat(MODEL.getDiscountFactors()).isEqualTo(DSC);
+    assertThat(MODEL.getDates()).isEqualTo(DATES);
+    assertThat(MODEL.getTimes().get(2)).isEqualTo(HW_PROVIDER.relativeTime(DATES.get(2)));
+    assertThat(MODEL.getInitialState()).isEqualTo(0d);
+    assertThat(MODEL.getNumeraireDiscountFactor()).isEqualTo(DSC.discountFactor(DATES.get(3)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteMonteCarloModel.of(HW_PROVIDER, DSC, ImmutableList.of(VALUATION)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteMonteCarloModel.of(HW_PROVIDER, DSC, DATES.reverse()));
+    DiscountFactors otherDate = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION.plusDays(1)).discountFactors(EUR);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteMonteCarloModel.of(HW_PROVIDER, otherDate, DATES));
+  }
+
+  @Test
+  public void test_discountFactor() {
+    for (int i = 0; i < DATES.size(); i++) {
+      for (double state : new double[] {-0.02d, 0d, 0.03d}) {
+        assertThat(MODEL.discountFactor(i, state, DATES.get(i))).isCloseTo(1d, offset(1.0e-14));
+        assertThat(MODEL.discountFactor(i, state, DATES.get(3)))
+            .isCloseTo(MODEL.numeraire(i, state), offset(1.0e-14));
+        List<LocalDate> paymentDates = ImmutableList.of(DATES.get(i).plusMonths(6), DATES.get(i).plusYears(3));
+        double[] dfs = new double[2];
+        MODEL.discountFactors(i, state, paymentDates, dfs);
+        assertThat(dfs[0]).isEqualTo(MODEL.discountFactor(i, state, paymentDates.get(0)));
+        assertThat(dfs[1]).isEqualTo(MODEL.discountFactor(i, state, paymentDates.get(1)));
+      }
+    }
+    assertThat(MODEL.numeraire(3, 0.01d)).isEqualTo(1d);
+  }
+
+  @Test
+  public void test_antithetic() {
+    MonteCarloPaths paths = ENGINE.simulate(MODEL);
+    for (int p = 0; p < 100; p += 2) {
+      for (int i = 0; i < DATES.size(); i++) {
+        assertThat(paths.getState(p + 1, i)).isEqualTo(-paths.getState(p, i));
+      }
+    }
+  }
+
+  @Test
+  public void test_zeroCouponBond() {
+    // the deflated zero-coupon bond prices are martingales
+    MonteCarloPaths paths = ENGINE.withAntitheticVariates(false).simulate(MODEL);
+    for (int i = 0; i < DATES.size(); i++) {
+      int timeIndex = i;
+      LocalDate maturity = DATES.get(i).plusYears(2);
+      double price = MODEL.getNumeraireDiscountFactor() * paths.average(new MonteCarloPathPayoff() {
+        @Override
+        public double value(double[] states) {
+          double state = states[timeIndex];
+          return MODEL.discountFactor(timeIndex, state, maturity) / MODEL.numeraire(timeIndex, state);
+        }
+
+        @Override
+        public double valueAdjoint(double[] states, double[] statesBar) {
+          throw new UnsupportedOperationException();
+        }
+      });
+      assertThat(price).isCloseTo(DSC.discountFactor(maturity), offset(1.0e-3));
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionSmileVolatilities;
+import com.opengamma.strata.pricer.fxopt.FxVolatilitySmileDataSet;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link LognormalFxMonteCarloModel}.
+ */
+public class LognormalFxMonteCarloModelTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2011, 6, 13);
+  private static final ZonedDateTime VAL_DATE_TIME = VAL_DATE.atStartOfDay(ZoneOffset.UTC);
+  private static final CurrencyPair EUR_USD = CurrencyPair.of(EUR, USD);
+  private static final ImmutableRatesProvider RATES_PROVIDER = RatesProviderFxDataSets.createProviderEURUSD(VAL_DATE);
+  private static final BlackFxOptionSmileVolatilities VOLS =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider5(VAL_DATE_TIME);
+  private static final ImmutableList<ZonedDateTime> DATES = ImmutableList.of(
+      VAL_DATE_TIME.plusMonths(6), VAL_DATE_TIME.plusYears(1), VAL_DATE_TIME.plusYears(2));
+  private static final LognormalFxMonteCarloModel MODEL = LognormalFxMonteCarloModel.of(EUR_USD, RATES_PROVIDER, VOLS, DATES);
+  private static final MonteCarloEngine ENGINE = MonteCarloEngine.of(100_000, 1L);
+
+  @Test
+  public void test_of() {
+    assertThat(MODEL.getCurrencyPair()).isEqualTo(EUR_USD);
+    assertThat(MODEL.getDateTimes()).isEqualTo(DATES);
+    assertThat(MODEL.getTimes().size()).isEqualTo(3);
+    assertThat(MODEL.getTimes().get(1)).isEqualTo(VOLS.relativeTime(DATES.get(1)));
+    assertThat(MODEL.getInitialState()).isEqualTo(RATES_PROVIDER.fxRate(EUR_USD));
+    assertThat(MODEL.discountFactor(2)).isEqualTo(RATES_PROVIDER.discountFactor(USD, DATES.get(2).toLocalDate()));
+    assertThat(MODEL.nextStateDerivative(0, 2d, 3d)).isEqualTo(1.5d);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> LognormalFxMonteCarloModel.of(EUR_USD, RATES_PROVIDER, VOLS, ImmutableList.of(VAL_DATE_TIME)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> LognormalFxMonteCarloModel.of(EUR_USD, RATES_PROVIDER, VOLS, DATES.reverse()));
+  }
+
+  @Test
+  public void test_forward() {
+    // the forward rates are martingales
+    MonteCarloPaths paths = ENGINE.simulate(MODEL);
+    for (int i = 0; i < DATES.size(); i++) {
+      LocalDate date = DATES.get(i).toLocalDate();
+      double forward = RATES_PROVIDER.fxRate(EUR_USD) *
+          RATES_PROVIDER.discountFactor(EUR, date) / RATES_PROVIDER.discountFactor(USD, date);
+      assertThat(paths.getStates(i).sum() / paths.getNumberOfPaths()).isCloseTo(forward, offset(forward * 1.0e-3));
+    }
+  }
+
+  @Test
+  public void test_european() {
+    // the Black prices and spot deltas of European options are recovered
+    int last = DATES.size() - 1;
+    double timeToExpiry = MODEL.getTimes().get(last);
+    double discountFactor = MODEL.discountFactor(last);
+    LocalDate date = DATES.get(last).toLocalDate();
+    double spot = RATES_PROVIDER.fxRate(EUR_USD);
+    double forward = spot * RATES_PROVIDER.discountFactor(EUR, date) / discountFactor;
+    double volatility = VOLS.volatility(EUR_USD, timeToExpiry, forward, forward);
+    for (double strike : new double[] {1.2d, 1.4d, 1.6d}) {
+      MonteCarloPathPayoff call = new MonteCarloPathPayoff() {
+        @Override
+        public double value(double[] states) {
+          return discountFactor * Math.max(states[last] - strike, 0d);
+        }
+
+        @Override
+        public double valueAdjoint(double[] states, double[] statesBar) {
+          statesBar[last] = states[last] > strike ? discountFactor : 0d;
+          return value(states);
+        }
+      };
+      ValueDerivatives computed = ENGINE.priceAdjoint(MODEL, call);
+      double price = discountFactor * BlackFormulaRepository.price(forward, strike, timeToExpiry, volatility, true);
+      double delta = discountFactor * forward / spot *
+          BlackFormulaRepository.delta(forward, strike, timeToExpiry, volatility, true);
+      assertThat(computed.getValue()).isCloseTo(price, offset(2.0e-3 * spot));
+      assertThat(computed.getDerivative(0)).isCloseTo(delta, offset(5.0e-3));
+    }
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionSmileVolatilities;
+import com.opengamma.strata.pricer.fxopt.FxVolatilitySmileDataSet;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link MonteCarloEngine}.
+ */
+public class MonteCarloEngineTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2011, 6, 13);
+  private static final ZonedDateTime VAL_DATE_TIME = VAL_DATE.atStartOfDay(ZoneOffset.UTC);
+  private static final CurrencyPair EUR_USD = CurrencyPair.of(EUR, USD);
+  private static final ImmutableRatesProvider RATES_PROVIDER = RatesProviderFxDataSets.createProviderEurUsdFlat(VAL_DATE);
+  private static final BlackFxOptionSmileVolatilities VOLS =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider5FlatFlat(VAL_DATE_TIME);
+  private static final List<ZonedDateTime> DATES = ImmutableList.of(
+      VAL_DATE_TIME.plusMonths(3), VAL_DATE_TIME.plusMonths(6), VAL_DATE_TIME.plusMonths(9), VAL_DATE_TIME.plusMonths(12));
+  private static final LognormalFxMonteCarloModel MODEL = LognormalFxMonteCarloModel.of(EUR_USD, RATES_PROVIDER, VOLS, DATES);
+  private static final double STRIKE = 1.40d;
+  private static final MonteCarloPathPayoff ASIAN_CALL = new AsianCall(MODEL, STRIKE);
+  private static final int NUMBER_OF_PATHS = 3000;  // not a multiple of the block size
+  private static final MonteCarloEngine ENGINE = MonteCarloEngine.of(NUMBER_OF_PATHS, 42L);
+
+  @Test
+  public void test_of() {
+    assertThat(ENGINE.getNumberOfPaths()).isEqualTo(NUMBER_OF_PATHS);
+    assertThat(ENGINE.getSeed()).isEqualTo(42L);
+    assertThat(ENGINE.isAntithetic()).isTrue();
+    assertThat(ENGINE.withAntitheticVariates(false).isAntithetic()).isFalse();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> MonteCarloEngine.of(0, 42L));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> MonteCarloEngine.of(101, 42L));
+  }
+
+  @Test
+  public void test_simulate() {
+    MonteCarloPaths paths = ENGINE.simulate(MODEL);
+    assertThat(paths.getNumberOfPaths()).isEqualTo(NUMBER_OF_PATHS);
+    assertThat(paths.getTimes()).isEqualTo(MODEL.getTimes());
+    assertThat(paths.getInitialState()).isEqualTo(MODEL.getInitialState());
+    assertThat(paths.getPath(7).get(2)).isEqualTo(paths.getState(7, 2));
+    assertThat(paths.getStates(2).get(7)).isEqualTo(paths.getState(7, 2));
+    // antithetic paths
+    for (int p = 0; p < NUMBER_OF_PATHS; p += 2) {
+      double logReturn = Math.log(paths.getState(p, 0) / MODEL.getInitialState());
+      double logReturnAnti = Math.log(paths.getState(p + 1, 0) / MODEL.getInitialState());
+      double logDrift = Math.log(MODEL.nextState(0, MODEL.getInitialState(), 0d) / MODEL.getInitialState());
+      assertThat(logReturn + logReturnAnti).isCloseTo(2d * logDrift, offset(1.0e-12));
+    }
+    // the stored paths and the streaming pricing use the same numbers
+    assertThat(paths.average(ASIAN_CALL)).isCloseTo(ENGINE.price(MODEL, ASIAN_CALL), offset(1.0e-12));
+  }
+
+  @Test
+  public void test_reproducible_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      MonteCarloEngine parallel = ENGINE.withExecutor(executor);
+      assertThat(parallel.price(MODEL, ASIAN_CALL)).isEqualTo(ENGINE.price(MODEL, ASIAN_CALL));
+      assertThat(parallel.priceAdjoint(MODEL, ASIAN_CALL)).isEqualTo(ENGINE.priceAdjoint(MODEL, ASIAN_CALL));
+      MonteCarloPaths pathsParallel = parallel.simulate(MODEL);
+      MonteCarloPaths paths = ENGINE.simulate(MODEL);
+      for (int i = 0; i < DATES.size(); i++) {
+        assertThat(pathsParallel.getStates(i)).isEqualTo(paths.getStates(i));
+      }
+    } finally {
+      executor.shutdown();
+    }
+    MonteCarloEngine otherSeed = MonteCarloEngine.of(NUMBER_OF_PATHS, 43L);
+    assertThat(otherSeed.price(MODEL, ASIAN_CALL)).isNotEqualTo(ENGINE.price(MODEL, ASIAN_CALL));
+  }
+
+  @Test
+  public void test_priceAdjoint() {
+    ValueDerivatives computed = ENGINE.priceAdjoint(MODEL, ASIAN_CALL);
+    assertThat(computed.getValue()).isEqualTo(ENGINE.price(MODEL, ASIAN_CALL));
+    // finite difference with the same random numbers
+    double shift = 1.0e-6;
+    double spot = RATES_PROVIDER.fxRate(EUR_USD);
+    LognormalFxMonteCarloModel modelUp = LognormalFxMonteCarloModel.of(EUR_USD, bumpedProvider(spot + shift), VOLS, DATES);
+    LognormalFxMonteCarloModel modelDw = LognormalFxMonteCarloModel.of(EUR_USD, bumpedProvider(spot - shift), VOLS, DATES);
+    double expected = (ENGINE.price(modelUp, ASIAN_CALL) - ENGINE.price(modelDw, ASIAN_CALL)) / (2d * shift);
+    assertThat(computed.getDerivative(0)).isCloseTo(expected, offset(1.0e-6));
+  }
+
+  @Test
+  public void test_exception() {
+    MonteCarloPathPayoff failing = new AsianCall(MODEL, Double.NaN) {
+      @Override
+      public double value(double[] states) {
+        throw new IllegalStateException("Failed");
+      }
+    };
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      MonteCarloEngine parallel = ENGINE.withExecutor(executor);
+      assertThatIllegalStateException()
+          .isThrownBy(() -> parallel.price(MODEL, failing));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static ImmutableRatesProvider bumpedProvider(double spot) {
+    return RATES_PROVIDER.toBuilder().fxRateProvider(FxMatrix.of(EUR, USD, spot)).build();
+  }
+
+  // arithmetic average call on the simulated spot rates, paid at the last date
+  private static class AsianCall implements MonteCarloPathPayoff {
+    private final double discountFactor;
+    private final double strike;
+
+    AsianCall(LognormalFxMonteCarloModel model, double strike) {
+      this.discountFactor = model.discountFactor(model.getTimes().size() - 1);
+      this.strike = strike;
+    }
+
+    @Override
+    public double value(double[] states) {
+      double average = DoubleArray.ofUnsafe(states).sum() / states.length;
+      return discountFactor * Math.max(average - strike, 0d);
+    }
+
+    @Override
+    public double valueAdjoint(double[] states, double[] statesBar) {
+      double average = DoubleArray.ofUnsafe(states).sum() / states.length;
+      double averageBar = average > strike ? discountFactor : 0d;
+      for (int i = 0; i < states.length; i++) {
+        statesBar[i] = averageBar / states.length;
+      }
+      return discountFactor * Math.max(average - strike, 0d);
+    }
+  }
+
+}
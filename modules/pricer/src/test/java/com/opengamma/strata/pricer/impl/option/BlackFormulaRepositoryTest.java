@@ -8940,4 +8940,58 @@ public class BlackFormulaRepositoryTest {
     assertThat(bsD2[1][2]).as("AD Second order: 2nd - str-vol").isCloseTo(bsD2[2][1], offset(TOLERANCE_1));
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_price_arrays() {
+    int nbStrikes = STRIKES_INPUT.length;
+    int size = nbStrikes * (VOLS.length + 1) * 2;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    boolean[] isCall = new boolean[size];
+    int k = 0;
+    for (int i = 0; i < nbStrikes; i++) {
+      for (int j = 0; j <= VOLS.length; j++) {
+        for (boolean call : new boolean[] {true, false}) {
+          forwards[k] = FORWARD;
+          strikes[k] = STRIKES_INPUT[i];
+          times[k] = j == 0 ? 0d : TIME_TO_EXPIRY; // zero expiry gives intrinsic value
+          vols[k] = j == 0 ? 0.2 : VOLS[j - 1];
+          isCall[k] = call;
+          k++;
+        }
+      }
+    }
+    double[] prices = new double[size];
+    double[] pricesAdjoint = new double[size];
+    double[] deltas = new double[size];
+    double[] vegas = new double[size];
+    BlackFormulaRepository.price(forwards, strikes, times, vols, isCall, prices);
+    BlackFormulaRepository.priceAdjoint(forwards, strikes, times, vols, isCall, pricesAdjoint, deltas, vegas);
+    for (int i = 0; i < size; i++) {
+      ValueDerivatives expected = BlackFormulaRepository.priceAdjoint(forwards[i], strikes[i], times[i], vols[i], isCall[i]);
+      assertThat(prices[i]).isEqualTo(BlackFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], isCall[i]));
+      assertThat(pricesAdjoint[i]).isEqualTo(expected.getValue());
+      assertThat(deltas[i]).isEqualTo(expected.getDerivative(0));
+      assertThat(vegas[i]).isEqualTo(expected.getDerivative(3));
+    }
+  }
+
+  @Test
+  public void test_price_arrays_invalid() {
+    double[] values = new double[] {FORWARD, FORWARD};
+    double[] negative = new double[] {0.2, -0.2};
+    boolean[] isCall = new boolean[] {true, false};
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.price(values, values, values, new double[1], isCall, new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.price(values, values, values, values, isCall, new double[1]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.price(values, values, values, negative, isCall, new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.priceAdjoint(
+            values, values, values, values, isCall, new double[2], new double[2], new double[1]));
+  }
+
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link ImpliedVolatilityFormulaRepository}.
+ */
+public class ImpliedVolatilityFormulaRepositoryTest {
+
+  private static final double FORWARD = 0.025;
+  private static final double[] STRIKE_RATIOS = new double[] {0.2, 0.5, 0.8, 0.95, 1d, 1.05, 1.25, 2d, 4d};
+  private static final double[] TIMES = new double[] {0.01, 0.25, 1d, 5d, 30d};
+  private static final double[] BLACK_VOLS = new double[] {0.02, 0.1, 0.3, 0.8, 1.5};
+  private static final double[] NORMAL_VOLS = new double[] {0.0001, 0.002, 0.01, 0.03};
+  private static final double TOL_VOL = 1e-10;
+
+  @Test
+  public void test_black() {
+    for (double ratio : STRIKE_RATIOS) {
+      double strike = FORWARD * ratio;
+      for (double time : TIMES) {
+        for (double vol : BLACK_VOLS) {
+          boolean isCall = strike >= FORWARD; // out-of-the-money
+          double price = BlackFormulaRepository.price(FORWARD, strike, time, vol, isCall);
+          if (price == 0d) {
+            continue; // price underflow
+          }
+          double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatility(price, FORWARD, strike, time, isCall);
+          assertThat(computed).as("strike %s, time %s, vol %s", strike, time, vol).isCloseTo(vol, offset(TOL_VOL));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void test_black_inTheMoney() {
+    double strike = 0.02;
+    double price = BlackFormulaRepository.price(FORWARD, strike, 2d, 0.35, true);
+    assertThat(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(price, FORWARD, strike, 2d, true))
+        .isCloseTo(0.35, offset(TOL_VOL));
+  }
+
+  @Test
+  public void test_black_matchExisting() {
+    double strike = 0.03;
+    double time = 2d;
+    double price = BlackFormulaRepository.price(FORWARD, strike, time, 0.35, true);
+    assertThat(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(price, FORWARD, strike, time, true))
+        .isCloseTo(BlackFormulaRepository.impliedVolatility(price, FORWARD, strike, time, true), offset(1e-8));
+  }
+
+  @Test
+  public void test_black_intrinsic() {
+    assertThat(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.5, 3d, 2.5, 1d, true)).isEqualTo(0d);
+    assertThat(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0d, 0.03, 0.035, 1d, true)).isEqualTo(0d);
+  }
+
+  @Test
+  public void test_black_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.4, 3d, 2.5, 1d, true));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.03, 0.03, 0.025, 1d, true));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.001, -0.03, 0.025, 1d, true));
+  }
+
+  @Test
+  public void test_black_arrays() {
+    double[] prices = new double[] {0.001, 0.002, 0.008};
+    double[] forwards = new double[] {0.02, 0.025, 0.03};
+    double[] strikes = new double[] {0.025, 0.025, 0.025};
+    double[] times = new double[] {1d, 2d, 3d};
+    boolean[] isCall = new boolean[] {true, false, true};
+    double[] computed = new double[3];
+    ImpliedVolatilityFormulaRepository.blackImpliedVolatility(prices, forwards, strikes, times, isCall, computed);
+    for (int i = 0; i < 3; i++) {
+      assertThat(computed[i]).isEqualTo(
+          ImpliedVolatilityFormulaRepository.blackImpliedVolatility(prices[i], forwards[i], strikes[i], times[i], isCall[i]));
+    }
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+            prices, forwards, strikes, times, new boolean[2], computed));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_normal() {
+    for (double ratio : STRIKE_RATIOS) {
+      double strike = FORWARD * (ratio - 1d) * 2d; // includes negative strikes
+      for (double time : TIMES) {
+        for (double vol : NORMAL_VOLS) {
+          PutCall putCall = strike >= FORWARD ? PutCall.CALL : PutCall.PUT; // out-of-the-money
+          double price = NormalFormulaRepository.price(FORWARD, strike, time, vol, putCall);
+          if (price == 0d) {
+            continue; // price underflow
+          }
+          double computed = ImpliedVolatilityFormulaRepository.normalImpliedVolatility(price, FORWARD, strike, time, putCall);
+          assertThat(computed).as("strike %s, time %s, vol %s", strike, time, vol).isCloseTo(vol, offset(TOL_VOL * vol));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void test_normal_inTheMoney() {
+    double strike = -0.005;
+    double price = NormalFormulaRepository.price(FORWARD, strike, 2d, 0.01, PutCall.CALL);
+    assertThat(ImpliedVolatilityFormulaRepository.normalImpliedVolatility(price, FORWARD, strike, 2d, PutCall.CALL))
+        .isCloseTo(0.01, offset(TOL_VOL * 0.01));
+  }
+
+  @Test
+  public void test_normal_intrinsic() {
+    assertThat(ImpliedVolatilityFormulaRepository.normalImpliedVolatility(0.5, 3d, 2.5, 1d, PutCall.CALL))
+        .isEqualTo(0d);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ImpliedVolatilityFormulaRepository.normalImpliedVolatility(0.4, 3d, 2.5, 1d, PutCall.CALL));
+  }
+
+  @Test
+  public void test_normal_arrays() {
+    double[] prices = new double[] {0.001, 0.002, 0.008};
+    double[] forwards = new double[] {0.02, 0.025, 0.03};
+    double[] strikes = new double[] {0.025, 0.025, -0.005};
+    double[] times = new double[] {1d, 2d, 3d};
+    PutCall[] putCalls = new PutCall[] {PutCall.CALL, PutCall.PUT, PutCall.PUT};
+    double[] computed = new double[3];
+    ImpliedVolatilityFormulaRepository.normalImpliedVolatility(prices, forwards, strikes, times, putCalls, computed);
+    for (int i = 0; i < 3; i++) {
+      assertThat(computed[i]).isEqualTo(
+          ImpliedVolatilityFormulaRepository.normalImpliedVolatility(prices[i], forwards[i], strikes[i], times[i], putCalls[i]));
+    }
+  }
+
+}
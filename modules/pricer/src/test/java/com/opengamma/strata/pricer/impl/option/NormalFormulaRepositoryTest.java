@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link NormalFormulaRepository} array based pricing.
+ */
+public class NormalFormulaRepositoryTest {
+
+  private static final double FORWARD = 0.015;
+  private static final double[] STRIKES = new double[] {-0.01, 0.0, 0.01, 0.015, 0.02, 0.04};
+  private static final double[] VOLS = new double[] {0d, 0.002, 0.005, 0.01};
+  private static final double[] TIMES = new double[] {0d, 0.25, 2.5, 10d};
+
+  @Test
+  public void test_price_arrays() {
+    int size = STRIKES.length * VOLS.length * TIMES.length * 2;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    PutCall[] putCalls = new PutCall[size];
+    int k = 0;
+    for (double strike : STRIKES) {
+      for (double vol : VOLS) {
+        for (double time : TIMES) {
+          for (PutCall putCall : PutCall.values()) {
+            forwards[k] = FORWARD;
+            strikes[k] = strike;
+            times[k] = time;
+            vols[k] = vol;
+            putCalls[k] = putCall;
+            k++;
+          }
+        }
+      }
+    }
+    double[] prices = new double[size];
+    double[] pricesAdjoint = new double[size];
+    double[] deltas = new double[size];
+    double[] vegas = new double[size];
+    NormalFormulaRepository.price(forwards, strikes, times, vols, putCalls, prices);
+    NormalFormulaRepository.priceAdjoint(forwards, strikes, times, vols, putCalls, pricesAdjoint, deltas, vegas);
+    for (int i = 0; i < size; i++) {
+      ValueDerivatives expected = NormalFormulaRepository.priceAdjoint(forwards[i], strikes[i], times[i], vols[i], 1d, putCalls[i]);
+      assertThat(prices[i]).isEqualTo(NormalFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], putCalls[i]));
+      assertThat(pricesAdjoint[i]).isEqualTo(expected.getValue());
+      assertThat(deltas[i]).isEqualTo(expected.getDerivative(0));
+      assertThat(vegas[i]).isEqualTo(expected.getDerivative(1));
+    }
+  }
+
+  @Test
+  public void test_price_arrays_invalid() {
+    double[] values = new double[] {FORWARD, FORWARD};
+    PutCall[] putCalls = new PutCall[] {PutCall.CALL, PutCall.PUT};
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> NormalFormulaRepository.price(values, values, new double[1], values, putCalls, new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> NormalFormulaRepository.price(values, values, values, values, new PutCall[1], new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> NormalFormulaRepository.priceAdjoint(
+            values, values, values, values, putCalls, new double[2], new double[1], new double[2]));
+  }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link HullWhiteParametersId}.
+ */
+public class HullWhiteParametersIdTest {
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    HullWhiteParametersId test = HullWhiteParametersId.of("Foo");
+    assertThat(test.getName()).isEqualTo("Foo");
+    assertThat(test.getMarketDataType()).isEqualTo(HullWhiteOneFactorPiecewiseConstantParametersProvider.class);
+    assertThat(test.toString()).isEqualTo("HullWhiteParametersId:Foo");
+  }
+
+  @Test
+  public void test_of_empty() {
+    assertThatIllegalArgumentException().isThrownBy(() -> HullWhiteParametersId.of(""));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    HullWhiteParametersId test = HullWhiteParametersId.of("Foo");
+    coverImmutableBean(test);
+    HullWhiteParametersId test2 = HullWhiteParametersId.of("Bar");
+    coverBeanEquals(test, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    HullWhiteParametersId test = HullWhiteParametersId.of("Foo");
+    assertSerialization(test);
+  }
+
+}
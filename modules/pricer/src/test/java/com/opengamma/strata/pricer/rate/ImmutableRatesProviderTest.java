@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.rate;
 
+import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_ACT_ISDA;
@@ -12,12 +13,17 @@ import static com.opengamma.strata.basics.index.FxIndices.GBP_USD_WM;
 import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
 import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
 import static com.opengamma.strata.basics.index.PriceIndices.GB_RPI;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.data.Offset.offset;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.time.LocalDate;
 
 import org.joda.beans.Bean;
@@ -90,6 +96,7 @@ public class ImmutableRatesProviderTest {
         .discountCurve(USD, DISCOUNT_CURVE_USD)
         .build();
     assertThat(test.discountFactors(GBP).getCurrency()).isEqualTo(GBP);
+    assertThat(test.discountFactors(GBP)).isSameAs(test.discountFactors(GBP));
   }
 
   @Test
@@ -149,6 +156,7 @@ public class ImmutableRatesProviderTest {
     assertThat(res.getCurrencyPair()).isEqualTo(CurrencyPair.of(GBP, USD));
     assertThat(res.getFxRateProvider()).isEqualTo(FX_MATRIX);
     assertThat(res.getValuationDate()).isEqualTo(VAL_DATE);
+    assertThat(test.fxForwardRates(CurrencyPair.of(GBP, USD))).isSameAs(res);
   }
 
   //-------------------------------------------------------------------------
@@ -161,6 +169,7 @@ public class ImmutableRatesProviderTest {
         .build();
     assertThat(test.iborIndexRates(USD_LIBOR_3M).getIndex()).isEqualTo(USD_LIBOR_3M);
     assertThat(test.iborIndexRates(USD_LIBOR_3M).getFixings()).isEqualTo(ts);
+    assertThat(test.iborIndexRates(USD_LIBOR_3M)).isSameAs(test.iborIndexRates(USD_LIBOR_3M));
     assertThat(test.getIborIndices()).containsOnly(USD_LIBOR_3M);
     assertThat(test.getTimeSeriesIndices()).containsOnly(USD_LIBOR_3M);
   }
@@ -292,6 +301,41 @@ public class ImmutableRatesProviderTest {
     assertThatIllegalArgumentException().isThrownBy(() -> test.priceIndexValues(inactiveIndex));
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_withDiscountCurve() {
+    LocalDateDoubleTimeSeries ts = LocalDateDoubleTimeSeries.of(PREV_DATE, 0.62d);
+    ImmutableRatesProvider base = ImmutableRatesProvider.builder(VAL_DATE)
+        .fxRateProvider(FX_MATRIX)
+        .discountCurve(GBP, DISCOUNT_CURVE_GBP)
+        .discountCurve(USD, DISCOUNT_CURVE_USD)
+        .indexCurve(USD_FED_FUND, FED_FUND_CURVE)
+        .timeSeries(GBP_USD_WM, ts)
+        .build();
+    Curve replacement = ConstantCurve.of(Curves.zeroRates("USD-Discount", ACT_ACT_ISDA), 0.5d);
+    ImmutableRatesProvider test = base.withDiscountCurve(USD, replacement);
+    assertThat(test).isEqualTo(base.toBuilder().discountCurve(USD, replacement).build());
+    assertThat(test.getIndexCurves()).isSameAs(base.getIndexCurves());
+    assertThat(test.getTimeSeries()).isSameAs(base.getTimeSeries());
+    assertThat(test.discountFactors(USD).discountFactor(1d)).isEqualTo(Math.exp(-0.5d));
+    assertThatIllegalArgumentException().isThrownBy(() -> base.withDiscountCurve(EUR, replacement));
+  }
+
+  @Test
+  public void test_withIndexCurve() {
+    ImmutableRatesProvider base = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(USD, DISCOUNT_CURVE_USD)
+        .indexCurve(USD_FED_FUND, FED_FUND_CURVE)
+        .indexCurve(USD_LIBOR_3M, USD_LIBOR_CURVE)
+        .build();
+    Curve replacement = ConstantCurve.of(Curves.zeroRates("USD-Discount", ACT_ACT_ISDA), 0.5d);
+    ImmutableRatesProvider test = base.withIndexCurve(USD_LIBOR_3M, replacement);
+    assertThat(test).isEqualTo(base.toBuilder().indexCurve(USD_LIBOR_3M, replacement).build());
+    assertThat(test.getDiscountCurves()).isSameAs(base.getDiscountCurves());
+    assertThat(test.getIndexCurves().keySet()).containsExactlyElementsOf(base.getIndexCurves().keySet());
+    assertThatIllegalArgumentException().isThrownBy(() -> base.withIndexCurve(GBP_USD_WM, replacement));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_getCurves() {
@@ -332,7 +376,28 @@ public class ImmutableRatesProviderTest {
   public void testSerializeDeserialize() {
     cycleBean(ImmutableRatesProvider.builder(VAL_DATE).build());
   }
+
+  @Test
+  public void test_serialization() throws Exception {
+    ImmutableRatesProvider test = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(GBP, DISCOUNT_CURVE_GBP)
+        .build();
+    test.discountFactors(GBP);
+    assertSerialization(test);
+    ImmutableRatesProvider cycled = cycleSerialization(test);
+    assertThat(cycled.discountFactors(GBP)).isEqualTo(test.discountFactors(GBP));
+  }
   
+  private static ImmutableRatesProvider cycleSerialization(ImmutableRatesProvider provider) throws Exception {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(provider);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      return (ImmutableRatesProvider) ois.readObject();
+    }
+  }
+
   private void cycleBean(Bean bean) {
     JodaBeanSer ser = JodaBeanSer.COMPACT;
     String result = ser.xmlWriter().write(bean);
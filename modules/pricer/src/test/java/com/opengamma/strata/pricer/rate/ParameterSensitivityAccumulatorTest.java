@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+
+/**
+ * Test {@link ParameterSensitivityAccumulator}.
+ */
+public class ParameterSensitivityAccumulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_USD;
+  private static final PointSensitivities POINTS = PointSensitivities.of(
+      ZeroRateSensitivity.of(USD, 1.5d, 100d),
+      IborRateSensitivity.of(IborIndexObservation.of(USD_LIBOR_3M, date(2014, 6, 3), REF_DATA), 50d),
+      ZeroRateSensitivity.of(USD, 4d, EUR, -20d),
+      OvernightRateSensitivity.of(OvernightIndexObservation.of(USD_FED_FUND, date(2014, 3, 3), REF_DATA), 10d),
+      IborRateSensitivity.of(IborIndexObservation.of(USD_LIBOR_3M, date(2015, 1, 5), REF_DATA), -30d),
+      ZeroRateSensitivity.of(USD, 1.5d, 25d));
+  private static final CurveName NAME = CurveName.of("Test");
+  private static final double TOLERANCE = 1e-10;
+
+  @Test
+  public void test_addAll() {
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.of(PROVIDER).addAll(POINTS);
+    assertThat(test.build().equalWithTolerance(combined(POINTS), TOLERANCE)).isTrue();
+    assertThat(test.toString()).isEqualTo("ParameterSensitivityAccumulator[3]");
+  }
+
+  @Test
+  public void test_add_repeated() {
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.of(PROVIDER).addAll(POINTS);
+    CurrencyParameterSensitivities first = test.build();
+    test.addAll(POINTS);
+    assertThat(test.build().equalWithTolerance(first.multipliedBy(2d), 1e-10)).isTrue();
+    assertThat(first.equalWithTolerance(combined(POINTS), TOLERANCE)).isTrue();
+  }
+
+  @Test
+  public void test_empty() {
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.of(PROVIDER);
+    assertThat(test.build()).isEqualTo(CurrencyParameterSensitivities.empty());
+    assertThat(test.addAll(PointSensitivities.empty()).build()).isEqualTo(CurrencyParameterSensitivities.empty());
+  }
+
+  @Test
+  public void test_add_parameterSensitivity() {
+    CurrencyParameterSensitivity sens1 = CurrencyParameterSensitivity.of(NAME, USD, DoubleArray.of(1d, 2d, 3d));
+    CurrencyParameterSensitivity sens2 = CurrencyParameterSensitivity.of(NAME, USD, DoubleArray.of(10d, 20d, 30d));
+    CurrencyParameterSensitivity sens3 = CurrencyParameterSensitivity.of(NAME, EUR, DoubleArray.of(5d, 6d, 7d));
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.of(PROVIDER)
+        .add(sens1)
+        .add(CurrencyParameterSensitivities.of(sens2, sens3));
+    assertThat(test.build()).isEqualTo(CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(NAME, USD, DoubleArray.of(11d, 22d, 33d)),
+        sens3));
+    // the first sensitivity added is not altered
+    assertThat(sens1.getSensitivity()).isEqualTo(DoubleArray.of(1d, 2d, 3d));
+  }
+
+  @Test
+  public void test_add_parameterSensitivity_sizeMismatch() {
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.of(PROVIDER)
+        .add(CurrencyParameterSensitivity.of(NAME, USD, DoubleArray.of(1d, 2d, 3d)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.add(CurrencyParameterSensitivity.of(NAME, USD, DoubleArray.of(1d, 2d))));
+  }
+
+  @Test
+  public void test_ratesProvider() {
+    assertThat(PROVIDER.parameterSensitivity(POINTS).equalWithTolerance(combined(POINTS), TOLERANCE)).isTrue();
+  }
+
+  @Test
+  public void test_discountFactorCurves() {
+    // curves of discount factors are projected using the market data views
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_GBP_USD_SIMPLE;
+    CurrencyParameterSensitivities test = ParameterSensitivityAccumulator.of(provider).addAll(POINTS).build();
+    assertThat(test.equalWithTolerance(combined(provider, POINTS), TOLERANCE)).isTrue();
+  }
+
+  //-------------------------------------------------------------------------
+  // combines the sensitivity of each point one by one
+  private static CurrencyParameterSensitivities combined(PointSensitivities points) {
+    return combined(PROVIDER, points);
+  }
+
+  // combines the sensitivity of each point one by one
+  private static CurrencyParameterSensitivities combined(ImmutableRatesProvider provider, PointSensitivities points) {
+    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    for (PointSensitivity point : points.getSensitivities()) {
+      if (point instanceof ZeroRateSensitivity) {
+        ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
+        sens = sens.combinedWith(provider.discountFactors(pt.getCurveCurrency()).parameterSensitivity(pt));
+      } else if (point instanceof IborRateSensitivity) {
+        IborRateSensitivity pt = (IborRateSensitivity) point;
+        sens = sens.combinedWith(provider.iborIndexRates(pt.getIndex()).parameterSensitivity(pt));
+      } else if (point instanceof OvernightRateSensitivity) {
+        OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
+        sens = sens.combinedWith(provider.overnightIndexRates(pt.getIndex()).parameterSensitivity(pt));
+      }
+    }
+    return sens;
+  }
+
+}
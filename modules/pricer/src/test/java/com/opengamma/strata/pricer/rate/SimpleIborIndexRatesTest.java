@@ -22,6 +22,7 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.index.IborIndexObservation;
@@ -182,6 +183,17 @@ public class SimpleIborIndexRatesTest {
     assertThat(test.rate(GBP_LIBOR_3M_AFTER)).isCloseTo(expected, offset(TOLERANCE_RATE));
   }
 
+  @Test
+  public void test_rates() {
+    SimpleIborIndexRates test = SimpleIborIndexRates.of(GBP_LIBOR_3M, DATE_VAL, CURVE, SERIES);
+    IborIndexObservation later = IborIndexObservation.of(GBP_LIBOR_3M, date(2016, 1, 4), REF_DATA);
+    ImmutableList<IborIndexObservation> observations =
+        ImmutableList.of(GBP_LIBOR_3M_BEFORE, GBP_LIBOR_3M_VAL, GBP_LIBOR_3M_AFTER, later, GBP_LIBOR_3M_AFTER);
+    DoubleArray expected = DoubleArray.of(observations.size(), i -> test.rate(observations.get(i)));
+    assertThat(test.rates(observations)).isEqualTo(expected);
+    assertThat(test.rates(ImmutableList.of())).isEqualTo(DoubleArray.EMPTY);
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_ratePointSensitivity_fixing() {
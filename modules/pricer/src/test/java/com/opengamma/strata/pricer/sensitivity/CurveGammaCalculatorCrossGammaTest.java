@@ -14,6 +14,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -285,6 +287,22 @@ public class CurveGammaCalculatorCrossGammaTest {
     assertThat(computed.equalWithTolerance(computedFromCross, TOL)).isTrue();
   }
 
+  @Test
+  public void sensitivity_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (CurveGammaCalculator calculator : new CurveGammaCalculator[] {FORWARD, CENTRAL, BACKWARD}) {
+        CurveGammaCalculator parallel = calculator.withExecutor(executor);
+        assertThat(parallel.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn))
+            .isEqualTo(calculator.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn));
+        assertThat(parallel.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn))
+            .isEqualTo(calculator.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   public void sensitivity_multi_combined_curve() {
     CrossGammaParameterSensitivities sensiCrossComputed =
@@ -12,6 +12,8 @@ import static org.assertj.core.data.Offset.offset;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -95,6 +97,39 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_central() {
+    RatesFiniteDifferenceSensitivityCalculator calculator = RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1e-4);
+    CurrencyParameterSensitivities sensiComputed = calculator.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    CurrencyParameterSensitivities sensiForward = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    assertThat(sensiComputed.equalWithTolerance(sensiForward, TOLERANCE_DELTA)).isTrue();
+    DoubleArray times1 = RatesProviderDataSets.TIMES_1;
+    DoubleArray s1 = sensiComputed.getSensitivity(RatesProviderDataSets.USD_DSC_NAME, USD).getSensitivity();
+    for (int i = 0; i < times1.size(); i++) {
+      assertThat(s1.get(i)).isCloseTo(times1.get(i) * 2.0d, offset(TOLERANCE_DELTA));
+    }
+  }
+
+  @Test
+  public void sensitivity_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      RatesFiniteDifferenceSensitivityCalculator parallel = FD_CALCULATOR.withExecutor(executor);
+      assertThat(parallel.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn))
+          .isEqualTo(FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn));
+      assertThat(parallel.sensitivity(LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn))
+          .isEqualTo(FD_CALCULATOR.sensitivity(LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn));
+      CreditRatesProvider rates = CreditRatesProviderDataSets.createCreditRatesProvider(LocalDate.of(2014, 1, 3));
+      assertThat(parallel.sensitivity(rates, this::creditFunction))
+          .isEqualTo(FD_CALCULATOR.sensitivity(rates, this::creditFunction));
+      RatesFiniteDifferenceSensitivityCalculator central = RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1e-6);
+      assertThat(central.withExecutor(executor).sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn))
+          .isEqualTo(central.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
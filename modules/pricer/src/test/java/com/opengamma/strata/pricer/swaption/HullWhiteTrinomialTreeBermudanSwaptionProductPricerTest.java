@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_6M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.product.common.LongShort.LONG;
+import static com.opengamma.strata.product.common.LongShort.SHORT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.Swap;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlement;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlementMethod;
+import com.opengamma.strata.product.swaption.PhysicalSwaptionSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+import com.opengamma.strata.product.swaption.Swaption;
+import com.opengamma.strata.product.swaption.SwaptionSettlement;
+
+/**
+ * Test {@link HullWhiteTrinomialTreeBermudanSwaptionProductPricer}.
+ */
+public class HullWhiteTrinomialTreeBermudanSwaptionProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final LocalDate EXPIRY = LocalDate.of(2013, 7, 5);
+  private static final BusinessDayAdjustment BDA_MF = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, HolidayCalendarIds.EUTA);
+  private static final double NOTIONAL = 100_000_000d;
+  private static final double RATE = 0.02;
+  private static final Swap SWAP_REC = FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M
+      .createTrade(EXPIRY, Tenor.TENOR_5Y, BuySell.SELL, NOTIONAL, RATE, REF_DATA)
+      .getProduct();
+  private static final Swap SWAP_PAY = FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M
+      .createTrade(EXPIRY, Tenor.TENOR_5Y, BuySell.BUY, NOTIONAL, RATE, REF_DATA)
+      .getProduct();
+  private static final ResolvedSwaption SWAPTION_REC_LONG = swaption(SWAP_REC, LONG, PhysicalSwaptionSettlement.DEFAULT);
+  private static final ResolvedSwaption SWAPTION_REC_SHORT = swaption(SWAP_REC, SHORT, PhysicalSwaptionSettlement.DEFAULT);
+  private static final ResolvedSwaption SWAPTION_PAY_LONG = swaption(SWAP_PAY, LONG, PhysicalSwaptionSettlement.DEFAULT);
+  private static final ResolvedSwaption SWAPTION_CASH =
+      swaption(SWAP_REC, LONG, CashSwaptionSettlement.of(EXPIRY, CashSwaptionSettlementMethod.PAR_YIELD));
+  // exercise two business days before the start of each fixed period
+  private static final List<LocalDate> EXERCISE_DATES = SWAPTION_REC_LONG.getUnderlying().getLegs().get(0)
+      .getPaymentPeriods().stream()
+      .map(period -> EUR_EURIBOR_6M.calculateFixingFromEffective(period.getStartDate(), REF_DATA))
+      .collect(toImmutableList());
+
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+  private static final ImmutableRatesProvider RATES_PROVIDER = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+  private static final HullWhiteTrinomialTreeData TREE = HullWhiteTrinomialTreeData.of(HW_PROVIDER, EXERCISE_DATES, 100);
+
+  private static final double TOL = 1.0e-12;
+  private static final double FD_TOL = 1.0e-7;
+  private static final HullWhiteTrinomialTreeBermudanSwaptionProductPricer PRICER =
+      HullWhiteTrinomialTreeBermudanSwaptionProductPricer.DEFAULT;
+  private static final HullWhiteSwaptionPhysicalProductPricer PRICER_EUROPEAN = HullWhiteSwaptionPhysicalProductPricer.DEFAULT;
+  private static final RatesFiniteDifferenceSensitivityCalculator FD_CAL =
+      new RatesFiniteDifferenceSensitivityCalculator(FD_TOL);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void validate() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.presentValue(SWAPTION_CASH, RATES_PROVIDER, TREE));
+    ImmutableRatesProvider ratesProvider = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION.plusDays(1));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.presentValue(SWAPTION_REC_LONG, ratesProvider, TREE));
+    HullWhiteTrinomialTreeData tree = HullWhiteTrinomialTreeData.of(HW_PROVIDER, ImmutableList.of(EXPIRY.minusDays(7)), 10);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.presentValue(SWAPTION_REC_LONG, RATES_PROVIDER, tree));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_presentValue_european() {
+    for (int k = 0; k < EXERCISE_DATES.size(); k++) {
+      LocalDate exerciseDate = EXERCISE_DATES.get(k);
+      HullWhiteTrinomialTreeData tree = HullWhiteTrinomialTreeData.of(HW_PROVIDER, ImmutableList.of(exerciseDate), 100);
+      CurrencyAmount computed = PRICER.presentValue(SWAPTION_REC_LONG, RATES_PROVIDER, tree);
+      CurrencyAmount expected = PRICER_EUROPEAN.presentValue(european(SWAPTION_REC_LONG, k), RATES_PROVIDER, HW_PROVIDER);
+      assertThat(computed.getCurrency()).isEqualTo(EUR);
+      assertThat(computed.getAmount()).isCloseTo(expected.getAmount(), offset(NOTIONAL * 2.0e-5)); // tree discretisation
+    }
+  }
+
+  @Test
+  public void test_presentValue_bermudan() {
+    CurrencyAmount computedRec = PRICER.presentValue(SWAPTION_REC_LONG, RATES_PROVIDER, TREE);
+    CurrencyAmount computedPay = PRICER.presentValue(SWAPTION_PAY_LONG, RATES_PROVIDER, TREE);
+    double maxEuropeanRec = 0d;
+    double maxEuropeanPay = 0d;
+    for (int k = 0; k < EXERCISE_DATES.size(); k++) {
+      maxEuropeanRec = Math.max(maxEuropeanRec,
+          PRICER_EUROPEAN.presentValue(european(SWAPTION_REC_LONG, k), RATES_PROVIDER, HW_PROVIDER).getAmount());
+      maxEuropeanPay = Math.max(maxEuropeanPay,
+          PRICER_EUROPEAN.presentValue(european(SWAPTION_PAY_LONG, k), RATES_PROVIDER, HW_PROVIDER).getAmount());
+    }
+    assertThat(computedRec.getAmount()).isGreaterThan(maxEuropeanRec);
+    assertThat(computedPay.getAmount()).isGreaterThan(maxEuropeanPay);
+  }
+
+  @Test
+  public void test_presentValue_longShort() {
+    CurrencyAmount pvLong = PRICER.presentValue(SWAPTION_REC_LONG, RATES_PROVIDER, TREE);
+    CurrencyAmount pvShort = PRICER.presentValue(SWAPTION_REC_SHORT, RATES_PROVIDER, TREE);
+    assertThat(pvShort.getAmount()).isCloseTo(-pvLong.getAmount(), offset(NOTIONAL * TOL));
+  }
+
+  @Test
+  public void test_presentValue_laterExpiry() {
+    // same tree, the first exercise date is not available
+    ResolvedSwaption swaption = SWAPTION_REC_LONG.toBuilder()
+        .expiry(EXERCISE_DATES.get(1).atTime(LocalTime.NOON).atZone(ZoneOffset.UTC))
+        .build();
+    double computed = PRICER.presentValue(swaption, RATES_PROVIDER, TREE).getAmount();
+    double firstExercise = PRICER.presentValue(SWAPTION_REC_LONG, RATES_PROVIDER, TREE).getAmount();
+    assertThat(computed).isLessThan(firstExercise);
+    assertThat(computed).isGreaterThan(
+        PRICER_EUROPEAN.presentValue(european(SWAPTION_REC_LONG, 1), RATES_PROVIDER, HW_PROVIDER).getAmount());
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_currencyExposure() {
+    MultiCurrencyAmount computed = PRICER.currencyExposure(SWAPTION_REC_LONG, RATES_PROVIDER, TREE);
+    PointSensitivityBuilder point = PRICER.presentValueSensitivityRates(SWAPTION_REC_LONG, RATES_PROVIDER, TREE);
+    MultiCurrencyAmount expected = RATES_PROVIDER.currencyExposure(point.build())
+        .plus(PRICER.presentValue(SWAPTION_REC_LONG, RATES_PROVIDER, TREE));
+    assertThat(computed.size()).isEqualTo(1);
+    assertThat(computed.getAmount(EUR).getAmount()).isCloseTo(expected.getAmount(EUR).getAmount(), offset(NOTIONAL * TOL));
+  }
+
+  @Test
+  public void test_presentValueSensitivityRates() {
+    for (ResolvedSwaption swaption : ImmutableList.of(SWAPTION_REC_LONG, SWAPTION_REC_SHORT, SWAPTION_PAY_LONG)) {
+      PointSensitivityBuilder point = PRICER.presentValueSensitivityRates(swaption, RATES_PROVIDER, TREE);
+      CurrencyParameterSensitivities computed = RATES_PROVIDER.parameterSensitivity(point.build());
+      CurrencyParameterSensitivities expected =
+          FD_CAL.sensitivity(RATES_PROVIDER, p -> PRICER.presentValue(swaption, p, TREE));
+      assertThat(computed.equalWithTolerance(expected, NOTIONAL * FD_TOL * 1000d)).isTrue();
+    }
+  }
+
+  @Test
+  public void test_presentValueSensitivityRates_european() {
+    HullWhiteTrinomialTreeData tree = HullWhiteTrinomialTreeData.of(HW_PROVIDER, ImmutableList.of(EXERCISE_DATES.get(0)), 100);
+    PointSensitivityBuilder point = PRICER.presentValueSensitivityRates(SWAPTION_REC_LONG, RATES_PROVIDER, tree);
+    PointSensitivityBuilder expected =
+        PRICER_EUROPEAN.presentValueSensitivityRates(european(SWAPTION_REC_LONG, 0), RATES_PROVIDER, HW_PROVIDER);
+    // tree discretisation, below 1% of the forward curve sensitivity
+    assertThat(RATES_PROVIDER.parameterSensitivity(point.build())
+        .equalWithTolerance(RATES_PROVIDER.parameterSensitivity(expected.build()), NOTIONAL * 2.0e-2)).isTrue();
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the swaption
+  private static ResolvedSwaption swaption(Swap swap, LongShort longShort, SwaptionSettlement settlement) {
+    return Swaption.builder()
+        .expiryDate(AdjustableDate.of(EXPIRY, BDA_MF))
+        .expiryTime(LocalTime.NOON)
+        .expiryZone(ZoneOffset.UTC)
+        .swaptionSettlement(settlement)
+        .longShort(longShort)
+        .underlying(swap)
+        .build()
+        .resolve(REF_DATA);
+  }
+
+  // the European swaption on the periods starting after the k-th exercise date
+  private static ResolvedSwaption european(ResolvedSwaption swaption, int k) {
+    LocalDate exerciseDate = EXERCISE_DATES.get(k);
+    List<ResolvedSwapLeg> legs = new ArrayList<>();
+    for (ResolvedSwapLeg leg : swaption.getUnderlying().getLegs()) {
+      List<SwapPaymentPeriod> periods = leg.getPaymentPeriods().stream()
+          .filter(period -> !period.getStartDate().isBefore(exerciseDate))
+          .collect(toImmutableList());
+      legs.add(leg.toBuilder().paymentPeriods(periods).build());
+    }
+    return swaption.toBuilder()
+        .expiry(exerciseDate.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC))
+        .underlying(ResolvedSwap.builder().legs(legs).build())
+        .build();
+  }
+
+}
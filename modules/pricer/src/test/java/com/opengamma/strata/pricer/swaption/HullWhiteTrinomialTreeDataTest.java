@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+
+/**
+ * Test {@link HullWhiteTrinomialTreeData}.
+ */
+public class HullWhiteTrinomialTreeDataTest {
+
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+  private static final ImmutableList<LocalDate> EXERCISE_DATES =
+      ImmutableList.of(LocalDate.of(2012, 1, 5), LocalDate.of(2013, 7, 5), LocalDate.of(2014, 7, 4));
+
+  @Test
+  public void test_of() {
+    HullWhiteTrinomialTreeData test = HullWhiteTrinomialTreeData.of(HW_PROVIDER, EXERCISE_DATES, 12);
+    assertThat(test.getHwProvider()).isEqualTo(HW_PROVIDER);
+    assertThat(test.getExerciseDates()).isEqualTo(EXERCISE_DATES);
+    assertThat(test.getExerciseLayer(0)).isEqualTo(6);
+    assertThat(test.getExerciseLayer(1)).isEqualTo(6 + 18);
+    assertThat(test.getExerciseLayer(2)).isEqualTo(test.getNumberOfSteps());
+  }
+
+  @Test
+  public void test_of_valuationDate() {
+    HullWhiteTrinomialTreeData test = HullWhiteTrinomialTreeData.of(HW_PROVIDER, ImmutableList.of(VALUATION), 12);
+    assertThat(test.getNumberOfSteps()).isEqualTo(0);
+    double[][] cashFlows = new double[][] {{-1d, 3d}};
+    double[][] times = new double[][] {{1d, 2d}};
+    assertThat(test.value(cashFlows, times)).isEqualTo(2d);
+    assertThat(test.exerciseWeights(cashFlows, times)).isEqualTo(new double[][] {{1d, 1d}});
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteTrinomialTreeData.of(HW_PROVIDER, ImmutableList.of(VALUATION.minusDays(1)), 12));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteTrinomialTreeData.of(HW_PROVIDER, EXERCISE_DATES.reverse(), 12));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteTrinomialTreeData.of(HW_PROVIDER, ImmutableList.of(), 12));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteTrinomialTreeData.of(HW_PROVIDER, EXERCISE_DATES, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_value_martingale() {
+    // a positive cash flow is always exercised on the first date and its value is the discounted cash flow
+    HullWhiteTrinomialTreeData test = HullWhiteTrinomialTreeData.of(HW_PROVIDER, EXERCISE_DATES, 50);
+    double[][] cashFlows = new double[][] {{0.9d}, {0.8d}, {0.7d}};
+    double[][] times = new double[][] {{10d}, {10d}, {10d}};
+    assertThat(test.value(cashFlows, times)).isCloseTo(0.9d, offset(1e-6));
+    double[][] weights = test.exerciseWeights(cashFlows, times);
+    assertThat(weights[0][0]).isCloseTo(1d, offset(1e-6));
+    assertThat(weights[1][0]).isEqualTo(0d);
+    assertThat(weights[2][0]).isEqualTo(0d);
+  }
+
+  @Test
+  public void test_exerciseWeights() {
+    HullWhiteTrinomialTreeData test = HullWhiteTrinomialTreeData.of(HW_PROVIDER, EXERCISE_DATES, 50);
+    double[][] cashFlows = new double[][] {{-0.95d, 1d}, null, {-0.9d, 0.95d}};
+    double[][] times = new double[][] {{1d, 5d}, null, {3d, 5d}};
+    double value = test.value(cashFlows, times);
+    double[][] weights = test.exerciseWeights(cashFlows, times);
+    assertThat(weights[1]).isNull();
+    double expected = 0d;
+    for (int k : new int[] {0, 2}) {
+      for (int m = 0; m < 2; m++) {
+        expected += weights[k][m] * cashFlows[k][m];
+      }
+    }
+    assertThat(value).isGreaterThan(0.05d);
+    assertThat(value).isCloseTo(expected, offset(1e-12));
+  }
+
+}
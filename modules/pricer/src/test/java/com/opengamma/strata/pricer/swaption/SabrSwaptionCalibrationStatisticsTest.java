@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Period;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * Tests {@link SabrSwaptionCalibrationStatistics}.
+ */
+public class SabrSwaptionCalibrationStatisticsTest {
+
+  private static final Period EXPIRY1 = Period.ofMonths(6);
+  private static final Period EXPIRY2 = Period.ofYears(1);
+
+  @Test
+  public void test_record() {
+    SabrSwaptionCalibrationStatistics test = SabrSwaptionCalibrationStatistics.create();
+    test.record(EXPIRY1, Tenor.TENOR_5Y, 4, 40, 2_000_000);
+    test.record(EXPIRY1, Tenor.TENOR_5Y, 1, 5, 3_000_000);
+    test.record(EXPIRY2, Tenor.TENOR_10Y, 4, 30, 1_000_000);
+    assertThat(test.getNodes()).containsOnly(Pair.of(EXPIRY1, Tenor.TENOR_5Y), Pair.of(EXPIRY2, Tenor.TENOR_10Y));
+    assertThat(test.getCalibrationCount(EXPIRY1, Tenor.TENOR_5Y)).isEqualTo(2);
+    assertThat(test.getFitCount(EXPIRY1, Tenor.TENOR_5Y)).isEqualTo(5);
+    assertThat(test.getIterationCount(EXPIRY1, Tenor.TENOR_5Y)).isEqualTo(45);
+    assertThat(test.getTotalTime(EXPIRY1, Tenor.TENOR_5Y)).isEqualTo(Duration.ofMillis(5));
+    assertThat(test.getCalibrationCount(EXPIRY2, Tenor.TENOR_10Y)).isEqualTo(1);
+    assertThat(test.getCalibrationCount(EXPIRY2, Tenor.TENOR_5Y)).isEqualTo(0);
+    assertThat(test.getTotalTime(EXPIRY2, Tenor.TENOR_5Y)).isEqualTo(Duration.ZERO);
+    assertThat(test.getTotalIterationCount()).isEqualTo(75);
+    assertThat(test.toString()).isEqualTo("SabrSwaptionCalibrationStatistics[nodes=2, iterations=75]");
+  }
+
+  @Test
+  public void test_reset() {
+    SabrSwaptionCalibrationStatistics test = SabrSwaptionCalibrationStatistics.create();
+    test.record(EXPIRY1, Tenor.TENOR_5Y, 4, 40, 1);
+    test.reset();
+    assertThat(test.getNodes()).isEmpty();
+    assertThat(test.getFitCount(EXPIRY1, Tenor.TENOR_5Y)).isEqualTo(0);
+    assertThat(test.getTotalIterationCount()).isEqualTo(0);
+  }
+
+}
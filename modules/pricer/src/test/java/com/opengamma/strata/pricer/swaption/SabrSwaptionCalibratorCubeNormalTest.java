@@ -89,20 +89,64 @@ public class SabrSwaptionCalibratorCubeNormalTest {
 
   private static final double TOLERANCE_PRICE_CALIBRATION_LS = 5.0E-4; // Calibration Least Square; result not exact
 
+  private static final double BETA = 0.50;
+  private static final Surface BETA_SURFACE = ConstantSurface.of("Beta", BETA)
+      .withMetadata(DefaultSurfaceMetadata.builder()
+          .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+          .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+  private static final double SHIFT = 0.0300;
+  private static final Surface SHIFT_SURFACE = ConstantSurface.of("Shift", SHIFT)
+      .withMetadata(DefaultSurfaceMetadata.builder()
+          .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+
   @Test
   public void normal_cube() {
-    double beta = 0.50;
-    Surface betaSurface = ConstantSurface.of("Beta", beta)
-        .withMetadata(DefaultSurfaceMetadata.builder()
-            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
-            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
-    double shift = 0.0300;
-    Surface shiftSurface = ConstantSurface.of("Shift", shift)
-        .withMetadata(DefaultSurfaceMetadata.builder()
-            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
     SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
-        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    assertCalibrated(calibrated);
+  }
+
+  @Test
+  public void normal_cube_parallel() {
+    SabrSwaptionCalibrationStatistics statistics = SabrSwaptionCalibrationStatistics.create();
+    SabrParametersSwaptionVolatilities expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION
+        .withParallelCalibration(true)
+        .withStatistics(statistics)
+        .calibrateWithFixedBetaAndShift(DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    assertThat(calibrated).isEqualTo(expected);
+    int nbNodes = calibrated.getParameters().getAlphaSurface().getParameterCount();
+    assertThat(statistics.getNodes()).hasSize(nbNodes);
+    for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
+      for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
+        if (DATA_SPARSE.getData(TENORS.get(looptenor)).availableSmileAtExpiry(EXPIRIES.get(loopexpiry)).getFirst().size() > 0) {
+          assertThat(statistics.getCalibrationCount(EXPIRIES.get(loopexpiry), TENORS.get(looptenor))).isEqualTo(1);
+          assertThat(statistics.getFitCount(EXPIRIES.get(loopexpiry), TENORS.get(looptenor))).isEqualTo(4);
+          assertThat(statistics.getIterationCount(EXPIRIES.get(loopexpiry), TENORS.get(looptenor))).isPositive();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void normal_cube_seeded() {
+    SabrSwaptionCalibrationStatistics statistics = SabrSwaptionCalibrationStatistics.create();
+    SabrSwaptionCalibrationStatistics statisticsSeeded = SabrSwaptionCalibrationStatistics.create();
+    SABR_CALIBRATION.withStatistics(statistics)
+        .calibrateWithFixedBetaAndShift(DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION
+        .withNeighbourSeeding(true)
+        .withParallelCalibration(true)
+        .withStatistics(statisticsSeeded)
+        .calibrateWithFixedBetaAndShift(DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    assertCalibrated(calibrated);
+    assertThat(statisticsSeeded.getNodes()).isEqualTo(statistics.getNodes());
+    assertThat(statisticsSeeded.getTotalIterationCount()).isLessThan(statistics.getTotalIterationCount());
+  }
 
+  // checks the calibrated prices against the raw data
+  private void assertCalibrated(SabrParametersSwaptionVolatilities calibrated) {
     for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
       double tenor = TENORS.get(looptenor).get(ChronoUnit.YEARS);
       for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
@@ -119,7 +163,7 @@ public class SabrSwaptionCalibratorCubeNormalTest {
           if (!Double.isNaN(DATA_ARRAY_SPARSE[looptenor][loopexpiry][loopmoney])) {
             double strike = parRate + MONEYNESS.get(loopmoney);
             double volBlack = calibrated.volatility(expiryDateTime, tenor, strike, parRate);
-            double priceComputed = BlackFormulaRepository.price(parRate + shift, parRate + MONEYNESS.get(loopmoney) + shift,
+            double priceComputed = BlackFormulaRepository.price(parRate + SHIFT, parRate + MONEYNESS.get(loopmoney) + SHIFT,
                 time, volBlack, true);
             double priceNormal = NormalFormulaRepository.price(parRate, parRate + MONEYNESS.get(loopmoney),
                 time, DATA_ARRAY_SPARSE[looptenor][loopexpiry][loopmoney], PutCall.CALL);